@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.csstudio.archive.reader.SpreadsheetIterator;
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.ArchiveVType;
+import org.csstudio.archive.vtype.TimestampHelper;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+import com.jmatio.io.MatFileIncrementalWriter;
+import com.jmatio.types.MLCell;
+import com.jmatio.types.MLChar;
+import com.jmatio.types.MLDouble;
+import com.jmatio.types.MLStructure;
+
+/** Throughput benchmark of the export engine
+ *
+ *  <p>Uses a synthetic archive reader that delays
+ *  each block of samples like a network or database round trip.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ExportBenchmark
+{
+    private static final int CHANNELS = 200;
+    private static final int SAMPLES = 20000;
+    private static final int BLOCK = 1000;
+    private static final long BLOCK_DELAY_MS = 5;
+
+    /** Synthetic archive data for one channel */
+    private static class SyntheticValueIterator implements ValueIterator
+    {
+        private final int channel;
+        private int index = 0;
+
+        SyntheticValueIterator(final int channel)
+        {
+            this.channel = channel;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < SAMPLES;
+        }
+
+        @Override
+        public VType next() throws Exception
+        {
+            if (index % BLOCK == 0)
+                Thread.sleep(BLOCK_DELAY_MS);
+            // Channels are offset in time to get many spreadsheet lines
+            final Instant time = Instant.ofEpochSecond(1000000000L + index, channel * 1000);
+            return new ArchiveVNumber(time, AlarmSeverity.NONE, ArchiveVType.STATUS_OK,
+                                      ValueFactory.displayNone(), channel + index++ * 0.1);
+        }
+
+        @Override
+        public void close()
+        {
+            // NOP
+        }
+    }
+
+    private static ValueIterator[] createSynthetic()
+    {
+        final ValueIterator[] iters = new ValueIterator[CHANNELS];
+        for (int i=0; i<CHANNELS; ++i)
+            iters[i] = new SyntheticValueIterator(i);
+        return iters;
+    }
+
+    private static ValueIterator[] createPrefetch(final ExecutorService pool)
+    {
+        final ValueIterator[] iters = new ValueIterator[CHANNELS];
+        for (int i=0; i<CHANNELS; ++i)
+        {
+            final int channel = i;
+            iters[i] = new PrefetchValueIterator(() -> new SyntheticValueIterator(channel), pool, BLOCK, 4);
+        }
+        return iters;
+    }
+
+    private static void report(final String title, final long lines, final long start)
+    {
+        final double secs = (System.nanoTime() - start) / 1e9;
+        System.out.format("%-40s: %8d lines in %6.2f s = %10.0f lines/sec\n", title, lines, secs, lines / secs);
+    }
+
+    /** @param name Base name
+     *  @param suffix File suffix
+     *  @return Temporary file, deleted on exit
+     *  @throws Exception on error
+     */
+    private static File createTempFile(final String name, final String suffix) throws Exception
+    {
+        final File file = File.createTempFile(name, suffix);
+        file.deleteOnExit();
+        return file;
+    }
+
+    /** @param expected File with expected content
+     *  @param actual File to compare, line by line
+     *  @throws Exception on error
+     */
+    private static void compareLines(final File expected, final File actual) throws Exception
+    {
+        try
+        (
+            final BufferedReader exp = new BufferedReader(new FileReader(expected));
+            final BufferedReader act = new BufferedReader(new FileReader(actual));
+        )
+        {
+            long line_no = 0;
+            String line;
+            while ((line = exp.readLine()) != null)
+            {
+                ++line_no;
+                assertThat("Line " + line_no, act.readLine(), equalTo(line));
+            }
+            assertThat("Extra line after " + line_no, act.readLine(), equalTo(null));
+        }
+    }
+
+    private static long writeSheet(final ValueIterator[] iters, final ValueFormatter formatter, final File file) throws Exception
+    {
+        final PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(file), 64*1024));
+        final SpreadsheetMerge sheet = new SpreadsheetMerge(iters);
+        final StringBuilder buf = new StringBuilder();
+        long lines = 0;
+        while (sheet.hasNext())
+        {
+            final Instant time = sheet.getTime();
+            final VType[] line = sheet.next();
+            buf.setLength(0);
+            buf.append(TimestampHelper.format(time));
+            for (VType value : line)
+                buf.append('\t').append(formatter.format(value));
+            out.println(buf);
+            ++lines;
+        }
+        out.close();
+        return lines;
+    }
+
+    @Test
+    public void benchmarkSpreadsheet() throws Exception
+    {
+        final ValueFormatter formatter = new ValueFormatter(org.csstudio.archive.vtype.Style.Default, 0);
+
+        // Original: Sequential retrieval, linear scan of channels, unbuffered output
+        long start = System.nanoTime();
+        final File original = createTempFile("sheet_orig", ".dat");
+        final PrintStream out = new PrintStream(original);
+        final SpreadsheetIterator sheet = new SpreadsheetIterator(createSynthetic());
+        long lines = 0;
+        while (sheet.hasNext())
+        {
+            final Instant time = sheet.getTime();
+            final VType line[] = sheet.next();
+            out.print(TimestampHelper.format(time));
+            for (int i=0; i<line.length; ++i)
+                out.print("\t" + formatter.format(line[i]));
+            out.println();
+            ++lines;
+        }
+        out.close();
+        report("Spreadsheet, original", lines, start);
+
+        // Parallel retrieval, priority queue merge, buffered output
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        start = System.nanoTime();
+        final File merged = createTempFile("sheet", ".dat");
+        lines = writeSheet(createPrefetch(pool), formatter, merged);
+        report("Spreadsheet, prefetch & merge", lines, start);
+        pool.shutdown();
+
+        // Both produce the same spreadsheet
+        compareLines(original, merged);
+    }
+
+    @Test
+    public void benchmarkMatlab() throws Exception
+    {
+        // Original: Sequential retrieval, build MLStructure for each channel in memory
+        long start = System.nanoTime();
+        long samples = 0;
+        final MatFileIncrementalWriter writer = new MatFileIncrementalWriter(createTempFile("orig", ".mat"));
+        final ValueIterator[] iters = createSynthetic();
+        for (int c=0; c<CHANNELS; ++c)
+        {
+            final int[] dims = new int[] { SAMPLES, 1 };
+            final MLStructure struct = new MLStructure("channel" + c, new int[] { 1, 1 });
+            final MLCell time = new MLCell(null, dims);
+            final MLDouble value = new MLDouble(null, dims);
+            final MLCell severity = new MLCell(null, dims);
+            int i = 0;
+            while (iters[c].hasNext())
+            {
+                final VType sample = iters[c].next();
+                time.set(new MLChar(null, TimestampHelper.format(VTypeHelper.getTimestamp(sample))), i);
+                value.set(VTypeHelper.toDouble(sample), i);
+                severity.set(new MLChar(null, VTypeHelper.getSeverity(sample).toString()), i);
+                ++i;
+            }
+            struct.setField("name", new MLChar(null, "channel" + c));
+            struct.setField("time", time);
+            struct.setField("value", value);
+            struct.setField("severity", severity);
+            writer.write(struct);
+            samples += i;
+        }
+        writer.close();
+        report("MAT file, original", samples, start);
+
+        // Parallel retrieval, streamed MAT file
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        start = System.nanoTime();
+        samples = 0;
+        final MatlabStreamWriter stream = new MatlabStreamWriter(createTempFile("stream", ".mat").getPath());
+        for (ValueIterator iter : createPrefetch(pool))
+        {
+            stream.startChannel("channel");
+            while (iter.hasNext())
+            {
+                final VType sample = iter.next();
+                stream.addSample(TimestampHelper.format(VTypeHelper.getTimestamp(sample)),
+                                 VTypeHelper.toDouble(sample),
+                                 VTypeHelper.getSeverity(sample).toString());
+                ++samples;
+            }
+            stream.endChannel();
+            iter.close();
+        }
+        stream.close();
+        report("MAT file, prefetch & stream", samples, start);
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.PrintWriter;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.ArchiveVStatistics;
+import org.csstudio.archive.vtype.StringVTypeFormat;
+import org.csstudio.archive.vtype.Style;
+import org.csstudio.archive.vtype.TimestampHelper;
+import org.csstudio.archive.vtype.VTypeFormat;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.csstudio.trends.databrowser3.Messages;
+import org.csstudio.trends.databrowser3.model.ModelItem;
+import org.csstudio.trends.databrowser3.model.PlotSample;
+import org.csstudio.trends.databrowser3.model.PlotSampleArray;
+import org.csstudio.trends.databrowser3.model.PlotSamples;
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VString;
+import org.diirt.vtype.VStringArray;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** Regression test for export formatting
+ *
+ *  <p>Compares the output of the export pipeline
+ *  byte-for-byte with the original implementation,
+ *  which is kept in here as a reference.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ExportFormatUnitTest
+{
+    /** Original ValueFormatter.format */
+    private static String legacyFormat(final VTypeFormat format, final boolean min_max_column, final VType value)
+    {
+        final VTypeFormat format_for_this_value;
+        if (value instanceof VString ||
+            value instanceof VStringArray)
+            format_for_this_value = new StringVTypeFormat();
+        else
+        {
+            if (Double.isNaN(VTypeHelper.toDouble(value)))
+            {
+                if (min_max_column)
+                    return Messages.Export_NoValueMarker +
+                           Messages.Export_Delimiter + Messages.Export_NoValueMarker +
+                           Messages.Export_Delimiter + Messages.Export_NoValueMarker;
+                else
+                    return Messages.Export_NoValueMarker;
+            }
+            format_for_this_value = format;
+        }
+
+        final VStatistics stats = (value instanceof VStatistics) ? (VStatistics) value : null;
+
+        final StringBuilder buf = new StringBuilder();
+        if (stats != null)
+            format_for_this_value.format(stats.getAverage(), stats, buf);
+        else
+            format_for_this_value.format(value, buf);
+        if (min_max_column)
+        {
+            buf.append(Messages.Export_Delimiter);
+            if (stats != null)
+            {
+                buf.append(stats.getAverage() - stats.getMin());
+                buf.append(Messages.Export_Delimiter);
+                buf.append(stats.getMax() - stats.getAverage());
+            }
+            else
+            {
+                buf.append(0);
+                buf.append(Messages.Export_Delimiter);
+                buf.append(0);
+            }
+        }
+        return buf.toString();
+    }
+
+    /** Original ValueWithInfoFormatter.format */
+    private static String legacyFormatWithInfo(final VTypeFormat format, final boolean min_max_column, final VType value)
+    {
+        if (value instanceof VString
+                || value instanceof VStringArray
+                || Double.isNaN(VTypeHelper.toDouble(value)))
+            return legacyFormat(format, min_max_column, value) +
+                Messages.Export_Delimiter + Messages.Export_NoValueMarker +
+                Messages.Export_Delimiter + Messages.Export_NoValueMarker;
+        return legacyFormat(format, min_max_column, value) + Messages.Export_Delimiter +
+            VTypeHelper.getSeverity(value) + Messages.Export_Delimiter +
+            VTypeHelper.getMessage(value);
+    }
+
+    private static List<VType> createValues()
+    {
+        final List<VType> values = new ArrayList<>();
+        final Random random = new Random(42);
+        Instant time = Instant.ofEpochSecond(1500000000L, 123456789);
+        for (int i=0; i<1000; ++i)
+        {
+            time = time.plusNanos(random.nextInt(2000000000));
+            final double number = random.nextGaussian() * Math.pow(10, random.nextInt(20) - 10);
+            switch (i % 6)
+            {
+            case 0:
+                values.add(new ArchiveVNumber(time, AlarmSeverity.NONE, "OK", ValueFactory.displayNone(), number));
+                break;
+            case 1:
+                values.add(new ArchiveVNumber(time, AlarmSeverity.MINOR, "HIGH", ValueFactory.displayNone(), i));
+                break;
+            case 2:
+                values.add(new ArchiveVStatistics(time, AlarmSeverity.NONE, "OK", ValueFactory.displayNone(),
+                                                  number, number - 1.5, number + 2.25, 0.1, 10));
+                break;
+            case 3:
+                values.add(ValueFactory.newVString("Text " + i, ValueFactory.newAlarm(AlarmSeverity.NONE, "OK"),
+                                                   ValueFactory.newTime(time)));
+                break;
+            case 4:
+                values.add(new ArchiveVNumber(time, AlarmSeverity.INVALID, "Disconnected", ValueFactory.displayNone(), Double.NaN));
+                break;
+            default:
+                values.add(ValueFactory.newVDoubleArray(new ArrayDouble(number, i, -i), ValueFactory.alarmNone(),
+                                                        ValueFactory.newTime(time), ValueFactory.displayNone()));
+            }
+        }
+        return values;
+    }
+
+    @Test
+    public void testValueFormat() throws Exception
+    {
+        final List<VType> values = createValues();
+        for (Style style : Style.values())
+            for (int precision : new int[] { 0, 3, 6 })
+                for (boolean min_max : new boolean[] { false, true })
+                {
+                    final VTypeFormat format = Style.getFormat(style, precision);
+                    format.setMaxArray(-1);
+                    final ValueFormatter formatter = new ValueFormatter(style, precision);
+                    formatter.useMinMaxColumn(min_max);
+                    final ValueFormatter info_formatter = new ValueWithInfoFormatter(style, precision);
+                    info_formatter.useMinMaxColumn(min_max);
+                    final StringBuilder buf = new StringBuilder();
+                    for (VType value : values)
+                    {
+                        assertThat(formatter.format(value), equalTo(legacyFormat(format, min_max, value)));
+                        assertThat(info_formatter.format(value), equalTo(legacyFormatWithInfo(format, min_max, value)));
+                        // Appending to re-used buffer
+                        buf.setLength(0);
+                        buf.append("x");
+                        info_formatter.format(value, buf);
+                        assertThat(buf.toString(), equalTo("x" + legacyFormatWithInfo(format, min_max, value)));
+                    }
+                }
+    }
+
+    @Test
+    public void testTimestampFormat() throws Exception
+    {
+        final DateFormat date_format = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss.SSS");
+        final TimestampFormatCache plain = new TimestampFormatCache(TimestampHelper::format, 9);
+        final TimestampFormatCache matlab = new TimestampFormatCache(time -> date_format.format(Date.from(time)), 3);
+        final Random random = new Random(42);
+        long seconds = 0;
+        for (int i=0; i<100000; ++i)
+        {
+            // Mostly same or next second, sometimes far jumps to cross DST changes
+            seconds += (i % 100 == 0) ? random.nextInt(10000000) : random.nextInt(2);
+            final Instant time = Instant.ofEpochSecond(seconds, random.nextInt(1000000000));
+            assertThat(plain.format(time), equalTo(TimestampHelper.format(time)));
+            assertThat(matlab.format(time), equalTo(date_format.format(Date.from(time))));
+        }
+    }
+
+    /** Original export line for the plain and spreadsheet export */
+    @Test
+    public void testPlainLines() throws Exception
+    {
+        final List<VType> values = createValues();
+        final VTypeFormat format = Style.getFormat(Style.Exponential, 4);
+        format.setMaxArray(-1);
+        final ValueFormatter formatter = new ValueWithInfoFormatter(Style.Exponential, 4);
+        final TimestampFormatCache time_format = new TimestampFormatCache(TimestampHelper::format, 9);
+        final StringBuilder line = new StringBuilder();
+        for (VType value : values)
+        {
+            final String expected = TimestampHelper.format(VTypeHelper.getTimestamp(value)) +
+                                    Messages.Export_Delimiter + legacyFormatWithInfo(format, false, value);
+            line.setLength(0);
+            time_format.format(VTypeHelper.getTimestamp(value), line);
+            line.append(Messages.Export_Delimiter);
+            formatter.format(value, line);
+            assertThat(line.toString(), equalTo(expected));
+        }
+    }
+
+    /** Model item with plain array of samples */
+    private static class ArrayItem extends ModelItem
+    {
+        private final PlotSampleArray samples = new PlotSampleArray();
+
+        ArrayItem(final List<PlotSample> list)
+        {
+            super("test");
+            samples.set(list);
+        }
+
+        @Override
+        public PlotSamples getSamples()
+        {
+            return samples;
+        }
+
+        @Override
+        public void write(final PrintWriter writer)
+        {
+            // Not persisted
+        }
+    }
+
+    @Test
+    public void testModelSampleIterator() throws Exception
+    {
+        final List<PlotSample> list = new ArrayList<>();
+        for (int i=0; i<3500; ++i)
+            list.add(new PlotSample("test", new ArchiveVNumber(Instant.ofEpochSecond(i), AlarmSeverity.NONE, "OK", ValueFactory.displayNone(), i)));
+        final ArrayItem item = new ArrayItem(list);
+
+        // Start between samples: Include the one before.
+        // Ends after a block boundary
+        checkIterator(item, Instant.ofEpochSecond(10, 500), Instant.ofEpochSecond(2100), 10, 2100);
+        // Start before first sample, exact end
+        checkIterator(item, Instant.ofEpochSecond(-10), Instant.ofEpochSecond(999), 0, 999);
+        // Everything
+        checkIterator(item, Instant.ofEpochSecond(-10), Instant.ofEpochSecond(10000), 0, 3499);
+        // Nothing
+        checkIterator(item, Instant.ofEpochSecond(-10), Instant.ofEpochSecond(-5), 0, -1);
+        checkIterator(item, Instant.ofEpochSecond(5000), Instant.ofEpochSecond(6000), 3499, 3499);
+    }
+
+    private void checkIterator(final ModelItem item, final Instant start, final Instant end,
+                               final int first, final int last) throws Exception
+    {
+        final ValueIterator iter = new ModelSampleIterator(item, start, end);
+        int expected = first;
+        while (iter.hasNext())
+            assertThat(VTypeHelper.toDouble(iter.next()), equalTo((double) expected++));
+        iter.close();
+        assertThat(expected, equalTo(last + 1));
+    }
+}
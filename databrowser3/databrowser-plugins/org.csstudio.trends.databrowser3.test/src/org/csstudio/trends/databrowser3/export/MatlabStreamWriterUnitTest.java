@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import com.jmatio.io.MatFileReader;
+import com.jmatio.types.MLArray;
+import com.jmatio.types.MLCell;
+import com.jmatio.types.MLChar;
+import com.jmatio.types.MLDouble;
+import com.jmatio.types.MLStructure;
+
+/** JUnit test of the {@link MatlabStreamWriter}
+ *
+ *  <p>Reads the streamed file back with jmatio.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class MatlabStreamWriterUnitTest
+{
+    /** @param array Char array read by jmatio
+     *  @return Text
+     */
+    private static String decode(final MLArray array)
+    {
+        assertThat(array, instanceOf(MLChar.class));
+        final MLChar text = (MLChar) array;
+        assertThat(text.getM(), equalTo(1));
+        return text.getString(0);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        final String[] names = { "ramp", "Temperatur \u00b0C" };
+        final int samples = 3000;
+
+        final File file = File.createTempFile("stream", ".mat");
+        file.deleteOnExit();
+        try (MatlabStreamWriter writer = new MatlabStreamWriter(file.getPath()))
+        {
+            for (int c=0; c<names.length; ++c)
+            {
+                writer.startChannel(names[c]);
+                for (int i=0; i<samples; ++i)
+                    writer.addSample("2018/01/01 00:00:" + i, c + i * 0.5, i % 2 == 0 ? "OK" : "MINOR");
+                writer.endChannel();
+            }
+        }
+
+        final MatFileReader reader = new MatFileReader(file);
+        assertThat(reader.getContent().size(), equalTo(names.length));
+        for (int c=0; c<names.length; ++c)
+        {
+            final MLStructure channel = (MLStructure) reader.getMLArray("channel" + c);
+            // Non-ASCII name uses one column per char
+            final MLChar name = (MLChar) channel.getField("name");
+            assertThat(name.getN(), equalTo(names[c].length()));
+            assertThat(decode(name), equalTo(names[c]));
+
+            final MLCell time = (MLCell) channel.getField("time");
+            final MLDouble value = (MLDouble) channel.getField("value");
+            final MLCell severity = (MLCell) channel.getField("severity");
+            assertThat(time.getM(), equalTo(samples));
+            assertThat(value.getM(), equalTo(samples));
+            assertThat(severity.getM(), equalTo(samples));
+            for (int i=0; i<samples; ++i)
+            {
+                assertThat(decode(time.get(i)), equalTo("2018/01/01 00:00:" + i));
+                assertThat(value.get(i), equalTo(c + i * 0.5));
+                assertThat(decode(severity.get(i)), equalTo(i % 2 == 0 ? "OK" : "MINOR"));
+            }
+        }
+    }
+}
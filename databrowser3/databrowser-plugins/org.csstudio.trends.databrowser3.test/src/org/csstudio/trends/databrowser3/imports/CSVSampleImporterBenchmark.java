@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.diirt.vtype.VType;
+import org.junit.Test;
+
+/** Throughput of the {@link CSVSampleImporter} and {@link MappedCSVSampleImporter}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CSVSampleImporterBenchmark
+{
+    private static final int LINES = 5000000;
+
+    @Test
+    public void benchmark() throws Exception
+    {
+        final File file = File.createTempFile("benchmark", ".csv");
+        file.deleteOnExit();
+        final PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(file)));
+        for (int i=0; i<LINES; ++i)
+            out.format("   2011-08-%02d %02d:%02d:%02d.%03d    %.6f\n",
+                       1 + (i/86400)%28, (i/3600)%24, (i/60)%60, i%60, i%1000, 300.0*Math.sin(i*0.001));
+        out.close();
+        final double mb = file.length() / 1024.0 / 1024.0;
+        System.out.format("File with %d lines, %.1f MB\n", LINES, mb);
+
+        for (int run=0; run<3; ++run)
+        {
+            long start = System.nanoTime();
+            final List<VType> expected = new CSVSampleImporter().importValues(new FileInputStream(file));
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.format("CSVSampleImporter      : %6.2f s, %6.1f MB/s\n", secs, mb / secs);
+
+            start = System.nanoTime();
+            final List<VType> values = new MappedCSVSampleImporter().importValues(new FileInputStream(file));
+            secs = (System.nanoTime() - start) / 1e9;
+            System.out.format("MappedCSVSampleImporter: %6.2f s, %6.1f MB/s\n", secs, mb / secs);
+
+            assertThat(values.size(), equalTo(expected.size()));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VType;
+import org.junit.Test;
+
+/** JUnit test of the {@link MappedCSVSampleImporter}
+ *
+ *  <p>Checks that it returns the same values as the {@link CSVSampleImporter}.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class MappedCSVSampleImporterUnitTest
+{
+    private static final String MIXED =
+        "# Comment\n" +
+        "\n" +
+        "   2011-08-09 15:38:16.718    0.000000\n" +
+        "2011/08/09 15:39:16.703123456\t298.126\r\n" +
+        "2011-08-09 15:40:16.7 -1.5e-3 trailing text\r" +
+        "2011-08-09 15:41:16.71 1.5 0.1 0.2\n" +
+        "2011-08-09 15:42:16.734 1.5, 0.1, 0.2\n" +
+        "2011-08-09 15:43:16.734 1,234.5\n" +
+        "2011-08-09 15:44:16.734\t+42\t0.5 x\n" +
+        "2011-08-09 15:45:16.734 12345678901234567890.5\n" +
+        "Not a sample\n" +
+        "2011-08-09 15:46:16.734 1e300 1e-300 -0\n";
+
+    private static void assertSame(final List<VType> expected, final List<VType> values)
+    {
+        assertThat(values.size(), equalTo(expected.size()));
+        for (int i=0; i<expected.size(); ++i)
+        {
+            final VType exp = expected.get(i), act = values.get(i);
+            assertThat(act.getClass(), equalTo(exp.getClass()));
+            assertThat(VTypeHelper.getTimestamp(act), equalTo(VTypeHelper.getTimestamp(exp)));
+            assertThat(VTypeHelper.toDouble(act), equalTo(VTypeHelper.toDouble(exp)));
+            if (exp instanceof VStatistics)
+            {
+                assertThat(((VStatistics) act).getMin(), equalTo(((VStatistics) exp).getMin()));
+                assertThat(((VStatistics) act).getMax(), equalTo(((VStatistics) exp).getMax()));
+            }
+        }
+    }
+
+    @Test
+    public void testLakeshore() throws Exception
+    {
+        InputStream input = getClass().getResourceAsStream("Lakeshore_A_9_2011.xml");
+        final List<VType> expected = new CSVSampleImporter().importValues(input);
+        input = getClass().getResourceAsStream("Lakeshore_A_9_2011.xml");
+        final List<VType> values = new MappedCSVSampleImporter().importValues(input);
+        assertTrue(values.size() > 0);
+        assertSame(expected, values);
+    }
+
+    @Test
+    public void testMixedContent() throws Exception
+    {
+        final List<VType> expected = new CSVSampleImporter().importValues(new ByteArrayInputStream(MIXED.getBytes()));
+        final List<VType> values = new MappedCSVSampleImporter().importValues(new ByteArrayInputStream(MIXED.getBytes()));
+        for (VType value : values)
+            System.out.println(VTypeHelper.toString(value));
+        assertThat(values.size(), equalTo(9));
+        assertSame(expected, values);
+    }
+
+    @Test
+    public void testLocale() throws Exception
+    {
+        // German locale uses '.' for grouping and ',' as decimal point
+        final Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try
+        {
+            final String data = "2011-08-09 15:38:16.718 1.234\n" +
+                                "2011-08-09 15:39:16.718 1.234,5 0,5 1\n";
+            final List<VType> expected = new CSVSampleImporter().importValues(new ByteArrayInputStream(data.getBytes()));
+            final List<VType> values = new MappedCSVSampleImporter().importValues(new ByteArrayInputStream(data.getBytes()));
+            assertThat(values.size(), equalTo(2));
+            assertThat(VTypeHelper.toDouble(values.get(0)), equalTo(1234.0));
+            assertThat(VTypeHelper.toDouble(values.get(1)), equalTo(1234.5));
+            assertSame(expected, values);
+        }
+        finally
+        {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    public void testSegments() throws Exception
+    {
+        final File file = File.createTempFile("segments", ".csv");
+        file.deleteOnExit();
+        final PrintStream out = new PrintStream(new FileOutputStream(file));
+        for (int i=0; i<10000; ++i)
+        {
+            out.print(MIXED);
+            out.format("2011-08-10 %02d:%02d:%02d.%03d %d.%d\n", (i/3600)%24, (i/60)%60, i%60, i%1000, i, i%7);
+        }
+        out.close();
+
+        final List<VType> expected = new CSVSampleImporter().importValues(new FileInputStream(file));
+        // Small segment size to force parallel parsing of segments
+        for (long segment_size : new long[] { 100, 4096, 100000, 10000000 })
+        {
+            final List<VType> values = new MappedCSVSampleImporter(segment_size).importValues(new FileInputStream(file));
+            assertSame(expected, values);
+        }
+    }
+}
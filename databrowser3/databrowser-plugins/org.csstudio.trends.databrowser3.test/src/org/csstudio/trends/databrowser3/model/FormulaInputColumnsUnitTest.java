@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/** JUnit test for {@link FormulaInputColumns}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class FormulaInputColumnsUnitTest
+{
+    /** Model item with {@link PVSamples}, not connected to a PV */
+    private static class SamplesItem extends ModelItem
+    {
+        private final PVSamples samples = new PVSamples(new AtomicInteger(0));
+
+        SamplesItem()
+        {
+            super("test");
+        }
+
+        @Override
+        public PVSamples getSamples()
+        {
+            return samples;
+        }
+
+        @Override
+        public void write(final PrintWriter writer)
+        {
+            // Not persisted
+        }
+    }
+
+    /** Live samples, which are continued until 'now', are appended without merging */
+    @Test
+    public void testAppend() throws Exception
+    {
+        final SamplesItem item = new SamplesItem();
+        final FormulaInputColumns columns = new FormulaInputColumns(new FormulaInput(item, "x"));
+        final List<long[]> changes = new ArrayList<>();
+
+        for (int i=0; i<10; ++i)
+            item.getSamples().addLiveSample(TestHelper.makeValue(i));
+        columns.update(changes);
+        // 10 samples plus continuation until 'now'
+        assertThat(item.getSamples().size(), equalTo(11));
+        assertThat(columns.size(), equalTo(11));
+        assertThat(columns.getValue(9), equalTo(9.0));
+
+        for (int i=10; i<20; ++i)
+        {
+            item.getSamples().addLiveSample(TestHelper.makeValue(i));
+            changes.clear();
+            columns.update(changes);
+            assertThat(columns.size(), equalTo(i+2));
+            assertThat(columns.getValue(i), equalTo((double) i));
+            // Changes start at the previous last sample
+            assertThat(changes.size(), equalTo(1));
+            assertThat(changes.get(0)[0], equalTo(columns.getTime(i-1)));
+            assertThat(changes.get(0)[1], equalTo(FormulaInputColumns.OPEN_END));
+        }
+
+        // Without new samples, only the continuation is updated
+        changes.clear();
+        columns.update(changes);
+        assertThat(columns.size(), equalTo(21));
+        assertThat(changes.size(), equalTo(1));
+        assertThat(changes.get(0)[0], equalTo(columns.getTime(19)));
+
+        // None of the updates had to merge
+        assertThat(columns.getMerges(), equalTo(0));
+    }
+
+    /** Full ring buffer drops the oldest sample for each new one, without merging */
+    @Test
+    public void testFullRingBuffer() throws Exception
+    {
+        final SamplesItem item = new SamplesItem();
+        item.getSamples().setLiveCapacity(10);
+        final FormulaInputColumns columns = new FormulaInputColumns(new FormulaInput(item, "x"));
+        final List<long[]> changes = new ArrayList<>();
+
+        for (int i=0; i<10; ++i)
+            item.getSamples().addLiveSample(TestHelper.makeValue(i));
+        columns.update(changes);
+        assertThat(columns.size(), equalTo(11));
+
+        for (int i=10; i<30; ++i)
+        {
+            item.getSamples().addLiveSample(TestHelper.makeValue(i));
+            changes.clear();
+            columns.update(changes);
+            // Still 10 samples plus continuation, oldest one dropped
+            assertThat(columns.size(), equalTo(11));
+            for (int j=0; j<10; ++j)
+                assertThat(columns.getValue(j), equalTo((double) (i-9+j)));
+            for (int j=1; j<10; ++j)
+                assertThat(columns.getTime(j) > columns.getTime(j-1), equalTo(true));
+            // Changes for the dropped sample and the new one
+            assertThat(changes.size(), equalTo(2));
+            assertThat(changes.get(0)[0], equalTo(FormulaInputColumns.OPEN_START));
+            assertThat(changes.get(0)[1], equalTo(columns.getTime(0)));
+            assertThat(changes.get(1)[0], equalTo(columns.getTime(8)));
+            assertThat(changes.get(1)[1], equalTo(FormulaInputColumns.OPEN_END));
+        }
+
+        // Several samples added at once
+        for (int i=30; i<33; ++i)
+            item.getSamples().addLiveSample(TestHelper.makeValue(i));
+        changes.clear();
+        columns.update(changes);
+        for (int j=0; j<10; ++j)
+            assertThat(columns.getValue(j), equalTo((double) (23+j)));
+        assertThat(changes.get(1)[0], equalTo(columns.getTime(6)));
+
+        assertThat(columns.getMerges(), equalTo(0));
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.junit.Test;
+
+/** Benchmark of {@link FormulaItem}, full versus incremental computation
+ *
+ *  <p>10 inputs with 1M samples each need a heap of about 4GB.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class FormulaItemBenchmark
+{
+    private static final int INPUTS = 10;
+    private static final int SAMPLES = 1000000;
+    private static final int UPDATES = 20;
+
+    /** Model item with plain array of samples */
+    private static class ArrayItem extends ModelItem
+    {
+        private final PlotSampleArray samples = new PlotSampleArray();
+        private final List<PlotSample> list = new ArrayList<>();
+
+        ArrayItem(final String name)
+        {
+            super(name);
+            samples.set(list);
+        }
+
+        void add(final PlotSample sample)
+        {
+            samples.lockForWriting();
+            list.add(sample);
+            samples.unlockForWriting();
+        }
+
+        @Override
+        public PlotSamples getSamples()
+        {
+            return samples;
+        }
+
+        @Override
+        public void write(final PrintWriter writer)
+        {
+            // Not persisted
+        }
+    }
+
+    @Test
+    public void benchmark() throws Exception
+    {
+        final ArrayItem[] items = new ArrayItem[INPUTS];
+        final FormulaInput[] inputs = new FormulaInput[INPUTS];
+        final StringBuilder expression = new StringBuilder();
+        for (int i=0; i<INPUTS; ++i)
+        {
+            items[i] = new ArrayItem("pv" + i);
+            inputs[i] = new FormulaInput(items[i], "x" + i);
+            if (i > 0)
+                expression.append(" + ");
+            expression.append("x").append(i).append("*").append(i+1);
+        }
+        int t = 0;
+        for (; t<SAMPLES; ++t)
+            for (ArrayItem item : items)
+                item.add(TestHelper.makePlotSample(t));
+
+        // Full computation, which is also what the constructor does
+        long start = System.nanoTime();
+        final FormulaItem formula = new FormulaItem("formula", expression.toString(), inputs);
+        long nanos = System.nanoTime() - start;
+        System.out.format("Full computation for %d inputs x %d samples: %.1f ms\n",
+                          INPUTS, SAMPLES, nanos/1e6);
+
+        // Add one sample to each input, then update
+        nanos = 0;
+        for (int update=0; update<UPDATES; ++update, ++t)
+        {
+            for (ArrayItem item : items)
+                item.add(TestHelper.makePlotSample(t));
+            start = System.nanoTime();
+            formula.reevaluate();
+            nanos += System.nanoTime() - start;
+        }
+        System.out.format("Incremental update for %d inputs x %d samples: %.3f ms per new sample\n",
+                          INPUTS, SAMPLES, nanos/1e6/UPDATES);
+
+        // Incremental result must match full re-computation
+        final FormulaItem check = new FormulaItem("check", expression.toString(), inputs);
+        final PlotSamples result = formula.getSamples(), expected = check.getSamples();
+        assertThat(result.size(), equalTo(expected.size()));
+        for (int i=0; i<expected.size(); ++i)
+            assertThat(VTypeHelper.toString(result.get(i).getVType()),
+                       equalTo(VTypeHelper.toString(expected.get(i).getVType())));
+    }
+}
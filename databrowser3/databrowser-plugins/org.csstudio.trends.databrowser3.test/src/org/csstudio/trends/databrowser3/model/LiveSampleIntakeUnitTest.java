@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link LiveSampleIntake}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class LiveSampleIntakeUnitTest
+{
+    private static final int ITEMS = 2000;
+    private static final int UPDATES = 100;
+    private static final int SCANS = 10;
+
+    /** Client that adds batches to PVSamples */
+    private static class TestClient implements LiveSampleIntake.Client
+    {
+        final PVSamples samples = new PVSamples(new AtomicInteger(0));
+        final AtomicInteger scans = new AtomicInteger();
+        final CountDownLatch scanned = new CountDownLatch(SCANS);
+
+        @Override
+        public PlotSample scan()
+        {
+            scanned.countDown();
+            return TestHelper.makePlotSample(scans.incrementAndGet());
+        }
+
+        @Override
+        public long addSamples(final List<PlotSample> batch)
+        {
+            return samples.addLiveSamples(batch);
+        }
+    }
+
+    @Test
+    public void testMonitors() throws Exception
+    {
+        final LiveSampleIntake intake = LiveSampleIntake.getInstance();
+        final long start_batches = intake.getBatches();
+        final List<TestClient> clients = new ArrayList<>();
+        final List<LiveSampleIntake.Buffer> buffers = new ArrayList<>();
+        for (int i=0; i<ITEMS; ++i)
+        {
+            final TestClient client = new TestClient();
+            client.samples.setLiveCapacity(UPDATES);
+            clients.add(client);
+            buffers.add(intake.register(client, 0.0));
+        }
+
+        // Several threads send updates faster than the intake tick,
+        // like PVs with bursts of updates
+        final List<Thread> threads = new ArrayList<>();
+        for (int t=0; t<4; ++t)
+        {
+            final int offset = t;
+            final Thread thread = new Thread(() ->
+            {
+                for (int update=0; update<UPDATES; ++update)
+                    for (int i=offset; i<ITEMS; i+=4)
+                        buffers.get(i).add(TestHelper.makePlotSample(update));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.join();
+        // Await the tick that hands the last samples to the items
+        final long timeout = System.currentTimeMillis() + 5000;
+        for (TestClient client : clients)
+            while (client.samples.size() < UPDATES + 1  &&  System.currentTimeMillis() < timeout)
+                Thread.sleep(10);
+
+        for (TestClient client : clients)
+        {
+            final PVSamples samples = client.samples;
+            // All updates, plus continuation to 'now'
+            assertThat(samples.size(), equalTo(UPDATES + 1));
+            for (int i=1; i<UPDATES; ++i)
+                assertTrue(samples.get(i-1).getPosition().isBefore(samples.get(i).getPosition()));
+        }
+        final long batches = intake.getBatches() - start_batches;
+        System.out.format("%d items x %d updates: %d batches, %.1f samples per batch, %.3f ms lock wait\n",
+                          ITEMS, UPDATES, batches, ITEMS * (double) UPDATES / batches, intake.getLockWaitNanos() / 1e6);
+        // Far fewer batches, i.e. write locks, than samples
+        assertTrue(batches < ITEMS * UPDATES / 10);
+
+        for (LiveSampleIntake.Buffer buffer : buffers)
+            intake.unregister(buffer);
+    }
+
+    @Test
+    public void testScan() throws Exception
+    {
+        final LiveSampleIntake intake = LiveSampleIntake.getInstance();
+        final TestClient client = new TestClient();
+        final long start = System.nanoTime();
+        final LiveSampleIntake.Buffer buffer = intake.register(client, 0.2);
+        assertTrue(client.scanned.await(10, TimeUnit.SECONDS));
+        final long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        intake.unregister(buffer);
+        final int scans = client.scans.get();
+        System.out.println(scans + " scans at 0.2 second period took " + ms + " ms");
+        // Scans are not faster than the period, allowing for the granularity of the tick
+        assertTrue(ms >= (SCANS - 1) * 200 - 50);
+        // No more scans once unregistered
+        Thread.sleep(500);
+        assertThat(client.scans.get(), equalTo(scans));
+    }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.trends.databrowser3.Messages;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueUtil;
@@ -100,4 +101,26 @@ public class PVSamplesUnitTest
         assertThat(ValueUtil.timeOf(value).isTimeValid(), equalTo(true));
     }
 
+    /** Batch of live samples, with repeated 'disconnected' */
+    @Test
+    public void testBatchedLiveSamples()
+    {
+        final PVSamples samples = new PVSamples(new AtomicInteger(0));
+        final List<PlotSample> batch = new ArrayList<>();
+        for (int i=0; i<5; ++i)
+            batch.add(TestHelper.makePlotSample(i));
+        batch.add(new PlotSample(Messages.LiveData, Messages.Model_Disconnected));
+        batch.add(new PlotSample(Messages.LiveData, Messages.Model_Disconnected));
+        final long wait = samples.addLiveSamples(batch);
+        System.out.println(samples.toString());
+        assertThat(wait >= 0, equalTo(true));
+        // 5 values, one 'disconnected', no continuation
+        assertEquals(6, samples.size());
+
+        // Another 'disconnected' is ignored
+        batch.clear();
+        batch.add(new PlotSample(Messages.LiveData, Messages.Model_Disconnected));
+        samples.addLiveSamples(batch);
+        assertEquals(6, samples.size());
+    }
 }
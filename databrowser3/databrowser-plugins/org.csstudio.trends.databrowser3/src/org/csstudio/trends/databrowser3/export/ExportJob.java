@@ -7,11 +7,15 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser3.export;
 
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -22,6 +26,7 @@ import org.csstudio.archive.reader.ArchiveRepository;
 import org.csstudio.archive.reader.LinearValueIterator;
 import org.csstudio.archive.reader.MergingValueIterator;
 import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.javafx.rtplot.util.NamedThreadFactory;
 import org.csstudio.trends.databrowser3.Activator;
 import org.csstudio.trends.databrowser3.model.ArchiveDataSource;
 import org.csstudio.trends.databrowser3.model.Model;
@@ -41,6 +46,19 @@ import org.eclipse.core.runtime.jobs.Job;
 abstract public class ExportJob extends Job
 {
     final protected static int PROGRESS_UPDATE_LINES = 1000;
+
+    /** Size of file output buffer */
+    final private static int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    /** Number of threads used to fetch channel data in parallel */
+    final private static int RETRIEVAL_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /** Number of samples per block fetched in background */
+    final private static int RETRIEVAL_BLOCK_SIZE = 1000;
+
+    /** Number of blocks fetched ahead per channel */
+    final private static int RETRIEVAL_BLOCKS = 4;
+
     final protected String comment;
     final protected Model model;
     final protected Instant start, end;
@@ -51,6 +69,9 @@ abstract public class ExportJob extends Job
     /** Active readers, used to cancel and close them */
     final private CopyOnWriteArrayList<ArchiveReader> archive_readers = new CopyOnWriteArrayList<ArchiveReader>();
 
+    /** Threads for fetching channel data while job runs */
+    private ExecutorService retrieval = null;
+
     /** Thread that polls a progress monitor and cancels active archive readers
      *  if the user requests the export job to end via the progress monitor
      */
@@ -121,12 +142,13 @@ abstract public class ExportJob extends Job
     final protected IStatus run(final IProgressMonitor monitor)
     {
         monitor.beginTask("Data Export", IProgressMonitor.UNKNOWN);
+        retrieval = Executors.newFixedThreadPool(RETRIEVAL_THREADS, new NamedThreadFactory("DataBrowserExport"));
         try
         {
             final PrintStream out;
             if (filename != null)
             {
-                out = new PrintStream(filename);
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(filename), OUTPUT_BUFFER_SIZE));
                 printExportInfo(out);
             }
             else
@@ -147,6 +169,7 @@ abstract public class ExportJob extends Job
         {
             error_handler.handleExportError(ex);
         }
+        retrieval.shutdownNow();
         for (ArchiveReader reader : archive_readers)
             reader.close();
         monitor.done();
@@ -199,6 +222,24 @@ abstract public class ExportJob extends Job
         out.println(comment);
     }
 
+    /** Create iterators that fetch the samples of all items in parallel
+     *
+     *  <p>Data for all items is fetched in the background,
+     *  reading ahead a limited number of samples per item.
+     *  Caller must close the iterators.
+     *
+     *  @param items ModelItems
+     *  @return ValueIterator for samples in each item
+     */
+    protected List<ValueIterator> createValueIterators(final Iterable<ModelItem> items)
+    {
+        final List<ValueIterator> iters = new ArrayList<>();
+        for (ModelItem item : items)
+            iters.add(new PrefetchValueIterator(() -> createValueIterator(item), retrieval,
+                                                RETRIEVAL_BLOCK_SIZE, RETRIEVAL_BLOCKS));
+        return iters;
+    }
+
     /** @param item ModelItem
      *  @return ValueIterator for samples in the item
      *  @throws Exception on error
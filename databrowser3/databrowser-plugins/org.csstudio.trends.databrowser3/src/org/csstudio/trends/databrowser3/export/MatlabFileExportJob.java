@@ -9,7 +9,7 @@ package org.csstudio.trends.databrowser3.export;
 
 import java.io.PrintStream;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.csstudio.archive.reader.ValueIterator;
@@ -19,15 +19,8 @@ import org.csstudio.trends.databrowser3.model.Model;
 import org.csstudio.trends.databrowser3.model.ModelItem;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.osgi.util.NLS;
-import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.VType;
 
-import com.jmatio.io.MatFileIncrementalWriter;
-import com.jmatio.types.MLCell;
-import com.jmatio.types.MLChar;
-import com.jmatio.types.MLDouble;
-import com.jmatio.types.MLStructure;
-
 /** Eclipse Job for exporting data from Model to Matlab-format file.
  *  @author Kay Kasemir
  */
@@ -54,71 +47,36 @@ public class MatlabFileExportJob extends ExportJob
         if (out != null)
             throw new IllegalStateException();
 
-        final MatFileIncrementalWriter writer = new MatFileIncrementalWriter(filename);
-        int i = 0;
-        for (ModelItem item : model.getItems())
-        {   // Get data
-            monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
-            final ValueIterator iter = createValueIterator(item);
-            final List<Instant> times = new ArrayList<Instant>();
-            final List<Double> values = new ArrayList<Double>();
-            final List<AlarmSeverity> severities = new ArrayList<AlarmSeverity>();
-            while (iter.hasNext()  &&  !monitor.isCanceled())
-            {
-                final VType value = iter.next();
-                times.add(VTypeHelper.getTimestamp(value));
-                values.add(VTypeHelper.toDouble(value));
-                severities.add(VTypeHelper.getSeverity(value));
-                if (values.size() % PROGRESS_UPDATE_LINES == 0)
-                    monitor.subTask(NLS.bind("{0}: Obtained {1} samples", item.getName(), values.size()));
+        // Fetch data for all items in parallel, stream one item after the other into file
+        final List<ValueIterator> iters = createValueIterators(model.getItems());
+        final MatlabStreamWriter writer = new MatlabStreamWriter(filename);
+        try
+        {
+            final Iterator<ValueIterator> iter = iters.iterator();
+            for (ModelItem item : model.getItems())
+            {   // Get data
+                monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
+                final ValueIterator values = iter.next();
+                writer.startChannel(item.getName());
+                int count = 0;
+                while (values.hasNext()  &&  !monitor.isCanceled())
+                {
+                    final VType value = values.next();
+                    writer.addSample(TimestampHelper.format(VTypeHelper.getTimestamp(value)),
+                                     VTypeHelper.toDouble(value),
+                                     VTypeHelper.getSeverity(value).toString());
+                    if (++count % PROGRESS_UPDATE_LINES == 0)
+                        monitor.subTask(NLS.bind("{0}: Obtained {1} samples", item.getName(), count));
+                }
+                writer.endChannel();
+                values.close();
             }
-            // Add to Matlab file
-            final MLStructure struct = createMLStruct(i++, item.getName(), times, values, severities);
-            writer.write(struct);
         }
-
-        writer.close();
-    }
-
-    /** Set element of cell array to text
-     *  @param cell Cell array to update
-     *  @param index Index of cell element
-     *  @param text Text to place in cell element
-     */
-    private void setCellText(final MLCell cell, final int index, final String text)
-    {
-        cell.set(new MLChar(null, text), index);
-    }
-
-    /** Create ML Structure with data for a channel
-     *  @param index Index of channel in model
-     *  @param name Channel name
-     *  @param times Time stamps
-     *  @param values Values
-     *  @param severities Severities
-     *  @return {@link MLStructure}
-     */
-    private MLStructure createMLStruct(final int index, final String name,
-            final List<Instant> times,
-            final List<Double> values,
-            final List<AlarmSeverity> severities)
-    {
-        final MLStructure struct = new MLStructure("channel" + index, new int[] { 1, 1 });
-        final int N = values.size();
-        final int[] dims = new int[] { N, 1 };
-        final MLCell time = new MLCell(null, dims);
-        final MLDouble value = new MLDouble(null, dims);
-        final MLCell severity = new MLCell(null, dims);
-        for (int i=0; i<N; ++i)
+        finally
         {
-            setCellText(time, i, TimestampHelper.format(times.get(i)));
-            value.set(values.get(i), i);
-            setCellText(severity, i, severities.get(i).toString());
+            writer.close();
+            for (ValueIterator iter : iters)
+                iter.close();
         }
-        struct.setField("name", new MLChar(null, name));
-        struct.setField("time", time);
-        struct.setField("value", value);
-        struct.setField("severity", severity);
-        return struct;
     }
 }
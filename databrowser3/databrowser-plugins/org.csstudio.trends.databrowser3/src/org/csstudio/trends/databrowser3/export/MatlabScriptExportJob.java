@@ -12,6 +12,8 @@ import java.sql.Date;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 
 import org.csstudio.archive.reader.ValueIterator;
 import org.csstudio.archive.vtype.VTypeHelper;
@@ -56,67 +58,89 @@ public class MatlabScriptExportJob extends ExportJob
                                  final PrintStream out) throws Exception
     {
         final DateFormat date_format = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss.SSS");
+        final TimestampFormatCache time_format = new TimestampFormatCache(time -> date_format.format(Date.from(time)), 3);
+        final String nl = System.lineSeparator();
+        final StringBuilder buf = new StringBuilder();
+        // Fetch data for all items in parallel, write one item after the other
+        final List<ValueIterator> iters = createValueIterators(model.getItems());
+        final Iterator<ValueIterator> iter = iters.iterator();
         int count = 0;
-        for (ModelItem item : model.getItems())
+        try
         {
-            // Item header
-            if (count > 0)
-                out.println();
-            printItemInfo(out, item);
-            // Get data
-            monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
-            final ValueIterator values = createValueIterator(item);
-            // Dump all values
-            MatlabQualityHelper qualities = new MatlabQualityHelper();
-            long line_count = 0;
-            out.println("clear t;");
-            out.println("clear v;");
-            out.println("clear q;");
-            while (values.hasNext()  &&  !monitor.isCanceled())
+            for (ModelItem item : model.getItems())
             {
-                final VType value = values.next();
-                ++line_count;
-                // t(1)='2010/03/15 13:30:10.123';
-                out.println("t{" + line_count + "}='" +
-                    date_format.format(Date.from(VTypeHelper.getTimestamp(value))) + "';");
-                // v(1)=4.125;
-                final double num = VTypeHelper.toDouble(value);
-                if (Double.isNaN(num) || Double.isInfinite(num))
-                    out.println("v(" + line_count + ")=NaN;");
-                else
-                    out.println("v(" + line_count + ")=" + num +";");
-                // q(1)=0;
-                out.println("q(" + line_count + ")=" + qualities.getQualityCode(VTypeHelper.getSeverity(value), VTypeHelper.getMessage(value)) +";");
-                if (line_count % PROGRESS_UPDATE_LINES == 0)
-                    monitor.subTask(NLS.bind("{0}: Wrote {1} samples", item.getName(), line_count));
-            }
+                // Item header
+                if (count > 0)
+                    out.println();
+                printItemInfo(out, item);
+                // Get data
+                monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
+                final ValueIterator values = iter.next();
+                // Dump all values
+                MatlabQualityHelper qualities = new MatlabQualityHelper();
+                long line_count = 0;
+                out.println("clear t;");
+                out.println("clear v;");
+                out.println("clear q;");
+                while (values.hasNext()  &&  !monitor.isCanceled())
+                {
+                    final VType value = values.next();
+                    ++line_count;
+                    buf.setLength(0);
+                    // t(1)='2010/03/15 13:30:10.123';
+                    buf.append("t{").append(line_count).append("}='");
+                    time_format.format(VTypeHelper.getTimestamp(value), buf);
+                    buf.append("';").append(nl);
+                    // v(1)=4.125;
+                    final double num = VTypeHelper.toDouble(value);
+                    buf.append("v(").append(line_count).append(")=");
+                    if (Double.isNaN(num) || Double.isInfinite(num))
+                        buf.append("NaN");
+                    else
+                        buf.append(num);
+                    buf.append(";").append(nl);
+                    // q(1)=0;
+                    buf.append("q(").append(line_count).append(")=")
+                       .append(qualities.getQualityCode(VTypeHelper.getSeverity(value), VTypeHelper.getMessage(value)))
+                       .append(";").append(nl);
+                    out.print(buf);
+                    if (line_count % PROGRESS_UPDATE_LINES == 0)
+                        monitor.subTask(NLS.bind("{0}: Wrote {1} samples", item.getName(), line_count));
+                }
 
-            out.println(comment + "Convert time stamps into 'date numbers'");
-            out.println("tn=datenum(t, 'yyyy/mm/dd HH:MM:SS.FFF');");
-            out.println(comment + "Prepare patched data because");
-            out.println(comment + "timeseries() cannot handle duplicate time stamps");
-            out.println("[xx, idx]=unique(tn, 'last');");
-            out.println("pt=tn(idx);");
-            out.println("pv=v(idx);");
-            out.println("pq=q(idx);");
-            out.println("clear xx idx");
-            out.println(comment + "Convert into time series and plot");
-            // Patch "_" in name because Matlab plot will interprete it as LaTeX sub-script
-            final String channel_name = item.getResolvedDisplayName().replace("_", "\\_");
-            out.println("channel"+count+"=timeseries(pv', pt', pq', 'IsDatenum', true, 'Name', '"+channel_name+"');");
+                out.println(comment + "Convert time stamps into 'date numbers'");
+                out.println("tn=datenum(t, 'yyyy/mm/dd HH:MM:SS.FFF');");
+                out.println(comment + "Prepare patched data because");
+                out.println(comment + "timeseries() cannot handle duplicate time stamps");
+                out.println("[xx, idx]=unique(tn, 'last');");
+                out.println("pt=tn(idx);");
+                out.println("pv=v(idx);");
+                out.println("pq=q(idx);");
+                out.println("clear xx idx");
+                out.println(comment + "Convert into time series and plot");
+                // Patch "_" in name because Matlab plot will interprete it as LaTeX sub-script
+                final String channel_name = item.getResolvedDisplayName().replace("_", "\\_");
+                out.println("channel"+count+"=timeseries(pv', pt', pq', 'IsDatenum', true, 'Name', '"+channel_name+"');");
 
-            out.print("channel"+count+".QualityInfo.Code=[");
-            for (int q=0; q<qualities.getNumCodes(); ++q)
-                out.print(" " + q);
-            out.println(" ];");
+                out.print("channel"+count+".QualityInfo.Code=[");
+                for (int q=0; q<qualities.getNumCodes(); ++q)
+                    out.print(" " + q);
+                out.println(" ];");
 
-            out.print("channel"+count+".QualityInfo.Description={");
-            for (int q=0; q<qualities.getNumCodes(); ++q)
-                out.print(" '" + qualities.getQuality(q) + "'");
-            out.println(" };");
+                out.print("channel"+count+".QualityInfo.Description={");
+                for (int q=0; q<qualities.getNumCodes(); ++q)
+                    out.print(" '" + qualities.getQuality(q) + "'");
+                out.println(" };");
 
-            out.println();
-            ++count;
+                out.println();
+                values.close();
+                ++count;
+            }
+        }
+        finally
+        {
+            for (ValueIterator values : iters)
+                values.close();
         }
         out.println(comment + "Example for plotting the data");
         for (int i=0; i<count; ++i)
@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import com.jmatio.common.MatDataTypes;
+import com.jmatio.io.MatFileHeader;
+import com.jmatio.types.MLArray;
+
+/** Streaming writer for Matlab level 5 MAT files with one structure per channel
+ *
+ *  <p>Each channel is written as a structure
+ *  <code>channel&lt;N&gt;</code> with fields
+ *  <code>name</code>, <code>time</code> (cell array of text),
+ *  <code>value</code> (double array) and <code>severity</code> (cell array of text),
+ *  the same layout that {@link MatlabFileExportJob} used to create
+ *  via <code>MLStructure</code> and <code>MatFileIncrementalWriter</code>.
+ *
+ *  <p>Instead of building the complete arrays in memory,
+ *  samples are streamed to the file in fixed-size blocks.
+ *  Time stamps go directly into the file, values and severities
+ *  into temporary spill files which are appended when the channel ends.
+ *  Sizes and dimensions that are only known at the end of a channel
+ *  are patched into the file at that time.
+ *  Data is not compressed, so files are larger than
+ *  those written by the <code>MatFileIncrementalWriter</code>.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class MatlabStreamWriter implements Closeable
+{
+    /** Size of the write blocks */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /** Name used by jmatio for elements of cells and structures */
+    private static final byte[] NO_NAME = "@".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String[] FIELDS = { "name", "time", "value", "severity" };
+
+    /** File with fixed-size buffer, supporting patches to already written data */
+    private static class BlockFile
+    {
+        final File file;
+        final RandomAccessFile access;
+        final FileChannel channel;
+        final ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE);
+
+        BlockFile(final File file) throws IOException
+        {
+            this.file = file;
+            access = new RandomAccessFile(file, "rw");
+            access.setLength(0);
+            channel = access.getChannel();
+        }
+
+        /** @return Position in file at which the next byte will be written */
+        long position() throws IOException
+        {
+            return channel.position() + block.position();
+        }
+
+        private void ensure(final int bytes) throws IOException
+        {
+            if (block.remaining() < bytes)
+                flush();
+        }
+
+        void putInt(final int value) throws IOException
+        {
+            ensure(4);
+            block.putInt(value);
+        }
+
+        void putDouble(final double value) throws IOException
+        {
+            ensure(8);
+            block.putDouble(value);
+        }
+
+        void put(final byte[] bytes) throws IOException
+        {
+            int offset = 0;
+            while (offset < bytes.length)
+            {
+                ensure(1);
+                final int len = Math.min(block.remaining(), bytes.length - offset);
+                block.put(bytes, offset, len);
+                offset += len;
+            }
+        }
+
+        /** @param bytes Number of zero bytes to add */
+        void pad(final int bytes) throws IOException
+        {
+            ensure(bytes);
+            for (int i=0; i<bytes; ++i)
+                block.put((byte) 0);
+        }
+
+        void flush() throws IOException
+        {
+            block.flip();
+            while (block.hasRemaining())
+                channel.write(block);
+            block.clear();
+        }
+
+        /** @param position Position of previously written int
+         *  @param value New value
+         */
+        void patchInt(final long position, final int value) throws IOException
+        {
+            flush();
+            final ByteBuffer buf = ByteBuffer.allocate(4);
+            buf.putInt(value);
+            buf.flip();
+            while (buf.hasRemaining())
+                channel.write(buf, position + buf.position());
+        }
+
+        /** Append the content of another file, which is then truncated */
+        void append(final BlockFile other) throws IOException
+        {
+            flush();
+            other.flush();
+            final long size = other.channel.position();
+            long done = 0;
+            while (done < size)
+                done += other.channel.transferTo(done, size - done, channel);
+            other.channel.truncate(0);
+            other.channel.position(0);
+        }
+
+        void close() throws IOException
+        {
+            flush();
+            access.close();
+        }
+    }
+
+    private final BlockFile out;
+    private final BlockFile values, severities;
+
+    /** Number of channels written */
+    private int channel_count = 0;
+
+    /** Position of structure size, time cell size and time cell dimension,
+     *  -1 while not within a channel
+     */
+    private long struct_size_pos = -1, time_size_pos, time_dims_pos;
+
+    /** Samples in current channel */
+    private int samples;
+
+    /** Size of the severity cell content */
+    private long severities_size;
+
+    /** @param filename Name of MAT file to create
+     *  @throws IOException on error
+     */
+    public MatlabStreamWriter(final String filename) throws IOException
+    {
+        out = new BlockFile(new File(filename));
+        values = new BlockFile(File.createTempFile("values", ".bin"));
+        severities = new BlockFile(File.createTempFile("severities", ".bin"));
+        writeHeader();
+    }
+
+    /** @param bytes Number of bytes
+     *  @return Padding to next multiple of 8
+     */
+    private static int padding(final long bytes)
+    {
+        final int rest = (int) (bytes % 8);
+        return rest == 0 ? 0 : 8 - rest;
+    }
+
+    private void writeHeader() throws IOException
+    {
+        final MatFileHeader header = MatFileHeader.createHeader();
+        final byte[] text = new byte[116];
+        final byte[] description = header.getDescription().getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(description, 0, text, 0, Math.min(description.length, text.length));
+        out.put(text);
+        // Subsystem data offset
+        out.pad(8);
+        out.put(new byte[] { (byte) (header.getVersion() >> 8), (byte) header.getVersion() });
+        out.put(header.getEndianIndicator());
+    }
+
+    /** Write data element tag and data, padded to 8 bytes */
+    private static void writeElement(final BlockFile file, final int type, final byte[] data) throws IOException
+    {
+        file.putInt(type);
+        file.putInt(data.length);
+        file.put(data);
+        file.pad(padding(data.length));
+    }
+
+    /** @return Size of element written by writeElement */
+    private static int elementSize(final int data_length)
+    {
+        return 8 + data_length + padding(data_length);
+    }
+
+    /** Write matrix flags, dimensions and name
+     *  @return Position of the first dimension
+     */
+    private static long writeMatrixHeader(final BlockFile file, final int type,
+                                          final int rows, final int cols,
+                                          final byte[] name) throws IOException
+    {
+        // Flags
+        file.putInt(MatDataTypes.miUINT32);
+        file.putInt(8);
+        file.putInt(type & MLArray.mtFLAG_TYPE);
+        file.putInt(0);
+        // Dimensions
+        file.putInt(MatDataTypes.miUINT32);
+        file.putInt(8);
+        final long dims = file.position();
+        file.putInt(rows);
+        file.putInt(cols);
+        // Name
+        writeElement(file, MatDataTypes.miUTF8, name);
+        return dims;
+    }
+
+    /** @return Size of the header written by writeMatrixHeader */
+    private static int matrixHeaderSize(final byte[] name)
+    {
+        return 16 + 16 + elementSize(name.length);
+    }
+
+    /** Write char matrix for text, as jmatio's MLChar
+     *
+     *  <p>Text is written as UTF-16 code units, one column per <code>char</code>.
+     */
+    private static void writeText(final BlockFile file, final String text) throws IOException
+    {
+        final byte[] data = text.getBytes(StandardCharsets.UTF_16BE);
+        file.putInt(MatDataTypes.miMATRIX);
+        file.putInt(matrixHeaderSize(NO_NAME) + elementSize(data.length));
+        writeMatrixHeader(file, MLArray.mxCHAR_CLASS, 1, text.length(), NO_NAME);
+        writeElement(file, MatDataTypes.miUINT16, data);
+    }
+
+    /** Start a channel
+     *  @param name Channel name
+     *  @throws IOException on error
+     */
+    public void startChannel(final String name) throws IOException
+    {
+        if (struct_size_pos >= 0)
+            throw new IllegalStateException("Channel not ended");
+        samples = 0;
+        severities_size = 0;
+
+        // Structure
+        out.putInt(MatDataTypes.miMATRIX);
+        struct_size_pos = out.position();
+        out.putInt(0);
+        final byte[] struct_name = ("channel" + channel_count++).getBytes(StandardCharsets.US_ASCII);
+        writeMatrixHeader(out, MLArray.mxSTRUCT_CLASS, 1, 1, struct_name);
+        // Field names, each zero-terminated, padded to longest name
+        int max_len = 0;
+        for (String field : FIELDS)
+            max_len = Math.max(max_len, field.length());
+        ++max_len;
+        out.putInt(4 << 16 | MatDataTypes.miINT32 & 0xffff);
+        out.putInt(max_len);
+        final byte[] names = new byte[max_len * FIELDS.length];
+        for (int i=0; i<FIELDS.length; ++i)
+        {
+            final byte[] field = FIELDS[i].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(field, 0, names, i*max_len, field.length);
+        }
+        writeElement(out, MatDataTypes.miINT8, names);
+
+        // 'name'
+        writeText(out, name);
+
+        // Start of 'time' cell, size and rows to be patched
+        out.putInt(MatDataTypes.miMATRIX);
+        time_size_pos = out.position();
+        out.putInt(0);
+        time_dims_pos = writeMatrixHeader(out, MLArray.mxCELL_CLASS, 0, 1, NO_NAME);
+    }
+
+    /** Add sample to current channel
+     *  @param time Time stamp text
+     *  @param value Value
+     *  @param severity Severity text
+     *  @throws IOException on error
+     */
+    public void addSample(final String time, final double value, final String severity) throws IOException
+    {
+        if (struct_size_pos < 0)
+            throw new IllegalStateException("Channel not started");
+        writeText(out, time);
+        values.putDouble(value);
+        final long start = severities.position();
+        writeText(severities, severity);
+        severities_size += severities.position() - start;
+        ++samples;
+    }
+
+    /** End current channel
+     *  @throws IOException on error
+     */
+    public void endChannel() throws IOException
+    {
+        if (struct_size_pos < 0)
+            throw new IllegalStateException("Channel not started");
+
+        // Patch size and row count of 'time' cell
+        final long time_size = out.position() - time_size_pos - 4;
+        out.patchInt(time_size_pos, checkSize(time_size));
+        out.patchInt(time_dims_pos, samples);
+
+        // 'value'
+        final long value_bytes = 8L * samples;
+        out.putInt(MatDataTypes.miMATRIX);
+        out.putInt(checkSize(matrixHeaderSize(NO_NAME) + 8 + value_bytes));
+        writeMatrixHeader(out, MLArray.mxDOUBLE_CLASS, samples, 1, NO_NAME);
+        out.putInt(MatDataTypes.miDOUBLE);
+        out.putInt(checkSize(value_bytes));
+        out.append(values);
+
+        // 'severity'
+        out.putInt(MatDataTypes.miMATRIX);
+        out.putInt(checkSize(matrixHeaderSize(NO_NAME) + severities_size));
+        writeMatrixHeader(out, MLArray.mxCELL_CLASS, samples, 1, NO_NAME);
+        out.append(severities);
+
+        // Patch size of complete structure
+        final long struct_size = out.position() - struct_size_pos - 4;
+        out.patchInt(struct_size_pos, checkSize(struct_size));
+        struct_size_pos = -1;
+    }
+
+    private static int checkSize(final long size) throws IOException
+    {
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Channel data exceeds MAT file element size limit");
+        return (int) size;
+    }
+
+    /** Close file
+     *  @throws IOException on error
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            out.close();
+        }
+        finally
+        {
+            values.close();
+            severities.close();
+            values.file.delete();
+            severities.file.delete();
+        }
+    }
+}
@@ -12,13 +12,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.csstudio.archive.reader.ValueIterator;
-import org.csstudio.archive.vtype.VTypeHelper;
 import org.csstudio.trends.databrowser3.model.ModelItem;
 import org.csstudio.trends.databrowser3.model.PlotSample;
 import org.csstudio.trends.databrowser3.model.PlotSamples;
 import org.diirt.vtype.VType;
 
 /** Iterator for the samples in a ModelItem, not fetching archived data
+ *
+ *  <p>Samples are copied in blocks, locking the samples once per block
+ *  and checking the end time on the sample position
+ *  before the value is handed out.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -27,13 +31,19 @@ public class ModelSampleIterator implements ValueIterator
     /** Samples from which to return values from 'start' to 'end' */
     final private PlotSamples samples;
 
+    /** Number of samples copied per lock */
+    final private static int BLOCK_SIZE = 1000;
+
     /** End time */
     final private Instant end;
 
-    /** The value returned by 'next' or undefined for 'index' < 0 */
-    private VType value;
+    /** Values copied from the samples */
+    final private VType[] block = new VType[BLOCK_SIZE];
+
+    /** Number of values in block, index of next value to return */
+    private int block_size = 0, block_index = 0;
 
-    /** Index of 'value' in 'samples', -1 for end-of-sequence */
+    /** Index of next sample to copy into block, -1 for end-of-sequence */
     private int index;
 
     /** Initialize
@@ -61,14 +71,8 @@ public class ModelSampleIterator implements ValueIterator
             {   // There is data before the start time. Find sample just before start time.
                 index = findSampleLessOrEqual(start);
             }
-            // Is first sample already after end time?
-            if (index >= 0)
-            {
-                final PlotSample sample = samples.get(index);
-                value = sample.getVType();
-                if (sample.getPosition().compareTo(end) > 0)
-                    index = -1;
-            }
+            // Copy first block, which ends right away if first sample is after end time
+            fill();
         }
         finally
         {
@@ -119,38 +123,55 @@ public class ModelSampleIterator implements ValueIterator
         return -1;
     }
 
+    /** Copy next block of samples, must be called with samples locked */
+    private void fill()
+    {
+        block_size = block_index = 0;
+        while (index >= 0  &&  block_size < BLOCK_SIZE)
+        {
+            if (index >= samples.size())
+            {
+                index = -1; // No more samples
+                break;
+            }
+            final PlotSample sample = samples.get(index);
+            if (sample.getPosition().compareTo(end) > 0)
+            {
+                index = -1; // Beyond end time
+                break;
+            }
+            block[block_size++] = sample.getVType();
+            ++index;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean hasNext()
     {
-        return index >= 0;
+        return block_index < block_size;
     }
 
     /** {@inheritDoc} */
     @Override
     public VType next() throws Exception
     {
-        if (index < 0)
+        if (block_index >= block_size)
             throw new Exception("End of samples");
-        // Remember value, prepare the next value
-        final VType result = value;
-        if (! samples.getLock().tryLock(10, TimeUnit.SECONDS))
-            throw new TimeoutException("Cannot lock " + samples);
-        try
-        {
-            ++index;
-            if (index >= samples.size())
-                index = -1; // No more samples
-            else
+        final VType result = block[block_index];
+        block[block_index++] = null;
+        if (block_index >= block_size  &&  index >= 0)
+        {   // Prepare next block
+            if (! samples.getLock().tryLock(10, TimeUnit.SECONDS))
+                throw new TimeoutException("Cannot lock " + samples);
+            try
             {
-                value = samples.get(index).getVType();
-                if (VTypeHelper.getTimestamp(value).compareTo(end) > 0)
-                    index = -1; // Beyond end time
+                fill();
+            }
+            finally
+            {
+                samples.getLock().unlock();
             }
-        }
-        finally
-        {
-            samples.getLock().unlock();
         }
         return result;
     }
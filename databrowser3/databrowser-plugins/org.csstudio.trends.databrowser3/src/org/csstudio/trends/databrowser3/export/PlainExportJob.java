@@ -9,6 +9,8 @@ package org.csstudio.trends.databrowser3.export;
 
 import java.io.PrintStream;
 import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 
 import org.csstudio.archive.reader.ValueIterator;
 import org.csstudio.archive.vtype.TimestampHelper;
@@ -54,29 +56,45 @@ public class PlainExportJob extends ExportJob
     protected void performExport(final IProgressMonitor monitor,
                                  final PrintStream out) throws Exception
     {
-        int count = 0;
-        for (ModelItem item : model.getItems())
-        {   // Item header
-            if (count > 0)
-                out.println();
-            printItemInfo(out, item);
-            // Get data
-            monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
-            final ValueIterator values = createValueIterator(item);
-            // Dump all values
-            out.println(comment + Messages.TimeColumn + Messages.Export_Delimiter + formatter.getHeader());
-            long line_count = 0;
-            while (values.hasNext()  &&  !monitor.isCanceled())
-            {
-                final VType value = values.next();
-
-                final String time = TimestampHelper.format(VTypeHelper.getTimestamp(value));
-                out.println(time + Messages.Export_Delimiter + formatter.format(value));
-                ++line_count;
-                if (++line_count % PROGRESS_UPDATE_LINES == 0)
-                    monitor.subTask(NLS.bind("{0}: Wrote {1} samples", item.getName(), line_count));
+        // Fetch data for all items in parallel, write one item after the other
+        final List<ValueIterator> iters = createValueIterators(model.getItems());
+        try
+        {
+            final Iterator<ValueIterator> iter = iters.iterator();
+            final StringBuilder line = new StringBuilder();
+            final TimestampFormatCache time_format = new TimestampFormatCache(TimestampHelper::format, 9);
+            int count = 0;
+            for (ModelItem item : model.getItems())
+            {   // Item header
+                if (count > 0)
+                    out.println();
+                printItemInfo(out, item);
+                // Get data
+                monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
+                final ValueIterator values = iter.next();
+                // Dump all values
+                out.println(comment + Messages.TimeColumn + Messages.Export_Delimiter + formatter.getHeader());
+                long line_count = 0;
+                while (values.hasNext()  &&  !monitor.isCanceled())
+                {
+                    final VType value = values.next();
+                    line.setLength(0);
+                    time_format.format(VTypeHelper.getTimestamp(value), line);
+                    line.append(Messages.Export_Delimiter);
+                    formatter.format(value, line);
+                    out.println(line);
+                    ++line_count;
+                    if (++line_count % PROGRESS_UPDATE_LINES == 0)
+                        monitor.subTask(NLS.bind("{0}: Wrote {1} samples", item.getName(), line_count));
+                }
+                values.close();
+                ++count;
             }
-            ++count;
+        }
+        finally
+        {
+            for (ValueIterator iter : iters)
+                iter.close();
         }
     }
 }
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.diirt.vtype.VType;
+
+/** {@link ValueIterator} that reads ahead in the background
+ *
+ *  <p>Samples of the underlying iterator are read in blocks
+ *  on an {@link Executor}, while the caller consumes earlier blocks.
+ *  At most <code>max_blocks</code> blocks are held,
+ *  so memory use is bounded no matter how many samples there are.
+ *
+ *  <p>Each background task reads only one block and then
+ *  re-submits itself, so a small pool of threads can serve
+ *  any number of channels without starving any of them.
+ *  Once the read-ahead limit is reached, reading pauses until
+ *  the caller takes a block.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class PrefetchValueIterator implements ValueIterator
+{
+    /** Marker for end of samples */
+    private static final List<VType> END = Collections.emptyList();
+
+    private final Callable<ValueIterator> source_factory;
+    private final Executor executor;
+    private final int block_size, max_blocks;
+
+    /** Blocks read ahead, ending in END */
+    private final BlockingQueue<List<VType>> blocks = new LinkedBlockingQueue<>();
+
+    /** Is a background task reading, or has reading ended? */
+    private final AtomicBoolean fetching = new AtomicBoolean();
+
+    private volatile boolean closed = false;
+
+    /** Error from background task, reported by next() */
+    private volatile Exception error = null;
+
+    /** Underlying iterator, only accessed by the one active background task */
+    private ValueIterator source = null;
+
+    /** Block that's being consumed and index of next value in there */
+    private List<VType> block = null;
+    private int index = 0;
+
+    /** @param source_factory Creates the underlying iterator, called in background
+     *  @param executor Executor for background reads
+     *  @param block_size Number of samples to read per block
+     *  @param max_blocks Maximum number of blocks to read ahead
+     */
+    public PrefetchValueIterator(final Callable<ValueIterator> source_factory,
+                                 final Executor executor,
+                                 final int block_size, final int max_blocks)
+    {
+        this.source_factory = source_factory;
+        this.executor = executor;
+        this.block_size = block_size;
+        this.max_blocks = max_blocks;
+        schedule();
+    }
+
+    /** Submit background read unless one is already active */
+    private void schedule()
+    {
+        if (!closed  &&  fetching.compareAndSet(false, true))
+            executor.execute(this::fetch);
+    }
+
+    /** Read one block in background */
+    private void fetch()
+    {
+        try
+        {
+            if (source == null)
+                source = source_factory.call();
+            final List<VType> values = new ArrayList<>(block_size);
+            while (values.size() < block_size  &&  !closed  &&  source.hasNext())
+                values.add(source.next());
+            if (! values.isEmpty())
+                blocks.add(values);
+            if (values.size() < block_size  ||  closed)
+            {   // Done. Leave 'fetching' set so that no more reads are scheduled
+                closeSource();
+                blocks.add(END);
+                return;
+            }
+        }
+        catch (Exception ex)
+        {
+            error = ex;
+            closeSource();
+            blocks.add(END);
+            return;
+        }
+        fetching.set(false);
+        if (closed)
+        {   // close() was called while reading, but couldn't close the source
+            if (fetching.compareAndSet(false, true))
+                closeSource();
+        }
+        else if (blocks.size() < max_blocks)
+            schedule();
+    }
+
+    private void closeSource()
+    {
+        if (source != null)
+            source.close();
+        source = null;
+    }
+
+    /** Wait for a block that has values, or END */
+    private void fill()
+    {
+        while (block != END  &&  (block == null  ||  index >= block.size()))
+        {
+            try
+            {
+                block = blocks.take();
+            }
+            catch (InterruptedException ex)
+            {   // Report as error instead of silently ending the samples
+                Thread.currentThread().interrupt();
+                error = new Exception("Interrupted while waiting for samples", ex);
+                block = END;
+                return;
+            }
+            index = 0;
+            // Taking a block made room to read ahead
+            schedule();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext()
+    {
+        fill();
+        return block != END  ||  error != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public VType next() throws Exception
+    {
+        if (! hasNext())
+            throw new Exception("End of samples");
+        if (block == END)
+        {
+            final Exception ex = error;
+            error = null;
+            throw ex;
+        }
+        return block.get(index++);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close()
+    {
+        closed = true;
+        blocks.clear();
+        // Close source unless a background task is active,
+        // in which case that task will close it
+        if (fetching.compareAndSet(false, true))
+            closeSource();
+    }
+}
@@ -9,10 +9,8 @@ package org.csstudio.trends.databrowser3.export;
 
 import java.io.PrintStream;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 
-import org.csstudio.archive.reader.SpreadsheetIterator;
 import org.csstudio.archive.reader.ValueIterator;
 import org.csstudio.archive.vtype.TimestampHelper;
 import org.csstudio.trends.databrowser3.Messages;
@@ -52,31 +50,40 @@ public class SpreadsheetExportJob extends PlainExportJob
             out.print(Messages.Export_Delimiter + item.getName() + " " + formatter.getHeader());
         out.println();
 
-        // Create speadsheet interpolation
-        final List<ValueIterator> iters = new ArrayList<>();
-        for (ModelItem item : model.getItems())
+        // Create speadsheet interpolation, fetching data for all items in parallel
+        monitor.subTask("Fetching data");
+        final List<ValueIterator> iters = createValueIterators(model.getItems());
+        try
         {
-            monitor.subTask(NLS.bind("Fetching data for {0}", item.getName()));
-            iters.add(createValueIterator(item));
-        }
-        final SpreadsheetIterator sheet = new SpreadsheetIterator(iters.toArray(new ValueIterator[iters.size()]));
-        // Dump the spreadsheet lines
-        long line_count = 0;
+            final SpreadsheetMerge sheet = new SpreadsheetMerge(iters.toArray(new ValueIterator[iters.size()]));
+            // Dump the spreadsheet lines
+            final StringBuilder buf = new StringBuilder();
+            final TimestampFormatCache time_format = new TimestampFormatCache(TimestampHelper::format, 9);
+            long line_count = 0;
 
-        while (sheet.hasNext()  &&  !monitor.isCanceled())
+            while (sheet.hasNext()  &&  !monitor.isCanceled())
+            {
+                final Instant time = sheet.getTime();
+                final VType line[] = sheet.next();
+                buf.setLength(0);
+                time_format.format(time, buf);
+                for (int i=0; i<line.length; ++i)
+                {
+                    buf.append(Messages.Export_Delimiter);
+                    formatter.format(line[i], buf);
+                }
+                out.println(buf);
+                ++line_count;
+                if ((line_count % PROGRESS_UPDATE_LINES) == 0)
+                    monitor.subTask(NLS.bind("Wrote {0} samples", line_count));
+                if (monitor.isCanceled())
+                    break;
+            }
+        }
+        finally
         {
-            final Instant time = sheet.getTime();
-            final VType line[] = sheet.next();
-            out.print(TimestampHelper.format(time));
-
-            for (int i=0; i<line.length; ++i)
-                out.print(Messages.Export_Delimiter + formatter.format(line[i]));
-            out.println();
-            ++line_count;
-            if ((line_count % PROGRESS_UPDATE_LINES) == 0)
-                monitor.subTask(NLS.bind("Wrote {0} samples", line_count));
-            if (monitor.isCanceled())
-                break;
+            for (ValueIterator iter : iters)
+                iter.close();
         }
     }
 }
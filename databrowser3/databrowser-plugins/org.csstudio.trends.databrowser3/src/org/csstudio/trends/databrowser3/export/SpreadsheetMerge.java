@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.time.Instant;
+import java.util.PriorityQueue;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.VType;
+
+/** Spreadsheet-type merge of several {@link ValueIterator}s
+ *
+ *  <p>Each 'line' of the spreadsheet is for one time stamp
+ *  found in any of the channels.
+ *  For each channel, it holds the most recent value
+ *  at or before that time, or <code>null</code>
+ *  if the channel has no data yet.
+ *
+ *  <p>Channels are kept in a priority queue by the time
+ *  stamp of their next sample, so each line costs
+ *  O(log N) per channel that actually changes,
+ *  not O(N) for all N channels.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class SpreadsheetMerge
+{
+    /** Channel with its next, not yet used sample */
+    private static class Channel implements Comparable<Channel>
+    {
+        final int index;
+        final ValueIterator iter;
+        VType next;
+        Instant time;
+
+        Channel(final int index, final ValueIterator iter)
+        {
+            this.index = index;
+            this.iter = iter;
+        }
+
+        /** @return <code>true</code> if there was another sample */
+        boolean advance() throws Exception
+        {
+            if (! iter.hasNext())
+                return false;
+            next = iter.next();
+            time = VTypeHelper.getTimestamp(next);
+            return true;
+        }
+
+        @Override
+        public int compareTo(final Channel other)
+        {
+            final int cmp = time.compareTo(other.time);
+            return cmp != 0 ? cmp : Integer.compare(index, other.index);
+        }
+    }
+
+    private final PriorityQueue<Channel> queue;
+
+    /** Current line */
+    private final VType[] line;
+
+    /** @param iters Iterators for the channels
+     *  @throws Exception on error
+     */
+    public SpreadsheetMerge(final ValueIterator[] iters) throws Exception
+    {
+        queue = new PriorityQueue<>(Math.max(1, iters.length));
+        line = new VType[iters.length];
+        for (int i=0; i<iters.length; ++i)
+        {
+            final Channel channel = new Channel(i, iters[i]);
+            if (channel.advance())
+                queue.add(channel);
+        }
+    }
+
+    /** @return <code>true</code> if there is another line */
+    public boolean hasNext()
+    {
+        return ! queue.isEmpty();
+    }
+
+    /** @return Time stamp of the next line */
+    public Instant getTime()
+    {
+        return queue.peek().time;
+    }
+
+    /** Get values for the next line
+     *
+     *  <p>The returned array is re-used for the following line,
+     *  so caller needs to copy it if values are to be kept.
+     *
+     *  @return Value of each channel, <code>null</code> for channel without data
+     *  @throws Exception on error
+     */
+    public VType[] next() throws Exception
+    {
+        if (queue.isEmpty())
+            throw new Exception("End of samples");
+        final Instant time = queue.peek().time;
+        // Update all channels that have a sample for this time
+        while (! queue.isEmpty()  &&  queue.peek().time.compareTo(time) <= 0)
+        {
+            final Channel channel = queue.poll();
+            line[channel.index] = channel.next;
+            if (channel.advance())
+                queue.add(channel);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.export;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+/** Time stamp formatter that re-uses the text for the seconds
+ *
+ *  <p>Consecutive samples tend to share date, hour, minute and second.
+ *  For a formatter that ends in a fixed number of fractional digits,
+ *  this only formats the 'whole seconds' part once per second
+ *  and then appends the fractional digits for each time stamp.
+ *
+ *  <p>The result is identical to calling the formatter for each time stamp.
+ *  If the formatter doesn't produce the expected fractional digits,
+ *  it is simply called for each time stamp.
+ *
+ *  <p>Not thread-safe.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class TimestampFormatCache
+{
+    private static final int[] POW10 = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000 };
+
+    private final Function<Instant, String> formatter;
+    private final int digits;
+    private final boolean cacheable;
+
+    /** Second for which prefix was computed */
+    private long second = Long.MIN_VALUE;
+
+    /** Formatted text up to and including the decimal point */
+    private String prefix = null;
+
+    /** @param formatter Formatter for time stamps
+     *  @param digits Number of fractional digits, 3 for milliseconds, 9 for nanoseconds
+     */
+    public TimestampFormatCache(final Function<Instant, String> formatter, final int digits)
+    {
+        if (digits < 1  ||  digits > 9)
+            throw new IllegalArgumentException("Cannot handle " + digits + " digits");
+        this.formatter = formatter;
+        this.digits = digits;
+        // Check that formatter ends in the expected fractional digits
+        final Instant probe = Instant.ofEpochSecond(1500000000L, 12345678);
+        final StringBuilder buf = new StringBuilder();
+        final String whole = formatter.apply(Instant.ofEpochSecond(probe.getEpochSecond()));
+        final int len = whole.length() - digits;
+        if (len > 0  &&  whole.charAt(len-1) == '.')
+        {
+            buf.append(whole, 0, len);
+            appendFraction(probe, buf);
+            cacheable = buf.toString().equals(formatter.apply(probe));
+        }
+        else
+            cacheable = false;
+    }
+
+    private void appendFraction(final Instant time, final StringBuilder buf)
+    {
+        final int fraction = time.getNano() / POW10[9 - digits];
+        for (int pad = POW10[digits-1]; pad > 1  &&  fraction < pad; pad /= 10)
+            buf.append('0');
+        buf.append(fraction);
+    }
+
+    /** @param time Time stamp
+     *  @param buf Buffer to which formatted time stamp is appended
+     */
+    public void format(final Instant time, final StringBuilder buf)
+    {
+        if (! cacheable)
+        {
+            buf.append(formatter.apply(time));
+            return;
+        }
+        final long sec = time.getEpochSecond();
+        if (sec != second  ||  prefix == null)
+        {
+            final String whole = formatter.apply(Instant.ofEpochSecond(sec));
+            prefix = whole.substring(0, whole.length() - digits);
+            second = sec;
+        }
+        buf.append(prefix);
+        appendFraction(time, buf);
+    }
+
+    /** @param time Time stamp
+     *  @return Formatted time stamp
+     */
+    public String format(final Instant time)
+    {
+        final StringBuilder buf = new StringBuilder();
+        format(time, buf);
+        return buf.toString();
+    }
+}
@@ -29,6 +29,9 @@ public class ValueFormatter
     private boolean min_max_column = false;
     private VTypeFormat format = null;
 
+    /** Format for string values, re-used for all values */
+    final private VTypeFormat string_format = new StringVTypeFormat();
+
     /** Initialize
      *  @param style Number style to use
      *  @param precision Precision
@@ -58,28 +61,41 @@ public class ValueFormatter
 
     /** @return Value formatted into columns */
     public String format(final VType value)
+    {
+        final StringBuilder buf = new StringBuilder();
+        format(value, buf);
+        return buf.toString();
+    }
+
+    /** Format value into columns
+     *
+     *  <p>Appending to a buffer that the caller re-uses for each line
+     *  avoids creating intermediate strings.
+     *
+     *  @param value Value to format
+     *  @param buf Buffer to which columns are appended
+     */
+    public void format(final VType value, final StringBuilder buf)
     {
         final VTypeFormat format_for_this_value;
         if (value instanceof VString ||
             value instanceof VStringArray)
-            format_for_this_value = new StringVTypeFormat();
+            format_for_this_value = string_format;
         else
         {
             if (Double.isNaN(VTypeHelper.toDouble(value)))
             {
+                buf.append(Messages.Export_NoValueMarker);
                 if (min_max_column)
-                    return Messages.Export_NoValueMarker +
-                           Messages.Export_Delimiter + Messages.Export_NoValueMarker +
-                           Messages.Export_Delimiter + Messages.Export_NoValueMarker;
-                else
-                    return Messages.Export_NoValueMarker;
+                    buf.append(Messages.Export_Delimiter).append(Messages.Export_NoValueMarker)
+                       .append(Messages.Export_Delimiter).append(Messages.Export_NoValueMarker);
+                return;
             }
             format_for_this_value = format;
         }
 
         final VStatistics stats = (value instanceof VStatistics) ? (VStatistics) value : null;
 
-        final StringBuilder buf = new StringBuilder();
         if (stats != null)
             // Show only the average, since min/max handled separately
             format_for_this_value.format(stats.getAverage(), stats, buf);
@@ -102,7 +118,6 @@ public class ValueFormatter
                 buf.append(0);
             }
         }
-        return buf.toString();
     }
 
     @Override
@@ -37,43 +37,43 @@ import org.diirt.vtype.ValueFactory;
 @SuppressWarnings("nls")
 public class CSVSampleImporter implements SampleImporter
 {
-    final private Logger logger = Logger.getLogger(getClass().getName());
-    final private Display meta_data = ValueFactory.displayNone();
+    /** Pattern for time and value */
+    private static final Pattern pattern = Pattern.compile(
+            //    YYYY-MM-DD HH:MM:SS.SSS   value  ignore
+            // or
+            //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value  ignore
+            "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
 
-    /** {@inheritDoc} */
-    @Override
-    public List<VType> importValues(final InputStream input) throws Exception
-    {
-        // To be reentrant, need per-call parsers
-        final DateFormat date_parser = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        final Pattern pattern = Pattern.compile(
-                //    YYYY-MM-DD HH:MM:SS.SSS   value  ignore
-                // or
-                //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value  ignore
-                "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
+    /** Pattern for time, value, negative and positive error */
+    private static final Pattern statisticsPattern = Pattern.compile(
+            //    YYYY-MM-DD HH:MM:SS.SSS   value    negativeError    positiveError    ignore
+            // or
+            //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value    negativeError    positiveError    ignore
+            "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
 
-        final Pattern statisticsPattern = Pattern.compile(
-                //    YYYY-MM-DD HH:MM:SS.SSS   value    negativeError    positiveError    ignore
-                // or
-                //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value    negativeError    positiveError    ignore
-                "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
-
-
-        final List<VType> values = new ArrayList<VType>();
+    /** Parser for one line of input
+     *
+     *  <p>To be reentrant, each import needs its own parser.
+     */
+    static class LineParser
+    {
+        final private Logger logger = Logger.getLogger(CSVSampleImporter.class.getName());
+        final private Display meta_data = ValueFactory.displayNone();
+        final private DateFormat date_parser = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        final private char groupingSeparator = DecimalFormatSymbols.getInstance().getGroupingSeparator();
+        final private char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
 
-        final BufferedReader reader =
-                new BufferedReader(new InputStreamReader(input));
-        String line;
-        char groupingSeparator = DecimalFormatSymbols.getInstance().getGroupingSeparator();
-        char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
-        boolean statistics = true;
-        while ((line = reader.readLine()) != null)
+        /** @param line Line of input
+         *  @return Value or <code>null</code> for empty, comment or ignored line
+         *  @throws Exception on error in time stamp or number
+         */
+        VType parse(String line) throws Exception
         {
             line = line.trim();
             // Skip empty lines, comments
             if (line.length() <= 0  ||  line.startsWith("#"))
-                continue;
-            statistics = true;
+                return null;
+            boolean statistics = true;
             // Locate time and value
             // Is statistical data?
             Matcher matcher = statisticsPattern.matcher(line);
@@ -84,12 +84,11 @@ public class CSVSampleImporter implements SampleImporter
                 if (! matcher.matches())
                 {
                     logger.log(Level.INFO, "Ignored input: {0}", line);
-                    continue;
+                    return null;
                 }
                 statistics = false;
             }
 
-
             // Parse
             // Date may use '-' or '/' as separator. Force '-'
             String date_text = matcher.group(1).replace('/', '-');
@@ -108,11 +107,29 @@ public class CSVSampleImporter implements SampleImporter
                         remove(matcher.group(3),groupingSeparator).replace(decimalSeparator, '.'));
                 final double max = Double.parseDouble(
                         remove(matcher.group(4),groupingSeparator).replace(decimalSeparator, '.'));
-                values.add(new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data, number, number-min, number+max, 0, 1));
+                return new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data, number, number-min, number+max, 0, 1);
             } else {
-                values.add(new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, number));
+                return new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, number);
             }
         }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<VType> importValues(final InputStream input) throws Exception
+    {
+        final LineParser parser = new LineParser();
+        final List<VType> values = new ArrayList<VType>();
+
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(input));
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            final VType value = parser.parse(line);
+            if (value != null)
+                values.add(value);
+        }
         reader.close();
 
         return values;
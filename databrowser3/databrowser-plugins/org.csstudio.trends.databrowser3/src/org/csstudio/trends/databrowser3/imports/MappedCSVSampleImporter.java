@@ -0,0 +1,499 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.csstudio.javafx.rtplot.util.NamedThreadFactory;
+import org.diirt.vtype.VType;
+
+/** {@link SampleImporter} for the same files as the {@link CSVSampleImporter},
+ *  optimized for large files.
+ *
+ *  <p>Files are memory-mapped and parsed at the byte level.
+ *  Large files are split into segments at line boundaries,
+ *  which are parsed in parallel.
+ *  Samples are kept in primitive {@link SampleColumns}.
+ *
+ *  <p>Lines with the common 'YYYY-MM-DD HH:MM:SS.SSS value' resp.
+ *  'YYYY-MM-DD HH:MM:SS.SSS value neg_error pos_error' format,
+ *  separated by space or tab, are handled by a fast path
+ *  when the locale uses '.' as the decimal point and not for grouping.
+ *  Anything else, for example numbers with grouping separators
+ *  or comma-separated fields, is handed to the
+ *  {@link CSVSampleImporter.LineParser}, so the result is
+ *  always the same as for the {@link CSVSampleImporter}.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class MappedCSVSampleImporter implements SampleImporter
+{
+    /** Default size of segments */
+    private static final long SEGMENT_SIZE = 16L * 1024 * 1024;
+
+    /** Estimated bytes per line, used to size the columns */
+    private static final int BYTES_PER_LINE = 32;
+
+    private final long segment_size;
+
+    public MappedCSVSampleImporter()
+    {
+        this(SEGMENT_SIZE);
+    }
+
+    /** @param segment_size Size of segments to parse in parallel */
+    MappedCSVSampleImporter(final long segment_size)
+    {
+        this.segment_size = Math.min(segment_size, Integer.MAX_VALUE / 2);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<VType> importValues(final InputStream input) throws Exception
+    {
+        try
+        {
+            if (input instanceof FileInputStream)
+                return importValues(((FileInputStream) input).getChannel());
+            // Not a file, cannot map
+            final byte[] data = input.readAllBytes();
+            return new SegmentParser(ByteBuffer.wrap(data)).parse();
+        }
+        finally
+        {
+            input.close();
+        }
+    }
+
+    /** @param channel File channel, read from current position to end
+     *  @return Samples
+     *  @throws Exception on error
+     */
+    private List<VType> importValues(final FileChannel channel) throws Exception
+    {
+        final List<Long> starts = locateSegments(channel);
+        final int segments = starts.size() - 1;
+        if (segments <= 1)
+            return parseSegment(channel, starts.get(0), starts.get(1));
+
+        final int threads = Math.min(segments, Runtime.getRuntime().availableProcessors());
+        final ExecutorService pool = Executors.newFixedThreadPool(threads, new NamedThreadFactory("CSVImport"));
+        try
+        {
+            final List<Future<SampleColumns>> results = new ArrayList<>(segments);
+            for (int i=0; i<segments; ++i)
+            {
+                final long start = starts.get(i), end = starts.get(i+1);
+                results.add(pool.submit(() -> parseSegment(channel, start, end)));
+            }
+            long total = 0;
+            final List<SampleColumns> parts = new ArrayList<>(segments);
+            for (Future<SampleColumns> result : results)
+            {
+                final SampleColumns part = result.get();
+                parts.add(part);
+                total += part.size();
+            }
+            if (total > Integer.MAX_VALUE - 8)
+                throw new Exception("Cannot import " + total + " samples");
+            final SampleColumns values = new SampleColumns((int) total);
+            for (SampleColumns part : parts)
+                values.addAll(part);
+            return values;
+        }
+        catch (ExecutionException ex)
+        {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Exception)
+                throw (Exception) cause;
+            throw ex;
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Split file into segments that start at the beginning of a line
+     *  @param channel File channel
+     *  @return Start positions of segments, followed by end of file
+     *  @throws Exception on error
+     */
+    private List<Long> locateSegments(final FileChannel channel) throws Exception
+    {
+        final long end = channel.size();
+        final List<Long> starts = new ArrayList<>();
+        long start = channel.position();
+        starts.add(start);
+        final ByteBuffer buf = ByteBuffer.allocate(4096);
+        while (end - start > segment_size)
+        {
+            // Locate end of line after nominal start of next segment
+            long pos = start + segment_size;
+            long next = -1;
+            while (next < 0  &&  pos < end)
+            {
+                buf.clear();
+                final int read = channel.read(buf, pos);
+                if (read <= 0)
+                    break;
+                for (int i=0; i<read; ++i)
+                {
+                    final byte b = buf.get(i);
+                    if (b == '\n'  ||  b == '\r')
+                    {
+                        next = pos + i + 1;
+                        break;
+                    }
+                }
+                pos += read;
+            }
+            if (next < 0  ||  next >= end)
+                break;
+            // Segment may not fit one mapped buffer if it has very long lines
+            if (next - start > Integer.MAX_VALUE)
+                throw new Exception("Line too long at position " + start);
+            starts.add(next);
+            start = next;
+        }
+        if (end - start > Integer.MAX_VALUE)
+            throw new Exception("Line too long at position " + start);
+        starts.add(end);
+        return starts;
+    }
+
+    private SampleColumns parseSegment(final FileChannel channel, final long start, final long end) throws Exception
+    {
+        if (end <= start)
+            return new SampleColumns(0);
+        final ByteBuffer buffer = channel.map(MapMode.READ_ONLY, start, end - start);
+        return new SegmentParser(buffer).parse();
+    }
+
+    /** Parser for one segment of the input */
+    private static class SegmentParser
+    {
+        private final ByteBuffer buffer;
+        private final SampleColumns columns;
+
+        /** Does the locale use '.' only as decimal point, so numbers can be parsed on the fast path? */
+        private final boolean fast;
+
+        /** Parser for lines not handled by fast path, created when needed */
+        private CSVSampleImporter.LineParser fallback = null;
+
+        /** Calendar for the local time zone, created when needed */
+        private Calendar calendar = null;
+
+        /** Cached start of most recent hour: YYYYMMDDHH and epoch millis */
+        private long hour_key = -1, hour_millis;
+
+        SegmentParser(final ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+            // Same symbols as used by the CSVSampleImporter.LineParser
+            final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance();
+            fast = symbols.getDecimalSeparator() == '.'  &&  symbols.getGroupingSeparator() != '.';
+            columns = new SampleColumns(buffer.limit() / BYTES_PER_LINE);
+        }
+
+        SampleColumns parse() throws Exception
+        {
+            final int limit = buffer.limit();
+            int pos = 0;
+            while (pos < limit)
+            {
+                // Locate end of line, checking for comma or non-ASCII
+                int eol = pos;
+                boolean special = false;
+                byte b;
+                while (eol < limit  &&  (b = buffer.get(eol)) != '\n'  &&  b != '\r')
+                {
+                    if (b == ','  ||  b < 0)
+                        special = true;
+                    ++eol;
+                }
+                parseLine(pos, eol, special);
+                pos = eol + 1;
+            }
+            return columns;
+        }
+
+        /** @param start Start of line
+         *  @param end End of line
+         *  @param special Does the line contain a comma or non-ASCII bytes?
+         *  @throws Exception on error
+         */
+        private void parseLine(int start, int end, final boolean special) throws Exception
+        {
+            // Trim like String.trim()
+            while (start < end  &&  isSpace(buffer.get(start)))
+                ++start;
+            while (end > start  &&  isSpace(buffer.get(end-1)))
+                --end;
+            // Skip empty lines, comments
+            if (start >= end  ||  buffer.get(start) == '#')
+                return;
+            // Comma may be a separator, grouping or decimal separator,
+            // and non-ASCII text needs to be decoded,
+            // and other locales may use '.' for grouping:
+            // Leave that to the regular parser
+            if (special  ||  ! fast  ||  ! parseFast(start, end))
+            {
+                final byte[] bytes = new byte[end - start];
+                for (int i=0; i<bytes.length; ++i)
+                    bytes[i] = buffer.get(start + i);
+                if (fallback == null)
+                    fallback = new CSVSampleImporter.LineParser();
+                final VType value = fallback.parse(new String(bytes));
+                if (value != null)
+                    columns.addValue(value);
+            }
+        }
+
+        private static boolean isSpace(final byte b)
+        {
+            return b >= 0  &&  b <= ' ';
+        }
+
+        private static boolean isDigit(final byte b)
+        {
+            return b >= '0'  &&  b <= '9';
+        }
+
+        private static boolean isNumberChar(final byte b)
+        {
+            return isDigit(b)  ||  b == '.'  ||  b == '-'  ||  b == '+'  ||  b == 'e'  ||  b == 'E';
+        }
+
+        /** @return Value of digits, or -1 if not all digits */
+        private int digits(final int pos, final int count)
+        {
+            int value = 0;
+            for (int i=pos; i<pos+count; ++i)
+            {
+                final byte b = buffer.get(i);
+                if (! isDigit(b))
+                    return -1;
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        /** @return Position after space/tab separator, or -1 if there is none */
+        private int skipSeparator(int pos, final int end)
+        {
+            final int start = pos;
+            while (pos < end  &&  (buffer.get(pos) == ' '  ||  buffer.get(pos) == '\t'))
+                ++pos;
+            return pos > start ? pos : -1;
+        }
+
+        /** @return End of number token that starts at pos, same as pos if there is none */
+        private int locateToken(int pos, final int end)
+        {
+            while (pos < end  &&  isNumberChar(buffer.get(pos)))
+                ++pos;
+            return pos;
+        }
+
+        /** Parse line in the common format, without commas
+         *
+         *  <p>Mimics the patterns of the {@link CSVSampleImporter}.
+         *  @return <code>true</code> if handled, <code>false</code> to use fallback
+         *  @throws Exception on error in number
+         */
+        private boolean parseFast(final int start, final int end) throws Exception
+        {
+            // YYYY-MM-DD HH:MM:SS.S...
+            if (end - start < 21)
+                return false;
+            final int year = digits(start, 4);
+            final byte sep = buffer.get(start+4);
+            if (year < 0  ||  (sep != '-'  &&  sep != '/')  ||  buffer.get(start+7) != sep)
+                return false;
+            final int month = digits(start+5, 2);
+            final int day = digits(start+8, 2);
+            if (month < 1  ||  month > 12  ||  day < 1  ||  day > 31  ||  buffer.get(start+10) != ' ')
+                return false;
+            final int hour = digits(start+11, 2);
+            final int minute = digits(start+14, 2);
+            final int second = digits(start+17, 2);
+            if (hour < 0  ||  hour > 23  ||  minute < 0  ||  minute > 59  ||  second < 0  ||  second > 59  ||
+                buffer.get(start+13) != ':'  ||  buffer.get(start+16) != ':'  ||  buffer.get(start+19) != '.')
+                return false;
+            // Like SimpleDateFormat's 'SSS' applied to the first 3 digits
+            int pos = start + 20;
+            int millis = 0, count = 0;
+            while (pos < end  &&  isDigit(buffer.get(pos)))
+            {
+                if (count++ < 3)
+                    millis = millis * 10 + (buffer.get(pos) - '0');
+                ++pos;
+            }
+            if (count <= 0)
+                return false;
+
+            // Value
+            final int value_start = skipSeparator(pos, end);
+            if (value_start < 0)
+                return false;
+            final int value_end = locateToken(value_start, end);
+            if (value_end <= value_start)
+                return false;
+
+            // Optional negative and positive error
+            boolean statistics = false;
+            int neg_start = skipSeparator(value_end, end), neg_end = -1, pos_start = -1, pos_end = -1;
+            if (neg_start > 0)
+            {
+                neg_end = locateToken(neg_start, end);
+                if (neg_end > neg_start)
+                {
+                    pos_start = skipSeparator(neg_end, end);
+                    if (pos_start > 0)
+                    {
+                        pos_end = locateToken(pos_start, end);
+                        statistics = pos_end > pos_start;
+                    }
+                }
+            }
+
+            final long time = getHourMillis(year, month, day, hour) + minute * 60000L + second * 1000L + millis;
+            final double number = parseNumber(value_start, value_end);
+            if (statistics)
+            {
+                final double min = parseNumber(neg_start, neg_end);
+                final double max = parseNumber(pos_start, pos_end);
+                columns.add(time, number, number-min, number+max);
+            }
+            else
+                columns.add(time, number);
+            return true;
+        }
+
+        /** @return Epoch millis for start of hour in local time zone */
+        private long getHourMillis(final int year, final int month, final int day, final int hour)
+        {
+            final long key = ((year * 100L + month) * 100L + day) * 100L + hour;
+            if (key != hour_key)
+            {
+                if (calendar == null)
+                    calendar = new GregorianCalendar();
+                calendar.clear();
+                calendar.set(year, month-1, day, hour, 0, 0);
+                hour_millis = calendar.getTimeInMillis();
+                hour_key = key;
+            }
+            return hour_millis;
+        }
+
+        /** Powers of ten that are exact in a double */
+        private static final double[] POW10 = new double[23];
+        static
+        {
+            POW10[0] = 1.0;
+            for (int i=1; i<POW10.length; ++i)
+                POW10[i] = POW10[i-1] * 10.0;
+        }
+
+        /** Parse number
+         *
+         *  <p>Plain decimal numbers with up to 15 digits and a small
+         *  exponent are computed from mantissa and exact power of ten,
+         *  which gives the correctly rounded result.
+         *  Anything else goes to Double.parseDouble.
+         *
+         *  @return Number
+         *  @throws NumberFormatException on error
+         */
+        private double parseNumber(final int start, final int end)
+        {
+            int pos = start;
+            boolean negative = false;
+            byte b = buffer.get(pos);
+            if (b == '-'  ||  b == '+')
+            {
+                negative = b == '-';
+                ++pos;
+            }
+            long mantissa = 0;
+            int digits = 0, exponent = 0;
+            boolean any = false;
+            while (pos < end  &&  isDigit(b = buffer.get(pos)))
+            {
+                any = true;
+                if (mantissa != 0  ||  b != '0')
+                {
+                    mantissa = mantissa * 10 + (b - '0');
+                    ++digits;
+                }
+                ++pos;
+            }
+            if (pos < end  &&  buffer.get(pos) == '.')
+            {
+                ++pos;
+                while (pos < end  &&  isDigit(b = buffer.get(pos)))
+                {
+                    any = true;
+                    if (mantissa != 0  ||  b != '0')
+                    {
+                        mantissa = mantissa * 10 + (b - '0');
+                        ++digits;
+                    }
+                    --exponent;
+                    ++pos;
+                }
+            }
+            if (any  &&  pos < end  &&  (buffer.get(pos) == 'e'  ||  buffer.get(pos) == 'E'))
+            {
+                ++pos;
+                boolean exp_negative = false;
+                if (pos < end  &&  (buffer.get(pos) == '-'  ||  buffer.get(pos) == '+'))
+                    exp_negative = buffer.get(pos++) == '-';
+                int exp = 0, exp_digits = 0;
+                while (pos < end  &&  isDigit(b = buffer.get(pos))  &&  exp_digits < 5)
+                {
+                    exp = exp * 10 + (b - '0');
+                    ++exp_digits;
+                    ++pos;
+                }
+                if (exp_digits <= 0)
+                    pos = -1;
+                exponent += exp_negative ? -exp : exp;
+            }
+            if (any  &&  pos == end  &&  digits <= 15  &&  exponent >= -22  &&  exponent <= 22)
+            {
+                double value = mantissa;
+                if (exponent < 0)
+                    value /= POW10[-exponent];
+                else if (exponent > 0)
+                    value *= POW10[exponent];
+                return negative ? -value : value;
+            }
+            final char[] text = new char[end - start];
+            for (int i=0; i<text.length; ++i)
+                text[i] = (char) buffer.get(start + i);
+            return Double.parseDouble(new String(text));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.imports;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.ArchiveVStatistics;
+import org.csstudio.archive.vtype.TimestampHelper;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.Display;
+import org.diirt.vtype.VNumber;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+
+/** Imported samples, held in primitive columns
+ *
+ *  <p>Presents the samples as a list of {@link VType},
+ *  creating the same {@link ArchiveVNumber} resp. {@link ArchiveVStatistics}
+ *  as the {@link CSVSampleImporter} on access,
+ *  but stores only time, value and, for statistics, min and max.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class SampleColumns extends AbstractList<VType> implements RandomAccess
+{
+    final private static Display meta_data = ValueFactory.displayNone();
+
+    private int size = 0;
+
+    /** Time stamps in epoch milliseconds */
+    private long[] millis;
+
+    private double[] values;
+
+    /** Minimum, maximum and 'is statistics' flag,
+     *  <code>null</code> until the first statistics sample is added
+     */
+    private double[] mins = null, maxs = null;
+    private boolean[] statistics = null;
+
+    /** @param capacity Initial capacity */
+    public SampleColumns(final int capacity)
+    {
+        millis = new long[Math.max(capacity, 16)];
+        values = new double[millis.length];
+    }
+
+    private void ensureCapacity(final int needed)
+    {
+        if (needed <= millis.length)
+            return;
+        final int capacity = Math.max(needed, millis.length + (millis.length >> 1));
+        millis = Arrays.copyOf(millis, capacity);
+        values = Arrays.copyOf(values, capacity);
+        if (statistics != null)
+        {
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+            statistics = Arrays.copyOf(statistics, capacity);
+        }
+    }
+
+    private void createStatistics()
+    {
+        mins = new double[millis.length];
+        maxs = new double[millis.length];
+        statistics = new boolean[millis.length];
+    }
+
+    /** @param time Time stamp in epoch milliseconds
+     *  @param value Value
+     */
+    public void add(final long time, final double value)
+    {
+        ensureCapacity(size + 1);
+        millis[size] = time;
+        values[size] = value;
+        ++size;
+    }
+
+    /** @param time Time stamp in epoch milliseconds
+     *  @param value Value (average)
+     *  @param min Minimum
+     *  @param max Maximum
+     */
+    public void add(final long time, final double value, final double min, final double max)
+    {
+        ensureCapacity(size + 1);
+        if (statistics == null)
+            createStatistics();
+        millis[size] = time;
+        values[size] = value;
+        mins[size] = min;
+        maxs[size] = max;
+        statistics[size] = true;
+        ++size;
+    }
+
+    /** @param value {@link VNumber} or {@link VStatistics} as created by {@link CSVSampleImporter} */
+    public void addValue(final VType value)
+    {
+        if (value instanceof VStatistics)
+        {
+            final VStatistics stats = (VStatistics) value;
+            add(stats.getTimestamp().toEpochMilli(), stats.getAverage(), stats.getMin(), stats.getMax());
+        }
+        else if (value instanceof VNumber)
+        {
+            final VNumber number = (VNumber) value;
+            add(number.getTimestamp().toEpochMilli(), number.getValue().doubleValue());
+        }
+        else
+            throw new IllegalArgumentException("Cannot add " + value);
+    }
+
+    /** @param other Columns to append */
+    public void addAll(final SampleColumns other)
+    {
+        ensureCapacity(size + other.size);
+        if (other.statistics != null  &&  statistics == null)
+            createStatistics();
+        System.arraycopy(other.millis, 0, millis, size, other.size);
+        System.arraycopy(other.values, 0, values, size, other.size);
+        if (other.statistics != null)
+        {
+            System.arraycopy(other.mins, 0, mins, size, other.size);
+            System.arraycopy(other.maxs, 0, maxs, size, other.size);
+            System.arraycopy(other.statistics, 0, statistics, size, other.size);
+        }
+        size += other.size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public VType get(final int index)
+    {
+        if (index < 0  ||  index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        if (statistics != null  &&  statistics[index])
+            return new ArchiveVStatistics(TimestampHelper.fromMillisecs(millis[index]), AlarmSeverity.NONE, "", meta_data,
+                                          values[index], mins[index], maxs[index], 0, 1);
+        return new ArchiveVNumber(TimestampHelper.fromMillisecs(millis[index]), AlarmSeverity.NONE, "", meta_data, values[index]);
+    }
+}
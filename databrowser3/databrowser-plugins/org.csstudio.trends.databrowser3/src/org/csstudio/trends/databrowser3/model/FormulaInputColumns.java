@@ -0,0 +1,411 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VType;
+
+/** Primitive column copy of the samples of one {@link FormulaInput}
+ *  <p>
+ *  Each sample of the input is decoded once into
+ *  time stamp, min/value/max columns.
+ *  On update, the samples of the input's {@link PlotSamples} are
+ *  compared with those seen before by identity.
+ *  The continuation of {@link PVSamples} until 'now'
+ *  is a new sample on each call, so it is always decoded again.
+ *  When the live sample ring buffer is full, each new sample
+ *  drops the oldest one, so the remaining columns are shifted
+ *  in place and only the new samples are decoded.
+ *  Only samples that were added, replaced or removed
+ *  are decoded, and the time ranges affected by such
+ *  changes are reported to the {@link FormulaItem}
+ *  which then only re-computes that part of the formula.
+ *
+ *  <p>Not thread-safe, {@link FormulaItem} synchronizes.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class FormulaInputColumns
+{
+    /** Time stamp used for 'open' begin resp. end of a changed time range */
+    static final long OPEN_START = Long.MIN_VALUE, OPEN_END = Long.MAX_VALUE;
+
+    private final FormulaInput input;
+
+    /** Number of valid entries in the columns */
+    private int size = 0;
+
+    /** Number of entries decoded from actual samples, without continuation until 'now' */
+    private int raw_size = 0;
+
+    /** Number of updates that had to merge old and new samples */
+    private int merges = 0;
+
+    /** Samples from which the columns were decoded, used to detect changes.
+     *  <code>null</code> for the continuation until 'now'.
+     */
+    private PlotSample[] refs = new PlotSample[0];
+
+    /** Time stamp in epoch nanoseconds */
+    private long[] time = new long[0];
+
+    private double[] min = new double[0];
+    private double[] val = new double[0];
+    private double[] max = new double[0];
+
+    /** Was sample a {@link VStatistics}, i.e. has min/max? */
+    private boolean[] stats = new boolean[0];
+
+    /** @param input Formula input to decode */
+    FormulaInputColumns(final FormulaInput input)
+    {
+        this.input = input;
+    }
+
+    /** @param time {@link Instant}
+     *  @return Epoch nanoseconds
+     */
+    static long toNanos(final Instant time)
+    {
+        return time.getEpochSecond() * 1000000000L + time.getNano();
+    }
+
+    /** @param nanos Epoch nanoseconds
+     *  @return {@link Instant}
+     */
+    static Instant toInstant(final long nanos)
+    {
+        return Instant.ofEpochSecond(0, nanos);
+    }
+
+    /** Forget all decoded samples */
+    void clear()
+    {
+        size = raw_size = 0;
+        refs = new PlotSample[0];
+        time = new long[0];
+        min = val = max = new double[0];
+        stats = new boolean[0];
+    }
+
+    /** @return Number of samples */
+    int size()
+    {
+        return size;
+    }
+
+    /** @return Number of updates that had to merge old and new samples,
+     *          as opposed to only decoding appended samples
+     */
+    int getMerges()
+    {
+        return merges;
+    }
+
+    /** @param samples Samples
+     *  @return Number of samples without continuation until 'now'
+     */
+    private static int getRawSize(final PlotSamples samples)
+    {
+        if (samples instanceof PVSamples)
+            return ((PVSamples) samples).getRawSize();
+        return samples.size();
+    }
+
+    /** @param samples Samples
+     *  @param index 0 ... getRawSize()-1
+     *  @return Sample, not the continuation until 'now'
+     */
+    private static PlotSample getRawSample(final PlotSamples samples, final int index)
+    {
+        if (samples instanceof PVSamples)
+            return ((PVSamples) samples).getRawSample(index);
+        return samples.get(index);
+    }
+
+    /** @param index Sample index
+     *  @return Time stamp in epoch nanoseconds
+     */
+    long getTime(final int index)
+    {
+        return time[index];
+    }
+
+    double getMin(final int index)
+    {
+        return min[index];
+    }
+
+    double getValue(final int index)
+    {
+        return val[index];
+    }
+
+    double getMax(final int index)
+    {
+        return max[index];
+    }
+
+    /** @param index Sample index
+     *  @return <code>true</code> if sample provided min/max
+     */
+    boolean hasMinMax(final int index)
+    {
+        return stats[index];
+    }
+
+    /** @param nanos Time stamp
+     *  @return Index of first sample at or after that time, <code>size()</code> if none
+     */
+    int findFirstAtOrAfter(final long nanos)
+    {
+        int low = 0, high = size;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (time[mid] < nanos)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /** Update columns from the current samples of the input
+     *
+     *  <p>Appended samples are decoded, and samples that were dropped
+     *  from the front of a full live sample ring buffer are removed
+     *  from the columns without decoding the remaining samples.
+     *  Otherwise walks the old and new samples in time order.
+     *  Samples that are identical to the ones seen before are kept
+     *  as already decoded.
+     *  For each run of added, replaced or removed samples,
+     *  the time range from the preceding to the following unchanged sample
+     *  is reported as changed.
+     *
+     *  @param changes List to which changed time ranges are added as <code>{ start, end }</code>, inclusive
+     *  @throws Exception on error
+     */
+    void update(final List<long[]> changes) throws Exception
+    {
+        final PlotSamples samples = input.getItem().getSamples();
+        if (! samples.getLock().tryLock(10, TimeUnit.SECONDS))
+            throw new TimeoutException("Cannot lock " + samples);
+        try
+        {
+            final int n = samples.size();
+            final int raw = getRawSize(samples);
+
+            // Common prefix of actual samples,
+            // which for live data tends to be all but the last few samples
+            int i = 0;
+            while (i < raw_size  &&  i < raw  &&  refs[i] == getRawSample(samples, i))
+                ++i;
+            if (i == raw_size  &&  i == raw  &&  size == raw  &&  n == raw)
+                return;
+
+            if (i == raw_size)
+            {   // Only appended samples and/or continuation until 'now'
+                ensureCapacity(n);
+                for (int j=i; j<n; ++j)
+                    decode(j, samples.get(j));
+                changes.add(new long[] { i > 0 ? time[i-1] : OPEN_START, OPEN_END });
+                setSize(n, raw);
+                return;
+            }
+
+            // Oldest live samples dropped from full ring buffer?
+            final int shift = findShift(samples, i, raw);
+            if (shift > 0)
+            {
+                // Report the range of the dropped samples..
+                changes.add(new long[] { i > 0 ? time[i-1] : OPEN_START, time[i+shift] });
+                // .. and shift the remaining samples to the front
+                final int kept = raw_size - shift;
+                System.arraycopy(refs, i+shift, refs, i, kept-i);
+                System.arraycopy(time, i+shift, time, i, kept-i);
+                System.arraycopy(min, i+shift, min, i, kept-i);
+                System.arraycopy(val, i+shift, val, i, kept-i);
+                System.arraycopy(max, i+shift, max, i, kept-i);
+                System.arraycopy(stats, i+shift, stats, i, kept-i);
+                ensureCapacity(n);
+                for (int j=kept; j<n; ++j)
+                    decode(j, samples.get(j));
+                changes.add(new long[] { time[kept-1], OPEN_END });
+                setSize(n, raw);
+                return;
+            }
+            ++merges;
+
+            // Merge old and new samples by time
+            final PlotSample[] new_refs = new PlotSample[n];
+            final long[] new_time = new long[n];
+            final double[] new_min = new double[n];
+            final double[] new_val = new double[n];
+            final double[] new_max = new double[n];
+            final boolean[] new_stats = new boolean[n];
+            System.arraycopy(refs, 0, new_refs, 0, i);
+            System.arraycopy(time, 0, new_time, 0, i);
+            System.arraycopy(min, 0, new_min, 0, i);
+            System.arraycopy(val, 0, new_val, 0, i);
+            System.arraycopy(max, 0, new_max, 0, i);
+            System.arraycopy(stats, 0, new_stats, 0, i);
+
+            final int old_size = size;
+            final PlotSample[] old_refs = refs;
+            final long[] old_time = time;
+            final double[] old_min = min, old_val = val, old_max = max;
+            final boolean[] old_stats = stats;
+
+            refs = new_refs;
+            time = new_time;
+            min = new_min;
+            val = new_val;
+            max = new_max;
+            stats = new_stats;
+
+            int j = i;
+            long change_start = i > 0 ? new_time[i-1] : OPEN_START;
+            boolean changed = false;
+            while (i < old_size  ||  j < n)
+            {
+                final PlotSample sample = j < n ? samples.get(j) : null;
+                if (i < old_size  &&  sample != null  &&  sample == old_refs[i])
+                {   // Unchanged sample
+                    if (changed)
+                    {
+                        changes.add(new long[] { change_start, old_time[i] });
+                        changed = false;
+                    }
+                    refs[j] = sample;
+                    time[j] = change_start = old_time[i];
+                    min[j] = old_min[i];
+                    val[j] = old_val[i];
+                    max[j] = old_max[i];
+                    stats[j] = old_stats[i];
+                    ++i;
+                    ++j;
+                    continue;
+                }
+                changed = true;
+                final long new_t = sample == null ? OPEN_END : toNanos(VTypeHelper.getTimestamp(sample.getVType()));
+                final long old_t = i < old_size ? old_time[i] : OPEN_END;
+                if (old_t < new_t)
+                    ++i; // Old sample was removed
+                else
+                {   // Added or replaced sample
+                    if (old_t == new_t)
+                        ++i;
+                    decode(j, sample);
+                    ++j;
+                }
+            }
+            if (changed)
+                changes.add(new long[] { change_start, OPEN_END });
+            setSize(n, raw);
+        }
+        finally
+        {
+            samples.getLock().unlock();
+        }
+    }
+
+    /** Check if the samples seen before, starting at some index,
+     *  were shifted to the front because older samples were dropped
+     *  from the live sample ring buffer
+     *
+     *  @param samples Current samples
+     *  @param start Index of first sample that differs from the one seen before
+     *  @param raw Number of actual samples
+     *  @return Number of dropped samples, 0 if samples were not just shifted
+     */
+    private int findShift(final PlotSamples samples, final int start, final int raw)
+    {
+        if (start >= raw)
+            return 0;
+        // Locate current sample at 'start' among the samples seen before
+        final PlotSample first = getRawSample(samples, start);
+        int shift = 1;
+        while (start + shift < raw_size  &&  refs[start + shift] != first)
+            ++shift;
+        final int kept = raw_size - shift;
+        if (kept <= start  ||  kept > raw)
+            return 0;
+        // All remaining samples must be unchanged
+        for (int j=start+1; j<kept; ++j)
+            if (refs[j + shift] != getRawSample(samples, j))
+                return 0;
+        return shift;
+    }
+
+    /** @param n Number of decoded samples
+     *  @param raw Number of those that are actual samples, not the continuation until 'now'
+     */
+    private void setSize(final int n, final int raw)
+    {
+        // Continuation is a new sample on each call, never 'unchanged'
+        for (int j=raw; j<n; ++j)
+            refs[j] = null;
+        size = n;
+        raw_size = raw;
+    }
+
+    private void ensureCapacity(final int needed)
+    {
+        if (needed <= time.length)
+            return;
+        final int capacity = Math.max(needed, time.length + time.length/2);
+        refs = Arrays.copyOf(refs, capacity);
+        time = Arrays.copyOf(time, capacity);
+        min = Arrays.copyOf(min, capacity);
+        val = Arrays.copyOf(val, capacity);
+        max = Arrays.copyOf(max, capacity);
+        stats = Arrays.copyOf(stats, capacity);
+    }
+
+    /** Decode sample into columns
+     *  @param index Index in columns
+     *  @param sample Sample to decode
+     */
+    private void decode(final int index, final PlotSample sample)
+    {
+        final VType value = sample.getVType();
+        refs[index] = sample;
+        time[index] = toNanos(VTypeHelper.getTimestamp(value));
+        if (value instanceof VStatistics)
+        {
+            final VStatistics mmv = (VStatistics)value;
+            min[index] = mmv.getMin();
+            val[index] = mmv.getAverage();
+            max[index] = mmv.getMax();
+            stats[index] = true;
+        }
+        else
+        {
+            min[index] = max[index] = Double.NaN;
+            final double number = VTypeHelper.toDouble(value);
+            // Use NaN for any non-number
+            val[index] = Double.isInfinite(number) ? Double.NaN : number;
+            stats[index] = false;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Columns for " + input + ", " + size + " samples";
+    }
+}
@@ -22,12 +22,10 @@ import org.csstudio.apputil.xml.XMLWriter;
 import org.csstudio.archive.vtype.ArchiveVNumber;
 import org.csstudio.archive.vtype.ArchiveVStatistics;
 import org.csstudio.archive.vtype.ArchiveVType;
-import org.csstudio.archive.vtype.VTypeHelper;
 import org.csstudio.trends.databrowser3.Messages;
 import org.csstudio.trends.databrowser3.persistence.XMLPersistence;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.Display;
-import org.diirt.vtype.VStatistics;
 import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueFactory;
 import org.w3c.dom.Element;
@@ -66,6 +64,22 @@ public class FormulaItem extends ModelItem
      */
     private VariableNode variables[];
 
+    /** Primitive columns for the samples of each input.
+     *  Array elements correspond to entries in <code>inputs[]</code>
+     *  @see #formula for synchronization
+     */
+    private FormulaInputColumns columns[];
+
+    /** Compute all samples, not just those for changed inputs?
+     *  @see #formula for synchronization
+     */
+    private boolean recompute_all = true;
+
+    /** Samples of the formula, computed from inputs.
+     *  Updated in place while holding the write lock of <code>samples</code>
+     */
+    private final List<PlotSample> result = new ArrayList<>();
+
     /** Samples of the formula, computed from inputs.
      *  Access must synchronize on samples (done inside PlotSampleArray) */
     private PlotSampleArray samples = new PlotSampleArray();
@@ -80,6 +94,7 @@ public class FormulaItem extends ModelItem
             final FormulaInput inputs[]) throws Exception
     {
         super(name);
+        samples.set(result);
         updateFormula(expression, inputs);
         // Compute initial values
         compute();
@@ -125,147 +140,233 @@ public class FormulaItem extends ModelItem
             for (int i=0; i<variables.length; ++i)
                 variables[i] = new VariableNode(inputs[i].getVariableName());
             this.formula = new Formula(expression, variables);
+            columns = new FormulaInputColumns[inputs.length];
+            for (int i=0; i<columns.length; ++i)
+                columns[i] = new FormulaInputColumns(inputs[i]);
+            recompute_all = true;
         }
         fireItemLookChanged();
     }
 
-    /** Evaluate formula for each input sample
+    /** Evaluate formula for changed input samples
      *  <p>
      *  Iterates over the input samples in a manner of spreadsheet or
      *  staircase-interpolation: An input with a time stamp is valid
      *  until there's a sample with a greater time stamp.
+     *  <p>
+     *  Input samples are decoded into primitive columns,
+     *  and only the time ranges where the inputs changed since
+     *  the last call are re-computed.
      */
-    private void compute()
+    void compute()
     {
-        final List<PlotSample> result = new ArrayList<PlotSample>();
-        final Display display = ValueFactory.displayNone();
-
         try
         {
             // Prevent changes to formula & inputs
             synchronized (this)
             {
-                // 'Current' value for each input or null when no more
-                // In computation loop, values is actually moved to the _next_
-                // value
-                final VType values[] = new VType[inputs.length];
-
-                // 'Current' numeric min/val/max of values
-                final double min[] = new double[inputs.length];
-                final double val[] = new double[inputs.length];
-                final double max[] = new double[inputs.length];
-
-                // Determine first sample for each input
-                boolean more_input = false;
-                for (int i = 0; i < values.length; i++)
+                final List<long[]> changes = new ArrayList<>();
+                if (recompute_all)
                 {
-                    // Initially, none have any data
-                    min[i] = val[i] = max[i] = Double.NaN;
-                    // Is there an initial value for any input?
-                    values[i] = inputs[i].first();
-                    if (values[i] != null)
-                        more_input = true;
+                    for (FormulaInputColumns input : columns)
+                        input.clear();
+                    changes.add(new long[] { FormulaInputColumns.OPEN_START, FormulaInputColumns.OPEN_END });
                 }
+                for (FormulaInputColumns input : columns)
+                    input.update(changes);
+                if (changes.isEmpty())
+                    return;
 
-                // Compute result for each 'line in the spreadsheet'
-                Instant time;
-                while (more_input)
-                {   // Find oldest time stamp of all the inputs
-                    time = null;
-                    for (int i = 0; i < values.length; i++)
-                    {
-                        if (values[i] == null)
-                            continue;
-                        final Instant sample_time = VTypeHelper.getTimestamp(values[i]);
-                        if (time == null  ||  sample_time.compareTo(time) < 0)
-                            time = sample_time;
-                    }
-                    if (time == null)
-                    {   // No input left with any data
-                        more_input = false;
-                        break;
-                    }
+                // Compute result for each merged range of changes
+                final List<long[]> ranges = mergeRanges(changes);
+                final List<List<PlotSample>> results = new ArrayList<>(ranges.size());
+                for (long[] range : ranges)
+                    results.add(compute(range[0], range[1]));
 
-                    // 'time' now defines the current spreadsheet line.
-                    // Set min/max/val to sample from each input for that time.
-                    // This might move values[i] resp. the inputs' iterators
-                    // to the 'next' sample
-                    boolean have_min_max = true;
-                    for (int i = 0; i < values.length; i++)
+                // Update PlotSamples, replacing results of changed ranges,
+                // starting with the last range to keep indices valid
+                samples.getWriteLock().lock();
+                try
+                {
+                    if (recompute_all)
+                        result.clear();
+                    for (int r=ranges.size()-1; r>=0; --r)
                     {
-                        if (values[i] == null) // No more data
-                        {
-                            min[i] = val[i] = max[i] = Double.NaN;
-                            have_min_max = false;
-                        }
-                        else if (VTypeHelper.getTimestamp(values[i]).compareTo(time) <= 0)
-                        {   // Input is valid before-and-up-to 'time'
-                            if (values[i] instanceof VStatistics)
-                            {
-                                final VStatistics mmv = (VStatistics)values[i];
-                                min[i] = mmv.getMin();
-                                val[i] = mmv.getAverage();
-                                max[i] = mmv.getMax();
-                            }
-                            else
-                            {
-                                min[i] = max[i] = Double.NaN;
-                                val[i] = VTypeHelper.toDouble(values[i]);
-                                // Use NaN for any non-number
-                                if (Double.isInfinite(val[i]))
-                                    val[i] = Double.NaN;
-                                have_min_max = false;
-                            }
-                            // Move to next input sample
-                            values[i] = inputs[i].next();
-                        }
-                        else
-                        {   // values[i].getTime() > time, so leave min/max/val[i]
-                            // as is until 'time' catches up with the next input sample.
-                            // Just update the have_min_max flag
-                            if (Double.isNaN(min[i])  ||  Double.isNaN(max[i]))
-                                have_min_max = false;
-                        }
-                    }
-
-                    // Set variables[] from val to get res_val
-                    for (int i = 0; i < values.length; i++)
-                        variables[i].setValue(val[i]);
-                    // Evaluate formula for these inputs
-                    final double res_val = formula.eval();
-                    final VType value;
-
-                    if (have_min_max)
-                    {   // Set variables[] from min
-                        for (int i = 0; i < values.length; i++)
-                            variables[i].setValue(min[i]);
-                        final double res_min = formula.eval();
-                        // Set variables[] from max
-                        for (int i = 0; i < values.length; i++)
-                            variables[i].setValue(max[i]);
-                        final double res_max = formula.eval();
-                        value = new ArchiveVStatistics(time, AlarmSeverity.NONE, Messages.Formula,
-                                display, res_val, res_min, res_max, 0.0, 1);
+                        final int start = findFirstAtOrAfter(ranges.get(r)[0]);
+                        final int end = ranges.get(r)[1] == FormulaInputColumns.OPEN_END
+                                      ? result.size()
+                                      : findFirstAtOrAfter(ranges.get(r)[1] + 1);
+                        result.subList(start, end).clear();
+                        result.addAll(start, results.get(r));
                     }
-                    else
-                    {   // No min/max.
-                        if (Double.isNaN(res_val))
-                            value = new ArchiveVNumber(time, AlarmSeverity.INVALID, Messages.Formula,
-                                        display, res_val);
-                        else
-                            value = new ArchiveVNumber(time, AlarmSeverity.NONE, ArchiveVType.STATUS_OK,
-                                        display, res_val);
-                    }
-                    result.add(new PlotSample(Messages.Formula, value));
                 }
+                finally
+                {
+                    samples.markChanged();
+                    samples.getWriteLock().unlock();
+                }
+                recompute_all = false;
             }
         }
         catch (Exception ex)
         {
             logger.log(Level.WARNING, "Error computing " + this, ex);
+            // Columns may be partially updated, start over next time
+            synchronized (this)
+            {
+                recompute_all = true;
+            }
         }
-        // Update PlotSamples
-        samples.set(result);
+    }
+
+    /** @param changes Time ranges <code>{ start, end }</code>
+     *  @return Sorted ranges, with overlapping ones merged
+     */
+    private static List<long[]> mergeRanges(final List<long[]> changes)
+    {
+        changes.sort((a, b) -> Long.compare(a[0], b[0]));
+        final List<long[]> ranges = new ArrayList<>(changes.size());
+        long[] current = null;
+        for (long[] range : changes)
+        {
+            if (current != null  &&  range[0] <= current[1])
+                current[1] = Math.max(current[1], range[1]);
+            else
+            {
+                current = new long[] { range[0], range[1] };
+                ranges.add(current);
+            }
+        }
+        return ranges;
+    }
+
+    /** @param nanos Time stamp
+     *  @return Index of first result sample at or after that time
+     */
+    private int findFirstAtOrAfter(final long nanos)
+    {
+        int low = 0, high = result.size();
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (FormulaInputColumns.toNanos(result.get(mid).getPosition()) < nanos)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /** Evaluate formula for all 'lines in the spreadsheet' within a time range
+     *  <p>Caller must synchronize on <code>this</code>
+     *  @param start Start of time range, inclusive
+     *  @param end End of time range, inclusive
+     *  @return Formula samples for that time range
+     *  @throws Exception on error
+     */
+    private List<PlotSample> compute(final long start, final long end) throws Exception
+    {
+        final List<PlotSample> rows = new ArrayList<PlotSample>();
+        final Display display = ValueFactory.displayNone();
+        final int N = columns.length;
+
+        // Index of the _next_ sample for each input.
+        final int next[] = new int[N];
+
+        // 'Current' numeric min/val/max of each input
+        final double min[] = new double[N];
+        final double val[] = new double[N];
+        final double max[] = new double[N];
+
+        // Position each input at the start time.
+        // 'Current' value is the one before that, or none.
+        for (int i = 0; i < N; i++)
+        {
+            final FormulaInputColumns input = columns[i];
+            next[i] = input.findFirstAtOrAfter(start);
+            if (next[i] > 0  &&  next[i] < input.size())
+            {
+                min[i] = input.getMin(next[i]-1);
+                val[i] = input.getValue(next[i]-1);
+                max[i] = input.getMax(next[i]-1);
+            }
+            else
+                min[i] = val[i] = max[i] = Double.NaN;
+        }
+
+        while (true)
+        {   // Find oldest time stamp of all the inputs
+            long time = FormulaInputColumns.OPEN_END;
+            for (int i = 0; i < N; i++)
+                if (next[i] < columns[i].size())
+                    time = Math.min(time, columns[i].getTime(next[i]));
+            // No input left with any data, or reached end of range?
+            if (time == FormulaInputColumns.OPEN_END  ||  time > end)
+                break;
+
+            // 'time' now defines the current spreadsheet line.
+            // Set min/max/val to sample from each input for that time.
+            // This might move next[i] to the 'next' sample
+            boolean have_min_max = true;
+            for (int i = 0; i < N; i++)
+            {
+                final FormulaInputColumns input = columns[i];
+                if (next[i] >= input.size()) // No more data
+                {
+                    min[i] = val[i] = max[i] = Double.NaN;
+                    have_min_max = false;
+                }
+                else if (input.getTime(next[i]) <= time)
+                {   // Input is valid before-and-up-to 'time'
+                    min[i] = input.getMin(next[i]);
+                    val[i] = input.getValue(next[i]);
+                    max[i] = input.getMax(next[i]);
+                    if (! input.hasMinMax(next[i]))
+                        have_min_max = false;
+                    // Move to next input sample
+                    ++next[i];
+                }
+                else
+                {   // Next sample of input is after 'time', so leave min/max/val[i]
+                    // as is until 'time' catches up with the next input sample.
+                    // Just update the have_min_max flag
+                    if (Double.isNaN(min[i])  ||  Double.isNaN(max[i]))
+                        have_min_max = false;
+                }
+            }
+
+            // Set variables[] from val to get res_val
+            for (int i = 0; i < N; i++)
+                variables[i].setValue(val[i]);
+            // Evaluate formula for these inputs
+            final double res_val = formula.eval();
+            final Instant timestamp = FormulaInputColumns.toInstant(time);
+            final VType value;
+
+            if (have_min_max)
+            {   // Set variables[] from min
+                for (int i = 0; i < N; i++)
+                    variables[i].setValue(min[i]);
+                final double res_min = formula.eval();
+                // Set variables[] from max
+                for (int i = 0; i < N; i++)
+                    variables[i].setValue(max[i]);
+                final double res_max = formula.eval();
+                value = new ArchiveVStatistics(timestamp, AlarmSeverity.NONE, Messages.Formula,
+                        display, res_val, res_min, res_max, 0.0, 1);
+            }
+            else
+            {   // No min/max.
+                if (Double.isNaN(res_val))
+                    value = new ArchiveVNumber(timestamp, AlarmSeverity.INVALID, Messages.Formula,
+                                display, res_val);
+                else
+                    value = new ArchiveVNumber(timestamp, AlarmSeverity.NONE, ArchiveVType.STATUS_OK,
+                                display, res_val);
+            }
+            rows.add(new PlotSample(Messages.Formula, value));
+        }
+        return rows;
     }
 
     /** Re-evaluate the formula in case some of the input samples changed.
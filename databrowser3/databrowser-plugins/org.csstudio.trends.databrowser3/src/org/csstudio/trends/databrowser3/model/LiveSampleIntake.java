@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser3.model;
+
+import static org.csstudio.trends.databrowser3.Activator.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.csstudio.javafx.rtplot.util.NamedThreadFactory;
+
+/** Intake of live samples for all {@link PVItem}s
+ *
+ *  <p>Received samples are placed in lock-free per-item buffers.
+ *  One periodic 'tick' drains these buffers, handing
+ *  all samples that were received for an item since the last tick
+ *  to the item as one batch.
+ *  That same tick also performs the periodic scans of items
+ *  that use a scan period.
+ *
+ *  <p>Compared to locking the samples of an item for each received
+ *  value and using a timer per scanned item, this reduces lock contention
+ *  and the number of timers when there are many PVs with high update rates.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class LiveSampleIntake
+{
+    /** Period of the intake tick */
+    private static final long TICK_MS = 50;
+
+    /** Period for logging intake statistics */
+    private static final long REPORT_NS = TimeUnit.SECONDS.toNanos(10);
+
+    private static LiveSampleIntake instance = null;
+
+    /** Item that receives samples */
+    interface Client
+    {
+        /** @return Sample for a periodic scan */
+        PlotSample scan();
+
+        /** @param batch Samples received since the last tick
+         *  @return Nanoseconds spent waiting for the sample lock
+         */
+        long addSamples(List<PlotSample> batch);
+    }
+
+    /** Buffer for the samples of one item */
+    class Buffer
+    {
+        private final Client client;
+        private final Queue<PlotSample> samples = new ConcurrentLinkedQueue<>();
+
+        /** Is this buffer in the 'pending' queue? */
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        private volatile boolean active = true;
+
+        /** Scan period and time of next scan, only accessed by the tick */
+        private final long period_ns;
+        private long next_scan;
+
+        private Buffer(final Client client, final double period)
+        {
+            this.client = client;
+            period_ns = period > 0 ? (long) (period * 1e9) : 0;
+            next_scan = System.nanoTime() + period_ns;
+        }
+
+        /** Add sample
+         *
+         *  <p>May be called from any thread.
+         *  @param sample Sample to add on the next tick
+         */
+        public void add(final PlotSample sample)
+        {
+            if (! active)
+                return;
+            samples.add(sample);
+            received.increment();
+            if (queued.compareAndSet(false, true))
+                pending.add(this);
+        }
+    }
+
+    private final ScheduledExecutorService timer =
+        Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("DataBrowserIntake"));
+
+    /** Buffers that have received samples */
+    private final Queue<Buffer> pending = new ConcurrentLinkedQueue<>();
+
+    /** Buffers of items that are scanned */
+    private final List<Buffer> scanned = new CopyOnWriteArrayList<>();
+
+    /** Number of registered buffers */
+    private final AtomicInteger buffers = new AtomicInteger();
+
+    /** Statistics */
+    private final LongAdder received = new LongAdder();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lock_wait_ns = new AtomicLong();
+    private volatile double intake_rate = 0.0;
+    private long last_report = System.nanoTime(), last_received = 0, last_batches = 0, last_lock_wait = 0;
+
+    /** @return Shared intake */
+    public static synchronized LiveSampleIntake getInstance()
+    {
+        if (instance == null)
+            instance = new LiveSampleIntake();
+        return instance;
+    }
+
+    private LiveSampleIntake()
+    {
+        timer.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** @param client Item that receives samples
+     *  @param period Scan period in seconds, &le;0 for 'monitor' without scans
+     *  @return Buffer for adding samples
+     */
+    Buffer register(final Client client, final double period)
+    {
+        final Buffer buffer = new Buffer(client, period);
+        buffers.incrementAndGet();
+        if (buffer.period_ns > 0)
+            scanned.add(buffer);
+        return buffer;
+    }
+
+    /** @param buffer Buffer that will no longer be used. Pending samples are dropped. */
+    void unregister(final Buffer buffer)
+    {
+        buffer.active = false;
+        if (buffer.period_ns > 0)
+            scanned.remove(buffer);
+        buffers.decrementAndGet();
+    }
+
+    /** @return Received samples per second, averaged over the last report period */
+    public double getIntakeRate()
+    {
+        return intake_rate;
+    }
+
+    /** @return Total number of samples received */
+    public long getReceivedSamples()
+    {
+        return received.sum();
+    }
+
+    /** @return Total number of batches handed to items */
+    public long getBatches()
+    {
+        return batches.get();
+    }
+
+    /** @return Total time in nanoseconds that batches waited for the sample lock */
+    public long getLockWaitNanos()
+    {
+        return lock_wait_ns.get();
+    }
+
+    /** Scan items that are due, then drain buffers */
+    private void tick()
+    {
+        try
+        {
+            final long now = System.nanoTime();
+            for (Buffer buffer : scanned)
+                if (now - buffer.next_scan >= 0)
+                {
+                    buffer.next_scan += buffer.period_ns;
+                    // Skip scans that were missed
+                    if (now - buffer.next_scan >= 0)
+                        buffer.next_scan = now + buffer.period_ns;
+                    buffer.add(buffer.client.scan());
+                }
+
+            // A buffer that receives samples while being drained
+            // will be queued again, so limit the number of buffers
+            // handled per tick
+            final List<PlotSample> batch = new ArrayList<>();
+            int count = buffers.get();
+            Buffer buffer;
+            while (count-- > 0  &&  (buffer = pending.poll()) != null)
+            {
+                buffer.queued.set(false);
+                PlotSample sample;
+                while ((sample = buffer.samples.poll()) != null)
+                    batch.add(sample);
+                if (buffer.active  &&  ! batch.isEmpty())
+                {
+                    try
+                    {
+                        final long wait = buffer.client.addSamples(batch);
+                        if (wait > 0)
+                            lock_wait_ns.addAndGet(wait);
+                        batches.incrementAndGet();
+                    }
+                    catch (Throwable ex)
+                    {
+                        logger.log(Level.WARNING, "Cannot add live samples", ex);
+                    }
+                }
+                batch.clear();
+            }
+
+            if (now - last_report >= REPORT_NS)
+                report(now);
+        }
+        catch (Throwable ex)
+        {
+            // Log, but keep the tick running
+            logger.log(Level.WARNING, "Live sample intake error", ex);
+        }
+    }
+
+    private void report(final long now)
+    {
+        final long total = received.sum(), total_batches = batches.get(), total_wait = lock_wait_ns.get();
+        final double secs = (now - last_report) / 1e9;
+        intake_rate = (total - last_received) / secs;
+        if (logger.isLoggable(Level.FINE))
+            logger.log(Level.FINE,
+                       String.format("Live sample intake: %d items, %.1f samples/sec, %d batches, %.3f ms lock wait",
+                                     buffers.get(), intake_rate, total_batches - last_batches,
+                                     (total_wait - last_lock_wait) / 1e6));
+        last_report = now;
+        last_received = total;
+        last_batches = total_batches;
+        last_lock_wait = total_wait;
+    }
+}
@@ -10,17 +10,12 @@ package org.csstudio.trends.databrowser3.model;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import org.csstudio.apputil.xml.DOMHelper;
 import org.csstudio.apputil.xml.XMLWriter;
 import org.csstudio.archive.vtype.VTypeHelper;
-import org.csstudio.javafx.rtplot.util.NamedThreadFactory;
 import org.csstudio.trends.databrowser3.Activator;
 import org.csstudio.trends.databrowser3.Messages;
 import org.csstudio.trends.databrowser3.imports.ImportArchiveReaderFactory;
@@ -67,23 +62,18 @@ public class PVItem extends ModelItem
         @Override
         public void valueChanged(final PV pv, final VType value)
         {
-            boolean added = false;
             // Cache most recent for 'scanned' operation
             current_value = value;
             // In 'monitor' mode, add to live sample buffer
-            if (period <= 0)
+            final LiveSampleIntake.Buffer buffer = intake_buffer;
+            if (period <= 0  &&  buffer != null)
             {
                 Activator.getLogger().log(Level.FINE, "PV {0} received {1}", new Object[] { getName(), value });
-                samples.addLiveSample(value);
-                added = true;
+                buffer.add(PVSamples.createLiveSample(value));
             }
             // Set units unless already defined
             if (getUnits() == null)
                 updateUnits(value);
-            if (automaticRefresh && added &&
-                model.isPresent() &&
-                samples.isHistoryRefreshNeeded(model.get().getStartTime(), model.get().getEndTime()))
-                model.get().fireItemRefreshRequested(PVItem.this);
         }
 
         @Override
@@ -92,8 +82,30 @@ public class PVItem extends ModelItem
             // No current value
             current_value = null;
             // In 'monitor' mode, mark in live sample buffer
-            if (period <= 0)
-                logDisconnected();
+            final LiveSampleIntake.Buffer buffer = intake_buffer;
+            if (period <= 0  &&  buffer != null)
+                buffer.add(createDisconnectedSample());
+        }
+    };
+
+    /** Receives batches of samples from the intake, performs scans */
+    private final LiveSampleIntake.Client intake_client = new LiveSampleIntake.Client()
+    {
+        @Override
+        public PlotSample scan()
+        {
+            return doScan();
+        }
+
+        @Override
+        public long addSamples(final List<PlotSample> batch)
+        {
+            final long wait = samples.addLiveSamples(batch);
+            if (automaticRefresh  &&  period <= 0  &&
+                model.isPresent() &&
+                samples.isHistoryRefreshNeeded(model.get().getStartTime(), model.get().getEndTime()))
+                model.get().fireItemRefreshRequested(PVItem.this);
+            return wait;
         }
     };
 
@@ -103,12 +115,10 @@ public class PVItem extends ModelItem
     /** Scan period in seconds, &le;0 to 'monitor' */
     private double period;
 
-    /** Timer that was used to schedule the scanner */
-    final private static ScheduledExecutorService scan_timer =
-            Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("DataBrowserScanner"));
-
-    /** For a period &gt;0, this timer task performs the scanning */
-    private ScheduledFuture<?> scanner = null;
+    /** Buffer in the live sample intake, set when running.
+     *  The intake also performs the scanning for a period &gt;0
+     */
+    private volatile LiveSampleIntake.Buffer intake_buffer = null;
 
     /** Archive data request type */
     private RequestType request_type = Preferences.getRequestType();
@@ -142,7 +152,10 @@ public class PVItem extends ModelItem
         if (index < 0)
             index = 0;
         if (waveform_index.getAndSet(index) != index)
+        {
+            samples.markChanged();
             fireItemDataConfigChanged();
+        }
     }
 
     /** Set new item name, which changes the underlying PV name
@@ -343,13 +356,9 @@ public class PVItem extends ModelItem
         if (pv != null)
             throw new RuntimeException("Already started " + getName());
         pv = PVPool.getPV(getResolvedName());
+        // Register for received values and, for period > 0, periodic scans
+        intake_buffer = LiveSampleIntake.getInstance().register(intake_client, period);
         pv.addListener(listener);
-        // Log every received value?
-        if (period <= 0.0)
-            return;
-        // Start scanner for periodic log
-        final long delay = (long) (period*1000);
-        scanner = scan_timer.scheduleAtFixedRate(this::doScan, delay, delay, TimeUnit.MILLISECONDS);
     }
 
     /** Disconnect from control system PV, stop scanning, ... */
@@ -358,11 +367,8 @@ public class PVItem extends ModelItem
         if (pv == null)
             throw new RuntimeException("Not running " + getName());
         pv.removeListener(listener);
-        if (scanner != null)
-        {
-            scanner.cancel(true);
-            scanner = null;
-        }
+        LiveSampleIntake.getInstance().unregister(intake_buffer);
+        intake_buffer = null;
         PVPool.releasePV(pv);
         pv = null;
     }
@@ -383,40 +389,23 @@ public class PVItem extends ModelItem
         setUnits(display.getUnits());
     }
 
-    /** Scan, i.e. add 'current' value to live samples */
-    private void doScan()
+    /** Scan, i.e. get 'current' value for live samples
+     *  @return Sample for current value or 'disconnected'
+     */
+    private PlotSample doScan()
     {
         final VType value = current_value;
         Activator.getLogger().log(Level.FINE, "PV {0} scans {1}", new Object[] { getName(), value });
         if (value == null)
-            logDisconnected();
-        else
-            // Transform value to have 'now' as time stamp
-            samples.addLiveSample(VTypeHelper.transformTimestampToNow(value));
+            return createDisconnectedSample();
+        // Transform value to have 'now' as time stamp
+        return PVSamples.createLiveSample(VTypeHelper.transformTimestampToNow(value));
     }
 
-    /** Add one(!) 'disconnected' sample */
-    private void logDisconnected()
+    /** @return 'disconnected' sample, which the {@link PVSamples} only add once */
+    private static PlotSample createDisconnectedSample()
     {
-        if (! samples.lockForWriting())
-            return;
-        try
-        {
-            final int size = samples.size();
-            if (size > 0)
-            {
-                final String last =
-                        VTypeHelper.getMessage(samples.get(size - 1).getVType());
-                // Does last sample already have 'disconnected' status?
-                if (Messages.Model_Disconnected.equals(last))
-                    return;
-            }
-            samples.addLiveSample(new PlotSample(Messages.LiveData, Messages.Model_Disconnected));
-        }
-        finally
-        {
-            samples.unlockForWriting();
-        }
+        return new PlotSample(Messages.LiveData, Messages.Model_Disconnected);
     }
 
     /** Add data retrieved from an archive to the 'historic' section
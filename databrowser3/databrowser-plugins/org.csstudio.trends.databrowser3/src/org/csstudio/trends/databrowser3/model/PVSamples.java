@@ -79,6 +79,7 @@ public class PVSamples extends PlotSamples
     public void setLiveCapacity(final int new_capacity) throws Exception
     {
         live.setCapacity(new_capacity);
+        markChanged();
     }
 
     /** @return Combined count of historic and live samples */
@@ -98,7 +99,7 @@ public class PVSamples extends PlotSamples
     /** @return Size of the actual historic and live samples
      *          without the continuation to 'now'
      */
-    private int getRawSize()
+    int getRawSize()
     {
         return history.size() + live.size();
     }
@@ -120,11 +121,33 @@ public class PVSamples extends PlotSamples
             return new PlotSample(sample.getSource(), VTypeHelper.transformTimestampToNow(sample.getVType()));
     }
 
+    /** {@inheritDoc}
+     *
+     *  <p>While the last sample is continued until 'now',
+     *  the samples change all the time and -1 is returned.
+     */
+    @Override
+    public long getChangeCount()
+    {
+        final long changes = super.getChangeCount();
+        lock.readLock().lock();
+        try
+        {
+            if (size() > getRawSize())
+                return -1;
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+        return changes;
+    }
+
     /** Get 'raw' sample, no continuation until 'now'
      *  @param index 0... getRawSize()-1
      *  @return Sample from historic or live sample subsection
      */
-    private PlotSample getRawSample(final int index)
+    PlotSample getRawSample(final int index)
     {
         final int num_old = history.size();
         if (index < num_old)
@@ -183,11 +206,19 @@ public class PVSamples extends PlotSamples
     /** Add another 'live' sample
      *  @param value 'Live' sample
      */
-    public void addLiveSample(VType value)
+    public void addLiveSample(final VType value)
+    {
+        addLiveSample(createLiveSample(value));
+    }
+
+    /** @param value 'Live' value
+     *  @return Sample for the value, using 'now' if the value has no valid time stamp
+     */
+    static PlotSample createLiveSample(VType value)
     {
         if (! ValueUtil.timeOf(value).isTimeValid())
             value = VTypeHelper.transformTimestampToNow(value);
-        addLiveSample(new PlotSample(Messages.LiveData, value));
+        return new PlotSample(Messages.LiveData, value);
     }
 
     /** Add another 'live' sample
@@ -216,6 +247,51 @@ public class PVSamples extends PlotSamples
         samplesAddedSinceLastRefresh++;
     }
 
+    /** Add a batch of 'live' samples
+     *
+     *  <p>Takes the write lock once for the complete batch.
+     *  A 'disconnected' sample is skipped when the last sample
+     *  already indicates a disconnect.
+     *
+     *  @param batch 'Live' samples
+     *  @return Nanoseconds spent waiting for the lock, -1 if the lock could not be obtained
+     */
+    long addLiveSamples(final List<PlotSample> batch)
+    {
+        final long start = System.nanoTime();
+        if (! lockForWriting())
+            return -1;
+        final long wait = System.nanoTime() - start;
+        int added = 0;
+        try
+        {
+            for (PlotSample sample : batch)
+            {
+                // Skip the initial UNDEFINED/Disconnected sample sent by PVManager
+                if (live.size() == 0  &&
+                    VTypeHelper.getSeverity(sample.getVType()) == AlarmSeverity.UNDEFINED)
+                    continue;
+                if (Messages.Model_Disconnected.equals(VTypeHelper.getMessage(sample.getVType())))
+                {
+                    final int size = getRawSize();
+                    if (size > 0  &&
+                        Messages.Model_Disconnected.equals(VTypeHelper.getMessage(getRawSample(size-1).getVType())))
+                        continue;
+                }
+                live.add(sample);
+                ++added;
+            }
+            if (added > 0)
+                history.setBorderTime(Optional.of(live.get(0).getPosition()));
+        }
+        finally
+        {
+            unlockForWriting();
+        }
+        samplesAddedSinceLastRefresh += added;
+        return wait;
+    }
+
     /** Delete all samples */
     public void clear()
     {
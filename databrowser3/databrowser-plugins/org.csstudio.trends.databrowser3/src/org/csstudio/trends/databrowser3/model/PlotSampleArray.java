@@ -9,6 +9,7 @@ package org.csstudio.trends.databrowser3.model;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 /** Plain array implementation of PlotSamples
  *  @author Kay Kasemir
@@ -21,6 +22,19 @@ public class PlotSampleArray extends PlotSamples
     public void set(final List<PlotSample> samples)
     {
         this.samples = samples;
+        markChanged();
+    }
+
+    /** Lock for updating the samples in place.
+     *  <p>
+     *  Unlike {@link #lockForWriting()}, unlocking
+     *  does not mark the samples as new.
+     *  Caller needs to {@link #markChanged()}.
+     *  @return Write lock
+     */
+    Lock getWriteLock()
+    {
+        return lock.writeLock();
     }
 
     /** {@inheritDoc} */
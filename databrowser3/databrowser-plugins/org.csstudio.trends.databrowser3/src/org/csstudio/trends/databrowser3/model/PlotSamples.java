@@ -13,6 +13,7 @@ import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.logging.Level;
@@ -35,6 +36,11 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
      */
     final protected AtomicBoolean have_new_samples = new AtomicBoolean();
 
+    /** Incremented whenever samples change
+     *  @see #getChangeCount()
+     */
+    final private AtomicLong changes = new AtomicLong();
+
     /** Lock for writing */
     public boolean lockForWriting()
     {
@@ -54,10 +60,24 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
     /** Un-lock after writing */
     public void unlockForWriting()
     {
+        changes.incrementAndGet();
         lock.writeLock().unlock();
         have_new_samples.set(true);
     }
 
+    /** Note that samples changed without using {@link #lockForWriting()} */
+    void markChanged()
+    {
+        changes.incrementAndGet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getChangeCount()
+    {
+        return changes.get();
+    }
+
     /** {@inheritDoc} */
     @Override
     public Lock getLock()
@@ -165,7 +165,7 @@ public class DisplayEditorPart extends EditorPart
 
         final JFX_SWT_Wrapper wrapper = new JFX_SWT_Wrapper(parent, () ->
         {
-            editor = new DisplayEditor(toolkit, Preferences.getUndoSize());
+            editor = new DisplayEditor(toolkit, Preferences.getUndoSize(), Preferences.getUndoMemory());
             final Parent root = editor.create();
 
             editor.getToolBar().getItems().add(new ExecuteDisplayButton(this));
@@ -23,6 +23,7 @@ import org.csstudio.display.builder.editor.poly.PointsBinding;
 import org.csstudio.display.builder.editor.tracker.SelectedWidgetUITracker;
 import org.csstudio.display.builder.editor.tree.WidgetTree;
 import org.csstudio.display.builder.editor.undo.AddWidgetAction;
+import org.csstudio.display.builder.editor.undo.AddWidgetsAction;
 import org.csstudio.display.builder.editor.undo.RemoveWidgetsAction;
 import org.csstudio.display.builder.editor.util.AutoScrollHandler;
 import org.csstudio.display.builder.editor.util.GeometryTools;
@@ -35,7 +36,6 @@ import org.csstudio.display.builder.model.ChildrenProperty;
 import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetDescriptor;
-import org.csstudio.display.builder.model.persist.ModelReader;
 import org.csstudio.display.builder.model.persist.ModelWriter;
 import org.csstudio.display.builder.model.util.ModelThreadPool;
 import org.csstudio.display.builder.model.widgets.ArrayWidget;
@@ -44,6 +44,7 @@ import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
 import org.csstudio.display.builder.representation.ToolkitListener;
 import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
 import org.csstudio.display.builder.util.ResourceUtil;
+import org.csstudio.display.builder.util.undo.CompoundUndoableAction;
 import org.csstudio.display.builder.util.undo.UndoableActionManager;
 
 import javafx.application.Platform;
@@ -148,9 +149,18 @@ public class DisplayEditor
      *  @param stack_size Number of undo/redo entries
      */
     public DisplayEditor(final JFXRepresentation toolkit, final int stack_size)
+    {
+        this(toolkit, stack_size, Long.MAX_VALUE);
+    }
+
+    /** @param toolkit JFX Toolkit
+     *  @param stack_size Number of undo/redo entries
+     *  @param undo_memory Estimated number of bytes for undo/redo entries
+     */
+    public DisplayEditor(final JFXRepresentation toolkit, final int stack_size, final long undo_memory)
     {
         this.toolkit = toolkit;
-        undo = new UndoableActionManager(stack_size);
+        undo = new UndoableActionManager(stack_size, undo_memory);
 
         group_handler = new ParentHandler(edit_tools, selection);
 
@@ -489,7 +499,9 @@ public class DisplayEditor
         int dx = (int) (offset.getX() - origin.getX());
         int dy = (int) (offset.getY() - origin.getY());
 
-        // Add dropped widgets
+        // Add dropped widgets as one undoable step
+        final CompoundUndoableAction add = new CompoundUndoableAction(Messages.AddWidget);
+        boolean added = false;
         try
         {
             final ListIterator<Widget> it = widgets.listIterator();
@@ -501,7 +513,8 @@ public class DisplayEditor
                     widget.propX().setValue(widget.propX().getValue() - dx);
                     widget.propY().setValue(widget.propY().getValue() - dy);
                     widget_naming.setDefaultName(container.getDisplayModel(), widget);
-                    undo.execute(new AddWidgetAction(selection, target, widget));
+                    add.execute(new AddWidgetAction(selection, target, widget));
+                    added = true;
                 }
 
                 // Hide highlight, since not adding to ArrayWidget container
@@ -516,13 +529,19 @@ public class DisplayEditor
                 dx = (int) (offset.getX() - origin.getX());
                 dy = (int) (offset.getY() - origin.getY());
             }
+            final List<Widget> remaining = new ArrayList<>();
             while (it.hasNext())
             {
                 Widget widget = it.next();
                 widget.propX().setValue(widget.propX().getValue() - dx);
                 widget.propY().setValue(widget.propY().getValue() - dy);
-                widget_naming.setDefaultName(container.getDisplayModel(), widget);
-                undo.execute(new AddWidgetAction(selection, target, widget));
+                remaining.add(widget);
+            }
+            if (! remaining.isEmpty())
+            {
+                widget_naming.setDefaultNames(container.getDisplayModel(), remaining);
+                add.execute(new AddWidgetsAction(selection, target, remaining));
+                added = true;
             }
             selection.setSelection(widgets);
         }
@@ -530,6 +549,9 @@ public class DisplayEditor
         {
             logger.log(Level.SEVERE, "Cannot add widgets", ex);
         }
+        // Allow undoing what was added, even if there was an error
+        if (added)
+            undo.add(add);
     }
 
     /** Set Model
@@ -606,6 +628,7 @@ public class DisplayEditor
         final ClipboardContent content = new ClipboardContent();
         content.putString(xml);
         Clipboard.getSystemClipboard().setContent(content);
+        WidgetTransfer.setLocalContent(xml, widgets);
         return widgets;
     }
 
@@ -651,8 +674,7 @@ public class DisplayEditor
 
         try
         {
-            final DisplayModel model = ModelReader.parseXML(xml);
-            final List<Widget> widgets = model.getChildren();
+            final List<Widget> widgets = WidgetTransfer.getWidgets(xml);
             logger.log(Level.FINE, "Pasted {0} widgets", widgets.size());
 
             GeometryTools.moveWidgets(x, y, widgets);
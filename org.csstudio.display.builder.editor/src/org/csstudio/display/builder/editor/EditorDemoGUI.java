@@ -11,7 +11,6 @@ import static org.csstudio.display.builder.editor.Plugin.logger;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.util.Random;
 import java.util.logging.Level;
 
@@ -237,11 +236,8 @@ public class EditorDemoGUI
         {
             logger.log(Level.FINE, "Save as {0}", file);
             try
-            (
-                final ModelWriter writer = new ModelWriter(new FileOutputStream(file));
-            )
             {
-                writer.writeModel(editor.getModel());
+                ModelWriter.writeAtomically(editor.getModel(), file);
                 this.file = file;
             }
             catch (Exception ex)
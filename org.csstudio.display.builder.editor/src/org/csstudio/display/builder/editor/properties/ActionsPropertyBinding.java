@@ -66,16 +66,7 @@ public class ActionsPropertyBinding
         final Optional<ActionInfos> result = dialog.showAndWait();
         if (result.isPresent())
         {
-            undo.execute(new SetWidgetPropertyAction<ActionInfos>(widget_property, result.get()));
-            if (! other.isEmpty())
-            {
-                final String path = widget_property.getPath();
-                for (Widget w : other)
-                {
-                    final ActionsWidgetProperty other_prop = (ActionsWidgetProperty) w.getProperty(path);
-                    undo.execute(new SetWidgetPropertyAction<ActionInfos>(other_prop, result.get()));
-                }
-            }
+            executeForAll(prop -> new SetWidgetPropertyAction<ActionInfos>(prop, result.get()));
         }
     };
 
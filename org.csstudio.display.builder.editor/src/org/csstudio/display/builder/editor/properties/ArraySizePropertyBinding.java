@@ -9,12 +9,14 @@ package org.csstudio.display.builder.editor.properties;
 
 import java.util.List;
 
+import org.csstudio.display.builder.editor.Messages;
 import org.csstudio.display.builder.editor.undo.AddArrayElementAction;
 import org.csstudio.display.builder.editor.undo.RemoveArrayElementAction;
 import org.csstudio.display.builder.model.ArrayWidgetProperty;
 import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.WidgetPropertyListener;
+import org.csstudio.display.builder.util.undo.CompoundUndoableAction;
 import org.csstudio.display.builder.util.undo.UndoableActionManager;
 import org.csstudio.javafx.FocusUtil;
 
@@ -49,26 +51,31 @@ public class ArraySizePropertyBinding extends WidgetPropertyBinding<Spinner<Inte
 
         final int desired = jfx_node.getValue();
 
-        // Grow/shrink array via undo-able actions
+        // Grow/shrink array of all widgets via one undo-able action
         final String path = widget_property.getPath();
+        final CompoundUndoableAction resize = new CompoundUndoableAction(widget_property.size() < desired
+                                                                         ? Messages.AddElement
+                                                                         : Messages.RemoveElement);
         while (widget_property.size() < desired)
         {
-            undo.add(new AddArrayElementAction<>(widget_property, widget_property.addElement()));
+            resize.add(new AddArrayElementAction<>(widget_property, widget_property.addElement()));
             for (Widget w : other)
             {
                 final ArrayWidgetProperty other_prop = (ArrayWidgetProperty) w.getProperty(path);
-                undo.add(new AddArrayElementAction<>(other_prop, other_prop.addElement()));
+                resize.add(new AddArrayElementAction<>(other_prop, other_prop.addElement()));
             }
         }
         while (widget_property.size() > desired)
         {
-            undo.execute(new RemoveArrayElementAction<>(widget_property));
+            resize.execute(new RemoveArrayElementAction<>(widget_property));
             for (Widget w : other)
             {
                 final ArrayWidgetProperty other_prop = (ArrayWidgetProperty) w.getProperty(path);
-                undo.add(new RemoveArrayElementAction<>(other_prop));
+                resize.execute(new RemoveArrayElementAction<>(other_prop));
             }
         }
+        if (! resize.isEmpty())
+            undo.add(resize);
     };
 
     /** Update property sub-panel as array elements are added/removed */
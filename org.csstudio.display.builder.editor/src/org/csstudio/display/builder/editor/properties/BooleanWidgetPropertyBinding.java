@@ -159,16 +159,7 @@ public class BooleanWidgetPropertyBinding
     private void submit(final String value)
     {
         updating = true;
-        undo.execute(new SetMacroizedWidgetPropertyAction(widget_property, value));
-        if (! other.isEmpty())
-        {
-            final String path = widget_property.getPath();
-            for (Widget w : other)
-            {
-                final BooleanWidgetProperty other_prop = (BooleanWidgetProperty) w.getProperty(path);
-                undo.execute(new SetMacroizedWidgetPropertyAction(other_prop, value));
-            }
-        }
+        executeForAll(prop -> new SetMacroizedWidgetPropertyAction(prop, value));
         updating = false;
     }
 
@@ -45,16 +45,7 @@ public class ColorMapPropertyBinding
         final Optional<ColorMap> result = dialog.showAndWait();
         if (result.isPresent())
         {
-            undo.execute(new SetWidgetPropertyAction<ColorMap>(widget_property, result.get()));
-            if (! other.isEmpty())
-            {
-                final String path = widget_property.getPath();
-                for (Widget w : other)
-                {
-                    final ColorMapWidgetProperty other_prop = (ColorMapWidgetProperty) w.getProperty(path);
-                    undo.execute(new SetWidgetPropertyAction<ColorMap>(other_prop, result.get()));
-                }
-            }
+            executeForAll(prop -> new SetWidgetPropertyAction<ColorMap>(prop, result.get()));
         }
     };
 
@@ -107,16 +107,7 @@ public class EnumWidgetPropertyBinding
         final int ordinal = jfx_node.getItems().indexOf(entered);
 
         final Object value = (ordinal >= 0) ? ordinal : entered;
-        undo.execute(new SetWidgetEnumPropertyAction(widget_property, value));
-        if (! other.isEmpty())
-        {
-            final String path = widget_property.getPath();
-            for (Widget w : other)
-            {
-                final EnumWidgetProperty<?> other_prop = (EnumWidgetProperty<?>) w.getProperty(path);
-                undo.execute(new SetWidgetEnumPropertyAction(other_prop, value));
-            }
-        }
+        executeForAll(prop -> new SetWidgetEnumPropertyAction(prop, value));
         updating = false;
     }
 
@@ -117,16 +117,7 @@ public class MacroizedWidgetPropertyBinding
 
     private void submit()
     {
-        undo.execute(new SetMacroizedWidgetPropertyAction(widget_property, jfx_node.getText()));
-        if (! other.isEmpty())
-        {
-            final String path = widget_property.getPath();
-            for (Widget w : other)
-            {
-                final MacroizedWidgetProperty<?> other_prop = (MacroizedWidgetProperty<?>) w.getProperty(path);
-                undo.execute(new SetMacroizedWidgetPropertyAction(other_prop, jfx_node.getText()));
-            }
-        }
+        executeForAll(prop -> new SetMacroizedWidgetPropertyAction(prop, jfx_node.getText()));
     }
 
     private void restore()
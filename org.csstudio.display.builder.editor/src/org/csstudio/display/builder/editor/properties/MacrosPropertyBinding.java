@@ -41,16 +41,7 @@ public class MacrosPropertyBinding
         final Optional<Macros> result = dialog.showAndWait();
         if (result.isPresent())
         {
-            undo.execute(new SetWidgetPropertyAction<Macros>(widget_property, result.get()));
-            if (! other.isEmpty())
-            {
-                final String path = widget_property.getPath();
-                for (Widget w : other)
-                {
-                    final MacrosWidgetProperty other_prop = (MacrosWidgetProperty) w.getProperty(path);
-                    undo.execute(new SetWidgetPropertyAction<Macros>(other_prop, result.get()));
-                }
-            }
+            executeForAll(prop -> new SetWidgetPropertyAction<Macros>(prop, result.get()));
         }
     };
 
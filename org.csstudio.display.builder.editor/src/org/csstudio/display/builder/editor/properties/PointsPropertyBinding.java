@@ -42,16 +42,7 @@ public class PointsPropertyBinding
         final Optional<Points> result = dialog.showAndWait();
         if (result.isPresent())
         {
-            undo.execute(new SetWidgetPointsAction(widget_property, result.get()));
-            if (! other.isEmpty())
-            {
-                final String path = widget_property.getPath();
-                for (Widget w : other)
-                {
-                    final PointsWidgetProperty other_prop = (PointsWidgetProperty) w.getProperty(path);
-                    undo.execute(new SetWidgetPointsAction(other_prop, result.get()));
-                }
-            }
+            executeForAll(prop -> new SetWidgetPointsAction(prop, result.get()));
         }
     };
 
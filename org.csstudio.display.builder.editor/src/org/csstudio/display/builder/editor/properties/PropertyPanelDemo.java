@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.editor.properties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.util.undo.UndoableActionManager;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.stage.Stage;
+
+/** Selection-change latency of the property panel
+ *
+ *  <p>Selects single widgets one after the other,
+ *  then 1000 widgets at once,
+ *  re-creating the property section for each selection
+ *  or re-binding the existing property editors.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class PropertyPanelDemo extends Application
+{
+    private static final int WIDGETS = 1000, RUNS = 100;
+
+    private final UndoableActionManager undo = new UndoableActionManager(10);
+    private final PropertyPanelSection section = new PropertyPanelSection();
+    private final List<Widget> widgets = new ArrayList<>();
+
+    /** Select widgets
+     *  @param selection Selected widgets, first one is the primary widget
+     *  @param rebuild Re-create section instead of re-binding?
+     */
+    private void select(final List<Widget> selection, final boolean rebuild)
+    {
+        final List<Widget> other = new ArrayList<>(selection);
+        final Widget primary = other.remove(0);
+        if (rebuild)
+            section.clear();
+        section.update(undo, false, primary.getProperties(), other);
+        section.applyCss();
+        section.layout();
+    }
+
+    private void measure(final boolean rebuild)
+    {
+        final String mode = rebuild ? "Re-create" : "Re-bind  ";
+
+        long start = System.nanoTime();
+        for (int i=0; i<RUNS; ++i)
+            select(Collections.singletonList(widgets.get(i)), rebuild);
+        System.out.format("%s: Select 1 widget    %6.2f ms\n", mode, (System.nanoTime() - start) / 1e6 / RUNS);
+
+        start = System.nanoTime();
+        for (int i=0; i<RUNS; ++i)
+        {   // Rotate primary widget
+            final List<Widget> selection = new ArrayList<>(widgets);
+            Collections.rotate(selection, i);
+            select(selection, rebuild);
+        }
+        System.out.format("%s: Select %d widgets %6.2f ms\n", mode, WIDGETS, (System.nanoTime() - start) / 1e6 / RUNS);
+    }
+
+    @Override
+    public void start(final Stage stage)
+    {
+        final DisplayModel model = new DisplayModel();
+        for (int i=0; i<WIDGETS; ++i)
+        {
+            final Widget widget = new LabelWidget();
+            widget.propName().setValue("Label " + i);
+            widget.propX().setValue(10 * (i % 40));
+            widget.propY().setValue(20 * (i / 40));
+            model.runtimeChildren().addChild(widget);
+            widgets.add(widget);
+        }
+
+        final ScrollPane scroll = new ScrollPane(section);
+        scroll.setFitToWidth(true);
+        stage.setScene(new Scene(scroll, 400, 800));
+        stage.show();
+
+        // Warm up, then measure
+        measure(true);
+        measure(false);
+        measure(true);
+        measure(false);
+    }
+
+    public static void main(final String[] args)
+    {
+        launch(args);
+    }
+}
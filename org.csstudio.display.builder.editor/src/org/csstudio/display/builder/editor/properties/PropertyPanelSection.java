@@ -97,6 +97,11 @@ import javafx.scene.layout.StackPane;
  *  or to re-create the complete section (currently done).
  *  See {@link ArraySizePropertyBinding} for details.
  *
+ *  <p>When the selection changes to widgets that result in the same layout,
+ *  for example another widget of the same type,
+ *  the existing editors are re-bound to the properties of the newly selected widgets
+ *  instead of re-creating the complete section.
+ *
  *  @author Kay Kasemir
  *  @author Claudio Rosati
  */
@@ -112,6 +117,9 @@ public class PropertyPanelSection extends GridPane
     private final List<WidgetPropertyBinding<?,?>> bindings = new ArrayList<>();
     private int next_row = -1;
 
+    /** Layout of the current section, see {@link #getLayout}, or <code>null</code> */
+    private String layout = null;
+
     //  Instance initializer.
     {
 
@@ -132,6 +140,68 @@ public class PropertyPanelSection extends GridPane
         this.class_mode = class_mode;
     }
 
+    /** Update section for the properties of the currently selected widgets
+     *
+     *  <p>Re-binds the existing property editors if the properties
+     *  result in the same layout, otherwise re-creates the section.
+     *
+     *  @param undo Undo manager
+     *  @param class_mode Show class definition?
+     *  @param properties Properties of the primary widget
+     *  @param other Zero or more additional widgets that have the same properties
+     */
+    void update(final UndoableActionManager undo,
+                final boolean class_mode,
+                final Collection<WidgetProperty<?>> properties,
+                final List<Widget> other)
+    {
+        final String new_layout = getLayout(class_mode, properties);
+        if (new_layout.equals(layout)  &&  !bindings.isEmpty())
+        {
+            final Widget primary = properties.iterator().next().getWidget();
+            try
+            {
+                for (WidgetPropertyBinding<?,?> binding : bindings)
+                    binding.rebind(primary.getProperty(binding.widget_property.getPath()), other);
+                return;
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING, "Cannot re-bind properties of " + primary, ex);
+            }
+        }
+        clear();
+        setClassMode(class_mode);
+        fill(undo, properties, other);
+        layout = new_layout;
+    }
+
+    /** @param class_mode Show class definition?
+     *  @param properties Properties of the primary widget
+     *  @return Description of the section layout for the properties
+     */
+    private static String getLayout(final boolean class_mode, final Collection<WidgetProperty<?>> properties)
+    {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(class_mode);
+        if (! properties.isEmpty())
+            buf.append(' ').append(properties.iterator().next().getWidget().getType());
+        for (WidgetProperty<?> property : properties)
+            addLayout(buf, property);
+        return buf.toString();
+    }
+
+    private static void addLayout(final StringBuilder buf, final WidgetProperty<?> property)
+    {
+        buf.append('\n').append(property.getPath()).append(' ').append(property.getClass().getName());
+        if (property instanceof StructuredWidgetProperty)
+            for (WidgetProperty<?> elem : ((StructuredWidgetProperty) property).getValue())
+                addLayout(buf, elem);
+        else if (property instanceof ArrayWidgetProperty)
+            for (WidgetProperty<?> elem : ((ArrayWidgetProperty<?>) property).getValue())
+                addLayout(buf, elem);
+    }
+
     void fill(final UndoableActionManager undo,
               final Collection<WidgetProperty<?>> properties,
               final List<Widget> other)
@@ -214,8 +284,10 @@ public class PropertyPanelSection extends GridPane
             else
             {
                 final TextField text = new TextField();
-                text.setText(String.valueOf(property.getValue()));
                 text.setDisable(true);
+                final ReadonlyPropertyBinding binding = new ReadonlyPropertyBinding(text, property);
+                bindings.add(binding);
+                binding.bind();
                 field = text;
             }
         }
@@ -261,25 +333,39 @@ public class PropertyPanelSection extends GridPane
             BorderPane.setMargin(macroButton, new Insets(0, 0, 0, 3));
             BorderPane.setAlignment(macroButton, Pos.CENTER);
 
-            final EnumWidgetPropertyBinding binding = new EnumWidgetPropertyBinding(undo, combo, enum_prop, other);
-            bindings.add(binding);
-            binding.bind();
-
-            final EventHandler<ActionEvent> macro_handler = event ->
+            final EnumWidgetPropertyBinding binding = new EnumWidgetPropertyBinding(undo, combo, enum_prop, other)
             {
-                final boolean use_macro = macroButton.isSelected() ||
-                                          MacroHandler.containsMacros(enum_prop.getSpecification());
-                combo.setEditable(use_macro);
-                // Combo's text field has been set to the current value
-                // while the combo was non-editable.
-                // With Java 8, it that can be ignored, so set it again
-                // now that the combo has become editable.
-                if (use_macro  &&  combo.getEditor().getText().isEmpty())
-                    binding.restore();
+                private final EventHandler<ActionEvent> macro_handler = event ->
+                {
+                    final boolean use_macro = macroButton.isSelected() ||
+                                              MacroHandler.containsMacros(widget_property.getSpecification());
+                    combo.setEditable(use_macro);
+                    // Combo's text field has been set to the current value
+                    // while the combo was non-editable.
+                    // With Java 8, it that can be ignored, so set it again
+                    // now that the combo has become editable.
+                    if (use_macro  &&  combo.getEditor().getText().isEmpty())
+                        restore();
+                };
+
+                @Override
+                public void bind()
+                {
+                    super.bind();
+                    macroButton.setOnAction(macro_handler);
+                    macroButton.setSelected(MacroHandler.containsMacros(widget_property.getSpecification()));
+                    macro_handler.handle(null);
+                }
+
+                @Override
+                public void unbind()
+                {
+                    macroButton.setOnAction(null);
+                    super.unbind();
+                }
             };
-            macroButton.setOnAction(macro_handler);
-            macroButton.setSelected(MacroHandler.containsMacros(enum_prop.getSpecification()));
-            macro_handler.handle(null);
+            bindings.add(binding);
+            binding.bind();
 
             field = new BorderPane(combo, null, macroButton, null, null);
             // When used in RulesDialog, field can get focus.
@@ -373,23 +459,25 @@ public class PropertyPanelSection extends GridPane
             final TextField text = InputUtils.wrap(new TextField());
             text.setPromptText(file_prop.getDefaultValue().toString());
             text.setMaxWidth(Double.MAX_VALUE);
+            final MacroizedWidgetPropertyBinding binding = new MacroizedWidgetPropertyBinding(undo, text, file_prop, other);
+            bindings.add(binding);
+            binding.bind();
             final Button select_file = new Button("...");
             select_file.setOnAction(event ->
             {
+                // Use the currently bound property, binding may have been re-used
+                final FilenameWidgetProperty prop = (FilenameWidgetProperty) binding.widget_property;
                 try
                 {
-                    final String filename = FilenameSupport.promptForRelativePath(widget, file_prop.getValue());
+                    final String filename = FilenameSupport.promptForRelativePath(prop.getWidget(), prop.getValue());
                     if (filename != null)
-                        undo.execute(new SetMacroizedWidgetPropertyAction(file_prop, filename));
+                        binding.executeForAll(p -> new SetMacroizedWidgetPropertyAction(p, filename));
                 }
                 catch (Exception ex)
                 {
-                    logger.log(Level.WARNING, "Cannot prompt for " + file_prop, ex);
+                    logger.log(Level.WARNING, "Cannot prompt for " + prop, ex);
                 }
             });
-            final MacroizedWidgetPropertyBinding binding = new MacroizedWidgetPropertyBinding(undo, text, file_prop, other);
-            bindings.add(binding);
-            binding.bind();
             field = new HBox(text, select_file);
             HBox.setHgrow(text, Priority.ALWAYS);
             // For RulesDialog, see above
@@ -428,17 +516,12 @@ public class PropertyPanelSection extends GridPane
             final Button open_editor = new Button("...");
             open_editor.setOnAction(event ->
             {
-                final MultiLineInputDialog dialog = new MultiLineInputDialog(pv_prop.getSpecification());
+                final MultiLineInputDialog dialog = new MultiLineInputDialog(binding.widget_property.getSpecification());
                 DialogHelper.positionDialog(dialog, open_editor, -600, 0);
                 final Optional<String> result = dialog.showAndWait();
                 if (!result.isPresent())
                     return;
-                undo.execute(new SetMacroizedWidgetPropertyAction(pv_prop, result.get()));
-                for (Widget w : other)
-                {
-                    final MacroizedWidgetProperty<?> other_prop = (MacroizedWidgetProperty<?>) w.getProperty(pv_prop.getName());
-                    undo.execute(new SetMacroizedWidgetPropertyAction(other_prop, result.get()));
-                }
+                binding.executeForAll(prop -> new SetMacroizedWidgetPropertyAction(prop, result.get()));
             });
             field = new HBox(text, open_editor);
             HBox.setHgrow(text, Priority.ALWAYS);
@@ -464,16 +547,11 @@ public class PropertyPanelSection extends GridPane
                 final Button open_editor = new Button("...");
                 open_editor.setOnAction(event ->
                 {
-                    final MultiLineInputDialog dialog = new MultiLineInputDialog(open_editor, macro_prop.getSpecification());
+                    final MultiLineInputDialog dialog = new MultiLineInputDialog(open_editor, binding.widget_property.getSpecification());
                     final Optional<String> result = dialog.showAndWait();
                     if (!result.isPresent())
                         return;
-                    undo.execute(new SetMacroizedWidgetPropertyAction(macro_prop, result.get()));
-                    for (Widget w : other)
-                    {
-                        final MacroizedWidgetProperty<?> other_prop = (MacroizedWidgetProperty<?>) w.getProperty(macro_prop.getName());
-                        undo.execute(new SetMacroizedWidgetPropertyAction(other_prop, result.get()));
-                    }
+                    binding.executeForAll(prop -> new SetMacroizedWidgetPropertyAction(prop, result.get()));
                 });
                 field = new HBox(text, open_editor);
                 HBox.setHgrow(text, Priority.ALWAYS);
@@ -651,8 +729,10 @@ public class PropertyPanelSection extends GridPane
         else
         {   // Fallback for unknown property: read-only
             final TextField text = new TextField();
-            text.setText(String.valueOf(property.getValue()));
             text.setEditable(false);
+            final ReadonlyPropertyBinding binding = new ReadonlyPropertyBinding(text, property);
+            bindings.add(binding);
+            binding.bind();
             field = text;
         }
 
@@ -779,5 +859,7 @@ public class PropertyPanelSection extends GridPane
         bindings.forEach(WidgetPropertyBinding::unbind);
         bindings.clear();
         getChildren().clear();
+        next_row = -1;
+        layout = null;
     }
 }
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.editor.properties;
+
+import org.csstudio.display.builder.model.WidgetProperty;
+
+import javafx.scene.control.TextInputControl;
+
+/** Binding that shows the value of a property which cannot be edited
+ *
+ *  <p>Allows re-use of the field for the same property of another widget.
+ *
+ *  @author Kay Kasemir
+ */
+class ReadonlyPropertyBinding extends WidgetPropertyBinding<TextInputControl, WidgetProperty<?>>
+{
+    /** @param field Field that displays the value
+     *  @param property Property to display
+     */
+    public ReadonlyPropertyBinding(final TextInputControl field, final WidgetProperty<?> property)
+    {
+        super(null, field, property, null);
+    }
+
+    @Override
+    public void bind()
+    {
+        jfx_node.setText(String.valueOf(widget_property.getValue()));
+    }
+
+    @Override
+    public void unbind()
+    {
+        // Nothing to remove
+    }
+}
@@ -47,16 +47,7 @@ extends WidgetPropertyBinding<Button, RulesWidgetProperty>
 
         if (result.isPresent())
         {
-            undo.execute(new SetWidgetPropertyAction<List<RuleInfo>>(widget_property, result.get()));
-            if (! other.isEmpty())
-            {
-                final String path = widget_property.getPath();
-                for (Widget w : other)
-                {
-                    final RulesWidgetProperty other_prop = (RulesWidgetProperty) w.getProperty(path);
-                    undo.execute(new SetWidgetPropertyAction<List<RuleInfo>>(other_prop, result.get()));
-                }
-            }
+            executeForAll(prop -> new SetWidgetPropertyAction<List<RuleInfo>>(prop, result.get()));
         }
     };
 
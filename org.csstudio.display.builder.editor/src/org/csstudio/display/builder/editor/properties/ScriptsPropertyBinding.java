@@ -47,16 +47,7 @@ public class ScriptsPropertyBinding
         final Optional<List<ScriptInfo>> result = dialog.showAndWait();
         if (result.isPresent())
         {
-            undo.execute(new SetWidgetPropertyAction<List<ScriptInfo>>(widget_property, result.get()));
-            if (! other.isEmpty())
-            {
-                final String path = widget_property.getPath();
-                for (Widget w : other)
-                {
-                    final ScriptsWidgetProperty other_prop = (ScriptsWidgetProperty) w.getProperty(path);
-                    undo.execute(new SetWidgetPropertyAction<List<ScriptInfo>>(other_prop, result.get()));
-                }
-            }
+            executeForAll(prop -> new SetWidgetPropertyAction<List<ScriptInfo>>(prop, result.get()));
         }
     };
 
@@ -51,12 +51,8 @@ public class UseWidgetClassBinding extends WidgetPropertyBinding<CheckBox, Widge
         {
             updating = true;
             property_field.setDisable(! jfx_node.isSelected());
-            undo.execute(new UseClassAction(widget_property, jfx_node.isSelected()));
-            for (Widget w : other)
-            {
-                final WidgetProperty<?> other_prop = w.getProperty(widget_property.getName());
-                undo.execute(new UseClassAction(other_prop, jfx_node.isSelected()));
-            }
+            final boolean use_class = jfx_node.isSelected();
+            executeForAll(prop -> new UseClassAction(prop, use_class));
             updating = false;
         });
         widget_property.addUntypedPropertyListener(model_listener);
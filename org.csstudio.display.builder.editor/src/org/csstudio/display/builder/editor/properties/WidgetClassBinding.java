@@ -90,12 +90,7 @@ public class WidgetClassBinding extends WidgetPropertyBinding<ComboBox<String>,
     {
         updating = true;
         final String value = jfx_node.getValue();
-        undo.execute(new SetWidgetClassAction(widget_property, value));
-        for (Widget w : other)
-        {
-            final WidgetClassProperty other_prop = (WidgetClassProperty) w.getProperty(widget_property.getName());
-            undo.execute(new SetWidgetClassAction(other_prop, value));
-        }
+        executeForAll(prop -> new SetWidgetClassAction(prop, value));
         updating = false;
     }
 
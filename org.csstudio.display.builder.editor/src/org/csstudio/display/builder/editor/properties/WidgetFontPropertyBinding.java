@@ -41,16 +41,7 @@ public class WidgetFontPropertyBinding
         if (popover == null)
             popover = new WidgetFontPopOver(widget_property, font ->
             {
-                undo.execute(new SetWidgetPropertyAction<WidgetFont>(widget_property, font));
-                if (! other.isEmpty())
-                {
-                    final String path = widget_property.getPath();
-                    for (Widget w : other)
-                    {
-                        final FontWidgetProperty other_prop = (FontWidgetProperty) w.getProperty(path);
-                        undo.execute(new SetWidgetPropertyAction<WidgetFont>(other_prop, font));
-                    }
-                }
+                executeForAll(prop -> new SetWidgetPropertyAction<WidgetFont>(prop, font));
             });
 
         if (popover.isShowing())
@@ -78,6 +69,10 @@ public class WidgetFontPropertyBinding
     @Override
     public void unbind()
     {
+        // Pop-over is specific to the property, create new one when re-bound
+        if (popover != null  &&  popover.isShowing())
+            popover.hide();
+        popover = null;
         jfx_node.setOnAction(null);
         widget_property.removePropertyListener(model_listener);
     }
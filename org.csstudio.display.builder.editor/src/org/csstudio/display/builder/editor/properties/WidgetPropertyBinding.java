@@ -8,9 +8,12 @@
 package org.csstudio.display.builder.editor.properties;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.util.undo.CompoundUndoableAction;
+import org.csstudio.display.builder.util.undo.UndoableAction;
 import org.csstudio.display.builder.util.undo.UndoableActionManager;
 
 import javafx.scene.Node;
@@ -24,8 +27,8 @@ abstract public class WidgetPropertyBinding<JFX extends Node, WP extends WidgetP
 {
     protected final UndoableActionManager undo;
     protected final JFX jfx_node;
-    protected final WP widget_property;
-    protected final List<Widget> other;
+    protected WP widget_property;
+    protected List<Widget> other;
 
     /** Break update loops JFX change -> model change -> JFX change -> ... */
     protected boolean updating = false;
@@ -50,4 +53,44 @@ abstract public class WidgetPropertyBinding<JFX extends Node, WP extends WidgetP
 
     /** Remove the binding */
     abstract public void unbind();
+
+    /** Re-use the binding and its JFX node for another property
+     *
+     *  <p>Property must be of the same type and path,
+     *  typically the same property of another widget of the same type.
+     *
+     *  @param property Widget property to monitor and update
+     *  @param other Other widgets where same property should be updated
+     */
+    @SuppressWarnings("unchecked")
+    public void rebind(final WidgetProperty<?> property, final List<Widget> other)
+    {
+        unbind();
+        this.widget_property = (WP) property;
+        this.other = other;
+        bind();
+    }
+
+    /** Update the property of the primary and all 'other' widgets
+     *
+     *  <p>Changes to several widgets are executed as one undoable action.
+     *
+     *  @param create Creates action that updates one property
+     */
+    @SuppressWarnings("unchecked")
+    protected void executeForAll(final Function<WP, UndoableAction> create)
+    {
+        final UndoableAction action = create.apply(widget_property);
+        if (other.isEmpty())
+        {
+            undo.execute(action);
+            return;
+        }
+        final CompoundUndoableAction all = new CompoundUndoableAction(action.toString());
+        all.add(action);
+        final String path = widget_property.getPath();
+        for (Widget w : other)
+            all.add(create.apply((WP) w.getProperty(path)));
+        undo.execute(all);
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015-2017 Oak Ridge National Laboratory.
+ * Copyright (c) 2015-2018 Oak Ridge National Laboratory.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,17 +10,23 @@ package org.csstudio.display.builder.editor.tree;
 import static org.csstudio.display.builder.editor.Plugin.logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 import org.csstudio.display.builder.editor.DisplayEditor;
 import org.csstudio.display.builder.editor.EditorUtil;
 import org.csstudio.display.builder.editor.actions.ActionDescription;
-import org.csstudio.display.builder.model.ArrayWidgetProperty;
 import org.csstudio.display.builder.model.ChildrenProperty;
 import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.Widget;
@@ -46,6 +52,15 @@ import javafx.scene.input.MouseEvent;
 import javafx.util.Callback;
 
 /** Tree view of widget hierarchy
+ *
+ *  <p>Tree items for the children of a widget or tab
+ *  are created when that item is first expanded,
+ *  so opening a display with many widgets only creates
+ *  the items for the top-level widgets.
+ *
+ *  <p>Model changes are queued and applied to the tree
+ *  in one UI update.
+ *
  *  @author Kay Kasemir
  *  @author Claudio Rosati
  */
@@ -66,12 +81,28 @@ public class WidgetTree
      *
      *  <p>When model notifies about changed Widget,
      *  this map provides the corresponding TreeItem.
+     *  Only contains widgets for which a tree item has been created.
      */
     private final Map<Widget, TreeItem<WidgetOrTab>> widget2tree = new ConcurrentHashMap<>();
 
     /** Map of tab's name property to TreeItem */
     private final Map<WidgetProperty<String>, TreeItem<WidgetOrTab>> tab_name2tree = new ConcurrentHashMap<>();
 
+    /** Map 'children' of a widget or tab to the TreeItem of that widget or tab */
+    private final Map<ChildrenProperty, TreeItem<WidgetOrTab>> children2tree = new ConcurrentHashMap<>();
+
+    /** Updates of the tree that are pending for the next UI update */
+    private final Queue<Runnable> pending_updates = new ConcurrentLinkedQueue<>();
+
+    /** Tree items to refresh in the next UI update */
+    private final Set<TreeItem<WidgetOrTab>> pending_refresh = ConcurrentHashMap.newKeySet();
+
+    /** Has the UI update been scheduled? */
+    private final AtomicBoolean update_scheduled = new AtomicBoolean();
+
+    /** Did the pending updates add items, so selection needs to be restored? */
+    private volatile boolean restore_selection = false;
+
     /** Listener to changes in Widget's children */
     private final WidgetPropertyListener<List<Widget>> children_listener;
 
@@ -81,29 +112,102 @@ public class WidgetTree
         final Widget widget = property.getWidget();
         logger.log(Level.FINE, "{0} changed name", widget);
 
-        final TreeItem<WidgetOrTab> item = Objects.requireNonNull(widget2tree.get(widget));
-        Platform.runLater(() -> TreeHelper.triggerTreeItemRefresh(item));
+        final TreeItem<WidgetOrTab> item = widget2tree.get(widget);
+        if (item != null)
+            scheduleRefresh(item);
     };
 
     /** Listener to changes in a TabWidget's tabs */
     private final WidgetPropertyListener<List<TabItemProperty>> tabs_property_listener = (tabs, removed, added) ->
     {
-        if (added != null)
-            addTabs(added);
-        if (removed != null)
-            removeTabs(removed);
+        final Widget widget = tabs.getWidget();
+        scheduleUpdate(() ->
+        {
+            final LazyItem item = (LazyItem) widget2tree.get(widget);
+            if (item == null)
+                return;
+            if (! item.isPopulated())
+            {
+                TreeHelper.triggerTreeItemRefresh(item);
+                return;
+            }
+            if (removed != null)
+                removeTabs(removed);
+            if (added != null)
+                for (TabItemProperty tab : added)
+                    if (! tab_name2tree.containsKey(tab.name()))
+                        item.getChildren().add(createItem(WidgetOrTab.of(tab)));
+        });
     };
 
     /** Update the name of a tab item in the tree */
     private final WidgetPropertyListener<String> tab_name_listener = (tab_name, old_name, new_name) ->
     {
-        final TreeItem<WidgetOrTab> tab_item = Objects.requireNonNull(tab_name2tree.get(tab_name));
-        TreeHelper.triggerTreeItemRefresh(tab_item);
+        final TreeItem<WidgetOrTab> tab_item = tab_name2tree.get(tab_name);
+        if (tab_item != null)
+            scheduleRefresh(tab_item);
     };
 
     /** Cell factory that displays {@link WidgetOrTab} info in tree cell */
     private final Callback<TreeView<WidgetOrTab>, TreeCell<WidgetOrTab>> cell_factory;
 
+    /** Tree item that creates the items for its child widgets or tabs
+     *  when it is first expanded
+     */
+    private class LazyItem extends TreeItem<WidgetOrTab>
+    {
+        private boolean populated = false;
+
+        LazyItem(final WidgetOrTab value)
+        {
+            super(value);
+            expandedProperty().addListener((prop, was_expanded, expanded) ->
+            {
+                if (expanded)
+                    populate();
+            });
+        }
+
+        boolean isPopulated()
+        {
+            return populated;
+        }
+
+        /** Create child items, unless already done */
+        void populate()
+        {
+            if (populated)
+                return;
+            populated = true;
+            final List<TreeItem<WidgetOrTab>> items = new ArrayList<>();
+            final WidgetOrTab wot = getValue();
+            if (wot.isWidget()  &&  wot.getWidget() instanceof TabsWidget)
+                for (TabItemProperty tab : ((TabsWidget) wot.getWidget()).propTabs().getValue())
+                    items.add(createItem(WidgetOrTab.of(tab)));
+            else
+            {
+                final ChildrenProperty children = getChildren(wot);
+                if (children != null)
+                    for (Widget child : children.getValue())
+                        if (! widget2tree.containsKey(child))
+                            items.add(createItem(WidgetOrTab.of(child)));
+            }
+            getChildren().addAll(items);
+        }
+
+        @Override
+        public boolean isLeaf()
+        {
+            if (populated)
+                return getChildren().isEmpty();
+            final WidgetOrTab wot = getValue();
+            if (wot.isWidget()  &&  wot.getWidget() instanceof TabsWidget)
+                return ((TabsWidget) wot.getWidget()).propTabs().getValue().isEmpty();
+            final ChildrenProperty children = getChildren(wot);
+            return children == null  ||  children.getValue().isEmpty();
+        }
+    }
+
     /** Construct widget tree
      *  @param selection Handler of selected widgets
      */
@@ -114,22 +218,11 @@ public class WidgetTree
 
         children_listener = (p, removed, added) ->
         {
+            final ChildrenProperty children = (ChildrenProperty) p;
             // Update must be on UI thread.
             // Even if already on UI thread, decouple.
             if (removed != null)
-                Platform.runLater(() ->
-                {
-                    active.set(true);
-                    try
-                    {
-                        for (Widget removed_widget : removed)
-                            removeWidget(removed_widget);
-                    }
-                    finally
-                    {
-                        active.set(false);
-                    }
-                });
+                scheduleUpdate(() -> removeWidgets(removed));
 
             if (added != null)
             {   // Need to determine the index of added item in model _now_,
@@ -140,24 +233,9 @@ public class WidgetTree
                 // Then it moves b, determined that it needs to be at index 3 -> [ c, a, d, b ]
                 final int[] indices = new int[added.size()];
                 for (int i=0; i<indices.length; ++i)
-                    indices[i] = determineWidgetIndex(added.get(i));
-
-                Platform.runLater(() ->
-                {
-                    active.set(true);
-                    try
-                    {
-                        for (int i=0; i<indices.length; ++i)
-                            addWidget(added.get(i), indices[i]);
-                    }
-                    finally
-                    {
-                        active.set(false);
-                    }
-                    // Restore tree's selection to match model
-                    // after removing/adding items may have changed it.
-                    setSelectedWidgets(editor.getWidgetSelectionHandler().getSelection());
-                });
+                    indices[i] = children.getValue().indexOf(added.get(i));
+                restore_selection = true;
+                scheduleUpdate(() -> addWidgets(children, added, indices));
             }
         };
     }
@@ -268,6 +346,7 @@ public class WidgetTree
         editor.getWidgetSelectionHandler().addListener(this::setSelectedWidgets);
     }
 
+
     /** @param model Model to display as widget tree */
     public void setModel(final DisplayModel model)
     {
@@ -278,25 +357,27 @@ public class WidgetTree
         final DisplayModel old_model = this.model;
         if (old_model != null)
         {
-            old_model.runtimeChildren().removePropertyListener(children_listener);
-            for (Widget widget : old_model.runtimeChildren().getValue())
-                removeWidgetListeners(widget);
+            final TreeItem<WidgetOrTab> old_root = widget2tree.get(old_model);
+            if (old_root != null)
+                disposeItem(old_root);
             widget2tree.clear();
             tab_name2tree.clear();
+            children2tree.clear();
+            pending_updates.clear();
+            pending_refresh.clear();
         }
         this.model = model;
 
         // Might be called on UI thread, move off
         EditorUtil.getExecutor().execute(() ->
         {
-            final TreeItem<WidgetOrTab> root = new TreeItem<WidgetOrTab>(WidgetOrTab.of(model));
-            if (model != null)
-            {
-                widget2tree.put(model, root);
-                for (Widget widget : model.runtimeChildren().getValue())
-                    addWidget(widget, -1);
+            final TreeItem<WidgetOrTab> root;
+            if (model == null)
+                root = new TreeItem<WidgetOrTab>(WidgetOrTab.of(model));
+            else
+            {   // Expanding the root creates items for the top-level widgets
+                root = createItem(WidgetOrTab.of(model));
                 root.setExpanded(true);
-                model.runtimeChildren().addPropertyListener(children_listener);
             }
             logger.log(Level.FINE, "Computed new tree on {0}, updating UI", Thread.currentThread().getName());
             Platform.runLater(() ->
@@ -319,7 +400,11 @@ public class WidgetTree
             final MultipleSelectionModel<TreeItem<WidgetOrTab>> selection = tree_view.getSelectionModel();
             selection.clearSelection();
             for (Widget widget : widgets)
-                selection.select(widget2tree.get(widget));
+            {
+                final TreeItem<WidgetOrTab> item = getItem(widget);
+                if (item != null)
+                    selection.select(item);
+            }
 
             // If something's selected, show it.
             // Otherwise leave tree at current position.
@@ -333,159 +418,233 @@ public class WidgetTree
         }
     }
 
-    /** Determine location of widget within parent of model
+    /** Get tree item for widget, expanding its parent items as necessary
      *  @param widget Widget
-     *  @return Index of widget in model's parent
+     *  @return Tree item for the widget or <code>null</code>
      */
-    private int determineWidgetIndex(final Widget widget)
+    private TreeItem<WidgetOrTab> getItem(final Widget widget)
     {
-        final Widget widget_parent = Objects.requireNonNull(widget.getParent().get());
-        if (widget_parent instanceof TabsWidget)
-        {
-            for (TabItemProperty tab : ((TabsWidget)widget_parent).propTabs().getValue())
-            {
-                int index = tab.children().getValue().indexOf(widget);
-                if (index >= 0)
-                    return index;
-            }
-        }
-        else
-            return ChildrenProperty.getChildren(widget_parent).getValue().indexOf(widget);
-        return -1;
-    }
-
-    /** Add widget to existing model & tree
-     *  @param added_widget Widget to add
-     *  @param index Index of widget within parent. -1 to add at end
-     */
-    private void addWidget(final Widget added_widget, final int index)
-    {
-        // Have widget and its parent in model
-        final Widget widget_parent = added_widget.getParent().get();
-        // Determine parent tree item
-        TreeItem<WidgetOrTab> item_parent = null;
-        if (widget_parent instanceof TabsWidget)
-        {
-            for (TabItemProperty tab : ((TabsWidget)widget_parent).propTabs().getValue())
-                if (tab.children().getValue().contains(added_widget))
+        final TreeItem<WidgetOrTab> item = widget2tree.get(widget);
+        if (item != null)
+            return item;
+        final Optional<Widget> widget_parent = widget.getParent();
+        if (! widget_parent.isPresent())
+            return null;
+        final TreeItem<WidgetOrTab> parent_item = getItem(widget_parent.get());
+        if (parent_item == null)
+            return null;
+        // Expanding the parent creates its child items
+        parent_item.setExpanded(true);
+        if (widget_parent.get() instanceof TabsWidget)
+            for (TabItemProperty tab : ((TabsWidget) widget_parent.get()).propTabs().getValue())
+                if (tab.children().getValue().contains(widget))
                 {
-                    item_parent = tab_name2tree.get(tab.name());
+                    final TreeItem<WidgetOrTab> tab_item = tab_name2tree.get(tab.name());
+                    if (tab_item == null)
+                        return null;
+                    tab_item.setExpanded(true);
                     break;
                 }
-        }
-        else
-            item_parent = widget2tree.get(widget_parent);
+        return widget2tree.get(widget);
+    }
 
-        Objects.requireNonNull(item_parent, "Cannot obtain parent item for " + added_widget);
+    /** @param update Update to perform on the tree in the next UI update */
+    private void scheduleUpdate(final Runnable update)
+    {
+        pending_updates.add(update);
+        scheduleFlush();
+    }
 
-        // Create Tree item
-        final TreeItem<WidgetOrTab> item = new TreeItem<>(WidgetOrTab.of(added_widget));
-        widget2tree.put(added_widget, item);
-        item.setExpanded(true);
-        if (index >= 0)
-            // Add at same index into Tree
-            item_parent.getChildren().add(index, item);
-        else// Append to end
-            item_parent.getChildren().add(item);
+    /** @param item Item to refresh in the next UI update */
+    private void scheduleRefresh(final TreeItem<WidgetOrTab> item)
+    {
+        pending_refresh.add(item);
+        scheduleFlush();
+    }
 
-        added_widget.propName().addPropertyListener(name_listener);
+    private void scheduleFlush()
+    {
+        if (update_scheduled.compareAndSet(false, true))
+            Platform.runLater(this::flushUpdates);
+    }
 
-        if (added_widget instanceof TabsWidget)
-        {
-            final ArrayWidgetProperty<TabItemProperty> tabs = ((TabsWidget)added_widget).propTabs();
-            addTabs(tabs.getValue());
-            tabs.addPropertyListener(tabs_property_listener);
-        }
-        else
+    /** Perform all pending updates on the UI thread */
+    private void flushUpdates()
+    {
+        update_scheduled.set(false);
+        active.set(true);
+        try
         {
-            final ChildrenProperty children = ChildrenProperty.getChildren(added_widget);
-            if (children != null)
+            Runnable update;
+            while ((update = pending_updates.poll()) != null)
             {
-                children.addPropertyListener(children_listener);
-                for (Widget child : children.getValue())
-                    addWidget(child, -1);
+                try
+                {
+                    update.run();
+                }
+                catch (Exception ex)
+                {
+                    logger.log(Level.WARNING, "Cannot update widget tree", ex);
+                }
+            }
+            final Iterator<TreeItem<WidgetOrTab>> refresh = pending_refresh.iterator();
+            while (refresh.hasNext())
+            {
+                TreeHelper.triggerTreeItemRefresh(refresh.next());
+                refresh.remove();
             }
         }
+        finally
+        {
+            active.set(false);
+        }
+        if (restore_selection)
+        {   // Restore tree's selection to match model
+            // after removing/adding items may have changed it.
+            restore_selection = false;
+            setSelectedWidgets(editor.getWidgetSelectionHandler().getSelection());
+        }
     }
 
-    private void addTabs(final List<TabItemProperty> added)
+    /** @param wot Widget or tab
+     *  @return Children of the widget or tab, <code>null</code> if not a container
+     */
+    private static ChildrenProperty getChildren(final WidgetOrTab wot)
     {
-        for (TabItemProperty tab : added)
-        {
-            final TreeItem<WidgetOrTab> widget_item = widget2tree.get(tab.getWidget());
-            final TreeItem<WidgetOrTab> tab_item = new TreeItem<>(WidgetOrTab.of(tab));
-            widget_item.getChildren().add(tab_item);
-            tab_name2tree.put(tab.name(), tab_item);
-            tab.name().addPropertyListener(tab_name_listener);
-
-            for (Widget child : tab.children().getValue())
-                addWidget(child, -1);
-
-            tab.children().addPropertyListener(children_listener);
-        }
+        if (wot.isWidget())
+            return ChildrenProperty.getChildren(wot.getWidget());
+        return wot.getTab().children();
     }
 
-    private void removeTabs(final List<TabItemProperty> removed)
+    /** Create tree item, register it in maps and listen to its widget or tab
+     *  @param wot Widget or tab
+     *  @return Tree item
+     */
+    private TreeItem<WidgetOrTab> createItem(final WidgetOrTab wot)
     {
-        for (TabItemProperty tab : removed)
+        final TreeItem<WidgetOrTab> item = new LazyItem(wot);
+        if (wot.isWidget())
         {
-            tab.children().removePropertyListener(children_listener);
-
-            tab.name().removePropertyListener(tab_name_listener);
-            final TreeItem<WidgetOrTab> tab_item = tab_name2tree.remove(tab.name());
-            tab_item.getParent().getChildren().remove(tab_item);
+            final Widget widget = wot.getWidget();
+            widget2tree.put(widget, item);
+            widget.propName().addPropertyListener(name_listener);
+            if (widget instanceof TabsWidget)
+                ((TabsWidget) widget).propTabs().addPropertyListener(tabs_property_listener);
         }
+        else
+        {
+            final TabItemProperty tab = wot.getTab();
+            tab_name2tree.put(tab.name(), item);
+            tab.name().addPropertyListener(tab_name_listener);
+        }
+        final ChildrenProperty children = getChildren(wot);
+        if (children != null)
+        {
+            children2tree.put(children, item);
+            children.addPropertyListener(children_listener);
+        }
+        return item;
     }
 
-    /** Remove widget from existing model & tree
-     *  @param removed_widget
+    /** Unregister item and its child items from maps and listeners
+     *  @param item Tree item
      */
-    private void removeWidget(final Widget removed_widget)
+    private void disposeItem(final TreeItem<WidgetOrTab> item)
     {
-        if (removed_widget instanceof TabsWidget)
+        final WidgetOrTab wot = item.getValue();
+        if (wot.isWidget())
         {
-            final ArrayWidgetProperty<TabItemProperty> tabs = ((TabsWidget)removed_widget).propTabs();
-            tabs.removePropertyListener(tabs_property_listener);
-            removeTabs(tabs.getValue());
+            final Widget widget = wot.getWidget();
+            widget2tree.remove(widget);
+            widget.propName().removePropertyListener(name_listener);
+            if (widget instanceof TabsWidget)
+                ((TabsWidget) widget).propTabs().removePropertyListener(tabs_property_listener);
         }
-
-        removed_widget.propName().removePropertyListener(name_listener);
-
-        final ChildrenProperty children = ChildrenProperty.getChildren(removed_widget);
+        else
+        {
+            final TabItemProperty tab = wot.getTab();
+            tab_name2tree.remove(tab.name());
+            tab.name().removePropertyListener(tab_name_listener);
+        }
+        final ChildrenProperty children = getChildren(wot);
         if (children != null)
         {
+            children2tree.remove(children);
             children.removePropertyListener(children_listener);
-            for (Widget child : children.getValue())
-                removeWidget(child);
         }
-
-        final TreeItem<WidgetOrTab> item = widget2tree.remove(removed_widget);
-        item.getParent().getChildren().remove(item);
+        for (TreeItem<WidgetOrTab> child : item.getChildren())
+            disposeItem(child);
     }
 
-    /** Recursively remove model widget listeners
-     *  @param container Widgets to unlink
+    /** Add items for widgets that were added to model
+     *  @param children Children of widget or tab to which widgets were added
+     *  @param added Added widgets
+     *  @param indices Index of each added widget within children
      */
-    private void removeWidgetListeners(final Widget widget)
+    private void addWidgets(final ChildrenProperty children, final List<Widget> added, final int[] indices)
     {
-        if (widget instanceof TabsWidget)
+        final LazyItem parent = (LazyItem) children2tree.get(children);
+        if (parent == null)
+            return;
+        if (! parent.isPopulated())
+        {   // Items will be created on expansion,
+            // but parent may now need to show that it has children
+            TreeHelper.triggerTreeItemRefresh(parent);
+            return;
+        }
+        final ObservableList<TreeItem<WidgetOrTab>> items = parent.getChildren();
+        // Add items that are appended at the end in one call
+        final List<TreeItem<WidgetOrTab>> append = new ArrayList<>();
+        for (int i=0; i<indices.length; ++i)
         {
-            final ArrayWidgetProperty<TabItemProperty> tabs = ((TabsWidget)widget).propTabs();
-            tabs.removePropertyListener(tabs_property_listener);
-            for (TabItemProperty tab : tabs.getValue())
+            final Widget widget = added.get(i);
+            if (widget2tree.containsKey(widget))
+                continue;
+            final TreeItem<WidgetOrTab> item = createItem(WidgetOrTab.of(widget));
+            final int index = indices[i];
+            if (index < 0  ||  index >= items.size() + append.size())
+                append.add(item);
+            else
             {
-                tab.children().removePropertyListener(children_listener);
-                tab.name().removePropertyListener(tab_name_listener);
+                items.addAll(append);
+                append.clear();
+                items.add(Math.min(index, items.size()), item);
             }
         }
+        items.addAll(append);
+    }
 
-        widget.propName().removePropertyListener(name_listener);
-        final ChildrenProperty children = ChildrenProperty.getChildren(widget);
-        if (children != null)
+    /** Remove items for widgets that were removed from model
+     *  @param removed Removed widgets
+     */
+    private void removeWidgets(final List<Widget> removed)
+    {
+        // Remove items from each parent in one call
+        final Map<TreeItem<WidgetOrTab>, Set<TreeItem<WidgetOrTab>>> parent_items = new LinkedHashMap<>();
+        for (Widget widget : removed)
         {
-            children.removePropertyListener(children_listener);
-            for (Widget child : children.getValue())
-                removeWidgetListeners(child);
+            final TreeItem<WidgetOrTab> item = widget2tree.get(widget);
+            if (item == null)
+                continue;
+            disposeItem(item);
+            final TreeItem<WidgetOrTab> parent = item.getParent();
+            if (parent != null)
+                parent_items.computeIfAbsent(parent, p -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                            .add(item);
+        }
+        for (Map.Entry<TreeItem<WidgetOrTab>, Set<TreeItem<WidgetOrTab>>> entry : parent_items.entrySet())
+            entry.getKey().getChildren().removeAll(entry.getValue());
+    }
+
+    private void removeTabs(final List<TabItemProperty> removed)
+    {
+        for (TabItemProperty tab : removed)
+        {
+            final TreeItem<WidgetOrTab> tab_item = tab_name2tree.get(tab.name());
+            if (tab_item == null)
+                continue;
+            disposeItem(tab_item);
+            tab_item.getParent().getChildren().remove(tab_item);
         }
     }
 }
@@ -52,4 +52,10 @@ public class AddWidgetAction extends UndoableAction
         selection.clear();
         children.removeChild(widget);
     }
+
+    @Override
+    public long getMemoryEstimate()
+    {
+        return UndoMemory.estimate(widget);
+    }
 }
@@ -87,4 +87,10 @@ public class GroupWidgetsAction extends UndoableAction
             parent_children.addChild(widget);
         }
     }
+
+    @Override
+    public long getMemoryEstimate()
+    {
+        return UndoMemory.estimate(group) + DEFAULT_MEMORY_ESTIMATE * widgets.size();
+    }
 }
@@ -74,4 +74,13 @@ public class RemoveWidgetsAction extends UndoableAction
         }
         selection.setSelection(sel);
     }
+
+    @Override
+    public long getMemoryEstimate()
+    {
+        long size = DEFAULT_MEMORY_ESTIMATE;
+        for (Info i : info)
+            size += UndoMemory.estimate(i.widget);
+        return size;
+    }
 }
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.editor.undo;
+
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.widgets.TabsWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
+import org.csstudio.display.builder.util.undo.UndoableAction;
+
+/** Estimate of the memory held by undo actions that keep widgets
+ *  @author Kay Kasemir
+ */
+class UndoMemory
+{
+    /** Estimated bytes per widget property, including its value */
+    private static final long PROPERTY_BYTES = 200;
+
+    /** @param widget Widget
+     *  @return Estimated number of bytes used by the widget and its child widgets
+     */
+    static long estimate(final Widget widget)
+    {
+        long size = UndoableAction.DEFAULT_MEMORY_ESTIMATE + PROPERTY_BYTES * widget.getProperties().size();
+        if (widget instanceof TabsWidget)
+        {
+            for (TabItemProperty tab : ((TabsWidget) widget).propTabs().getValue())
+                size += estimate(tab.children());
+        }
+        else
+        {
+            final ChildrenProperty children = ChildrenProperty.getChildren(widget);
+            if (children != null)
+                size += estimate(children);
+        }
+        return size;
+    }
+
+    private static long estimate(final ChildrenProperty children)
+    {
+        long size = 0;
+        for (Widget child : children.getValue())
+            size += estimate(child);
+        return size;
+    }
+}
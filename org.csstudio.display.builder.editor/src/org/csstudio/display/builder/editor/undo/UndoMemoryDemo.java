@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.editor.undo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.csstudio.display.builder.editor.WidgetSelectionHandler;
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.widgets.RectangleWidget;
+import org.csstudio.display.builder.util.undo.UndoableActionManager;
+
+/** Memory used by the undo history for a scripted edit session
+ *
+ *  <p>Edits a display with many widgets by
+ *  nudging widgets via many small moves,
+ *  changing properties
+ *  and removing blocks of widgets,
+ *  then reports the undo history size and heap usage
+ *  without and with a memory limit.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class UndoMemoryDemo
+{
+    private static final int WIDGETS = 10000, ROUNDS = 20, NUDGES = 50, REMOVE = 400;
+
+    private static long usedHeap()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i=0; i<3; ++i)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void runSession(final String title, final UndoableActionManager undo)
+    {
+        final WidgetSelectionHandler selection = new WidgetSelectionHandler();
+        final DisplayModel model = new DisplayModel();
+        final ChildrenProperty children = model.runtimeChildren();
+        for (int i=0; i<WIDGETS; ++i)
+        {
+            final Widget widget = new RectangleWidget();
+            widget.propName().setValue("Rect " + i);
+            widget.propX().setValue(10 * (i % 100));
+            widget.propY().setValue(10 * (i / 100));
+            children.addChild(widget);
+        }
+        final long start_heap = usedHeap();
+
+        final long start = System.currentTimeMillis();
+        for (int round=0; round<ROUNDS; ++round)
+        {
+            // Nudge a widget via arrow keys
+            final Widget widget = children.getValue().get(round);
+            for (int i=0; i<NUDGES; ++i)
+            {
+                final int x = widget.propX().getValue(), y = widget.propY().getValue(),
+                          width = widget.propWidth().getValue(), height = widget.propHeight().getValue();
+                widget.propX().setValue(x + 1);
+                undo.add(new UpdateWidgetLocationAction(widget, children, children, x, y, width, height));
+            }
+
+            // Change a few properties
+            for (int i=0; i<10; ++i)
+                undo.execute(new SetWidgetPropertyAction<>(widget.propName(), "Changed " + round + "." + i));
+
+            // Remove block of widgets
+            final List<Widget> remove = new ArrayList<>(children.getValue().subList(ROUNDS, ROUNDS + REMOVE));
+            undo.execute(new RemoveWidgetsAction(selection, remove));
+        }
+        final long ms = System.currentTimeMillis() - start;
+        // Removed widgets are only held by the undo history
+        final long heap = usedHeap() - start_heap;
+        final long estimate = undo.getMemoryEstimate();
+
+        int entries = 0;
+        while (undo.undoLast() != null)
+            ++entries;
+
+        System.out.format("%-20s: %4d undo entries, estimated %6.1f MB, retained heap %6.1f MB, %5d ms\n",
+                          title, entries, estimate / 1024.0 / 1024.0,
+                          heap / 1024.0 / 1024.0, ms);
+    }
+
+    public static void main(final String[] args)
+    {
+        runSession("Unlimited memory", new UndoableActionManager(10000));
+        runSession("5 MB undo memory", new UndoableActionManager(10000, 5 * 1024 * 1024));
+    }
+}
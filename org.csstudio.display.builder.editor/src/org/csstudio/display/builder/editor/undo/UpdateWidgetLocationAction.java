@@ -52,6 +52,44 @@ public class UpdateWidgetLocationAction extends UndoableAction
         height = widget.propHeight().getValue();
     }
 
+    /** Combine original location of one action with the new location of a later action */
+    private UpdateWidgetLocationAction(final UpdateWidgetLocationAction first, final UpdateWidgetLocationAction last)
+    {
+        super(Messages.UpdateWidgetLocation);
+        widget = first.widget;
+        orig_parent_children = first.orig_parent_children;
+        parent_children = last.parent_children;
+        orig_x = first.orig_x;
+        orig_y = first.orig_y;
+        orig_width = first.orig_width;
+        orig_height = first.orig_height;
+        x = last.x;
+        y = last.y;
+        width = last.width;
+        height = last.height;
+    }
+
+    /** Merge consecutive moves or resizes of the same widget within the same parent,
+     *  for example several steps via arrow keys
+     */
+    @Override
+    public UndoableAction merge(final UndoableAction next)
+    {
+        if (! (next instanceof UpdateWidgetLocationAction))
+            return null;
+        final UpdateWidgetLocationAction other = (UpdateWidgetLocationAction) next;
+        if (other.widget != widget  ||
+            orig_parent_children != parent_children  ||
+            other.orig_parent_children != parent_children  ||
+            other.parent_children != parent_children)
+            return null;
+        // Next action must start where this one ended
+        if (other.orig_x != x  ||  other.orig_y != y  ||
+            other.orig_width != width  ||  other.orig_height != height)
+            return null;
+        return new UpdateWidgetLocationAction(this, other);
+    }
+
     @Override
     public void run()
     {
@@ -8,7 +8,10 @@
 package org.csstudio.display.builder.editor.util;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,6 +20,8 @@ import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetFactory;
 import org.csstudio.display.builder.model.properties.CommonWidgetProperties;
+import org.csstudio.display.builder.model.widgets.TabsWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
 
 /** Helper for naming widgets
  *  @author Kay Kasemir
@@ -55,6 +60,52 @@ public class WidgetNaming
      *  @param widget Widget to name
      */
     public void setDefaultName(final DisplayModel model, final Widget widget)
+    {
+        setDefaultName(model, widget, null);
+    }
+
+    /** Set names of several widgets
+     *
+     *  <p>Same as calling {@link #setDefaultName(DisplayModel, Widget)}
+     *  for each widget, but looks up the names used in the model only once
+     *  instead of searching the model for each widget.
+     *
+     *  @param model  Model that will contain the widgets (but doesn't, yet)
+     *  @param widgets Widgets to name
+     */
+    public void setDefaultNames(final DisplayModel model, final List<Widget> widgets)
+    {
+        final Set<String> used = new HashSet<>();
+        addNames(model.runtimeChildren(), used);
+        for (Widget widget : widgets)
+            setDefaultName(model, widget, used);
+    }
+
+    /** @param children Widgets (and their child widgets) that are in the model
+     *  @param names Set to which names are added
+     */
+    private static void addNames(final ChildrenProperty children, final Set<String> names)
+    {
+        for (Widget child : children.getValue())
+        {
+            names.add(child.getName());
+            if (child instanceof TabsWidget)
+                for (TabItemProperty tab : ((TabsWidget)child).propTabs().getValue())
+                    addNames(tab.children(), names);
+            else
+            {
+                final ChildrenProperty grandkids = ChildrenProperty.getChildren(child);
+                if (grandkids != null)
+                    addNames(grandkids, names);
+            }
+        }
+    }
+
+    /** @param model  Model that will contain the widget
+     *  @param widget Widget to name
+     *  @param used_names Names used in the model, updated with new name, or <code>null</code> to search model
+     */
+    private void setDefaultName(final DisplayModel model, final Widget widget, final Set<String> used_names)
     {
         // Check that widget is not already in the model, because otherwise
         // a name lookup would find the widget itself and consider the name
@@ -103,7 +154,9 @@ public class WidgetNaming
                 name = base + "_" + number;
             }
             // Locate next available "SomeName_14"
-            while (model.runtimeChildren().getChildByName(name) != null)
+            while (used_names == null
+                   ? model.runtimeChildren().getChildByName(name) != null
+                   : used_names.contains(name))
             {
                 ++number;
                 name = base + "_" + number;
@@ -111,12 +164,14 @@ public class WidgetNaming
             max_used_instance.put(base, number);
         }
         widget.setPropertyValue(CommonWidgetProperties.propName, name);
+        if (used_names != null)
+            used_names.add(name);
 
         final ChildrenProperty children = ChildrenProperty.getChildren(widget);
         if (children != null)
         {
             for (Widget child : children.getValue())
-                setDefaultName(model, child);
+                setDefaultName(model, child, used_names);
         }
     }
 }
@@ -19,6 +19,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,6 +31,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.imageio.ImageIO;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 import javax.swing.text.Document;
 import javax.swing.text.html.HTMLEditorKit;
 import javax.swing.text.rtf.RTFEditorKit;
@@ -47,7 +51,11 @@ import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.persist.ModelReader;
 import org.csstudio.display.builder.model.persist.ModelWriter;
 import org.csstudio.display.builder.model.persist.WidgetClassesService;
+import org.csstudio.display.builder.model.persist.WidgetCopier;
+import org.csstudio.display.builder.model.persist.XMLTags;
+import org.csstudio.display.builder.model.persist.XMLUtil;
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.csstudio.display.builder.model.util.ResourceCache;
 import org.csstudio.display.builder.model.widgets.EmbeddedDisplayWidget;
 import org.csstudio.display.builder.model.widgets.LabelWidget;
 import org.csstudio.display.builder.model.widgets.PVWidget;
@@ -111,6 +119,86 @@ public class WidgetTransfer {
     // Transferring as DataFormat("text/plain"), however, allows exchange
     // with basic text editor, which can be very convenient.
 
+    // Within this JVM, the widgets that were placed on the clipboard or dragboard
+    // are copied directly instead of parsing their XML.
+    // Only accessed on the UI thread.
+
+    /** XML most recently placed on the clipboard or dragboard by this JVM */
+    private static String local_xml = null;
+
+    /** Copies of the widgets described by {@link #local_xml} */
+    private static List<Widget> local_widgets = null;
+
+    /** Name and size of a display file */
+    private static class DisplayInfo
+    {
+        final String name;
+        final int width, height;
+
+        DisplayInfo(final String name, final int width, final int height)
+        {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /** Maximum number of displays in {@link #display_info} */
+    private static final int MAX_DISPLAY_INFO = 100;
+
+    /** Display info by resolved file name.
+     *  Dropping many embedded displays for the same file only reads it once.
+     *  Each entry has weight 1, so at most {@link #MAX_DISPLAY_INFO} are kept.
+     */
+    private static final ResourceCache<DisplayInfo> display_info =
+        new ResourceCache<>(MAX_DISPLAY_INFO, Duration.ofSeconds(10), info -> 1,
+                            (resolved, previous) -> readDisplayInfo(resolved));
+
+    /** Remember widgets that are transferred as XML within this JVM
+     *
+     *  @param xml XML for the widgets
+     *  @param widgets Widgets
+     */
+    public static void setLocalContent(final String xml, final List<Widget> widgets)
+    {
+        try
+        {   // Copy, because widgets may change or be deleted before they're pasted
+            local_widgets = WidgetCopier.copy(widgets);
+            local_xml = xml;
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.FINE, "Cannot copy widgets, will transfer as XML", ex);
+            local_widgets = null;
+            local_xml = null;
+        }
+    }
+
+    /** Get widgets from transferred XML
+     *
+     *  <p>When the XML was provided by this JVM, the widgets are
+     *  copied directly, otherwise the XML is parsed.
+     *
+     *  @param xml XML for widgets
+     *  @return Widgets
+     *  @throws Exception on error, for example when XML does not describe widgets
+     */
+    public static List<Widget> getWidgets(final String xml) throws Exception
+    {
+        if (local_widgets != null  &&  xml.equals(local_xml))
+        {
+            try
+            {
+                return WidgetCopier.copy(local_widgets);
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.FINE, "Cannot copy widgets, parsing XML", ex);
+            }
+        }
+        return ModelReader.parseXML(xml).getChildren();
+    }
+
     /**
      * Add support for 'dragging' a widget out of a node
      *
@@ -159,6 +247,7 @@ public class WidgetTransfer {
 
             content.putString(xml);
             db.setContent(content);
+            setLocalContent(xml, Arrays.asList(widget));
 
             final int width = widget.propWidth().getValue();
             final int height = widget.propHeight().getValue();
@@ -681,7 +770,7 @@ public class WidgetTransfer {
         final String xmlOrText = db.getString();
 
         try {
-            widgets.addAll(ModelReader.parseXML(xmlOrText).getChildren());
+            widgets.addAll(getWidgets(xmlOrText));
         } catch ( Exception ex ) {
             installWidgetsFromString(event, xmlOrText, selection_tracker, widgets);
         }
@@ -977,18 +1066,16 @@ public class WidgetTransfer {
             return;
         }
 
-        try ( final InputStream bis = ModelResourceUtil.openResourceStream(resolved); ) {
+        try {
 
-            final ModelReader reader = new ModelReader(bis);
-            final DisplayModel embedded_model = reader.readModel();
-            final String name = embedded_model.getName();
+            final DisplayInfo info = display_info.get(resolved);
 
-            if ( !name.isEmpty() ) {
-                widget.propName().setValue(name);
+            if ( !info.name.isEmpty() ) {
+                widget.propName().setValue(info.name);
             }
 
-            widget.propWidth().setValue(embedded_model.propWidth().getValue());
-            widget.propHeight().setValue(embedded_model.propHeight().getValue());
+            widget.propWidth().setValue(info.width);
+            widget.propHeight().setValue(info.height);
 
         } catch ( Exception ex ) {
             logger.log(Level.WARNING, "Error updating embedded widget", ex);
@@ -996,6 +1083,83 @@ public class WidgetTransfer {
 
     }
 
+    /**
+     * Read name and size of a display.
+     * <P>
+     * Stream-parses the display's own properties,
+     * skipping its widgets instead of reading the complete model.
+     *
+     * @param resolved Resolved display file
+     * @return {@link DisplayInfo}
+     * @throws Exception on error
+     */
+    private static DisplayInfo readDisplayInfo ( final String resolved ) throws Exception {
+
+        String name = "", width = null, height = null;
+
+        try ( final InputStream bis = ModelResourceUtil.openResourceStream(resolved); ) {
+
+            final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(bis, XMLUtil.ENCODING);
+            int depth = 0;
+
+            while ( reader.hasNext() ) {
+
+                final int event = reader.next();
+
+                if ( event == XMLStreamConstants.END_ELEMENT ) {
+                    --depth;
+                } else if ( event == XMLStreamConstants.START_ELEMENT ) {
+
+                    ++depth;
+
+                    if ( depth == 1 && !XMLTags.DISPLAY.equals(reader.getLocalName()) ) {
+                        throw new Exception(resolved + " is not a display");
+                    } else if ( depth == 2 ) {
+
+                        // getElementText() moves to the end of the element
+                        final String tag = reader.getLocalName();
+
+                        if ( XMLTags.NAME.equals(tag) ) {
+                            name = reader.getElementText().trim();
+                            --depth;
+                        } else if ( XMLTags.WIDTH.equals(tag) ) {
+                            width = reader.getElementText().trim();
+                            --depth;
+                        } else if ( XMLTags.HEIGHT.equals(tag) ) {
+                            height = reader.getElementText().trim();
+                            --depth;
+                        }
+
+                        if ( width != null && height != null && !name.isEmpty() ) {
+                            break;
+                        }
+
+                    }
+
+                }
+
+            }
+
+            reader.close();
+
+        }
+
+        try {
+            if ( width != null && height != null ) {
+                return new DisplayInfo(name, Integer.parseInt(width), Integer.parseInt(height));
+            }
+        } catch ( NumberFormatException ex ) {
+            // Fall back to reading the model
+        }
+
+        // Size not in file, i.e. default, or not a plain number
+        try ( final InputStream bis = ModelResourceUtil.openResourceStream(resolved); ) {
+            final DisplayModel embedded_model = new ModelReader(bis).readModel();
+            return new DisplayInfo(embedded_model.getName(), embedded_model.propWidth().getValue(), embedded_model.propHeight().getValue());
+        }
+
+    }
+
     /**
      * Update a picture widget's size from image file.
      *
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.junit.Test;
+
+/** Test {@link ChildrenProperty}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ChildrenPropertyUnitTest
+{
+    @Test
+    public void testAddRemoveChildren()
+    {
+        final GroupWidget group = new GroupWidget();
+        final ChildrenProperty children = group.runtimeChildren();
+        final Widget a = new LabelWidget(), b = new LabelWidget(), c = new LabelWidget();
+        children.addChild(a);
+
+        final List<List<Widget>> added = new ArrayList<>(), removed = new ArrayList<>();
+        final WidgetPropertyListener<List<Widget>> listener = (prop, old_value, new_value) ->
+        {
+            if (old_value != null)
+                removed.add(old_value);
+            if (new_value != null)
+                added.add(new_value);
+        };
+        children.addPropertyListener(listener);
+
+        // Adding several children results in one notification
+        children.addChildren(Arrays.asList(b, c));
+        assertThat(added.size(), equalTo(1));
+        assertThat(added.get(0), equalTo(Arrays.asList(b, c)));
+        assertThat(removed.size(), equalTo(0));
+        assertThat(children.getValue(), equalTo(Arrays.asList(a, b, c)));
+        assertThat(b.getParent().get(), equalTo(group));
+        assertThat(c.getParent().get(), equalTo(group));
+
+        // Removing several children results in one notification
+        added.clear();
+        children.removeChildren(Arrays.asList(a, c));
+        assertThat(removed.size(), equalTo(1));
+        assertThat(removed.get(0), equalTo(Arrays.asList(a, c)));
+        assertThat(added.size(), equalTo(0));
+        assertThat(children.getValue(), equalTo(Arrays.asList(b)));
+        assertThat(a.getParent().orElse(null), nullValue());
+        assertThat(c.getParent().orElse(null), nullValue());
+
+        // Empty lists have no effect
+        removed.clear();
+        children.addChildren(new ArrayList<>());
+        children.removeChildren(new ArrayList<>());
+        assertThat(added.size(), equalTo(0));
+        assertThat(removed.size(), equalTo(0));
+
+        children.removePropertyListener(listener);
+    }
+
+    @Test
+    public void testErrors()
+    {
+        final GroupWidget group = new GroupWidget();
+        final ChildrenProperty children = group.runtimeChildren();
+        final Widget a = new LabelWidget(), b = new LabelWidget();
+        children.addChild(a);
+
+        try
+        {
+            children.addChildren(Arrays.asList(b, a));
+            fail("Added existing child");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // Expected
+        }
+        // Nothing was added
+        assertThat(children.getValue(), equalTo(Arrays.asList(a)));
+        assertThat(b.getParent().isPresent(), equalTo(false));
+
+        try
+        {
+            children.addChildren(Arrays.asList(b, b));
+            fail("Added duplicate child");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // Expected
+        }
+        assertThat(children.getValue(), equalTo(Arrays.asList(a)));
+
+        try
+        {
+            children.removeChildren(Arrays.asList(a, b));
+            fail("Removed unknown child");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // Expected
+        }
+        // Nothing was removed
+        assertThat(children.getValue(), equalTo(Arrays.asList(a)));
+        assertThat(a.getParent().get(), equalTo(group));
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.persist;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.WidgetFactoryUnitTest;
+import org.csstudio.display.builder.model.properties.WidgetColor;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Round-trip and throughput of the {@link ModelWriter}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ModelWriterBenchmark
+{
+    private static final int WIDGETS = 50000, RUNS = 5;
+
+    @BeforeClass
+    public static void setup()
+    {
+        WidgetFactoryUnitTest.initializeFactory();
+    }
+
+    private DisplayModel createModel(final int count)
+    {
+        final DisplayModel model = new DisplayModel();
+        model.propName().setValue("Benchmark");
+        GroupWidget group = null;
+        for (int i=0; i<count; ++i)
+        {
+            if (i % 100 == 0)
+            {
+                group = new GroupWidget();
+                group.propName().setValue("Group " + i);
+                model.runtimeChildren().addChild(group);
+            }
+            if (i % 2 == 0)
+            {
+                final LabelWidget label = new LabelWidget();
+                label.propName().setValue("Label " + i);
+                label.propText().setValue("Text <" + i + "> & more");
+                label.propX().setValue(i % 1000);
+                label.propY().setValue(i / 1000);
+                group.runtimeChildren().addChild(label);
+            }
+            else
+            {
+                final TextUpdateWidget text = new TextUpdateWidget();
+                text.propPVName().setValue("sim://ramp($(N), " + i + ")");
+                text.propBackgroundColor().setValue(new WidgetColor(i % 256, 0, 0));
+                group.runtimeChildren().addChild(text);
+            }
+        }
+        return model;
+    }
+
+    /** Written file must read back as the original model */
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        final DisplayModel model = createModel(1000);
+        final File file = File.createTempFile("roundtrip", ".bob");
+        file.deleteOnExit();
+        ModelWriter.writeAtomically(model, file);
+
+        final DisplayModel copy;
+        try
+        (
+            final FileInputStream stream = new FileInputStream(file);
+        )
+        {
+            copy = new ModelReader(stream).readModel();
+        }
+        assertThat(copy.getName(), equalTo("Benchmark"));
+        assertThat(ModelWriter.getXML(copy.getChildren()), equalTo(ModelWriter.getXML(model.getChildren())));
+
+        // Overwrite existing file
+        model.propName().setValue("Updated");
+        ModelWriter.writeAtomically(model, file);
+        try
+        (
+            final FileInputStream stream = new FileInputStream(file);
+        )
+        {
+            assertThat(new ModelReader(stream).readModel().getName(), equalTo("Updated"));
+        }
+    }
+
+    /** Time to write a large display */
+    @Test
+    public void testThroughput() throws Exception
+    {
+        final DisplayModel model = createModel(WIDGETS);
+        final File file = File.createTempFile("throughput", ".bob");
+        file.deleteOnExit();
+
+        for (int run=0; run<RUNS; ++run)
+        {
+            final long start = System.nanoTime();
+            ModelWriter.writeAtomically(model, file);
+            final double secs = (System.nanoTime() - start) / 1e9;
+            System.out.format("Wrote %d widgets, %d kB in %.3f s: %.0f widgets/sec\n",
+                              WIDGETS, file.length() / 1024, secs, WIDGETS / secs);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.persist;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.WidgetFactoryUnitTest;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.properties.Points;
+import org.csstudio.display.builder.model.properties.RulesWidgetProperty;
+import org.csstudio.display.builder.model.properties.ScriptPV;
+import org.csstudio.display.builder.model.properties.WidgetColor;
+import org.csstudio.display.builder.model.rules.RuleInfo;
+import org.csstudio.display.builder.model.rules.RuleInfo.ExprInfoValue;
+import org.csstudio.display.builder.model.rules.RuleInfo.ExpressionInfo;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.model.widgets.PolylineWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget;
+import org.csstudio.display.builder.model.widgets.plots.XYPlotWidget;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of copying widgets without XML
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class WidgetCopierTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        WidgetFactoryUnitTest.initializeFactory();
+    }
+
+    private List<Widget> createWidgets() throws Exception
+    {
+        final List<Widget> widgets = new ArrayList<>();
+
+        final LabelWidget label = new LabelWidget();
+        label.propName().setValue("Label");
+        label.propText().setValue("Value is $(VALUE)");
+        label.propX().setValue(42);
+        label.propBackgroundColor().setValue(new WidgetColor(255, 0, 0));
+        final WidgetProperty<?> color = RulesWidgetProperty.propIDToNewProp(label, "background_color", "");
+        color.setValueFromObject(new WidgetColor(0, 255, 0));
+        final List<ExpressionInfo<?>> expressions = new ArrayList<>();
+        expressions.add(new ExprInfoValue<>("pv0 > 1", color));
+        label.propRules().setValue(Arrays.asList(new RuleInfo("Color", "background_color", false, expressions,
+                                                              Arrays.asList(new ScriptPV("sim://ramp")))));
+        widgets.add(label);
+
+        final PolylineWidget line = new PolylineWidget();
+        final Points points = new Points();
+        points.add(0, 0);
+        points.add(10, 20);
+        line.propPoints().setValue(points);
+        widgets.add(line);
+
+        final GroupWidget group = new GroupWidget();
+        group.propName().setValue("Group");
+        final LabelWidget child = new LabelWidget();
+        child.propName().setValue("Child");
+        group.runtimeChildren().addChild(child);
+        widgets.add(group);
+
+        final TabsWidget tabs = new TabsWidget();
+        tabs.propTabs().addElement();
+        tabs.propTabs().getElement(2).name().setValue("Third");
+        final LabelWidget tab_child = new LabelWidget();
+        tab_child.propName().setValue("Tab Child");
+        tabs.propTabs().getElement(2).children().addChild(tab_child);
+        widgets.add(tabs);
+
+        final XYPlotWidget plot = new XYPlotWidget();
+        plot.propTraces().addElement();
+        plot.propTraces().getElement(1).traceYPV().setValue("$(PV)");
+        widgets.add(plot);
+
+        return widgets;
+    }
+
+    /** Copies must persist as the original widgets */
+    @Test
+    public void testCopy() throws Exception
+    {
+        final List<Widget> widgets = createWidgets();
+        final List<Widget> copies = WidgetCopier.copy(widgets);
+
+        final String xml = ModelWriter.getXML(widgets);
+        System.out.println(xml);
+        assertThat(ModelWriter.getXML(copies), equalTo(xml));
+
+        for (int i=0; i<widgets.size(); ++i)
+        {
+            assertThat(copies.get(i), not(sameInstance(widgets.get(i))));
+            assertThat(copies.get(i).getParent().isPresent(), equalTo(false));
+        }
+
+        // Mutable values are not shared
+        final PolylineWidget line = (PolylineWidget) widgets.get(1);
+        final PolylineWidget line_copy = (PolylineWidget) copies.get(1);
+        assertThat(line_copy.propPoints().getValue(), not(sameInstance(line.propPoints().getValue())));
+
+        // Rule value is held by the copy
+        final LabelWidget label = (LabelWidget) copies.get(0);
+        final ExprInfoValue<?> expr = (ExprInfoValue<?>) label.propRules().getValue().get(0).getExpressions().get(0);
+        assertThat(expr.getPropVal().getWidget(), sameInstance(label));
+
+        // Child widgets are copied
+        final GroupWidget group = (GroupWidget) copies.get(2);
+        final Widget child = group.runtimeChildren().getValue().get(0);
+        assertThat(child.getName(), equalTo("Child"));
+        assertThat(child.getParent().get(), sameInstance(group));
+        assertThat(((GroupWidget) widgets.get(2)).runtimeChildren().getValue().get(0), not(sameInstance(child)));
+
+        final TabsWidget tabs = (TabsWidget) copies.get(3);
+        assertThat(tabs.propTabs().getElement(2).children().getValue().get(0).getName(), equalTo("Tab Child"));
+        assertThat(tabs.propTabs().getElement(2).children().getValue().get(0).getParent().orElse(null), not(nullValue()));
+    }
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.csstudio.display.builder.model.util.ModelResourceUtil.URLContent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/** JUnit test of the {@link ResourceCache}
+ *
+ *  <p>Uses a local HTTP server to test the re-validation of URL content.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ResourceCacheTest
+{
+    private HttpServer server;
+
+    /** Content served by the HTTP server, changes its 'ETag' */
+    private final AtomicReference<String> content = new AtomicReference<>("Version 1");
+
+    private final AtomicInteger full_responses = new AtomicInteger(), unchanged_responses = new AtomicInteger();
+
+    @Before
+    public void startServer() throws Exception
+    {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/file", exchange ->
+        {
+            final String text = content.get();
+            final String etag = "\"" + text.hashCode() + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+            {
+                unchanged_responses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            }
+            else
+            {
+                full_responses.incrementAndGet();
+                final byte[] data = text.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, data.length);
+                try (OutputStream out = exchange.getResponseBody())
+                {
+                    out.write(data);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer()
+    {
+        server.stop(0);
+    }
+
+    private String getURL()
+    {
+        return "http://localhost:" + server.getAddress().getPort() + "/file";
+    }
+
+    /** Request URL until a background re-load has updated the count
+     *  @param cache Cache to use
+     *  @param count Count to check
+     *  @param expected Expected count
+     *  @param cached Content that was cached before the re-load
+     *  @param text Text of the content once re-loaded
+     */
+    private void awaitReload(final ResourceCache<URLContent> cache, final AtomicInteger count, final int expected,
+                             final URLContent cached, final String text) throws Exception
+    {
+        final long timeout = System.currentTimeMillis() + 5000;
+        while (count.get() < expected  &&  System.currentTimeMillis() < timeout)
+        {
+            // Until re-loaded, the cached content is returned right away
+            final URLContent current = cache.get(getURL());
+            if (current != cached)
+                assertThat(new String(current.data, StandardCharsets.UTF_8), equalTo(text));
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(count.get(), equalTo(expected));
+    }
+
+    /** Request URL until it has the expected text
+     *  @param cache Cache to use
+     *  @param text Expected text
+     */
+    private void awaitText(final ResourceCache<URLContent> cache, final String text) throws Exception
+    {
+        final long timeout = System.currentTimeMillis() + 5000;
+        String current = new String(cache.get(getURL()).data, StandardCharsets.UTF_8);
+        while (! current.equals(text)  &&  System.currentTimeMillis() < timeout)
+        {
+            TimeUnit.MILLISECONDS.sleep(10);
+            current = new String(cache.get(getURL()).data, StandardCharsets.UTF_8);
+        }
+        assertThat(current, equalTo(text));
+    }
+
+    /** Least recently used entries are evicted to stay within the weight budget */
+    @Test
+    public void testWeight() throws Exception
+    {
+        final ResourceCache<String> cache = new ResourceCache<>(10, Duration.ofSeconds(60),
+                                                                String::length, (key, previous) -> key);
+        cache.get("AAAA");
+        cache.get("BBBB");
+        assertThat(cache.getWeight(), equalTo(8L));
+
+        // Use "AAAA", so "BBBB" is the least recently used
+        cache.get("AAAA");
+        cache.get("CC");
+        assertThat(cache.getKeys(), equalTo(Arrays.asList("BBBB", "AAAA", "CC")));
+
+        cache.get("DDDD");
+        assertThat(cache.getKeys(), equalTo(Arrays.asList("AAAA", "CC", "DDDD")));
+        assertThat(cache.getWeight(), equalTo(10L));
+
+        // Entry that exceeds the budget is not cached
+        assertThat(cache.get("Too large for the cache"), equalTo("Too large for the cache"));
+        assertThat(cache.getKeys(), equalTo(Arrays.asList("AAAA", "CC", "DDDD")));
+        System.out.println(cache.getStatistics());
+    }
+
+    /** Concurrent requests for the same key share one load */
+    @Test
+    public void testConcurrentLoad() throws Exception
+    {
+        final AtomicInteger loads = new AtomicInteger();
+        final ResourceCache<String> cache = new ResourceCache<>(1000, Duration.ofSeconds(60), String::length,
+            (key, previous) ->
+            {
+                loads.incrementAndGet();
+                TimeUnit.MILLISECONDS.sleep(500);
+                return "Value of " + key;
+            });
+
+        final ExecutorService pool = Executors.newFixedThreadPool(10);
+        final List<Future<String>> results = new ArrayList<>();
+        for (int i=0; i<10; ++i)
+            results.add(pool.submit(() -> cache.get("Key")));
+        for (Future<String> result : results)
+            assertThat(result.get(), equalTo("Value of Key"));
+        pool.shutdown();
+
+        assertThat(loads.get(), equalTo(1));
+        System.out.println(cache.getStatistics());
+    }
+
+    /** URL content is re-validated in the background */
+    @Test
+    public void testRevalidation() throws Exception
+    {
+        final ResourceCache<URLContent> cache = new ResourceCache<>(1000, Duration.ofMillis(500),
+                                                                    c -> c.data.length, ModelResourceUtil::readUrl);
+        final URLContent first = cache.get(getURL());
+        assertThat(new String(first.data, StandardCharsets.UTF_8), equalTo("Version 1"));
+        assertThat(full_responses.get(), equalTo(1));
+
+        // Within the refresh period, content is simply returned
+        assertThat(cache.get(getURL()), sameInstance(first));
+        assertThat(full_responses.get() + unchanged_responses.get(), equalTo(1));
+
+        // After the refresh period, content is still returned,
+        // but checked in the background, finding that it has not changed
+        awaitReload(cache, unchanged_responses, 1, first, "Version 1");
+        assertThat(cache.get(getURL()), sameInstance(first));
+        assertThat(full_responses.get(), equalTo(1));
+
+        // Changed content is fetched in the background
+        content.set("Version 2");
+        awaitReload(cache, full_responses, 2, first, "Version 2");
+        awaitText(cache, "Version 2");
+
+        System.out.println(cache.getStatistics());
+    }
+
+    /** {@link ModelResourceUtil} reads URL content via the cache */
+    @Test
+    public void testOpenURL() throws Exception
+    {
+        for (int i=0; i<3; ++i)
+        {
+            final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            ModelResourceUtil.copyResource(ModelResourceUtil.openURL(getURL()), buf);
+            assertThat(buf.toString("UTF-8"), equalTo("Version 1"));
+        }
+        assertThat(full_responses.get(), equalTo(1));
+        System.out.println(ModelResourceUtil.getURLCacheStatistics());
+    }
+}
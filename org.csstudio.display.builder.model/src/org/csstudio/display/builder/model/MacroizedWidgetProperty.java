@@ -42,6 +42,9 @@ abstract public class MacroizedWidgetProperty<T> extends WidgetProperty<T>
     /** Specification of the value, may contain macros that need to be expanded */
     protected volatile String specification;
 
+    /** Specification of the default value, computed once for {@link #isDefaultValue()} */
+    private final String default_specification;
+
     /** Constructor
      *  @param descriptor Property descriptor
      *  @param widget Widget that holds the property and handles listeners
@@ -55,6 +58,7 @@ abstract public class MacroizedWidgetProperty<T> extends WidgetProperty<T>
         super(descriptor, widget, default_value);
         // XXX Should null become "null" or ""?
         specification = computeSpecification(default_value);
+        default_specification = specification;
         // If specification contains macro,
         // clear value to force evaluation of macro on first value request.
         // Can't evaluate now because macros may not be available.
@@ -188,7 +192,7 @@ abstract public class MacroizedWidgetProperty<T> extends WidgetProperty<T>
     @Override
     public boolean isDefaultValue()
     {
-        return !use_class  &&  specification.equals(computeSpecification(default_value));
+        return !use_class  &&  specification.equals(default_specification);
     }
 
     /** Sets property to a typed value.
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.preferences.IPreferencesService;
 public class Preferences
 {
     public static final String CACHE_TIMEOUT = "cache_timeout";
+    public static final String CACHE_SIZE = "cache_size";
     public static final String CLASS_FILES = "class_files";
     public static final String COLOR_FILES = "color_files";
     public static final String FONT_FILES = "font_files";
@@ -71,6 +72,16 @@ public class Preferences
         return timeout;
     }
 
+    /** @return Cache size [MB] */
+    public static int getCacheSize()
+    {
+        int size = 50;
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+            size = prefs.getInt(ModelPlugin.ID, CACHE_SIZE, size, null);
+        return size;
+    }
+
     /** @return Legacy font size calibration */
     public static double getLegacyFontCalibration()
     {
@@ -25,6 +25,20 @@ class IndentingXMLStreamWriter implements XMLStreamWriter
     private static final String NEWLINE = "\n";
     private static final String INDENTATION = "  ";
 
+    /** Newline followed by indentation for the first few levels,
+     *  each written in one call
+     */
+    private static final char[][] INDENTS = new char[20][];
+    static
+    {
+        final StringBuilder buf = new StringBuilder(NEWLINE);
+        for (int i=0; i<INDENTS.length; ++i)
+        {
+            INDENTS[i] = buf.toString().toCharArray();
+            buf.append(INDENTATION);
+        }
+    }
+
     private final XMLStreamWriter base;
 
     private int level = 0;
@@ -42,6 +56,11 @@ class IndentingXMLStreamWriter implements XMLStreamWriter
 
     private void indent(final int level) throws XMLStreamException
     {
+        if (level < INDENTS.length)
+        {
+            base.writeCharacters(INDENTS[level], 0, INDENTS[level].length);
+            return;
+        }
         base.writeCharacters(NEWLINE);
         for (int i=0; i<level; ++i)
             base.writeCharacters(INDENTATION);
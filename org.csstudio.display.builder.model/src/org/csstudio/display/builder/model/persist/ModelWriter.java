@@ -7,10 +7,16 @@
  *******************************************************************************/
 package org.csstudio.display.builder.model.persist;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import javax.xml.stream.XMLOutputFactory;
@@ -41,6 +47,14 @@ public class ModelWriter implements Closeable
      */
     public static boolean skip_defaults = Preferences.isSkippingDefaults();
 
+    /** Size of output buffer.
+     *  The XML writer emits many small pieces of text,
+     *  which must not each reach the file system.
+     */
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final OutputStream stream;
+
     private final XMLStreamWriter writer;
 
     /** Convert widgets into XML
@@ -61,6 +75,44 @@ public class ModelWriter implements Closeable
         return xml.toString();
     }
 
+    /** Write display model to file
+     *
+     *  <p>Writes a temporary file in the same directory,
+     *  which then replaces the original file in one step.
+     *  Others reading the file never see a partially written display,
+     *  and the original file remains unchanged if writing fails.
+     *
+     *  @param model Display model to write
+     *  @param file File to write
+     *  @throws Exception on error
+     */
+    public static void writeAtomically(final DisplayModel model, final File file) throws Exception
+    {
+        final File tmp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try
+        {
+            try
+            (
+                final ModelWriter writer = new ModelWriter(new FileOutputStream(tmp));
+            )
+            {
+                writer.writeModel(model);
+            }
+            try
+            {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException ex)
+            {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
     /** Create writer.
      *
      *  <p>Best used in try-with-resources to support auto-close.
@@ -70,8 +122,11 @@ public class ModelWriter implements Closeable
      */
     public ModelWriter(final OutputStream stream) throws Exception
     {
+        this.stream = stream instanceof ByteArrayOutputStream
+                    ? stream
+                    : new BufferedOutputStream(stream, BUFFER_SIZE);
         final XMLStreamWriter base =
-            XMLOutputFactory.newInstance().createXMLStreamWriter(stream, XMLUtil.ENCODING);
+            XMLOutputFactory.newInstance().createXMLStreamWriter(this.stream, XMLUtil.ENCODING);
         writer = new IndentingXMLStreamWriter(base);
 
         writer.writeStartDocument(XMLUtil.ENCODING, "1.0");
@@ -173,6 +228,8 @@ public class ModelWriter implements Closeable
             writer.writeEndDocument();
             writer.flush();
             writer.close();
+            // XMLStreamWriter does not close the underlying stream
+            stream.close();
         }
         catch (final Exception ex)
         {
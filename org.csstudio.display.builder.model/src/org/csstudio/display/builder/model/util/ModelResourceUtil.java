@@ -17,6 +17,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
 import java.time.Duration;
 import java.util.logging.Level;
 
@@ -30,8 +32,31 @@ import org.csstudio.display.builder.util.ResourceUtil;
 @SuppressWarnings("nls")
 public class ModelResourceUtil extends ResourceUtil
 {
-    /** Cache for content read from a URL */
-    private static final Cache<byte[]> url_cache = new Cache<>(Duration.ofSeconds(Preferences.getCacheTimeout()));
+    /** Content read from a URL */
+    static class URLContent
+    {
+        final byte[] data;
+
+        /** HTTP 'ETag' or <code>null</code> */
+        final String etag;
+
+        /** HTTP 'Last-Modified' or 0 */
+        final long last_modified;
+
+        URLContent(final byte[] data, final String etag, final long last_modified)
+        {
+            this.data = data;
+            this.etag = etag;
+            this.last_modified = last_modified;
+        }
+    }
+
+    /** Cache for content read from a URL, limited by number of bytes */
+    private static final ResourceCache<URLContent> url_cache =
+        new ResourceCache<>(Preferences.getCacheSize() * 1024L * 1024L,
+                            Duration.ofSeconds(Preferences.getCacheTimeout()),
+                            content -> content.data.length,
+                            ModelResourceUtil::readUrl);
 
     private static int timeout_ms = Preferences.getReadTimeout();
 
@@ -445,17 +470,47 @@ public class ModelResourceUtil extends ResourceUtil
      */
     public static InputStream openURL(final String resource_name) throws Exception
     {
-        final byte[] content = url_cache.getCachedOrNew(resource_name, ModelResourceUtil::readUrl);
-        return new ByteArrayInputStream(content);
+        // Stream reads the cached data, doesn't copy it
+        return new ByteArrayInputStream(url_cache.get(resource_name).data);
     }
 
-    private static final byte[] readUrl(final String url) throws Exception
+    /** @return Statistics of the cache for content read from a URL */
+    public static String getURLCacheStatistics()
+    {
+        return url_cache.getStatistics();
+    }
+
+    /** Read content of URL
+     *
+     *  <p>When re-reading HTTP content, the server is asked
+     *  to only send it if it has changed.
+     *
+     *  @param url URL to read
+     *  @param previous Previously read content or <code>null</code>
+     *  @return Content, may be <code>previous</code> if it has not changed
+     *  @throws Exception on error
+     */
+    static URLContent readUrl(final String url, final URLContent previous) throws Exception
     {
         // System.out.println("Actually reading " + url + ", not cached");
-        final InputStream in = openURL(url, timeout_ms);
+        final URLConnection connection = openConnection(url, timeout_ms);
+        if (previous != null  &&  connection instanceof HttpURLConnection)
+        {
+            if (previous.etag != null)
+                connection.setRequestProperty("If-None-Match", previous.etag);
+            if (previous.last_modified > 0)
+                connection.setIfModifiedSince(previous.last_modified);
+            final HttpURLConnection http = (HttpURLConnection) connection;
+            if (http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED)
+            {
+                // Close empty response, keeping the connection for re-use
+                http.getInputStream().close();
+                return previous;
+            }
+        }
         final ByteArrayOutputStream buf = new ByteArrayOutputStream();
-        copyResource(in, buf);
-        return buf.toByteArray();
+        copyResource(connection.getInputStream(), buf);
+        return new URLContent(buf.toByteArray(), connection.getHeaderField("ETag"), connection.getLastModified());
     }
 
     /** Write a resource.
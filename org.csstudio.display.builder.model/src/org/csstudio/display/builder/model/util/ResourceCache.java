@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.model.util;
+
+import static org.csstudio.display.builder.model.ModelPlugin.logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+
+/** Size-bounded cache for resources
+ *
+ *  <p>Each entry has a weight, for example the number of bytes.
+ *  When the total weight exceeds the budget,
+ *  least recently used entries are evicted.
+ *
+ *  <p>Entries older than the refresh period are still returned,
+ *  but re-loaded in the background.
+ *  The loader receives the previous value, so it can check if
+ *  the resource has changed and otherwise return the previous value.
+ *  Entries older than twice the refresh period are re-loaded
+ *  before they are returned, and removed by a timer
+ *  if they are not requested.
+ *
+ *  <p>Concurrent requests for the same key share one load.
+ *
+ *  @author Kay Kasemir
+ *
+ *  @param <T> Value type for cache entries
+ */
+@SuppressWarnings("nls")
+public class ResourceCache<T>
+{
+    /** Loads a value */
+    @FunctionalInterface
+    public interface Loader<T>
+    {
+        /** @param key Key of the entry
+         *  @param previous Previous value when re-loading, or <code>null</code>
+         *  @return Loaded value, or <code>previous</code> if that is still valid
+         *  @throws Exception on error
+         */
+        public T load(String key, T previous) throws Exception;
+    }
+
+    private class Entry
+    {
+        final T value;
+        final long weight;
+        final long loaded = System.currentTimeMillis();
+
+        /** Is a background re-load in progress or has it failed? SYNC on entries */
+        boolean refreshing = false;
+
+        Entry(final T value, final long weight)
+        {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final long max_weight;
+
+    private final long refresh_ms;
+
+    private final long expire_ms;
+
+    private final ToLongFunction<T> weigher;
+
+    private final Loader<T> loader;
+
+    /** Entries by key, least recently used first. SYNC on entries */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Loads in progress. SYNC on entries */
+    private final Map<String, CompletableFuture<T>> loading = new HashMap<>();
+
+    /** Total weight and statistics. SYNC on entries */
+    private long weight = 0, hits = 0, misses = 0, evictions = 0,
+                 loads = 0, unchanged = 0, failures = 0, load_nanos = 0;
+
+    private final AtomicReference<ScheduledFuture<?>> cleanup_timer = new AtomicReference<>();
+
+    /** @param max_weight Maximum total weight of all entries
+     *  @param refresh How long entries remain valid before they are re-loaded
+     *  @param weigher Determines the weight of a value
+     *  @param loader Loads values
+     */
+    public ResourceCache(final long max_weight, final Duration refresh,
+                         final ToLongFunction<T> weigher, final Loader<T> loader)
+    {
+        this.max_weight = max_weight;
+        this.refresh_ms = refresh.toMillis();
+        this.expire_ms = 2 * refresh_ms;
+        this.weigher = weigher;
+        this.loader = loader;
+    }
+
+    /** Get cached value or load it
+     *  @param key Key for entry
+     *  @return Value, either a cached one or newly loaded
+     *  @throws Exception on error
+     */
+    public T get(final String key) throws Exception
+    {
+        final CompletableFuture<T> result;
+        final T previous;
+        boolean load = false;
+        synchronized (entries)
+        {
+            final Entry entry = entries.get(key);
+            final long age = entry == null ? 0 : System.currentTimeMillis() - entry.loaded;
+            if (entry != null  &&  age < expire_ms)
+            {
+                ++hits;
+                if (age >= refresh_ms  &&  !entry.refreshing  &&  !loading.containsKey(key))
+                {   // Return current value, re-load in background
+                    entry.refreshing = true;
+                    final CompletableFuture<T> refresh = new CompletableFuture<>();
+                    loading.put(key, refresh);
+                    ModelThreadPool.getExecutor().execute(() -> load(key, entry.value, refresh));
+                }
+                return entry.value;
+            }
+            ++misses;
+            // In case two concurrent callers request the same key,
+            // first one will load, second one awaits the same result
+            CompletableFuture<T> pending = loading.get(key);
+            if (pending == null)
+            {
+                pending = new CompletableFuture<>();
+                loading.put(key, pending);
+                load = true;
+            }
+            result = pending;
+            previous = entry == null ? null : entry.value;
+        }
+        if (load)
+            load(key, previous, result);
+        try
+        {
+            return result.get();
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof Exception)
+                throw (Exception) ex.getCause();
+            throw ex;
+        }
+    }
+
+    /** @param key Key for entry
+     *  @param previous Previous value or <code>null</code>
+     *  @param result Will be completed with the loaded value
+     */
+    private void load(final String key, final T previous, final CompletableFuture<T> result)
+    {
+        final long start = System.nanoTime();
+        final T value;
+        final long value_weight;
+        try
+        {
+            value = loader.load(key, previous);
+            value_weight = weigher.applyAsLong(value);
+        }
+        catch (Throwable ex)
+        {
+            synchronized (entries)
+            {
+                ++failures;
+                loading.remove(key);
+            }
+            logger.log(Level.FINE, "Cannot load " + key, ex);
+            result.completeExceptionally(ex);
+            return;
+        }
+
+        synchronized (entries)
+        {
+            ++loads;
+            load_nanos += System.nanoTime() - start;
+            if (previous != null  &&  value == previous)
+                ++unchanged;
+            loading.remove(key);
+            put(key, new Entry(value, value_weight));
+        }
+        result.complete(value);
+        schedule_cleanup();
+    }
+
+    /** Add entry, evict least recently used entries to stay within budget
+     *  @param key Key for entry
+     *  @param entry New entry
+     */
+    private void put(final String key, final Entry entry)
+    {
+        final Entry old = entries.remove(key);
+        if (old != null)
+            weight -= old.weight;
+        // Don't cache what alone exceeds the budget
+        if (entry.weight > max_weight)
+            return;
+        entries.put(key, entry);
+        weight += entry.weight;
+        // Evict least recently used entries. New entry is the most recent one
+        final Iterator<Entry> iter = entries.values().iterator();
+        while (weight > max_weight)
+        {
+            final Entry oldest = iter.next();
+            iter.remove();
+            weight -= oldest.weight;
+            ++evictions;
+        }
+    }
+
+    /** Remove entries that have expired */
+    private void cleanup()
+    {
+        final long now = System.currentTimeMillis();
+        synchronized (entries)
+        {
+            final Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator();
+            while (iter.hasNext())
+            {
+                final Map.Entry<String, Entry> entry = iter.next();
+                if (now - entry.getValue().loaded >= expire_ms)
+                {
+                    logger.log(Level.FINE, "Cache expires {0}", entry.getKey());
+                    weight -= entry.getValue().weight;
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    /** (Re-)schedule the cleanup of expired entries */
+    private void schedule_cleanup()
+    {
+        final ScheduledFuture<?> next = ModelThreadPool.getTimer().schedule(this::cleanup, expire_ms, TimeUnit.MILLISECONDS);
+        final ScheduledFuture<?> prev = cleanup_timer.getAndSet(next);
+        if (prev != null)
+            prev.cancel(false);
+    }
+
+    /** Remove all entries */
+    public void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /** @return Keys for current cache entries, least recently used first */
+    public Collection<String> getKeys()
+    {
+        synchronized (entries)
+        {
+            return new ArrayList<>(entries.keySet());
+        }
+    }
+
+    /** @return Total weight of current cache entries */
+    public long getWeight()
+    {
+        synchronized (entries)
+        {
+            return weight;
+        }
+    }
+
+    /** @return Summary of entries, hits, misses, evictions and loads */
+    public String getStatistics()
+    {
+        synchronized (entries)
+        {
+            final long total = hits + misses;
+            return String.format("%d entries, weight %d of %d, %d hits, %d misses (%.0f%% hit rate), %d evictions, " +
+                                 "%d loads (%d unchanged, %.1f ms average), %d failed",
+                                 entries.size(), weight, max_weight, hits, misses,
+                                 total > 0 ? 100.0 * hits / total : 0.0, evictions,
+                                 loads, unchanged, loads > 0 ? load_nanos / 1e6 / loads : 0.0, failures);
+        }
+    }
+}
@@ -267,6 +267,35 @@ public class ImageWidget extends PVWidget
     public static final WidgetPropertyDescriptor<Double> propHeightValue =
         CommonWidgetProperties.newDoublePropertyDescriptor(WidgetPropertyCategory.RUNTIME, "height_value", Messages.WidgetProperties_Height);
 
+    /** PV that receives the statistics as array: Count, sum, mean, min, max, centroid X, Y, RMS width X, Y */
+    private static final WidgetPropertyDescriptor<String> propStatisticsPVName =
+        CommonWidgetProperties.newPVNamePropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "statistics_pv", "Statistics PV");
+
+    private static final WidgetPropertyDescriptor<String> propXProfilePVName =
+        CommonWidgetProperties.newPVNamePropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "x_profile_pv", "X Profile PV");
+
+    private static final WidgetPropertyDescriptor<String> propYProfilePVName =
+        CommonWidgetProperties.newPVNamePropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "y_profile_pv", "Y Profile PV");
+
+    private static final WidgetPropertyDescriptor<String> propHistogramPVName =
+        CommonWidgetProperties.newPVNamePropertyDescriptor(WidgetPropertyCategory.BEHAVIOR, "histogram_pv", "Histogram PV");
+
+    /** Runtime info about pixels in ROI: Table with count, sum, mean, min, max, centroid and RMS width */
+    public static final WidgetPropertyDescriptor<VType> runtimePropStatistics =
+        CommonWidgetProperties.newRuntimeValue("statistics", "Statistics");
+
+    /** Runtime info about pixels in ROI: Array with average of each column */
+    public static final WidgetPropertyDescriptor<VType> runtimePropXProfile =
+        CommonWidgetProperties.newRuntimeValue("x_profile", "X Profile");
+
+    /** Runtime info about pixels in ROI: Array with average of each row */
+    public static final WidgetPropertyDescriptor<VType> runtimePropYProfile =
+        CommonWidgetProperties.newRuntimeValue("y_profile", "Y Profile");
+
+    /** Runtime info about pixels in ROI: Array with histogram counts, bins spaced from min to max */
+    public static final WidgetPropertyDescriptor<VType> runtimePropHistogram =
+        CommonWidgetProperties.newRuntimeValue("histogram", "Histogram");
+
     private final static StructuredWidgetProperty.Descriptor propROI =
             new Descriptor(WidgetPropertyCategory.DISPLAY, "roi", "Region of Interest");
 
@@ -287,7 +316,15 @@ public class ImageWidget extends PVWidget
                                 propXValue.createProperty(widget, Double.NaN),
                                 propYValue.createProperty(widget, Double.NaN),
                                 propWidthValue.createProperty(widget, Double.NaN),
-                                propHeightValue.createProperty(widget, Double.NaN) ));
+                                propHeightValue.createProperty(widget, Double.NaN),
+                                propStatisticsPVName.createProperty(widget, ""),
+                                propXProfilePVName.createProperty(widget, ""),
+                                propYProfilePVName.createProperty(widget, ""),
+                                propHistogramPVName.createProperty(widget, ""),
+                                runtimePropStatistics.createProperty(widget, null),
+                                runtimePropXProfile.createProperty(widget, null),
+                                runtimePropYProfile.createProperty(widget, null),
+                                runtimePropHistogram.createProperty(widget, null) ));
         }
 
         public WidgetProperty<String> name()           { return getElement(0); }
@@ -303,6 +340,23 @@ public class ImageWidget extends PVWidget
         public WidgetProperty<Double> y_value()        { return getElement(10); }
         public WidgetProperty<Double> width_value()    { return getElement(11); }
         public WidgetProperty<Double> height_value()   { return getElement(12); }
+        public WidgetProperty<String> statistics_pv()  { return getElement(13); }
+        public WidgetProperty<String> x_profile_pv()   { return getElement(14); }
+        public WidgetProperty<String> y_profile_pv()   { return getElement(15); }
+        public WidgetProperty<String> histogram_pv()   { return getElement(16); }
+        public WidgetProperty<VType> statistics()      { return getElement(17); }
+        public WidgetProperty<VType> x_profile()       { return getElement(18); }
+        public WidgetProperty<VType> y_profile()       { return getElement(19); }
+        public WidgetProperty<VType> histogram()       { return getElement(20); }
+
+        /** @return Are any of the statistics PVs configured? */
+        public boolean hasStatisticsPVs()
+        {
+            return ! (statistics_pv().getValue().isEmpty()  &&
+                      x_profile_pv().getValue().isEmpty()   &&
+                      y_profile_pv().getValue().isEmpty()   &&
+                      histogram_pv().getValue().isEmpty());
+        }
     };
 
     /** 'roi' array */
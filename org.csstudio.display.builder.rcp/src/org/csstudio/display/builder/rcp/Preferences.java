@@ -19,6 +19,7 @@ public class Preferences
 {
     public static final String TOP_DISPLAYS = "top_displays";
     public static final String UNDO_SIZE = "undo_size";
+    public static final String UNDO_MEMORY_MB = "undo_memory_mb";
     public static final String SHOW_RUNTIME_STACKS = "show_runtime_stacks";
 
     public static String getTopDisplays()
@@ -31,6 +32,12 @@ public class Preferences
         return Integer.parseInt(getPreference(UNDO_SIZE, "100"));
     }
 
+    /** @return Estimated number of bytes for undo/redo entries */
+    public static long getUndoMemory()
+    {
+        return Long.parseLong(getPreference(UNDO_MEMORY_MB, "50")) * 1024 * 1024;
+    }
+
     public static boolean showPlaceholders()
     {
         return Boolean.parseBoolean(getPreference(SHOW_RUNTIME_STACKS, "false"));
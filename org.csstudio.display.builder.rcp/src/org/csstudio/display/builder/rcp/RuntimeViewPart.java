@@ -29,7 +29,6 @@ import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetProperty;
 import org.csstudio.display.builder.model.macros.DisplayMacroExpander;
 import org.csstudio.display.builder.model.macros.Macros;
-import org.csstudio.display.builder.model.persist.ModelLoader;
 import org.csstudio.display.builder.rcp.run.ContextMenuSupport;
 import org.csstudio.display.builder.rcp.run.DisplayNavigation;
 import org.csstudio.display.builder.rcp.run.NavigationAction;
@@ -37,6 +36,7 @@ import org.csstudio.display.builder.rcp.run.RCP_JFXRepresentation;
 import org.csstudio.display.builder.rcp.run.ZoomAction;
 import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
 import org.csstudio.display.builder.runtime.ActionUtil;
+import org.csstudio.display.builder.runtime.DisplayCache;
 import org.csstudio.display.builder.runtime.RuntimeUtil;
 import org.csstudio.javafx.swt.JFXCursorFix;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -584,6 +584,11 @@ public class RuntimeViewPart extends FXViewPart
      */
     public void loadDisplayFile(final DisplayInfo info)
     {
+        // Keep the current display ready for 'back'
+        final DisplayModel old_model = active_model;
+        if (old_model != null)
+            DisplayCache.INSTANCE.preload(old_model.getUserData(DisplayModel.USER_DATA_INPUT_FILE));
+
         // If already executing another display, shut it down
         disposeModel();
 
@@ -659,8 +664,8 @@ public class RuntimeViewPart extends FXViewPart
         try
         {
             final DisplayModel model = info.shouldResolve()
-                ? ModelLoader.resolveAndLoadModel(null, info.getPath())
-                : ModelLoader.loadModel(info.getPath());
+                ? DisplayCache.INSTANCE.resolveAndLoadModel(null, info.getPath())
+                : DisplayCache.INSTANCE.loadModel(info.getPath());
 
             // This code is called
             // 1) From OpenDisplayAction
@@ -717,8 +722,13 @@ public class RuntimeViewPart extends FXViewPart
             showMessage("Cannot represent model", ex);
         }
 
-        // Start runtimes in background
-        RuntimeUtil.getExecutor().execute(() -> RuntimeUtil.startRuntime(model));
+        // Start runtimes in background,
+        // then pre-load displays that might be opened next
+        RuntimeUtil.getExecutor().execute(() ->
+        {
+            RuntimeUtil.startRuntime(model);
+            DisplayCache.INSTANCE.preloadActions(model);
+        });
     }
 
     /** Create tool bar entries */
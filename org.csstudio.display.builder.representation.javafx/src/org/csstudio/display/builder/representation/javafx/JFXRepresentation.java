@@ -74,6 +74,7 @@ import org.csstudio.display.builder.model.widgets.ThumbWheelWidget;
 import org.csstudio.display.builder.model.widgets.WebBrowserWidget;
 import org.csstudio.display.builder.model.widgets.plots.ImageWidget;
 import org.csstudio.display.builder.model.widgets.plots.XYPlotWidget;
+import org.csstudio.display.builder.representation.Preferences;
 import org.csstudio.display.builder.representation.ToolkitRepresentation;
 import org.csstudio.display.builder.representation.WidgetRepresentation;
 import org.csstudio.display.builder.representation.WidgetRepresentationFactory;
@@ -82,6 +83,11 @@ import org.csstudio.display.builder.representation.javafx.widgets.ArcRepresentat
 import org.csstudio.display.builder.representation.javafx.widgets.ArrayRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.BoolButtonRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.ByteMonitorRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.CanvasByteMonitorRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.CanvasLEDRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.CanvasMultiStateLEDRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.CanvasRectangleRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.CanvasTextUpdateRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.CheckBoxRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.ClockRepresentation;
 import org.csstudio.display.builder.representation.javafx.widgets.ComboRepresentation;
@@ -248,12 +254,16 @@ public class JFXRepresentation extends ToolkitRepresentation<Parent, Node>
 
     private static boolean initialized_colormaps = false;
 
+    /** Draw simple widgets into a shared canvas? Only used at runtime */
+    private final boolean canvas_widgets;
+
     /** Constructor
      *  @param edit_mode Edit mode?
      */
     public JFXRepresentation(final boolean edit_mode)
     {
         super(edit_mode);
+        canvas_widgets = !edit_mode  &&  Preferences.isCanvasWidgets();
     }
 
     @Override
@@ -341,6 +351,39 @@ public class JFXRepresentation extends ToolkitRepresentation<Parent, Node>
         return () -> (WidgetRepresentation<Parent, Node, Widget>) config.createExecutableExtension("class");
     }
 
+    @Override
+    protected WidgetRepresentationFactory<Parent, Node> getFactory(final Widget widget)
+    {
+        if (canvas_widgets)
+        {
+            final WidgetRepresentationFactory<Parent, Node> factory = getCanvasFactory(widget);
+            if (factory != null)
+                return factory;
+        }
+        return super.getFactory(widget);
+    }
+
+    /** @param widget Widget
+     *  @return Factory for representation that draws into a shared canvas, or <code>null</code>
+     */
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private static WidgetRepresentationFactory<Parent, Node> getCanvasFactory(final Widget widget)
+    {
+        final String type = widget.getType();
+        if (type.equals(LEDWidget.WIDGET_DESCRIPTOR.getType()))
+            return () -> (WidgetRepresentation) new CanvasLEDRepresentation();
+        if (type.equals(MultiStateLEDWidget.WIDGET_DESCRIPTOR.getType()))
+            return () -> (WidgetRepresentation) new CanvasMultiStateLEDRepresentation();
+        if (type.equals(RectangleWidget.WIDGET_DESCRIPTOR.getType()))
+            return () -> (WidgetRepresentation) new CanvasRectangleRepresentation();
+        if (type.equals(ByteMonitorWidget.WIDGET_DESCRIPTOR.getType()))
+            return () -> (WidgetRepresentation) new CanvasByteMonitorRepresentation();
+        if (type.equals(TextUpdateWidget.WIDGET_DESCRIPTOR.getType())  &&
+            CanvasTextUpdateRepresentation.isSupported((TextUpdateWidget) widget))
+            return () -> (WidgetRepresentation) new CanvasTextUpdateRepresentation();
+        return null;
+    }
+
     /** Create scrollpane etc. for hosting the model
      *
      *  @return ScrollPane
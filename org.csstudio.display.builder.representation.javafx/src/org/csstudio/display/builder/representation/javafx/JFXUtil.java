@@ -9,8 +9,11 @@ package org.csstudio.display.builder.representation.javafx;
 
 import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 import org.csstudio.display.builder.model.properties.HorizontalAlignment;
@@ -19,9 +22,17 @@ import org.csstudio.display.builder.model.properties.WidgetColor;
 import org.csstudio.display.builder.model.properties.WidgetFont;
 import org.csstudio.display.builder.util.ResourceUtil;
 
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
@@ -40,6 +51,15 @@ public class JFXUtil extends org.csstudio.javafx.JFXUtil
     private static final Map<WidgetColor, String> shadedStyleCache = new ConcurrentHashMap<>(8);
     private static final Map<WidgetColor, String> webRGBCache = new ConcurrentHashMap<>(8);
 
+    /** Backgrounds, borders etc. are immutable and can be shared by all widgets.
+     *  Caches are cleared when they exceed this size,
+     *  for example because a script keeps creating new colors.
+     */
+    private static final int MAX_CACHE_SIZE = 1000;
+    private static final Map<Color, Background> backgroundCache = new ConcurrentHashMap<>(8);
+    private static final Map<List<Object>, Border> borderCache = new ConcurrentHashMap<>(8);
+    private static final Map<Double, BorderWidths> borderWidthsCache = new ConcurrentHashMap<>(8);
+
     static
     {
         try
@@ -152,6 +172,75 @@ public class JFXUtil extends org.csstudio.javafx.JFXUtil
         );
     }
 
+    /** @param cache Cache
+     *  @param key Key
+     *  @param create Function that creates value for key
+     *  @return Cached value
+     */
+    private static <K, V> V getCached(final Map<K, V> cache, final K key, final Function<K, V> create)
+    {
+        // Plain get() to avoid locking in computeIfAbsent() for the common case
+        final V value = cache.get(key);
+        if (value != null)
+            return value;
+        if (cache.size() >= MAX_CACHE_SIZE)
+            cache.clear();
+        return cache.computeIfAbsent(key, create);
+    }
+
+    /** Get background that fills a region
+     *  @param color {@link Color}
+     *  @return Shared {@link Background} with that color, no corner radii or insets
+     */
+    public static Background getBackground(final Color color)
+    {
+        return getCached(backgroundCache, color,
+                         c -> new Background(new BackgroundFill(c, CornerRadii.EMPTY, Insets.EMPTY)));
+    }
+
+    /** Get background that fills a region
+     *  @param color {@link WidgetColor}
+     *  @return Shared {@link Background} with that color, no corner radii or insets
+     */
+    public static Background getBackground(final WidgetColor color)
+    {
+        return getBackground(convert(color));
+    }
+
+    /** Get border widths
+     *  @param width Width of all sides
+     *  @return Shared {@link BorderWidths}
+     */
+    public static BorderWidths getBorderWidths(final double width)
+    {
+        return getCached(borderWidthsCache, width, BorderWidths::new);
+    }
+
+    /** Get border
+     *  @param color Border color
+     *  @param style {@link BorderStrokeStyle}
+     *  @param radii {@link CornerRadii}
+     *  @param widths {@link BorderWidths}
+     *  @param insets {@link Insets}
+     *  @return Shared {@link Border} with a single stroke
+     */
+    public static Border getBorder(final Color color, final BorderStrokeStyle style, final CornerRadii radii,
+                                   final BorderWidths widths, final Insets insets)
+    {
+        return getCached(borderCache, Arrays.asList(color, style, radii, widths, insets),
+                         key -> new Border(new BorderStroke(color, style, radii, widths, insets)));
+    }
+
+    /** Get border with several strokes
+     *  @param strokes {@link BorderStroke}s
+     *  @return Shared {@link Border} with those strokes
+     */
+    public static Border getBorder(final BorderStroke... strokes)
+    {
+        return getCached(borderCache, Arrays.asList((Object[]) strokes),
+                         key -> new Border(strokes));
+    }
+
     /** Convert JFX color into model color
      *  @param color {@link Color}
      *  @return {@link WidgetColor}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.sandbox;
+
+import java.util.Random;
+
+import org.csstudio.display.builder.representation.javafx.widgets.BaseGaugeRepresentation;
+import org.csstudio.display.builder.representation.javafx.widgets.GaugePool;
+
+import eu.hansolo.medusa.Gauge;
+import eu.hansolo.medusa.GaugeBuilder;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+/** Benchmark of opening and updating many Medusa gauges
+ *
+ *  <p>'Open' creates {@link #COUNT} gauges,
+ *  either new or from the {@link GaugePool},
+ *  and reports the time until they have been laid out.
+ *
+ *  <p>Values are updated on each pulse with mostly tiny changes,
+ *  like noise on a PV,
+ *  either always setting the value or skipping values
+ *  that would not change the gauge at its resolution.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class GaugeBenchmark extends Application
+{
+    private static final int COUNT = 500, SIZE = 60;
+    private static final Gauge.SkinType SKIN = Gauge.SkinType.SIMPLE_SECTION;
+
+    private final FlowPane gauges = new FlowPane();
+    private final CheckBox pooled = new CheckBox("Pool");
+    private final CheckBox skip = new CheckBox("Skip unchanged values");
+    private final Label info = new Label();
+
+    /** Boundaries of the gauges, which all have the same configuration */
+    private double[] boundaries = new double[0];
+
+    public static void main(final String[] args)
+    {
+        launch(args);
+    }
+
+    private void open()
+    {
+        gauges.getChildren().clear();
+        if (pooled.isSelected())
+            GaugePool.prefill(SKIN, COUNT);
+
+        final long start = System.nanoTime();
+        for (int i=0; i<COUNT; ++i)
+        {
+            final Gauge gauge = pooled.isSelected()
+                              ? GaugePool.take(SKIN)
+                              : GaugeBuilder.create().skinType(SKIN).build();
+            gauge.setAnimated(false);
+            gauge.setDecimals(1);
+            gauge.setPrefSize(SIZE, SIZE);
+            gauges.getChildren().add(gauge);
+            boundaries = BaseGaugeRepresentation.getBoundaries(gauge);
+        }
+        gauges.applyCss();
+        gauges.layout();
+        final double ms = (System.nanoTime() - start) / 1e6;
+        System.out.format("Opened %d %s gauges in %.1f ms\n", COUNT, pooled.isSelected() ? "pooled" : "new", ms);
+    }
+
+    @Override
+    public void start(final Stage stage)
+    {
+        final Button open = new Button("Open");
+        open.setOnAction(event -> open());
+
+        final BorderPane layout = new BorderPane(gauges);
+        layout.setTop(new HBox(10, open, pooled, skip, info));
+
+        final Random random = new Random();
+        final AnimationTimer timer = new AnimationTimer()
+        {
+            private int updates = 0, skipped = 0;
+            private long start = System.nanoTime(), busy = 0;
+            private double value = 50.0;
+
+            @Override
+            public void handle(final long now)
+            {
+                final long t0 = System.nanoTime();
+                // Occasional real change, otherwise noise
+                if (random.nextInt(100) == 0)
+                    value = 100.0 * random.nextDouble();
+                for (int i=0; i<gauges.getChildren().size(); ++i)
+                {
+                    final Gauge gauge = (Gauge) gauges.getChildren().get(i);
+                    final double v = value + 1e-4 * random.nextGaussian();
+                    if (skip.isSelected()  &&  BaseGaugeRepresentation.isUnchangedAtResolution(gauge, v, SIZE, boundaries))
+                        ++skipped;
+                    else
+                        gauge.setValue(v);
+                    ++updates;
+                }
+                busy += System.nanoTime() - t0;
+
+                final double secs = (now - start) / 1e9;
+                if (secs >= 2.0)
+                {
+                    info.setText(String.format("%.0f updates/sec, %.0f%% skipped, %.1f%% of time spent in updates",
+                                               updates / secs, 100.0 * skipped / Math.max(1, updates), busy / 1e7 / secs));
+                    System.out.println(info.getText());
+                    updates = skipped = 0;
+                    busy = 0;
+                    start = now;
+                }
+            }
+        };
+
+        stage.setTitle("Gauge Benchmark");
+        stage.setScene(new Scene(layout, 25 * (SIZE + 4), 20 * (SIZE + 4) + 30));
+        stage.show();
+        open();
+        timer.start();
+    }
+}
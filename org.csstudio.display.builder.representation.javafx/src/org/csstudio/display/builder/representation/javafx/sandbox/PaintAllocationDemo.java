@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.sandbox;
+
+import java.lang.management.ManagementFactory;
+
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/** Demo of allocations for backgrounds and borders on a busy display
+ *
+ *  <p>Updates the background and border of many labels on each pulse,
+ *  like alarm sensitive widgets on a display where many PVs change.
+ *  Compares creating new objects for each update
+ *  with using the shared objects from {@link JFXUtil},
+ *  reporting the bytes allocated by the UI thread.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class PaintAllocationDemo extends Application
+{
+    private static final int ROWS = 100, COLUMNS = 100;
+
+    private static final Color[] colors =
+    {
+        Color.rgb(0, 255, 0), Color.rgb(255, 128, 0), Color.rgb(255, 0, 0), Color.rgb(255, 0, 255)
+    };
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(final String[] args)
+    {
+        launch(args);
+    }
+
+    @Override
+    public void start(final Stage stage)
+    {
+        final Pane widgets = new Pane();
+        final Label[] labels = new Label[ROWS * COLUMNS];
+        for (int i=0; i<labels.length; ++i)
+        {
+            labels[i] = new Label(Integer.toString(i));
+            labels[i].relocate((i % COLUMNS) * 12, (i / COLUMNS) * 8);
+            labels[i].setPrefSize(10, 6);
+            widgets.getChildren().add(labels[i]);
+        }
+
+        final CheckBox shared = new CheckBox("Shared backgrounds and borders");
+        final Label info = new Label();
+        final BorderPane layout = new BorderPane(widgets);
+        layout.setTop(new HBox(10, shared, info));
+
+        final AnimationTimer timer = new AnimationTimer()
+        {
+            private int updates = 0;
+            private long start = System.nanoTime();
+            private long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+            @Override
+            public void handle(final long now)
+            {
+                for (int i=0; i<labels.length; ++i)
+                {
+                    final Color color = colors[(i + updates) % colors.length];
+                    if (shared.isSelected())
+                    {
+                        labels[i].setBackground(JFXUtil.getBackground(color));
+                        labels[i].setBorder(JFXUtil.getBorder(color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY,
+                                                              JFXUtil.getBorderWidths(2), Insets.EMPTY));
+                    }
+                    else
+                    {
+                        labels[i].setBackground(new Background(new BackgroundFill(color, CornerRadii.EMPTY, Insets.EMPTY)));
+                        labels[i].setBorder(new Border(new BorderStroke(color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY,
+                                                                        new BorderWidths(2), Insets.EMPTY)));
+                    }
+                }
+                ++updates;
+
+                final double secs = (now - start) / 1e9;
+                if (secs >= 2.0)
+                {
+                    final long bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                    info.setText(String.format("%.1f updates/sec, %.1f MB/sec allocated by UI thread",
+                                               updates / secs, (bytes - allocated) / secs / 1e6));
+                    System.out.println((shared.isSelected() ? "Shared: " : "New:    ") + info.getText());
+                    allocated = bytes;
+                    updates = 0;
+                    start = now;
+                }
+            }
+        };
+
+        stage.setTitle("Background and Border Allocation Demo");
+        stage.setScene(new Scene(layout, COLUMNS * 12, ROWS * 8 + 30));
+        stage.show();
+        timer.start();
+    }
+}
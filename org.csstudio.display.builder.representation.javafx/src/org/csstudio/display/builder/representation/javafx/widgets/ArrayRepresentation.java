@@ -31,10 +31,6 @@ import org.csstudio.display.builder.representation.javafx.JFXUtil;
 
 import javafx.geometry.Insets;
 import javafx.scene.Parent;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.Border;
-import javafx.scene.layout.BorderStroke;
 import javafx.scene.layout.BorderStrokeStyle;
 import javafx.scene.layout.BorderWidths;
 import javafx.scene.layout.CornerRadii;
@@ -131,11 +127,9 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
             if (width > 0)
                 jfx_node.setPrefWidth(width);
             Color color = JFXUtil.convert(model_widget.propForegroundColor().getValue());
-            jfx_node.setBorder(new Border(
-                    new BorderStroke(color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT,
-                            new Insets(inset / 2))));
+            jfx_node.setBorder(JFXUtil.getBorder(color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT, new Insets(inset / 2)));
             color = JFXUtil.convert(model_widget.displayBackgroundColor().getValue());
-            jfx_node.setBackground(new Background(new BackgroundFill(color, null, null)));
+            jfx_node.setBackground(JFXUtil.getBackground(color));
         }
     }
 
@@ -367,12 +361,17 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
             logger.log(Level.WARNING, "Cannot add array elements, no prototype widget");
             return;
         }
+        // Create all copies, then add them in one step
+        // to update runtime and representation once
+        final int base = this.children.size();
+        final List<Widget> added = new ArrayList<>(number);
         for (int i=0; i<number; ++i)
         {
             final Widget child = copyWidget(children.get(0));
-            child.propName().setValue(model_widget.getName() + "-" + child.getType() + "-" + this.children.size());
-            model_widget.runtimeChildren().addChild(child);
+            child.propName().setValue(model_widget.getName() + "-" + child.getType() + "-" + (base + i));
+            added.add(child);
         }
+        model_widget.runtimeChildren().addChildren(added);
     }
 
     /** Remove per-element child widgets
@@ -381,13 +380,14 @@ public class ArrayRepresentation extends JFXBaseRepresentation<Pane, ArrayWidget
      */
     private void removeChildren(final List<Widget> children, int number)
     {
+        final List<Widget> removed = new ArrayList<>(number);
         for (int i=0; i<number; ++i)
         {   // Leave the prototype
             if (children.size() == 1)
-                return;
-            final Widget child = children.remove(children.size() - 1);
-            model_widget.runtimeChildren().removeChild(child);
+                break;
+            removed.add(children.remove(children.size() - 1));
         }
+        model_widget.runtimeChildren().removeChildren(removed);
     }
 
     private Widget copyWidget(final Widget original)
@@ -30,8 +30,8 @@ import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueUtil;
 
 import eu.hansolo.medusa.Gauge;
-import eu.hansolo.medusa.GaugeBuilder;
 import eu.hansolo.medusa.Section;
+import javafx.beans.InvalidationListener;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
@@ -44,6 +44,12 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
     protected static final Color ALARM_MAJOR_COLOR = JFXUtil.convert(WidgetColorService.getColor(NamedWidgetColors.ALARM_MAJOR));
     protected static final Color ALARM_MINOR_COLOR = JFXUtil.convert(WidgetColorService.getColor(NamedWidgetColors.ALARM_MINOR));
 
+    /**
+     * Upper estimate for the length of a gauge's scale in pixels,
+     * relative to the widget size.
+     */
+    private static final double SCALE_LENGTH_FACTOR = 4.0;
+
     private final DirtyFlag     dirtyContent  = new DirtyFlag();
     private final DirtyFlag     dirtyGeometry = new DirtyFlag();
     private final DirtyFlag     dirtyLimits   = new DirtyFlag();
@@ -58,6 +64,10 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
     private volatile double     max           = 100.0;
     private volatile double     min           = 0.0;
     private final AtomicBoolean updatingValue = new AtomicBoolean(false);
+    private Gauge.SkinType      pooledSkin    = null;
+
+    /** Boundaries of sections, areas and threshold, <code>null</code> when they need to be fetched from the gauge */
+    private volatile double[]   boundaries    = null;
 
     private final UntypedWidgetPropertyListener contentChangedListener  = this::contentChanged;
     private final UntypedWidgetPropertyListener geometryChangedListener = this::geometryChanged;
@@ -221,7 +231,17 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
                         newval = max;
                     }
 
-                    jfx_node.setValue(newval);
+                    //  Setting the value triggers Medusa's redraw even without animation,
+                    //  so skip values that would look the same.
+                    double[] bounds = boundaries;
+
+                    if ( bounds == null ) {
+                        bounds = boundaries = getBoundaries(jfx_node);
+                    }
+
+                    if ( !isUnchangedAtResolution(jfx_node, newval, Math.max(model_widget.propWidth().getValue(), model_widget.propHeight().getValue()), bounds) ) {
+                        jfx_node.setValue(newval);
+                    }
 
                 } else {
 //  TODO: CR: do something!!!
@@ -234,6 +254,104 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
     }
 
+    /**
+     * Sections, areas and the threshold can change the color of bar or needle.
+     *
+     * @param gauge The gauge.
+     * @return Values at which the gauge changes its look.
+     */
+    public static double[] getBoundaries ( final Gauge gauge ) {
+
+        final List<Section> sections = gauge.getSections();
+        final List<Section> areas = gauge.getAreas();
+        final double[] boundaries = new double[2 * ( sections.size() + areas.size() ) + 1];
+        int i = 0;
+
+        for ( Section section : sections ) {
+            boundaries[i++] = section.getStart();
+            boundaries[i++] = section.getStop();
+        }
+
+        for ( Section area : areas ) {
+            boundaries[i++] = area.getStart();
+            boundaries[i++] = area.getStop();
+        }
+
+        boundaries[i] = gauge.getThreshold();
+
+        return boundaries;
+
+    }
+
+    /**
+     * Check if the gauge would look the same with a new value.
+     * <p>
+     * The scale of a gauge, for example the arc swept by a needle,
+     * is at most a few times longer than the widget size,
+     * so smaller changes do not move the needle or bar by a pixel.
+     * When the value text is shown, it must also be the same
+     * at the number of decimals shown.
+     *
+     * @param gauge      The gauge.
+     * @param newValue   The new value, already clamped to the gauge's range.
+     * @param size       The larger one of the gauge's width and height.
+     * @param boundaries Values at which the gauge changes its look, see {@link #getBoundaries(Gauge)}.
+     * @return {@code true} if the new value does not change the gauge's look.
+     */
+    public static boolean isUnchangedAtResolution ( final Gauge gauge, final double newValue, final double size, final double[] boundaries ) {
+
+        return isUnchangedAtResolution(
+            gauge.getValue(),
+            newValue,
+            gauge.getRange(),
+            size,
+            gauge.isValueVisible() ? gauge.getDecimals() : -1,
+            boundaries
+        );
+
+    }
+
+    /**
+     * Check if a gauge would look the same with a new value.
+     *
+     * @param oldValue   The value currently shown.
+     * @param newValue   The new value, already clamped to the gauge's range.
+     * @param range      The gauge's range.
+     * @param size       The larger one of the gauge's width and height.
+     * @param decimals   The number of decimals in the value text,
+     *                   or a negative number if the value text is not shown.
+     * @param boundaries Values at which the gauge changes its look,
+     *                   for example the start and end of sections.
+     * @return {@code true} if the new value does not change the gauge's look.
+     */
+    public static boolean isUnchangedAtResolution ( final double oldValue, final double newValue, final double range, final double size, final int decimals, final double[] boundaries ) {
+
+        if ( newValue == oldValue ) {
+            return true;
+        }
+
+        final double pixels = SCALE_LENGTH_FACTOR * size;
+
+        if ( pixels <= 0 || Math.abs(newValue - oldValue) * pixels >= range ) {
+            return false;
+        }
+
+        for ( double boundary : boundaries ) {
+            if ( ( oldValue < boundary ) != ( newValue < boundary ) || ( oldValue > boundary ) != ( newValue > boundary ) ) {
+                return false;
+            }
+        }
+
+        if ( decimals < 0 ) {
+            return true;
+        }
+
+        final double scale = Math.pow(10, decimals);
+
+        return Math.round(newValue * scale) == Math.round(oldValue * scale);
+
+    }
+
     protected final boolean areZonesVisible ( ) {
         return model_widget.propShowLoLo().getValue()
             || model_widget.propShowLow().getValue()
@@ -291,7 +409,9 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
         updateLimits(false);
 
-        Gauge gauge = GaugeBuilder.create().skinType(getSkin()).build();
+        pooledSkin = getSkin();
+
+        Gauge gauge = GaugePool.take(pooledSkin);
 
         gauge.setPrefHeight(model_widget.propHeight().getValue());
         gauge.setPrefWidth(model_widget.propWidth().getValue());
@@ -310,6 +430,13 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
         gauge.setSectionIconsVisible(false);
         gauge.setSectionTextVisible(false);
 
+        //  Fetch boundaries again when sections, areas or threshold change.
+        final InvalidationListener boundariesListener = o -> boundaries = null;
+
+        gauge.getSections().addListener(boundariesListener);
+        gauge.getAreas().addListener(boundariesListener);
+        gauge.thresholdProperty().addListener(boundariesListener);
+
         dirtyContent.mark();
         dirtyGeometry.mark();
         dirtyLimits.mark();
@@ -511,6 +638,19 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
     }
 
+    @Override
+    public void dispose ( ) {
+
+        //  Gauge is not returned to the pool, but the pool tracks the skins in use.
+        if ( pooledSkin != null ) {
+            GaugePool.release(pooledSkin);
+            pooledSkin = null;
+        }
+
+        super.dispose();
+
+    }
+
     /**
      * Updates, if required, the limits and zones.
      *
@@ -603,8 +743,8 @@ public abstract class BaseGaugeRepresentation<W extends BaseGaugeWidget> extends
 
     protected final void valueChanged ( final WidgetProperty<? extends VType> property, final VType old_value, final VType new_value ) {
 
-        if ( model_widget.propLimitsFromPV().getValue() ) {
-            updateLimits(model_widget.propLimitsFromPV().getValue());
+        //  Only rebuild the zones when the limits from the PV actually changed.
+        if ( model_widget.propLimitsFromPV().getValue() && updateLimits(true) ) {
             dirtyLimits.mark();
         }
 
@@ -598,8 +598,8 @@ public abstract class BaseKnobRepresentation<C extends Knob, W extends KnobWidge
 
     private void valueChanged ( final WidgetProperty<? extends VType> property, final VType old_value, final VType new_value ) {
 
-        if ( model_widget.propLimitsFromPV().getValue() ) {
-            updateLimits(model_widget.propLimitsFromPV().getValue());
+        //  Only recompute the gradient when the limits from the PV actually changed.
+        if ( model_widget.propLimitsFromPV().getValue() && updateLimits(true) ) {
             dirtyLimits.mark();
         }
 
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.widgets.BaseLEDWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VType;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/** Base for LED type widgets drawn into a {@link WidgetCanvas}
+ *
+ *  <p>Canvas-based alternative to {@link BaseLEDRepresentation}.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+abstract class CanvasBaseLEDRepresentation<LED extends BaseLEDWidget> extends CanvasRepresentation<LED>
+{
+    /** Line width of LED outline, same as in CSS for 'led' */
+    private static final double LINE_WIDTH = 2.345;
+
+    private final UntypedWidgetPropertyListener styleChangedListener = this::styleChanged;
+    private final UntypedWidgetPropertyListener contentChangedListener = this::contentChanged;
+
+    protected volatile Color[] colors = new Color[0];
+
+    private volatile Color value_color, line_color, text_color;
+    private volatile Font font;
+    private volatile String value_label = "";
+    private volatile boolean square;
+
+    /** Create colors for the states of the LED
+     *  @return Colors, must contain at least one element
+     */
+    abstract protected Color[] createColors();
+
+    /** Compute the index of the currently active color
+     *  @param value Current value
+     *  @return Index 0, 1, .. to maximum index of array provided by <code>createColors</code>
+     */
+    abstract protected int computeColorIndex(final VType value);
+
+    /** Compute the label for currently active color index
+     *  @param color_index Color index returned by <code>computeColorIndex()</code>
+     *  @return String to show in label
+     */
+    abstract protected String computeLabel(final int color_index);
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propSquare().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propFont().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propForegroundColor().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propLineColor().addUntypedPropertyListener(styleChangedListener);
+        model_widget.runtimePropValue().addUntypedPropertyListener(contentChangedListener);
+        colors = createColors();
+        styleChanged(null, null, null);
+        contentChanged(null, null, null);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propSquare().removePropertyListener(styleChangedListener);
+        model_widget.propFont().removePropertyListener(styleChangedListener);
+        model_widget.propForegroundColor().removePropertyListener(styleChangedListener);
+        model_widget.propLineColor().removePropertyListener(styleChangedListener);
+        model_widget.runtimePropValue().removePropertyListener(contentChangedListener);
+        super.unregisterListeners();
+    }
+
+    private void styleChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        square = model_widget.propSquare().getValue();
+        font = JFXUtil.convert(model_widget.propFont().getValue());
+        text_color = JFXUtil.convert(model_widget.propForegroundColor().getValue());
+        line_color = JFXUtil.convert(model_widget.propLineColor().getValue());
+        repaint();
+    }
+
+    /** For derived class to invoke when color changed
+     *  and current color needs to be re-evaluated
+     *  @param property Ignored
+     *  @param old_value Ignored
+     *  @param new_value Ignored
+     */
+    protected void configChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        colors = createColors();
+        contentChanged(null, null, null);
+    }
+
+    private void contentChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        final VType value = model_widget.runtimePropValue().getValue();
+        if (value == null)
+        {
+            value_color = alarm_colors[AlarmSeverity.UNDEFINED.ordinal()];
+            value_label = "";
+        }
+        else
+        {
+            final Color[] save_colors = colors;
+            final int value_index = Math.max(0, Math.min(computeColorIndex(value), save_colors.length-1));
+            value_color = save_colors[value_index];
+            value_label = computeLabel(value_index);
+        }
+        repaint();
+    }
+
+    @Override
+    protected boolean isRound()
+    {
+        return ! square;
+    }
+
+    @Override
+    protected void paint(final GraphicsContext gc, final double width, final double height)
+    {
+        gc.setFill(value_color);
+        gc.setStroke(line_color);
+        gc.setLineWidth(LINE_WIDTH);
+        final double inset = LINE_WIDTH / 2;
+        if (square)
+        {
+            gc.fillRect(0, 0, width, height);
+            gc.strokeRect(inset, inset, width - LINE_WIDTH, height - LINE_WIDTH);
+        }
+        else
+        {
+            gc.fillOval(0, 0, width, height);
+            gc.strokeOval(inset, inset, width - LINE_WIDTH, height - LINE_WIDTH);
+        }
+
+        final String label = value_label;
+        if (label.isEmpty())
+            return;
+        gc.beginPath();
+        gc.rect(0, 0, width, height);
+        gc.clip();
+        gc.setFont(font);
+        gc.setFill(text_color);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(label, width/2, height/2);
+    }
+}
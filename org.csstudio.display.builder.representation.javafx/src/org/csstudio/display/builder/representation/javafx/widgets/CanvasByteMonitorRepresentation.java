@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import java.util.List;
+
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.WidgetPropertyListener;
+import org.csstudio.display.builder.model.properties.StringWidgetProperty;
+import org.csstudio.display.builder.model.util.VTypeUtil;
+import org.csstudio.display.builder.model.widgets.ByteMonitorWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+import org.diirt.vtype.VType;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/** Canvas-based representation of {@link ByteMonitorWidget}
+ *
+ *  <p>Arranges LEDs and labels like {@link ByteMonitorRepresentation}.
+ *
+ *  @author Kay Kasemir
+ */
+public class CanvasByteMonitorRepresentation extends CanvasRepresentation<ByteMonitorWidget>
+{
+    /** LED outline, same as in CSS for 'led' */
+    private static final double LINE_WIDTH = 2.345;
+    private static final Color LINE_COLOR = Color.rgb(50, 50, 50, 0.7);
+
+    /** Gap between round LED and its label */
+    private static final double GAP = 4;
+
+    private final UntypedWidgetPropertyListener lookChangedListener = this::lookChanged;
+    private final WidgetPropertyListener<List<StringWidgetProperty>> labelsChangedListener = this::labelsChanged;
+
+    private volatile Color off_color, on_color, text_color;
+    private volatile Font font;
+    private volatile int start_bit, num_bits;
+    private volatile boolean bit_reverse, horizontal, square;
+    private volatile String[] labels = new String[0];
+    private volatile int number = 0;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propOffColor().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propOnColor().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propStartBit().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propNumBits().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propBitReverse().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propHorizontal().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propSquare().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propForegroundColor().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propFont().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propLabels().addPropertyListener(labelsChangedListener);
+        model_widget.runtimePropValue().addUntypedPropertyListener(lookChangedListener);
+        labelsChanged(model_widget.propLabels(), null, model_widget.propLabels().getValue());
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propOffColor().removePropertyListener(lookChangedListener);
+        model_widget.propOnColor().removePropertyListener(lookChangedListener);
+        model_widget.propStartBit().removePropertyListener(lookChangedListener);
+        model_widget.propNumBits().removePropertyListener(lookChangedListener);
+        model_widget.propBitReverse().removePropertyListener(lookChangedListener);
+        model_widget.propHorizontal().removePropertyListener(lookChangedListener);
+        model_widget.propSquare().removePropertyListener(lookChangedListener);
+        model_widget.propForegroundColor().removePropertyListener(lookChangedListener);
+        model_widget.propFont().removePropertyListener(lookChangedListener);
+        model_widget.propLabels().removePropertyListener(labelsChangedListener);
+        model_widget.runtimePropValue().removePropertyListener(lookChangedListener);
+        labelsChanged(model_widget.propLabels(), model_widget.propLabels().getValue(), null);
+        super.unregisterListeners();
+    }
+
+    private void labelsChanged(final WidgetProperty<List<StringWidgetProperty>> prop,
+                               final List<StringWidgetProperty> removed, final List<StringWidgetProperty> added)
+    {
+        if (added != null)
+            for (StringWidgetProperty text : added)
+                text.addUntypedPropertyListener(lookChangedListener);
+        if (removed != null)
+            for (StringWidgetProperty text : removed)
+                text.removePropertyListener(lookChangedListener);
+        lookChanged(null, null, null);
+    }
+
+    private void lookChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        off_color = JFXUtil.convert(model_widget.propOffColor().getValue());
+        on_color = JFXUtil.convert(model_widget.propOnColor().getValue());
+        text_color = JFXUtil.convert(model_widget.propForegroundColor().getValue());
+        font = JFXUtil.convert(model_widget.propFont().getValue());
+        start_bit = model_widget.propStartBit().getValue();
+        num_bits = model_widget.propNumBits().getValue();
+        bit_reverse = model_widget.propBitReverse().getValue();
+        horizontal = model_widget.propHorizontal().getValue();
+        square = model_widget.propSquare().getValue();
+        final List<StringWidgetProperty> texts = model_widget.propLabels().getValue();
+        final String[] new_labels = new String[texts.size()];
+        for (int i=0; i<new_labels.length; ++i)
+            new_labels[i] = texts.get(i).getValue();
+        labels = new_labels;
+        final VType value = model_widget.runtimePropValue().getValue();
+        number = value == null ? 0 : VTypeUtil.getValueNumber(value).intValue();
+        repaint();
+    }
+
+    @Override
+    protected void paint(final GraphicsContext gc, final double width, final double height)
+    {
+        final int bits = num_bits;
+        if (bits <= 0)
+            return;
+        final int start = start_bit;
+        final boolean reverse = bit_reverse, horizontal = this.horizontal, square = this.square;
+        final String[] labels = this.labels;
+        final int number = this.number;
+
+        // Keep labels within the widget
+        gc.beginPath();
+        gc.rect(0, 0, width, height);
+        gc.clip();
+
+        final double led_w, led_h, dx, dy, rad;
+        if (horizontal)
+        {
+            dx = width / bits;
+            dy = 0;
+            led_w = dx;
+            led_h = height;
+            rad = led_w/2;
+        }
+        else
+        {
+            dx = 0;
+            dy = height / bits;
+            led_w = width;
+            led_h = dy;
+            rad = led_h/2;
+        }
+
+        gc.setLineWidth(LINE_WIDTH);
+        gc.setStroke(LINE_COLOR);
+        gc.setFont(font);
+        final double inset = LINE_WIDTH/2;
+        double x = 0, y = 0;
+        for (int i = 0; i < bits; ++i)
+        {
+            // Same bit and label order as ByteMonitorRepresentation
+            final int bit = reverse ? i : bits-1-i;
+            final boolean on = start + bit < 32  &&  (number & (1 << (start + bit))) != 0;
+            gc.setFill(on ? on_color : off_color);
+            if (square)
+            {
+                gc.fillRect(x, y, led_w, led_h);
+                gc.strokeRect(x+inset, y+inset, led_w-LINE_WIDTH, led_h-LINE_WIDTH);
+            }
+            else
+            {
+                gc.fillOval(x, y, 2*rad, 2*rad);
+                gc.strokeOval(x+inset, y+inset, 2*rad-LINE_WIDTH, 2*rad-LINE_WIDTH);
+            }
+
+            final int lbl_index = reverse ? i : bits-i-1;
+            if (lbl_index < labels.length  &&  ! labels[lbl_index].isEmpty())
+                paintLabel(gc, labels[lbl_index], x, y, led_w, led_h, rad, square, horizontal);
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private void paintLabel(final GraphicsContext gc, final String label,
+                            final double x, final double y, final double led_w, final double led_h,
+                            final double rad, final boolean square, final boolean horizontal)
+    {
+        gc.save();
+        gc.setFill(text_color);
+        gc.setTextBaseline(VPos.CENTER);
+        if (square)
+        {   // Centered on LED, rotated when LEDs are arranged horizontally
+            gc.beginPath();
+            gc.rect(x, y, led_w, led_h);
+            gc.clip();
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.translate(x + led_w/2, y + led_h/2);
+            if (horizontal)
+                gc.rotate(-90);
+            gc.fillText(label, 0, 0);
+        }
+        else if (horizontal)
+        {   // Below the LED, rotated, ending next to the LED
+            gc.setTextAlign(TextAlignment.RIGHT);
+            gc.translate(x + led_w/2, y + 2*rad + GAP);
+            gc.rotate(-90);
+            gc.fillText(label, 0, 0);
+        }
+        else
+        {   // To the right of the LED
+            gc.setTextAlign(TextAlignment.LEFT);
+            gc.fillText(label, x + 2*rad + GAP, y + led_h/2);
+        }
+        gc.restore();
+    }
+}
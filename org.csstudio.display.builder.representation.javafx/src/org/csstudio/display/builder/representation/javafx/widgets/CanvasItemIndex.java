@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.geometry.Rectangle2D;
+
+/** Spatial index of the items drawn into a {@link WidgetCanvas}
+ *
+ *  <p>Items are entered into the cells of a grid
+ *  that their bounds overlap.
+ *  Lookup by region or point then only needs to check
+ *  the items in the overlapping cells.
+ *
+ *  <p>Not thread-safe.
+ *  The {@link WidgetCanvas} only accesses it on the UI thread.
+ *
+ *  @param <T> Item type
+ *  @author Kay Kasemir
+ */
+public class CanvasItemIndex<T>
+{
+    /** Check if an item accepts mouse events at a point */
+    @FunctionalInterface
+    public interface HitTest<T>
+    {
+        /** @param item Item
+         *  @param x Horizontal position
+         *  @param y Vertical position
+         *  @return Does the item accept a mouse event at that point?
+         */
+        public boolean isHit(T item, double x, double y);
+    }
+
+    /** Size of a grid cell */
+    private static final int CELL = 64;
+
+    /** Order of items from bottom to top */
+    private final Comparator<? super T> order;
+
+    private final HitTest<? super T> hit_test;
+
+    /** Items in each cell, cell key computed from cell column and row */
+    private final Map<Long, List<T>> cells = new HashMap<>();
+
+    /** Bounds under which each item is currently entered */
+    private final Map<T, Rectangle2D> bounds = new IdentityHashMap<>();
+
+    /** @param order Order of items from bottom to top
+     *  @param hit_test Hit test for items
+     */
+    public CanvasItemIndex(final Comparator<? super T> order, final HitTest<? super T> hit_test)
+    {
+        this.order = order;
+        this.hit_test = hit_test;
+    }
+
+    private static long key(final int column, final int row)
+    {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private static int cell(final double position)
+    {
+        return (int) Math.floor(position / CELL);
+    }
+
+    /** @param item Item to add or move
+     *  @param region Region covered by the item
+     */
+    public void update(final T item, final Rectangle2D region)
+    {
+        remove(item);
+        bounds.put(item, region);
+        for (int row = cell(region.getMinY());  row <= cell(region.getMaxY());  ++row)
+            for (int col = cell(region.getMinX());  col <= cell(region.getMaxX());  ++col)
+                cells.computeIfAbsent(key(col, row), k -> new ArrayList<>(4)).add(item);
+    }
+
+    /** @param item Item to remove */
+    public void remove(final T item)
+    {
+        final Rectangle2D region = bounds.remove(item);
+        if (region == null)
+            return;
+        for (int row = cell(region.getMinY());  row <= cell(region.getMaxY());  ++row)
+            for (int col = cell(region.getMinX());  col <= cell(region.getMaxX());  ++col)
+            {
+                final Long key = key(col, row);
+                final List<T> items = cells.get(key);
+                if (items != null)
+                {
+                    items.remove(item);
+                    if (items.isEmpty())
+                        cells.remove(key);
+                }
+            }
+    }
+
+    /** @param item Item
+     *  @return Region under which item is entered, <code>null</code> if not in index
+     */
+    public Rectangle2D getBounds(final T item)
+    {
+        return bounds.get(item);
+    }
+
+    /** @param region Region
+     *  @return Items that overlap the region, sorted from bottom to top
+     */
+    public List<T> getItems(final Rectangle2D region)
+    {
+        final List<T> result = new ArrayList<>();
+        final Map<T, Boolean> found = new IdentityHashMap<>();
+        for (int row = cell(region.getMinY());  row <= cell(region.getMaxY());  ++row)
+            for (int col = cell(region.getMinX());  col <= cell(region.getMaxX());  ++col)
+            {
+                final List<T> items = cells.get(key(col, row));
+                if (items == null)
+                    continue;
+                for (T item : items)
+                    if (bounds.get(item).intersects(region)  &&  found.put(item, Boolean.TRUE) == null)
+                        result.add(item);
+            }
+        Collections.sort(result, order);
+        return result;
+    }
+
+    /** @param x Horizontal position
+     *  @param y Vertical position
+     *  @return Topmost item that accepts mouse events at that point, or <code>null</code>
+     */
+    public T getItemAt(final double x, final double y)
+    {
+        final List<T> items = cells.get(key(cell(x), cell(y)));
+        if (items == null)
+            return null;
+        T top = null;
+        for (T item : items)
+            if (hit_test.isHit(item, x, y)  &&
+                (top == null  ||  order.compare(item, top) > 0))
+                top = item;
+        return top;
+    }
+
+    /** @return Number of items in index */
+    public int size()
+    {
+        return bounds.size();
+    }
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.widgets.LEDWidget;
+import org.diirt.vtype.VType;
+
+import javafx.scene.paint.Color;
+
+/** Canvas-based representation of {@link LEDWidget}
+ *  @author Kay Kasemir
+ */
+public class CanvasLEDRepresentation extends CanvasBaseLEDRepresentation<LEDWidget>
+{
+    private final UntypedWidgetPropertyListener configChangedListener = this::configChanged;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propOffColor().addUntypedPropertyListener(configChangedListener);
+        model_widget.propOnColor().addUntypedPropertyListener(configChangedListener);
+        model_widget.propOffLabel().addUntypedPropertyListener(configChangedListener);
+        model_widget.propOnLabel().addUntypedPropertyListener(configChangedListener);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propOffColor().removePropertyListener(configChangedListener);
+        model_widget.propOnColor().removePropertyListener(configChangedListener);
+        model_widget.propOffLabel().removePropertyListener(configChangedListener);
+        model_widget.propOnLabel().removePropertyListener(configChangedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected Color[] createColors()
+    {
+        return LEDRepresentation.createColors(model_widget);
+    }
+
+    @Override
+    protected int computeColorIndex(final VType value)
+    {
+        return LEDRepresentation.computeColorIndex(model_widget, value);
+    }
+
+    @Override
+    protected String computeLabel(final int color_index)
+    {
+        return LEDRepresentation.computeLabel(model_widget, color_index);
+    }
+}
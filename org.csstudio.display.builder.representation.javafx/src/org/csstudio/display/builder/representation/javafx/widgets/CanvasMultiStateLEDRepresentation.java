@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import java.util.List;
+
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.WidgetPropertyListener;
+import org.csstudio.display.builder.model.widgets.MultiStateLEDWidget;
+import org.csstudio.display.builder.model.widgets.MultiStateLEDWidget.StateWidgetProperty;
+import org.diirt.vtype.VType;
+
+import javafx.scene.paint.Color;
+
+/** Canvas-based representation of {@link MultiStateLEDWidget}
+ *  @author Kay Kasemir
+ */
+public class CanvasMultiStateLEDRepresentation extends CanvasBaseLEDRepresentation<MultiStateLEDWidget>
+{
+    private final WidgetPropertyListener<List<StateWidgetProperty>> statesChangedListener = this::statesChanged;
+    private final UntypedWidgetPropertyListener state_listener = this::configChanged;
+
+    @Override
+    protected void registerListeners()
+    {
+        // Track states before base class creates the initial colors
+        model_widget.propStates().addPropertyListener(statesChangedListener);
+        statesChanged(null, null, model_widget.propStates().getValue());
+        model_widget.propFallbackColor().addUntypedPropertyListener(state_listener);
+        model_widget.propFallbackLabel().addUntypedPropertyListener(state_listener);
+        super.registerListeners();
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        super.unregisterListeners();
+        model_widget.propFallbackLabel().removePropertyListener(state_listener);
+        model_widget.propFallbackColor().removePropertyListener(state_listener);
+        statesChanged(null, model_widget.propStates().getValue(), null);
+        model_widget.propStates().removePropertyListener(statesChangedListener);
+    }
+
+    private void statesChanged(final WidgetProperty<List<StateWidgetProperty>> prop,
+                               final List<StateWidgetProperty> removed, final List<StateWidgetProperty> added)
+    {
+        if (added != null)
+            for (StateWidgetProperty state : added)
+            {
+                state.label().addUntypedPropertyListener(state_listener);
+                state.color().addUntypedPropertyListener(state_listener);
+            }
+        if (removed != null)
+            for (StateWidgetProperty state : removed)
+            {
+                state.color().removePropertyListener(state_listener);
+                state.label().removePropertyListener(state_listener);
+            }
+    }
+
+    @Override
+    protected Color[] createColors()
+    {
+        return MultiStateLEDRepresentation.createColors(model_widget);
+    }
+
+    @Override
+    protected int computeColorIndex(final VType value)
+    {
+        return MultiStateLEDRepresentation.computeColorIndex(model_widget, value);
+    }
+
+    @Override
+    protected String computeLabel(final int color_index)
+    {
+        return MultiStateLEDRepresentation.computeLabel(model_widget, color_index);
+    }
+}
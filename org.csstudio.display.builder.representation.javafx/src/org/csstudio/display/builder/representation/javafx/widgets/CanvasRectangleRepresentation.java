@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.widgets.RectangleWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/** Canvas-based representation of {@link RectangleWidget}
+ *  @author Kay Kasemir
+ */
+public class CanvasRectangleRepresentation extends CanvasRepresentation<RectangleWidget>
+{
+    private final UntypedWidgetPropertyListener lookChangedListener = this::lookChanged;
+    private volatile Color background, line_color;
+    private volatile int line_width, corner_width, corner_height;
+    private volatile boolean ignore_mouse = false;
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propCornerWidth().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propCornerHeight().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propBackgroundColor().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propTransparent().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propLineColor().addUntypedPropertyListener(lookChangedListener);
+        model_widget.propLineWidth().addUntypedPropertyListener(lookChangedListener);
+        lookChanged(null, null, null);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propCornerWidth().removePropertyListener(lookChangedListener);
+        model_widget.propCornerHeight().removePropertyListener(lookChangedListener);
+        model_widget.propBackgroundColor().removePropertyListener(lookChangedListener);
+        model_widget.propTransparent().removePropertyListener(lookChangedListener);
+        model_widget.propLineColor().removePropertyListener(lookChangedListener);
+        model_widget.propLineWidth().removePropertyListener(lookChangedListener);
+        super.unregisterListeners();
+    }
+
+    private void lookChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        final boolean transparent = model_widget.propTransparent().getValue();
+        background = transparent
+                   ? null
+                   : JFXUtil.convert(model_widget.propBackgroundColor().getValue());
+        line_color = JFXUtil.convert(model_widget.propLineColor().getValue());
+        line_width = model_widget.propLineWidth().getValue();
+        corner_width = model_widget.propCornerWidth().getValue();
+        corner_height = model_widget.propCornerHeight().getValue();
+        // Transparent rectangles pass mouse clicks to underlying widgets,
+        // see RectangleRepresentation
+        ignore_mouse = transparent  &&
+                       model_widget.propActions().getValue().getActions().isEmpty();
+        repaint();
+    }
+
+    @Override
+    protected boolean isMouseTransparent()
+    {
+        return ignore_mouse;
+    }
+
+    @Override
+    protected void paint(final GraphicsContext gc, final double width, final double height)
+    {
+        final double arc_width = 2 * corner_width, arc_height = 2 * corner_height;
+        final Color fill = background;
+        if (fill != null)
+        {
+            gc.setFill(fill);
+            gc.fillRoundRect(0, 0, width, height, arc_width, arc_height);
+        }
+        final int lw = line_width;
+        if (lw > 0)
+        {   // Stroke inside of the widget's bounds
+            gc.setStroke(line_color);
+            gc.setLineWidth(lw);
+            gc.strokeRoundRect(lw/2.0, lw/2.0, width - lw, height - lw,
+                               Math.max(0, arc_width - lw), Math.max(0, arc_height - lw));
+        }
+    }
+}
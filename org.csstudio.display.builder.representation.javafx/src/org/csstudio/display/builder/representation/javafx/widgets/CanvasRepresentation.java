@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propBorderAlarmSensitive;
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propBorderColor;
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.propBorderWidth;
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.runtimePropPVValue;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.DirtyFlag;
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.properties.WidgetColor;
+import org.csstudio.display.builder.model.widgets.VisibleWidget;
+import org.csstudio.display.builder.representation.WidgetRepresentation;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+import org.diirt.vtype.Alarm;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VType;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+/** Base for widget representations that draw into a shared {@link WidgetCanvas}
+ *
+ *  <p>Instead of creating scene graph nodes, the widget is painted
+ *  into the canvas of its parent.
+ *  Like {@link RegionBaseRepresentation}, the representation shows
+ *  custom and alarm-sensitive borders.
+ *
+ *  <p>Derived classes track the widget properties,
+ *  call {@link #repaint()} when the look of the widget changed,
+ *  and implement {@link #paint(GraphicsContext, double, double)}.
+ *
+ *  @param <MW> Model widget
+ *  @author Kay Kasemir
+ */
+abstract public class CanvasRepresentation<MW extends VisibleWidget> extends WidgetRepresentation<Parent, Node, MW>
+{
+    /** Minimum space around widget, used for alarm border */
+    static final int BORDER_MARGIN = 6;
+
+    /** Order of items: By position within parent, then by creation */
+    static final Comparator<CanvasRepresentation<?>> Z_ORDER = (a, b) ->
+    {
+        final int cmp = Integer.compare(a.index, b.index);
+        return cmp != 0 ? cmp : Long.compare(a.sequence, b.sequence);
+    };
+
+    private static final AtomicLong sequences = new AtomicLong();
+
+    private static final double[] dotted = { 2.0, 2.0 }, dash_dotted = { 8.0, 2.0, 2.0, 2.0 };
+
+    private final DirtyFlag dirty_position = new DirtyFlag();
+    private final DirtyFlag dirty_look = new DirtyFlag();
+    private final UntypedWidgetPropertyListener positionChangedListener = this::positionChanged;
+    private final UntypedWidgetPropertyListener lookChangedListener = this::lookChanged;
+    private final UntypedWidgetPropertyListener connectionOrValueChangedListener = this::connectionOrValueChanged;
+
+    /** Position of widget within its siblings */
+    private int index;
+
+    /** Sequence of creation */
+    private final long sequence = sequences.incrementAndGet();
+
+    /** Canvas that this widget draws into */
+    private WidgetCanvas canvas;
+
+    /** Does the widget show a tool tip? */
+    private boolean has_tooltip = false;
+
+    /** Widget bounds. Only accessed on UI thread */
+    private double x, y, width, height;
+    private boolean visible = true;
+
+    /** Space around widget used for borders. Only accessed on UI thread */
+    private int margin = BORDER_MARGIN;
+
+    private volatile WidgetProperty<VType> value_prop = null;
+    private volatile WidgetProperty<Boolean> alarm_sensitive_border_prop = null;
+    private volatile WidgetProperty<WidgetColor> border_color_prop = null;
+    private volatile WidgetProperty<Integer> border_width_prop = null;
+    private volatile AlarmSeverity alarm = AlarmSeverity.NONE;
+
+    /** {@inheritDoc} */
+    @Override
+    public Parent createComponents(final Parent parent) throws Exception
+    {
+        final Optional<Widget> container = model_widget.getParent();
+        if (container.isPresent())
+        {
+            final ChildrenProperty children = ChildrenProperty.getChildren(container.get());
+            if (children != null)
+                index = children.getValue().indexOf(model_widget);
+        }
+        canvas = WidgetCanvas.get(parent, toolkit, index);
+        has_tooltip = TooltipSupport.hasTooltip(model_widget.propTooltip());
+        registerListeners();
+        dirty_position.mark();
+        updateChanges();
+        return parent;
+    }
+
+    /** Register model widget listeners.
+     *
+     *  <p>Override must call base class
+     */
+    protected void registerListeners()
+    {
+        model_widget.propVisible().addUntypedPropertyListener(positionChangedListener);
+        model_widget.propX().addUntypedPropertyListener(positionChangedListener);
+        model_widget.propY().addUntypedPropertyListener(positionChangedListener);
+        model_widget.propWidth().addUntypedPropertyListener(positionChangedListener);
+        model_widget.propHeight().addUntypedPropertyListener(positionChangedListener);
+
+        final Optional<WidgetProperty<WidgetColor>> cust_col = model_widget.checkProperty(propBorderColor);
+        final Optional<WidgetProperty<Integer>> cust_wid = model_widget.checkProperty(propBorderWidth);
+        if (cust_col.isPresent()  &&  cust_wid.isPresent())
+        {
+            border_color_prop = cust_col.get();
+            border_width_prop = cust_wid.get();
+            border_color_prop.addUntypedPropertyListener(lookChangedListener);
+            // Border width changes the region covered by the widget
+            border_width_prop.addUntypedPropertyListener(positionChangedListener);
+        }
+
+        final Optional<WidgetProperty<Boolean>> alarm_sens = model_widget.checkProperty(propBorderAlarmSensitive);
+        final Optional<WidgetProperty<VType>> value = model_widget.checkProperty(runtimePropPVValue);
+        if (alarm_sens.isPresent()  &&  value.isPresent())
+        {
+            value_prop = value.get();
+            alarm_sensitive_border_prop = alarm_sens.get();
+            value_prop.addUntypedPropertyListener(connectionOrValueChangedListener);
+        }
+        model_widget.runtimePropConnected().addUntypedPropertyListener(connectionOrValueChangedListener);
+    }
+
+    /** Unregister model widget listeners.
+     *
+     *  <p>Override must call base class
+     */
+    protected void unregisterListeners()
+    {
+        model_widget.runtimePropConnected().removePropertyListener(connectionOrValueChangedListener);
+        if (value_prop != null)
+            value_prop.removePropertyListener(connectionOrValueChangedListener);
+        if (border_color_prop != null)
+        {
+            border_color_prop.removePropertyListener(lookChangedListener);
+            border_width_prop.removePropertyListener(positionChangedListener);
+        }
+        model_widget.propVisible().removePropertyListener(positionChangedListener);
+        model_widget.propX().removePropertyListener(positionChangedListener);
+        model_widget.propY().removePropertyListener(positionChangedListener);
+        model_widget.propWidth().removePropertyListener(positionChangedListener);
+        model_widget.propHeight().removePropertyListener(positionChangedListener);
+    }
+
+    /** @return Model widget */
+    Widget getWidget()
+    {
+        return model_widget;
+    }
+
+    /** @return Space around the widget in the region that it paints */
+    int getMargin()
+    {
+        return margin;
+    }
+
+    /** @return Does the widget show a tool tip? */
+    boolean hasTooltip()
+    {
+        return has_tooltip;
+    }
+
+    /** @return Tool tip text */
+    String getTooltip()
+    {
+        return TooltipSupport.expand(model_widget.propTooltip(), getTooltipValue());
+    }
+
+    /** @return Supplier for "$(pv_value)" in tool tip, <code>null</code> to use the value property */
+    protected Supplier<String> getTooltipValue()
+    {
+        return null;
+    }
+
+    /** @return Does the widget ignore the mouse, passing clicks to widgets below? */
+    protected boolean isMouseTransparent()
+    {
+        return false;
+    }
+
+    /** @param px Horizontal position within parent
+     *  @param py Vertical position within parent
+     *  @return Does the widget accept a mouse event at that point?
+     */
+    boolean isHit(final double px, final double py)
+    {
+        return visible  &&  ! isMouseTransparent()  &&
+               px >= x  &&  px < x + width  &&  py >= y  &&  py < y + height;
+    }
+
+    private void positionChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        dirty_position.mark();
+        toolkit.scheduleUpdate(this);
+    }
+
+    private void lookChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        repaint();
+    }
+
+    private void connectionOrValueChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        AlarmSeverity severity = AlarmSeverity.NONE;
+        if (! model_widget.runtimePropConnected().getValue())
+            severity = AlarmSeverity.UNDEFINED;
+        else if (value_prop != null  &&  alarm_sensitive_border_prop.getValue())
+        {
+            final Object value = value_prop.getValue();
+            if (value instanceof Alarm)
+                severity = ((Alarm)value).getAlarmSeverity();
+            else if (value == null)
+                severity = AlarmSeverity.UNDEFINED;
+        }
+        if (alarm == severity)
+            return;
+        alarm = severity;
+        repaint();
+    }
+
+    /** Request a repaint of the widget
+     *
+     *  <p>To be called by derived classes
+     *  when the look of the widget changed
+     */
+    protected void repaint()
+    {
+        dirty_look.mark();
+        toolkit.scheduleUpdate(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateChanges()
+    {
+        if (canvas == null)
+            return;
+        if (dirty_position.checkAndClear())
+        {
+            x = model_widget.propX().getValue();
+            y = model_widget.propY().getValue();
+            width = model_widget.propWidth().getValue();
+            height = model_widget.propHeight().getValue();
+            visible = model_widget.propVisible().getValue();
+            // Custom border is painted outside of the widget, up to its full width,
+            // plus one pixel for anti-aliasing
+            margin = border_width_prop == null
+                   ? BORDER_MARGIN
+                   : Math.max(BORDER_MARGIN, border_width_prop.getValue() + 1);
+            // Moving the widget also repaints it
+            dirty_look.checkAndClear();
+            canvas.update(this, new Rectangle2D(x - margin, y - margin,
+                                                width + 2*margin, height + 2*margin));
+        }
+        else if (dirty_look.checkAndClear())
+            canvas.invalidate(this);
+    }
+
+    /** Paint widget and its border
+     *
+     *  <p>Called by the {@link WidgetCanvas} on the UI thread
+     *  with the graphics context translated to the widget's origin.
+     *
+     *  @param gc {@link GraphicsContext}
+     */
+    final void paint(final GraphicsContext gc)
+    {
+        if (! visible)
+            return;
+        gc.save();
+        paint(gc, width, height);
+        gc.restore();
+
+        final AlarmSeverity severity = alarm;
+        if (severity != AlarmSeverity.NONE)
+            paintAlarmBorder(gc, severity);
+        else if (border_width_prop != null)
+        {
+            final int border = border_width_prop.getValue();
+            if (border > 0)
+            {
+                gc.setLineDashes(null);
+                gc.setStroke(JFXUtil.convert(border_color_prop.getValue()));
+                gc.setLineWidth(border);
+                strokeOutline(gc, border/2.0);
+            }
+        }
+    }
+
+    /** Paint alarm border outside of the widget,
+     *  matching the borders of {@link RegionBaseRepresentation}
+     *  @param gc {@link GraphicsContext}
+     *  @param severity {@link AlarmSeverity}
+     */
+    private void paintAlarmBorder(final GraphicsContext gc, final AlarmSeverity severity)
+    {
+        final Color color = RegionBaseRepresentation.alarm_colors[severity.ordinal()];
+        gc.setStroke(color);
+        gc.setLineCap(StrokeLineCap.BUTT);
+        gc.setLineJoin(StrokeLineJoin.MITER);
+        switch (severity)
+        {
+        case MINOR:
+            gc.setLineDashes(null);
+            gc.setLineWidth(2);
+            strokeOutline(gc, 1);
+            break;
+        case MAJOR:
+            gc.setLineDashes(null);
+            gc.setLineWidth(1);
+            strokeOutline(gc, 0.5);
+            strokeOutline(gc, 2.5);
+            break;
+        case INVALID:
+            gc.setLineDashes(dash_dotted);
+            gc.setLineWidth(2);
+            strokeOutline(gc, 1);
+            break;
+        case UNDEFINED:
+        default:
+            gc.setLineDashes(dotted);
+            gc.setLineWidth(4);
+            strokeOutline(gc, 2);
+        }
+        gc.setLineDashes(null);
+    }
+
+    /** @return Is the outline of the widget an ellipse, not a rectangle? */
+    protected boolean isRound()
+    {
+        return false;
+    }
+
+    /** @param gc {@link GraphicsContext}
+     *  @param offset Distance of the outline from the widget
+     */
+    private void strokeOutline(final GraphicsContext gc, final double offset)
+    {
+        if (isRound())
+            gc.strokeOval(-offset, -offset, width + 2*offset, height + 2*offset);
+        else
+            gc.strokeRect(-offset, -offset, width + 2*offset, height + 2*offset);
+    }
+
+    /** Paint the widget
+     *
+     *  <p>Called on the UI thread
+     *  with the graphics context translated to the widget's origin
+     *  and clipped to the region that needs to be redrawn.
+     *  Implementation may change the state of the graphics context,
+     *  for example clip or rotate,
+     *  it is saved and restored by the caller.
+     *
+     *  @param gc {@link GraphicsContext}
+     *  @param width Widget width
+     *  @param height Widget height
+     */
+    abstract protected void paint(GraphicsContext gc, double width, double height);
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose()
+    {
+        unregisterListeners();
+        canvas.remove(this);
+        canvas = null;
+    }
+}
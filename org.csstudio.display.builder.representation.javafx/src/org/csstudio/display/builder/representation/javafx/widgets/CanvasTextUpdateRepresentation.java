@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import java.util.function.Supplier;
+
+import org.csstudio.display.builder.model.UntypedWidgetPropertyListener;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.properties.RotationStep;
+import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
+import org.csstudio.display.builder.representation.javafx.JFXUtil;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/** Canvas-based representation of {@link TextUpdateWidget}
+ *
+ *  <p>Only supports the plain, non-interactive text update
+ *  without word wrap,
+ *  see {@link #isSupported(TextUpdateWidget)}.
+ *
+ *  @author Kay Kasemir
+ */
+public class CanvasTextUpdateRepresentation extends CanvasRepresentation<TextUpdateWidget>
+{
+    private final UntypedWidgetPropertyListener styleChangedListener = this::styleChanged;
+    private final UntypedWidgetPropertyListener contentChangedListener = this::contentChanged;
+    private volatile String value_text = "";
+    private volatile Color background, foreground;
+    private volatile Font font;
+    private volatile TextAlignment align;
+    private volatile VPos vpos;
+    private volatile RotationStep rotation;
+
+    /** @param widget Text update
+     *  @return Can the widget be drawn into a canvas?
+     */
+    static boolean isSupported(final TextUpdateWidget widget)
+    {
+        return ! widget.propInteractive().getValue()  &&
+               ! widget.propWrapWords().getValue();
+    }
+
+    @Override
+    protected void registerListeners()
+    {
+        super.registerListeners();
+        model_widget.propForegroundColor().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propBackgroundColor().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propTransparent().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propFont().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propHorizontalAlignment().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propVerticalAlignment().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propRotationStep().addUntypedPropertyListener(styleChangedListener);
+        model_widget.propFormat().addUntypedPropertyListener(contentChangedListener);
+        model_widget.propPrecision().addUntypedPropertyListener(contentChangedListener);
+        model_widget.propShowUnits().addUntypedPropertyListener(contentChangedListener);
+        model_widget.propPVName().addUntypedPropertyListener(contentChangedListener);
+        model_widget.runtimePropValue().addUntypedPropertyListener(contentChangedListener);
+        styleChanged(null, null, null);
+        contentChanged(null, null, null);
+    }
+
+    @Override
+    protected void unregisterListeners()
+    {
+        model_widget.propForegroundColor().removePropertyListener(styleChangedListener);
+        model_widget.propBackgroundColor().removePropertyListener(styleChangedListener);
+        model_widget.propTransparent().removePropertyListener(styleChangedListener);
+        model_widget.propFont().removePropertyListener(styleChangedListener);
+        model_widget.propHorizontalAlignment().removePropertyListener(styleChangedListener);
+        model_widget.propVerticalAlignment().removePropertyListener(styleChangedListener);
+        model_widget.propRotationStep().removePropertyListener(styleChangedListener);
+        model_widget.propFormat().removePropertyListener(contentChangedListener);
+        model_widget.propPrecision().removePropertyListener(contentChangedListener);
+        model_widget.propShowUnits().removePropertyListener(contentChangedListener);
+        model_widget.propPVName().removePropertyListener(contentChangedListener);
+        model_widget.runtimePropValue().removePropertyListener(contentChangedListener);
+        super.unregisterListeners();
+    }
+
+    @Override
+    protected Supplier<String> getTooltipValue()
+    {
+        // Use the formatted text for "$(pv_value)"
+        return () -> value_text;
+    }
+
+    private void styleChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        background = model_widget.propTransparent().getValue()
+                   ? null
+                   : JFXUtil.convert(model_widget.propBackgroundColor().getValue());
+        foreground = JFXUtil.convert(model_widget.propForegroundColor().getValue());
+        font = JFXUtil.convert(model_widget.propFont().getValue());
+        switch (model_widget.propHorizontalAlignment().getValue())
+        {
+        case CENTER: align = TextAlignment.CENTER; break;
+        case RIGHT:  align = TextAlignment.RIGHT;  break;
+        default:     align = TextAlignment.LEFT;
+        }
+        switch (model_widget.propVerticalAlignment().getValue())
+        {
+        case TOP:    vpos = VPos.TOP;    break;
+        case BOTTOM: vpos = VPos.BOTTOM; break;
+        default:     vpos = VPos.CENTER;
+        }
+        rotation = model_widget.propRotationStep().getValue();
+        repaint();
+    }
+
+    private void contentChanged(final WidgetProperty<?> property, final Object old_value, final Object new_value)
+    {
+        final String new_text = TextUpdateRepresentation.computeText(model_widget, model_widget.runtimePropValue().getValue());
+        // Skip update if it's the same text
+        if (value_text.equals(new_text))
+            return;
+        value_text = new_text;
+        repaint();
+    }
+
+    @Override
+    protected void paint(final GraphicsContext gc, final double width, final double height)
+    {
+        final Color fill = background;
+        if (fill != null)
+        {
+            gc.setFill(fill);
+            gc.fillRect(0, 0, width, height);
+        }
+
+        // Clip text to widget, like the label of TextUpdateRepresentation
+        gc.beginPath();
+        gc.rect(0, 0, width, height);
+        gc.clip();
+
+        // Same transformation as TextUpdateRepresentation applies to its label
+        final RotationStep rotation = this.rotation;
+        double w = width, h = height;
+        switch (rotation)
+        {
+        case NINETY:
+            gc.rotate(-rotation.getAngle());
+            gc.translate(-height, 0);
+            w = height;
+            h = width;
+            break;
+        case ONEEIGHTY:
+            gc.rotate(-rotation.getAngle());
+            gc.translate(-width, -height);
+            break;
+        case MINUS_NINETY:
+            gc.rotate(-rotation.getAngle());
+            gc.translate(0, -width);
+            w = height;
+            h = width;
+            break;
+        default:
+        }
+
+        final TextAlignment align = this.align;
+        final VPos vpos = this.vpos;
+        gc.setFont(font);
+        gc.setFill(foreground);
+        gc.setTextAlign(align);
+        gc.setTextBaseline(vpos);
+        final double tx = align == TextAlignment.CENTER ? w/2 : (align == TextAlignment.RIGHT ? w : 0);
+        final double ty = vpos == VPos.CENTER ? h/2 : (vpos == VPos.BOTTOM ? h : 0);
+        gc.fillText(value_text, tx, ty);
+    }
+}
@@ -322,7 +322,7 @@ public class EmbeddedDisplayRepresentation extends RegionBaseRepresentation<Scro
             if (content_model == null)
                 inner_background = Background.EMPTY;
             else
-                inner_background = new Background(new BackgroundFill(JFXUtil.convert(content_model.propBackgroundColor().getValue()), CornerRadii.EMPTY, Insets.EMPTY));
+                inner_background = JFXUtil.getBackground(content_model.propBackgroundColor().getValue());
         }
 
         dirty_background.mark();
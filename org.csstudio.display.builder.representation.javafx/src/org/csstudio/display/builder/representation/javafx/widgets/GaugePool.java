@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.util.ModelThreadPool;
+
+import eu.hansolo.medusa.Gauge;
+import eu.hansolo.medusa.GaugeBuilder;
+import javafx.application.Platform;
+
+/** Pool of pre-built Medusa {@link Gauge}s
+ *
+ *  <p>Creating a {@link Gauge} with its skin is expensive,
+ *  which slows the opening of displays with many meters and gauges.
+ *  The pool keeps gauges that have already been built for each skin type.
+ *  When the pool runs out of gauges, it remembers how many were needed
+ *  and later rebuilds that number of gauges,
+ *  a few at a time to keep the UI responsive,
+ *  so opening the next display with such gauges is faster.
+ *
+ *  <p>The total number of pooled gauges is limited.
+ *  Gauges are only rebuilt for skin types that are used
+ *  by open displays.
+ *  When no gauges have been taken for a while,
+ *  the pool drops its gauges.
+ *
+ *  <p>Gauges of closed displays are not returned to the pool
+ *  because event handlers and other settings
+ *  applied by the representation cannot be completely reset.
+ *  Representations do, however, {@link #release(Gauge.SkinType)}
+ *  their gauge so the pool knows which skin types are in use.
+ *
+ *  <p>Only accessed on the UI thread.
+ *
+ *  @author Kay Kasemir
+ */
+public class GaugePool
+{
+    /** Maximum number of gauges kept for all skin types */
+    private static final int MAX_POOLED = 200;
+
+    /** Number of gauges built in one UI thread task */
+    private static final int BATCH = 10;
+
+    /** Delay from using the pool to refilling it, giving the display time to open */
+    private static final long REFILL_DELAY_MS = 2000;
+
+    /** Delay from last using the pool to dropping its gauges */
+    private static final long IDLE_MS = TimeUnit.MINUTES.toMillis(2);
+
+    /** Pre-built gauges by skin type */
+    private static final Map<Gauge.SkinType, Deque<Gauge>> pool = new EnumMap<>(Gauge.SkinType.class);
+
+    /** Number of gauges to keep by skin type */
+    private static final Map<Gauge.SkinType, Integer> demand = new EnumMap<>(Gauge.SkinType.class);
+
+    /** Number of gauges taken and not released by skin type */
+    private static final Map<Gauge.SkinType, Integer> in_use = new EnumMap<>(Gauge.SkinType.class);
+
+    /** Total number of gauges in pool */
+    private static int pooled = 0;
+
+    /** Has a refill been scheduled? */
+    private static boolean refill_scheduled = false;
+
+    /** Scheduled call to drain() */
+    private static ScheduledFuture<?> drain_timer = null;
+
+    /** @param skin Skin type
+     *  @return Gauge from pool, or newly created gauge
+     */
+    public static Gauge take(final Gauge.SkinType skin)
+    {
+        in_use.merge(skin, 1, Integer::sum);
+        final Deque<Gauge> gauges = pool.get(skin);
+        final Gauge gauge = gauges == null ? null : gauges.poll();
+        scheduleRefill();
+        scheduleDrain();
+        if (gauge != null)
+        {
+            --pooled;
+            return gauge;
+        }
+        // Pool was too small, keep one more gauge of this type
+        demand.merge(skin, 1, (count, one) -> Math.min(count + one, MAX_POOLED));
+        return build(skin);
+    }
+
+    /** @param skin Skin type of a gauge that was taken from the pool and is no longer used */
+    public static void release(final Gauge.SkinType skin)
+    {
+        in_use.computeIfPresent(skin, (s, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /** Build gauges for later use
+     *  @param skin Skin type
+     *  @param count Number of gauges that should be available
+     */
+    public static void prefill(final Gauge.SkinType skin, final int count)
+    {
+        final int needed = Math.min(Math.max(count, demand.getOrDefault(skin, 0)), MAX_POOLED);
+        demand.put(skin, needed);
+        final Deque<Gauge> gauges = pool.computeIfAbsent(skin, s -> new ArrayDeque<>());
+        while (gauges.size() < needed  &&  pooled < MAX_POOLED)
+        {
+            gauges.push(build(skin));
+            ++pooled;
+        }
+        scheduleDrain();
+    }
+
+    /** @param skin Skin type
+     *  @return Number of pre-built gauges in pool
+     */
+    public static int size(final Gauge.SkinType skin)
+    {
+        final Deque<Gauge> gauges = pool.get(skin);
+        return gauges == null ? 0 : gauges.size();
+    }
+
+    /** @return Number of pre-built gauges in pool for all skin types */
+    public static int size()
+    {
+        return pooled;
+    }
+
+    private static Gauge build(final Gauge.SkinType skin)
+    {
+        return GaugeBuilder.create().skinType(skin).build();
+    }
+
+    private static void scheduleRefill()
+    {
+        if (refill_scheduled)
+            return;
+        refill_scheduled = true;
+        ModelThreadPool.getTimer().schedule(() -> Platform.runLater(GaugePool::refill),
+                                            REFILL_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Build a batch of gauges, then yield the UI thread until next batch */
+    private static void refill()
+    {
+        int built = 0;
+        for (Map.Entry<Gauge.SkinType, Integer> entry : demand.entrySet())
+        {
+            // Only refill for skin types used by open displays
+            if (! in_use.containsKey(entry.getKey()))
+                continue;
+            final Deque<Gauge> gauges = pool.computeIfAbsent(entry.getKey(), s -> new ArrayDeque<>());
+            while (gauges.size() < entry.getValue()  &&  pooled < MAX_POOLED  &&  built < BATCH)
+            {
+                gauges.push(build(entry.getKey()));
+                ++pooled;
+                ++built;
+            }
+            if (built >= BATCH)
+            {
+                Platform.runLater(GaugePool::refill);
+                return;
+            }
+        }
+        refill_scheduled = false;
+    }
+
+    /** (Re-)schedule dropping the pooled gauges */
+    private static void scheduleDrain()
+    {
+        if (drain_timer != null)
+            drain_timer.cancel(false);
+        drain_timer = ModelThreadPool.getTimer().schedule(() -> Platform.runLater(GaugePool::drain),
+                                                          IDLE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Drop pooled gauges when pool has not been used for a while */
+    private static void drain()
+    {
+        // Timer that was cancelled after it already submitted the drain?
+        if (drain_timer == null  ||  drain_timer.getDelay(TimeUnit.MILLISECONDS) > 0)
+            return;
+        drain_timer = null;
+        pool.clear();
+        pooled = 0;
+        // Forget demand for skin types that are no longer used
+        demand.keySet().retainAll(in_use.keySet());
+    }
+}
@@ -20,10 +20,6 @@ import org.csstudio.display.builder.representation.javafx.JFXUtil;
 import javafx.geometry.Insets;
 import javafx.scene.Parent;
 import javafx.scene.control.Label;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.Border;
-import javafx.scene.layout.BorderStroke;
 import javafx.scene.layout.BorderStrokeStyle;
 import javafx.scene.layout.BorderWidths;
 import javafx.scene.layout.CornerRadii;
@@ -131,9 +127,9 @@ public class GroupRepresentation extends JFXBaseRepresentation<Pane, GroupWidget
         if (dirty_border.checkAndClear())
         {
             if (model_widget.propTransparent().getValue())
-                jfx_node.setBackground(new Background(new BackgroundFill(Color.TRANSPARENT, null, null)));
+                jfx_node.setBackground(JFXUtil.getBackground(Color.TRANSPARENT));
             else
-                jfx_node.setBackground(new Background(new BackgroundFill(background_color, null, null)));
+                jfx_node.setBackground(JFXUtil.getBackground(background_color));
 
             final WidgetFont font = model_widget.propFont().getValue();
 
@@ -174,7 +170,7 @@ public class GroupRepresentation extends JFXBaseRepresentation<Pane, GroupWidget
                     // In edit mode, show outline because otherwise hard to
                     // handle the totally invisible group
                     if (toolkit.isEditMode())
-                        jfx_node.setBorder(new Border(new BorderStroke(foreground_color, EDIT_NONE_DASHED, CornerRadii.EMPTY, EDIT_NONE_BORDER)));
+                        jfx_node.setBorder(JFXUtil.getBorder(foreground_color, EDIT_NONE_DASHED, CornerRadii.EMPTY, EDIT_NONE_BORDER, Insets.EMPTY));
                     else
                         jfx_node.setBorder(null);
 
@@ -189,7 +185,7 @@ public class GroupRepresentation extends JFXBaseRepresentation<Pane, GroupWidget
                     insets[2] = 2 * insets[0];
                     insets[3] = 2 * insets[1];
 
-                    jfx_node.setBorder(new Border(new BorderStroke(foreground_color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT)));
+                    jfx_node.setBorder(JFXUtil.getBorder(foreground_color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT, Insets.EMPTY));
                     label.setVisible(false);
                     break;
                 }
@@ -201,13 +197,13 @@ public class GroupRepresentation extends JFXBaseRepresentation<Pane, GroupWidget
                     insets[2] = 2 * insets[0];
                     insets[3] = insets[0] + insets[1];
 
-                    jfx_node.setBorder(new Border(new BorderStroke(foreground_color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT)));
+                    jfx_node.setBorder(JFXUtil.getBorder(foreground_color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT, Insets.EMPTY));
                     label.setVisible(true);
                     label.relocate(0, BORDER_WIDTH);
                     label.setPadding(TITLE_PADDING);
                     label.setPrefSize(width + ( ( !firstUpdate && hasChildren ) ? insets[2] : 0 ), inset);
                     label.setTextFill(background_color);
-                    label.setBackground(new Background(new BackgroundFill(foreground_color, CornerRadii.EMPTY, Insets.EMPTY)));
+                    label.setBackground(JFXUtil.getBackground(foreground_color));
                     break;
                 }
                 case GROUP:
@@ -219,13 +215,13 @@ public class GroupRepresentation extends JFXBaseRepresentation<Pane, GroupWidget
                     insets[2] = 2 * insets[0];
                     insets[3] = 2 * insets[1];
 
-                    jfx_node.setBorder(new Border(new BorderStroke(foreground_color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT, new Insets(inset / 2))));
+                    jfx_node.setBorder(JFXUtil.getBorder(foreground_color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT, new Insets(inset / 2)));
                     label.setVisible(true);
                     label.relocate(inset, 0);
                     label.setPadding(TITLE_PADDING);
                     label.setPrefSize(Label.USE_COMPUTED_SIZE, Label.USE_COMPUTED_SIZE);
                     label.setTextFill(foreground_color);
-                    label.setBackground(new Background(new BackgroundFill(background_color, CornerRadii.EMPTY, Insets.EMPTY)));
+                    label.setBackground(JFXUtil.getBackground(background_color));
                     break;
                 }
             }
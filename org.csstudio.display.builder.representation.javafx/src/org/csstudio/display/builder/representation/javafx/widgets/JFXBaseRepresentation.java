@@ -93,7 +93,9 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
             {
                 // If one of the other sibling widgets cannot be represented,
                 // the 'index' will be useless.
-                logger.log(Level.WARNING, "Cannot represent " + model_widget + " at index " + index + " within parent, which has only " + children.size() + " nodes");
+                // Widgets drawn into a shared canvas also have no node of their own.
+                if (! WidgetCanvas.isPresent(parent))
+                    logger.log(Level.WARNING, "Cannot represent " + model_widget + " at index " + index + " within parent, which has only " + children.size() + " nodes");
                 children.add(jfx_node);
             }
 
@@ -47,30 +47,47 @@ public class LEDRepresentation extends BaseLEDRepresentation<LEDWidget>
 
     @Override
     protected Color[] createColors()
+    {
+        return createColors(model_widget);
+    }
+
+    /** @param widget LED
+     *  @return Off and on colors
+     */
+    static Color[] createColors(final LEDWidget widget)
     {
         return new Color[]
         {
-            JFXUtil.convert(model_widget.propOffColor().getValue()),
-            JFXUtil.convert(model_widget.propOnColor().getValue())
+            JFXUtil.convert(widget.propOffColor().getValue()),
+            JFXUtil.convert(widget.propOnColor().getValue())
         };
     }
 
     @Override
     protected int computeColorIndex(final VType value)
+    {
+        return computeColorIndex(model_widget, value);
+    }
+
+    /** @param widget LED
+     *  @param value Current value
+     *  @return 0 for off, 1 for on
+     */
+    static int computeColorIndex(final LEDWidget widget, final VType value)
     {
         if ((value instanceof VEnum)  &&
-            model_widget.propLabelsFromPV().getValue())
+            widget.propLabelsFromPV().getValue())
         {
             final List<String> labels = ((VEnum) value).getLabels();
             if (labels.size() == 2)
             {
-                model_widget.propOffLabel().setValue(labels.get(0));
-                model_widget.propOnLabel().setValue(labels.get(1));
+                widget.propOffLabel().setValue(labels.get(0));
+                widget.propOnLabel().setValue(labels.get(1));
             }
         }
 
         int number = VTypeUtil.getValueNumber(value).intValue();
-        final int bit = model_widget.propBit().getValue();
+        final int bit = widget.propBit().getValue();
         if (bit >= 0)
             number &= (1 << bit);
         return number == 0 ? 0 : 1;
@@ -78,9 +95,18 @@ public class LEDRepresentation extends BaseLEDRepresentation<LEDWidget>
 
     @Override
     protected String computeLabel(final int color_index)
+    {
+        return computeLabel(model_widget, color_index);
+    }
+
+    /** @param widget LED
+     *  @param color_index 0 for off, 1 for on
+     *  @return Label
+     */
+    static String computeLabel(final LEDWidget widget, final int color_index)
     {
         if (color_index == 1)
-            return model_widget.propOnLabel().getValue();
-        return model_widget.propOffLabel().getValue();
+            return widget.propOnLabel().getValue();
+        return widget.propOffLabel().getValue();
     }
 }
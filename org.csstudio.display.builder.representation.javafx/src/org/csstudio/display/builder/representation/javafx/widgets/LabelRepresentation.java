@@ -16,12 +16,8 @@ import org.csstudio.display.builder.representation.javafx.JFXUtil;
 import org.csstudio.javafx.TextUtils;
 
 import javafx.geometry.Dimension2D;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.paint.Color;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Rotate;
@@ -156,7 +152,7 @@ public class LabelRepresentation extends RegionBaseRepresentation<Label, LabelWi
             else
             {   // Fill background
                 color = JFXUtil.convert(model_widget.propBackgroundColor().getValue());
-                jfx_node.setBackground(new Background(new BackgroundFill(color, CornerRadii.EMPTY, Insets.EMPTY)));
+                jfx_node.setBackground(JFXUtil.getBackground(color));
             }
             jfx_node.setFont(JFXUtil.convert(model_widget.propFont().getValue()));
         }
@@ -66,20 +66,37 @@ public class MultiStateLEDRepresentation extends BaseLEDRepresentation<MultiStat
     @Override
     protected Color[] createColors()
     {
-        final List<StateWidgetProperty> states = model_widget.propStates().getValue();
+        return createColors(model_widget);
+    }
+
+    /** @param widget Multi-state LED
+     *  @return Colors for each state, followed by fallback color
+     */
+    static Color[] createColors(final MultiStateLEDWidget widget)
+    {
+        final List<StateWidgetProperty> states = widget.propStates().getValue();
         final int N = states.size();
         final Color[] colors = new Color[N+1];
         for (int i=0; i<N; ++i)
             colors[i] = JFXUtil.convert(states.get(i).color().getValue());
-        colors[N] = JFXUtil.convert(model_widget.propFallbackColor().getValue());
+        colors[N] = JFXUtil.convert(widget.propFallbackColor().getValue());
         return colors;
     }
 
     @Override
     protected int computeColorIndex(final VType value)
+    {
+        return computeColorIndex(model_widget, value);
+    }
+
+    /** @param widget Multi-state LED
+     *  @param value Current value
+     *  @return Index of matching state or fallback
+     */
+    static int computeColorIndex(final MultiStateLEDWidget widget, final VType value)
     {
         final int number = VTypeUtil.getValueNumber(value).intValue();
-        final List<StateWidgetProperty> states = model_widget.propStates().getValue();
+        final List<StateWidgetProperty> states = widget.propStates().getValue();
         final int N = states.size();
         for (int i=0; i<N; ++i)
             if (number == states.get(i).state().getValue())
@@ -91,10 +108,19 @@ public class MultiStateLEDRepresentation extends BaseLEDRepresentation<MultiStat
     @Override
     protected String computeLabel(final int color_index)
     {
-        final List<StateWidgetProperty> states = model_widget.propStates().getValue();
+        return computeLabel(model_widget, color_index);
+    }
+
+    /** @param widget Multi-state LED
+     *  @param color_index Index of state or fallback
+     *  @return Label
+     */
+    static String computeLabel(final MultiStateLEDWidget widget, final int color_index)
+    {
+        final List<StateWidgetProperty> states = widget.propStates().getValue();
         final int N = states.size();
         if (color_index >= 0  &&  color_index < N)
             return states.get(color_index).label().getValue();
-        return model_widget.propFallbackLabel().getValue();
+        return widget.propFallbackLabel().getValue();
     }
 }
@@ -28,11 +28,7 @@ import org.csstudio.display.builder.model.widgets.NavigationTabsWidget.TabProper
 import org.csstudio.display.builder.representation.EmbeddedDisplayRepresentationUtil.DisplayAndGroup;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
 
-import javafx.geometry.Insets;
 import javafx.scene.Parent;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 
 /** Creates JavaFX item for model widget
@@ -240,7 +236,7 @@ public class NavigationTabsRepresentation extends RegionBaseRepresentation<Navig
         {
             toolkit.representModel(body, content_model);
             // Set 'body' of navtabs to color of the embedded model
-            body.setBackground(new Background(new BackgroundFill(JFXUtil.convert(content_model.propBackgroundColor().getValue()), CornerRadii.EMPTY, Insets.EMPTY)));
+            body.setBackground(JFXUtil.getBackground(content_model.propBackgroundColor().getValue()));
         }
         catch (final Exception ex)
         {
@@ -16,6 +16,8 @@ import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -88,6 +90,15 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
     /** Common border for each {@link AlarmSeverity} when not using custom radii */
     private static final Border[] alarm_borders = new Border[AlarmSeverity.values().length];
 
+    /** Maximum number of custom corner radii for which borders are kept */
+    private static final int MAX_CUSTOM_CORNERS = 100;
+
+    /** Borders for each {@link AlarmSeverity}, shared by widgets that use the same custom radii */
+    private static final Map<CornerRadii, Border[]> custom_alarm_borders = createLRUMap(MAX_CUSTOM_CORNERS);
+
+    /** Corner radii, shared by widgets that use the same horizontal and vertical radius */
+    private static final Map<Long, CornerRadii> corner_radii = createLRUMap(MAX_CUSTOM_CORNERS);
+
     /** Prepare alarm_borders
      *
      *  <p>Alarm borders are distinguished by color as well as style in case of color vision deficiency.
@@ -105,6 +116,7 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
 
         for (AlarmSeverity severity : AlarmSeverity.values())
             alarm_borders[severity.ordinal()] = createAlarmBorder(severity, CornerRadii.EMPTY);
+        custom_alarm_borders.put(CornerRadii.EMPTY, alarm_borders);
     }
 
     private final DirtyFlag dirty_border = new DirtyFlag();
@@ -119,6 +131,23 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
     private volatile Border alarm_border = null, custom_border = null;
 
 
+    /** @param max Maximum number of entries
+     *  @return Synchronized map that drops the least recently used entry when full
+     */
+    private static <K, V> Map<K, V> createLRUMap(final int max)
+    {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest)
+            {
+                return size() > max;
+            }
+        });
+    }
+
     /** Create alarm-based border
      *  @param severity AlarmSeverity
      *  @param corners CornerRadii
@@ -148,6 +177,23 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
         }
     }
 
+    /** Get alarm-based border
+     *  @param severity AlarmSeverity
+     *  @param corners CornerRadii
+     *  @return Border, shared by all widgets with same severity and corners
+     */
+    private static Border getAlarmBorder(final AlarmSeverity severity, final CornerRadii corners)
+    {
+        final Border[] borders = custom_alarm_borders.computeIfAbsent(corners, c ->
+        {
+            final Border[] result = new Border[AlarmSeverity.values().length];
+            for (AlarmSeverity s : AlarmSeverity.values())
+                result[s.ordinal()] = createAlarmBorder(s, c);
+            return result;
+        });
+        return borders[severity.ordinal()];
+    }
+
     @Override
     protected void registerListeners()
     {
@@ -215,9 +261,14 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
     {
         if (event.getButton() != MouseButton.MIDDLE)
             return;
+        copyPVName(((PVWidget)model_widget).propPVName().getValue());
+    }
 
-        final String pv_name = ((PVWidget)model_widget).propPVName().getValue();
-
+    /** Copy PV name to clipboard
+     *  @param pv_name PV name
+     */
+    static void copyPVName(final String pv_name)
+    {
         // Copy to copy/paste clipboard
         final ClipboardContent content = new ClipboardContent();
         content.putString(pv_name);
@@ -239,7 +290,7 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
         {
             final Color color = JFXUtil.convert(border_color_prop.getValue());
             final CornerRadii corners = computeCornerRadii();
-            custom_border = new Border(new BorderStroke(color, solid, corners, new BorderWidths(width)));
+            custom_border = JFXUtil.getBorder(color, solid, corners, JFXUtil.getBorderWidths(width), Insets.EMPTY);
         }
         dirty_border.mark();
         toolkit.scheduleUpdate(this);
@@ -281,8 +332,8 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
             // Use common alarm border
             alarm_border = alarm_borders[severity.ordinal()];
         else
-            // Create a custom alarm border
-            alarm_border = createAlarmBorder(severity, corners);
+            // Use alarm border for these custom corners
+            alarm_border = getAlarmBorder(severity, corners);
 
         dirty_border.mark();
         toolkit.scheduleUpdate(this);
@@ -294,6 +345,12 @@ abstract public class RegionBaseRepresentation<JFX extends Region, MW extends Vi
         if (radii == null)
             return CornerRadii.EMPTY;
         final int horiz = radii[0], vert = radii[1];
+        return corner_radii.computeIfAbsent(((long) horiz << 32) | (vert & 0xFFFFFFFFL),
+                                            key -> createCornerRadii(horiz, vert));
+    }
+
+    private static CornerRadii createCornerRadii(final int horiz, final int vert)
+    {
         // There's a bug in CornerRadii:
         // Even though horiz != vert, it considers them all 'uniform'
         // because it _separately_ compares all the horizontal and vertical radii,
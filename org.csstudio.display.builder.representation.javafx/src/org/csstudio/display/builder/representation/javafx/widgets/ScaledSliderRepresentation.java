@@ -25,15 +25,12 @@ import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueUtil;
 
 import javafx.beans.value.ObservableValue;
-import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.control.Slider;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.paint.Color;
@@ -438,7 +435,7 @@ public class ScaledSliderRepresentation extends RegionBaseRepresentation<GridPan
                 background_color = Color.TRANSPARENT;
             else
                 background_color = JFXUtil.convert(model_widget.propBackgroundColor().getValue());
-            final Background background = new Background(new BackgroundFill(background_color, CornerRadii.EMPTY, Insets.EMPTY));
+            final Background background = JFXUtil.getBackground(background_color);
             jfx_node.setBackground(background);
             markers.setBackground(background);
 
@@ -27,7 +27,6 @@ import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.event.Event;
-import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
@@ -35,9 +34,6 @@ import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.util.StringConverter;
@@ -486,7 +482,7 @@ public class SpinnerRepresentation extends RegionBaseRepresentation<Spinner<Stri
             final String color = JFXUtil.webRGB(model_widget.propForegroundColor().getValue());
             jfx_node.editorProperty().getValue().setStyle("-fx-text-fill:" + color);
             final Color background = JFXUtil.convert(model_widget.propBackgroundColor().getValue());
-            jfx_node.editorProperty().getValue().setBackground(new Background(new BackgroundFill(background, CornerRadii.EMPTY, Insets.EMPTY)));
+            jfx_node.editorProperty().getValue().setBackground(JFXUtil.getBackground(background));
             jfx_node.resize(model_widget.propWidth().getValue(), model_widget.propHeight().getValue());
 
             final boolean enabled = model_widget.propEnabled().getValue();
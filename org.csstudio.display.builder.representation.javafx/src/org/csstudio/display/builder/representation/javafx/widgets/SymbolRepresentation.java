@@ -52,7 +52,6 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.geometry.Bounds;
 import javafx.geometry.Dimension2D;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Group;
 import javafx.scene.Node;
@@ -61,9 +60,6 @@ import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.image.WritableImage;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -345,7 +341,7 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
             if ( model_widget.propTransparent().getValue() ) {
                 jfx_node.setBackground(null);
             } else {
-                jfx_node.setBackground(new Background(new BackgroundFill(JFXUtil.convert(model_widget.propBackgroundColor().getValue()), CornerRadii.EMPTY, Insets.EMPTY)));
+                jfx_node.setBackground(JFXUtil.getBackground(model_widget.propBackgroundColor().getValue()));
             }
 
         }
@@ -374,7 +370,7 @@ public class SymbolRepresentation extends RegionBaseRepresentation<StackPane, Sy
         if ( model_widget.propTransparent().getValue() ) {
             symbolPane.setBackground(null);
         } else {
-            symbolPane.setBackground(new Background(new BackgroundFill(JFXUtil.convert(model_widget.propBackgroundColor().getValue()), CornerRadii.EMPTY, Insets.EMPTY)));
+            symbolPane.setBackground(JFXUtil.getBackground(model_widget.propBackgroundColor().getValue()));
         }
 
         enabled = model_widget.propEnabled().getValue();
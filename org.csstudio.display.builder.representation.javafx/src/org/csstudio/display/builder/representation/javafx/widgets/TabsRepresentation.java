@@ -32,7 +32,6 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Font;
 
@@ -274,7 +273,7 @@ public class TabsRepresentation extends JFXBaseRepresentation<TabPane, TabsWidge
         {
             final String style = JFXUtil.shadedStyle(model_widget.propBackgroundColor().getValue());
 
-            final Background background = new Background(new BackgroundFill(JFXUtil.convert(model_widget.propBackgroundColor().getValue()), null, null));
+            final Background background = JFXUtil.getBackground(model_widget.propBackgroundColor().getValue());
 
             for (Tab tab : jfx_node.getTabs())
             {   // Set the font of the 'graphic' that's used to represent the tab
@@ -34,11 +34,7 @@ import org.diirt.vtype.VNumberArray;
 import org.diirt.vtype.VString;
 import org.diirt.vtype.VType;
 
-import javafx.geometry.Insets;
 import javafx.scene.control.Label;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
 
@@ -151,7 +147,7 @@ public class TextSymbolRepresentation extends RegionBaseRepresentation<Label, Te
             jfx_node.setAlignment(JFXUtil.computePos(model_widget.propHorizontalAlignment().getValue(), model_widget.propVerticalAlignment().getValue()));
             jfx_node.setBackground(model_widget.propTransparent().getValue()
                 ? null
-                : new Background(new BackgroundFill(JFXUtil.convert(model_widget.propBackgroundColor().getValue()), CornerRadii.EMPTY, Insets.EMPTY))
+                : JFXUtil.getBackground(model_widget.propBackgroundColor().getValue())
             );
             jfx_node.setFont(JFXUtil.convert(model_widget.propFont().getValue()));
             jfx_node.setTextFill(JFXUtil.convert(model_widget.propForegroundColor().getValue()));
@@ -217,7 +213,7 @@ public class TextSymbolRepresentation extends RegionBaseRepresentation<Label, Te
         symbol.setAlignment(JFXUtil.computePos(model_widget.propHorizontalAlignment().getValue(), model_widget.propVerticalAlignment().getValue()));
         symbol.setBackground(model_widget.propTransparent().getValue()
             ? null
-            : new Background(new BackgroundFill(JFXUtil.convert(model_widget.propBackgroundColor().getValue()), CornerRadii.EMPTY, Insets.EMPTY))
+            : JFXUtil.getBackground(model_widget.propBackgroundColor().getValue())
         );
         symbol.setFont(JFXUtil.convert(model_widget.propFont().getValue()));
         symbol.setTextFill(JFXUtil.convert(model_widget.propForegroundColor().getValue()));
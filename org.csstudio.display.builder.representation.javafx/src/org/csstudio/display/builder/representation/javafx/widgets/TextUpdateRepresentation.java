@@ -19,14 +19,10 @@ import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
 import org.csstudio.display.builder.representation.javafx.JFXUtil;
 import org.diirt.vtype.VType;
 
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Control;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.paint.Color;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
@@ -149,15 +145,24 @@ public class TextUpdateRepresentation extends RegionBaseRepresentation<Control,
      *  @return Text to show, "<pv name>" if disconnected (no value)
      */
     private String computeText(final VType value)
+    {
+        return computeText(model_widget, value);
+    }
+
+    /** @param widget Text update
+     *  @param value Current value of PV
+     *  @return Text to show, "<pv name>" if disconnected (no value)
+     */
+    static String computeText(final TextUpdateWidget widget, final VType value)
     {
         if (value == null)
-            return "<" + model_widget.propPVName().getValue() + ">";
+            return "<" + widget.propPVName().getValue() + ">";
         if (value == PVWidget.RUNTIME_VALUE_NO_PV)
             return "";
         return FormatOptionHandler.format(value,
-                                          model_widget.propFormat().getValue(),
-                                          model_widget.propPrecision().getValue(),
-                                          model_widget.propShowUnits().getValue());
+                                          widget.propFormat().getValue(),
+                                          widget.propPrecision().getValue(),
+                                          widget.propShowUnits().getValue());
     }
 
     private void pvnameChanged(final WidgetProperty<String> property, final String old_value, final String new_value)
@@ -225,7 +230,7 @@ public class TextUpdateRepresentation extends RegionBaseRepresentation<Control,
             else
             {
                 final Color color = JFXUtil.convert(model_widget.propBackgroundColor().getValue());
-                jfx_node.setBackground(new Background(new BackgroundFill(color, CornerRadii.EMPTY, Insets.EMPTY)));
+                jfx_node.setBackground(JFXUtil.getBackground(color));
             }
             if (jfx_node instanceof Label)
             {
@@ -70,61 +70,14 @@ public class TooltipSupport
      */
     public static void attach(final Node node, final WidgetProperty<String> tooltip_property, final Supplier<String> pv_value)
     {
-        if (disable_tooltips)
-            return;
-
-        // Patch legacy tool tips that defaulted to pv name & value,
-        // even for static widgets
-        final StringWidgetProperty ttp = (StringWidgetProperty)tooltip_property;
-        if (legacy_tooltip.matcher(ttp.getSpecification()).matches()  &&
-            ! tooltip_property.getWidget().checkProperty("pv_name").isPresent())
-            ttp.setSpecification("");
-
-        // Suppress tool tip if _initial_ text is empty.
-        // In case a script changes the tool tip at runtime,
-        // tool tip must have some initial non-empty value.
-        // This was done for optimization:
-        // Avoid listener and code to remove/add tooltip at runtime.
-        if (tooltip_property.getValue().isEmpty())
+        if (! hasTooltip(tooltip_property))
             return;
 
         final Tooltip tooltip = new Tooltip();
         tooltip.setWrapText(true);
         // Evaluate the macros in tool tip specification each time
         // the tool tip is about to show
-        tooltip.setOnShowing(event ->
-        {
-            String spec = ((MacroizedWidgetProperty<?>)tooltip_property).getSpecification();
-
-            // Use custom supplier for $(pv_value)?
-            // Otherwise replace like other macros, i.e. use toString of the property
-            if (pv_value != null)
-            {
-                final StringBuilder buf = new StringBuilder();
-                buf.append(pv_value.get());
-                final Object vtype = tooltip_property.getWidget().getPropertyValue(runtimePropPVValue);
-                final Alarm alarm = ValueUtil.alarmOf(vtype);
-                if (alarm != null  &&  alarm.getAlarmSeverity() != AlarmSeverity.NONE)
-                    buf.append(", ").append(alarm.getAlarmSeverity()).append(" - ").append(alarm.getAlarmName());
-                final Time time = ValueUtil.timeOf(vtype);
-                if (time != null)
-                    buf.append(", ").append(TimestampFormats.FULL_FORMAT.format(time.getTimestamp()));
-                spec = spec.replace("$(pv_value)", buf.toString());
-            }
-            final Widget widget = tooltip_property.getWidget();
-            final MacroValueProvider macros = widget.getMacrosOrProperties();
-            String expanded;
-            try
-            {
-                expanded = MacroHandler.replace(macros, spec);
-                tooltip.setText(expanded);
-            }
-            catch (Exception ex)
-            {
-                logger.log(Level.WARNING, "Cannot evaluate tooltip of " + widget, ex);
-                tooltip.setText(spec);
-            }
-        });
+        tooltip.setOnShowing(event -> tooltip.setText(expand(tooltip_property, pv_value)));
 
         Tooltip.install(node, tooltip);
 
@@ -142,6 +95,70 @@ public class TooltipSupport
         }
     }
 
+    /** Check if widget should have a tool tip
+     *
+     *  <p>Patches legacy tool tips as a side effect.
+     *
+     *  @param tooltip_property Tool tip of the widget
+     *  @return <code>true</code> if tool tip should be shown
+     */
+    static boolean hasTooltip(final WidgetProperty<String> tooltip_property)
+    {
+        if (disable_tooltips)
+            return false;
+
+        // Patch legacy tool tips that defaulted to pv name & value,
+        // even for static widgets
+        final StringWidgetProperty ttp = (StringWidgetProperty)tooltip_property;
+        if (legacy_tooltip.matcher(ttp.getSpecification()).matches()  &&
+            ! tooltip_property.getWidget().checkProperty("pv_name").isPresent())
+            ttp.setSpecification("");
+
+        // Suppress tool tip if _initial_ text is empty.
+        // In case a script changes the tool tip at runtime,
+        // tool tip must have some initial non-empty value.
+        // This was done for optimization:
+        // Avoid listener and code to remove/add tooltip at runtime.
+        return ! tooltip_property.getValue().isEmpty();
+    }
+
+    /** Evaluate the macros in tool tip specification
+     *  @param tooltip_property Tool tip of the widget
+     *  @param pv_value Supplier of formatted "$(pv_value)". <code>null</code> to use toString of the property.
+     *  @return Text to show in tool tip
+     */
+    static String expand(final WidgetProperty<String> tooltip_property, final Supplier<String> pv_value)
+    {
+        String spec = ((MacroizedWidgetProperty<?>)tooltip_property).getSpecification();
+
+        // Use custom supplier for $(pv_value)?
+        // Otherwise replace like other macros, i.e. use toString of the property
+        if (pv_value != null)
+        {
+            final StringBuilder buf = new StringBuilder();
+            buf.append(pv_value.get());
+            final Object vtype = tooltip_property.getWidget().getPropertyValue(runtimePropPVValue);
+            final Alarm alarm = ValueUtil.alarmOf(vtype);
+            if (alarm != null  &&  alarm.getAlarmSeverity() != AlarmSeverity.NONE)
+                buf.append(", ").append(alarm.getAlarmSeverity()).append(" - ").append(alarm.getAlarmName());
+            final Time time = ValueUtil.timeOf(vtype);
+            if (time != null)
+                buf.append(", ").append(TimestampFormats.FULL_FORMAT.format(time.getTimestamp()));
+            spec = spec.replace("$(pv_value)", buf.toString());
+        }
+        final Widget widget = tooltip_property.getWidget();
+        final MacroValueProvider macros = widget.getMacrosOrProperties();
+        try
+        {
+            return MacroHandler.replace(macros, spec);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot evaluate tooltip of " + widget, ex);
+            return spec;
+        }
+    }
+
     /** Detach tool tip.
      *  @param node Node that should have the tool tip removed.
      */
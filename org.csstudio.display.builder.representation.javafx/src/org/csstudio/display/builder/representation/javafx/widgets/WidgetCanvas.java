@@ -0,0 +1,440 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.javafx.widgets;
+
+import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.model.widgets.PVWidget;
+import org.csstudio.display.builder.representation.ToolkitRepresentation;
+import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.util.Duration;
+
+/** Canvas shared by the {@link CanvasRepresentation}s within one parent
+ *
+ *  <p>Instead of adding nodes to the scene graph, the widgets
+ *  paint into one canvas per parent (display or group).
+ *  Changed widgets mark their region as dirty,
+ *  and only the dirty regions are cleared and repainted
+ *  in one combined update.
+ *
+ *  <p>The canvas itself ignores the mouse.
+ *  Mouse events on the parent are checked against a {@link CanvasItemIndex}
+ *  to handle tool tips, context menu and clicks for the widgets.
+ *
+ *  <p>The canvas is placed among the nodes of the parent
+ *  where the first canvas-based widget is located.
+ *  All canvas-based widgets of the parent are thus drawn
+ *  on the same level relative to other widgets.
+ *
+ *  <p>The canvas only covers the part of the widgets
+ *  that is visible in the window, so its size stays within
+ *  the texture size supported by JavaFX even for large displays.
+ *  It moves and repaints when the parent is scrolled, zoomed or resized.
+ *
+ *  <p>Only accessed on the UI thread.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class WidgetCanvas
+{
+    /** Key for parent's properties that holds the {@link WidgetCanvas} */
+    private static final String CANVAS_KEY = "widget_canvas";
+
+    /** When more regions are dirty, they're combined into one */
+    private static final int MAX_DIRTY_REGIONS = 32;
+
+
+    private final Parent parent;
+    private final ToolkitRepresentation<Parent, Node> toolkit;
+    private final Canvas canvas = new Canvas();
+    private final CanvasItemIndex<CanvasRepresentation<?>> index =
+        new CanvasItemIndex<>(CanvasRepresentation.Z_ORDER, CanvasRepresentation::isHit);
+    private final List<Rectangle2D> dirty = new ArrayList<>();
+
+    /** Bounds of all items, allowing for borders of widgets at 0, 0.
+     *  Grows for widgets with wider borders or beyond the current bounds.
+     */
+    private double min_x = -CanvasRepresentation.BORDER_MARGIN, min_y = -CanvasRepresentation.BORDER_MARGIN,
+                   max_x = 0, max_y = 0;
+
+    /** Area of the parent covered by the canvas: Bounds of all items within the visible part of the parent */
+    private Rectangle2D area = Rectangle2D.EMPTY;
+
+    private boolean repaint_pending = false, viewport_pending = false;
+
+    private final InvalidationListener viewport_changed = o -> viewportChanged();
+    private final ChangeListener<Scene> scene_changed = (prop, old, scene) -> sceneChanged(old, scene);
+
+    private final EventHandler<MouseEvent> mouse_moved = this::mouseMoved;
+    private final EventHandler<MouseEvent> mouse_exited = this::mouseExited;
+    private final EventHandler<MouseEvent> mouse_pressed = this::mousePressed;
+    private final EventHandler<ContextMenuEvent> context_menu = this::contextMenu;
+
+    /** Item under the mouse */
+    private CanvasRepresentation<?> hovered = null;
+    private final Tooltip tooltip = new Tooltip();
+    private final PauseTransition tooltip_delay = new PauseTransition(Duration.millis(250));
+    private double tooltip_x, tooltip_y;
+
+    /** Get canvas for parent, creating it if necessary
+     *  @param parent Parent
+     *  @param toolkit Toolkit
+     *  @param index Index within parent where canvas is placed when created
+     *  @return {@link WidgetCanvas}
+     */
+    static WidgetCanvas get(final Parent parent, final ToolkitRepresentation<Parent, Node> toolkit, final int index)
+    {
+        WidgetCanvas canvas = (WidgetCanvas) parent.getProperties().get(CANVAS_KEY);
+        if (canvas == null)
+        {
+            canvas = new WidgetCanvas(parent, toolkit, index);
+            parent.getProperties().put(CANVAS_KEY, canvas);
+        }
+        return canvas;
+    }
+
+    /** @param parent Parent
+     *  @return Does parent hold a {@link WidgetCanvas}?
+     */
+    static boolean isPresent(final Parent parent)
+    {
+        return parent.getProperties().containsKey(CANVAS_KEY);
+    }
+
+    private WidgetCanvas(final Parent parent, final ToolkitRepresentation<Parent, Node> toolkit, final int index)
+    {
+        this.parent = parent;
+        this.toolkit = toolkit;
+        canvas.setManaged(false);
+        canvas.setMouseTransparent(true);
+
+        final ObservableList<Node> children = JFXRepresentation.getChildren(parent);
+        if (index >= 0  &&  index <= children.size())
+            children.add(index, canvas);
+        else
+            children.add(canvas);
+
+        parent.addEventFilter(MouseEvent.MOUSE_MOVED, mouse_moved);
+        parent.addEventFilter(MouseEvent.MOUSE_EXITED_TARGET, mouse_exited);
+        parent.addEventFilter(MouseEvent.MOUSE_PRESSED, mouse_pressed);
+        parent.addEventFilter(ContextMenuEvent.CONTEXT_MENU_REQUESTED, context_menu);
+
+        parent.localToSceneTransformProperty().addListener(viewport_changed);
+        parent.sceneProperty().addListener(scene_changed);
+        sceneChanged(null, parent.getScene());
+
+        tooltip.setWrapText(true);
+        tooltip_delay.setOnFinished(event -> showTooltip());
+    }
+
+    /** @param item Item to add or move
+     *  @param region Region that the item paints, in parent coordinates
+     */
+    void update(final CanvasRepresentation<?> item, final Rectangle2D region)
+    {
+        final Rectangle2D old = index.getBounds(item);
+        if (old != null)
+            addDirty(old);
+        index.update(item, region);
+
+        // Grow bounds to include the item
+        if (region.getMinX() < min_x  ||  region.getMinY() < min_y  ||
+            region.getMaxX() > max_x  ||  region.getMaxY() > max_y)
+        {
+            min_x = Math.min(min_x, region.getMinX());
+            min_y = Math.min(min_y, region.getMinY());
+            max_x = Math.max(max_x, region.getMaxX());
+            max_y = Math.max(max_y, region.getMaxY());
+            updateArea();
+        }
+        addDirty(region);
+    }
+
+    /** @return Part of the parent that's visible in the window, in parent coordinates */
+    private Rectangle2D getVisibleArea()
+    {
+        final Scene scene = parent.getScene();
+        if (scene == null)
+            return Rectangle2D.EMPTY;
+        try
+        {
+            // Reading the transform (instead of calling parent.sceneToLocal)
+            // re-validates it, so viewport_changed is notified of the next change
+            final Bounds visible = parent.getLocalToSceneTransform().inverseTransform(
+                    new BoundingBox(0, 0, scene.getWidth(), scene.getHeight()));
+            return new Rectangle2D(visible.getMinX(), visible.getMinY(), visible.getWidth(), visible.getHeight());
+        }
+        catch (Exception ex)
+        {   // Transform not invertible, parent scaled to nothing
+            return Rectangle2D.EMPTY;
+        }
+    }
+
+    /** Move and resize canvas to cover the visible part of the items' bounds */
+    private void updateArea()
+    {
+        final Rectangle2D visible = getVisibleArea();
+        // Align to pixels
+        final double x0 = Math.floor(Math.max(min_x, visible.getMinX())),
+                     y0 = Math.floor(Math.max(min_y, visible.getMinY())),
+                     x1 = Math.ceil(Math.min(max_x, visible.getMaxX())),
+                     y1 = Math.ceil(Math.min(max_y, visible.getMaxY()));
+        final Rectangle2D new_area = (x1 > x0  &&  y1 > y0)
+                                   ? new Rectangle2D(x0, y0, x1-x0, y1-y0)
+                                   : Rectangle2D.EMPTY;
+        if (new_area.equals(area))
+            return;
+        area = new_area;
+        canvas.relocate(area.getMinX(), area.getMinY());
+        canvas.setWidth(area.getWidth());
+        canvas.setHeight(area.getHeight());
+        logger.log(Level.FINE, () -> "Canvas for " + index.size() + " widgets covers " + area);
+        // Canvas content moved or was cleared by resize
+        dirty.clear();
+        if (! area.equals(Rectangle2D.EMPTY))
+            addDirty(area);
+    }
+
+    /** Update canvas area once all currently pending scroll, zoom or resize events are handled */
+    private void viewportChanged()
+    {
+        if (viewport_pending)
+            return;
+        viewport_pending = true;
+        Platform.runLater(() ->
+        {
+            viewport_pending = false;
+            // Canvas may have been removed in the meantime
+            if (parent.getProperties().get(CANVAS_KEY) == this)
+                updateArea();
+        });
+    }
+
+    /** @param old Previous scene of the parent, or <code>null</code>
+     *  @param scene Current scene of the parent, or <code>null</code>
+     */
+    private void sceneChanged(final Scene old, final Scene scene)
+    {
+        if (old != null)
+        {
+            old.widthProperty().removeListener(viewport_changed);
+            old.heightProperty().removeListener(viewport_changed);
+        }
+        if (scene != null)
+        {
+            scene.widthProperty().addListener(viewport_changed);
+            scene.heightProperty().addListener(viewport_changed);
+        }
+        viewportChanged();
+    }
+
+    /** @param item Item that needs to be repainted */
+    void invalidate(final CanvasRepresentation<?> item)
+    {
+        final Rectangle2D region = index.getBounds(item);
+        if (region != null)
+            addDirty(region);
+    }
+
+    /** @param item Item to remove */
+    void remove(final CanvasRepresentation<?> item)
+    {
+        final Rectangle2D region = index.getBounds(item);
+        index.remove(item);
+        if (item == hovered)
+            hideTooltip();
+        if (index.size() > 0)
+        {
+            if (region != null)
+                addDirty(region);
+            return;
+        }
+        // Last item is gone, remove canvas
+        parent.removeEventFilter(MouseEvent.MOUSE_MOVED, mouse_moved);
+        parent.removeEventFilter(MouseEvent.MOUSE_EXITED_TARGET, mouse_exited);
+        parent.removeEventFilter(MouseEvent.MOUSE_PRESSED, mouse_pressed);
+        parent.removeEventFilter(ContextMenuEvent.CONTEXT_MENU_REQUESTED, context_menu);
+        parent.localToSceneTransformProperty().removeListener(viewport_changed);
+        parent.sceneProperty().removeListener(scene_changed);
+        sceneChanged(parent.getScene(), null);
+        JFXRepresentation.getChildren(parent).remove(canvas);
+        parent.getProperties().remove(CANVAS_KEY);
+        dirty.clear();
+    }
+
+    private void addDirty(final Rectangle2D region)
+    {
+        dirty.add(region);
+        if (dirty.size() > MAX_DIRTY_REGIONS)
+        {
+            double x0 = Double.MAX_VALUE, y0 = Double.MAX_VALUE, x1 = -Double.MAX_VALUE, y1 = -Double.MAX_VALUE;
+            for (Rectangle2D r : dirty)
+            {
+                x0 = Math.min(x0, r.getMinX());
+                y0 = Math.min(y0, r.getMinY());
+                x1 = Math.max(x1, r.getMaxX());
+                y1 = Math.max(y1, r.getMaxY());
+            }
+            dirty.clear();
+            dirty.add(new Rectangle2D(x0, y0, x1-x0, y1-y0));
+        }
+        // Repaint once all the currently pending widget updates are handled
+        if (! repaint_pending)
+        {
+            repaint_pending = true;
+            toolkit.execute(this::repaint);
+        }
+    }
+
+    /** Clear and repaint the dirty regions */
+    private void repaint()
+    {
+        repaint_pending = false;
+        if (dirty.isEmpty())
+            return;
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (Rectangle2D region : dirty)
+        {
+            // Align to pixels, skip what's outside of the canvas
+            final double x0 = Math.max(Math.floor(region.getMinX()), area.getMinX()),
+                         y0 = Math.max(Math.floor(region.getMinY()), area.getMinY()),
+                         x1 = Math.min(Math.ceil(region.getMaxX()), area.getMaxX()),
+                         y1 = Math.min(Math.ceil(region.getMaxY()), area.getMaxY());
+            if (x1 <= x0  ||  y1 <= y0)
+                continue;
+            final Rectangle2D clip = new Rectangle2D(x0, y0, x1-x0, y1-y0);
+            gc.save();
+            gc.translate(-area.getMinX(), -area.getMinY());
+            gc.beginPath();
+            gc.rect(x0, y0, x1-x0, y1-y0);
+            gc.clip();
+            gc.clearRect(x0, y0, x1-x0, y1-y0);
+            for (CanvasRepresentation<?> item : index.getItems(clip))
+            {
+                gc.save();
+                try
+                {
+                    final Rectangle2D bounds = index.getBounds(item);
+                    gc.translate(bounds.getMinX() + item.getMargin(),
+                                 bounds.getMinY() + item.getMargin());
+                    item.paint(gc);
+                }
+                catch (Throwable ex)
+                {
+                    logger.log(Level.WARNING, "Cannot paint " + item.getWidget(), ex);
+                }
+                gc.restore();
+            }
+            gc.restore();
+        }
+        dirty.clear();
+    }
+
+    /** @param pick Pick result of mouse event on parent
+     *  @param x Horizontal position within parent
+     *  @param y Vertical position within parent
+     *  @return Item that should handle the event, or <code>null</code>
+     */
+    private CanvasRepresentation<?> getItem(final PickResult pick, final double x, final double y)
+    {
+        // Node-based widgets above the canvas take precedence
+        Node node = pick == null ? null : pick.getIntersectedNode();
+        while (node != null  &&  node != parent  &&  node.getParent() != parent)
+            node = node.getParent();
+        if (node != null  &&  node != parent)
+        {
+            final ObservableList<Node> children = JFXRepresentation.getChildren(parent);
+            if (children.indexOf(node) > children.indexOf(canvas))
+                return null;
+        }
+        return index.getItemAt(x, y);
+    }
+
+    private void mouseMoved(final MouseEvent event)
+    {
+        final CanvasRepresentation<?> item = getItem(event.getPickResult(), event.getX(), event.getY());
+        tooltip_x = event.getScreenX();
+        tooltip_y = event.getScreenY();
+        if (item == hovered)
+            return;
+        hideTooltip();
+        hovered = item;
+        if (item != null  &&  item.hasTooltip())
+            tooltip_delay.playFromStart();
+    }
+
+    private void mouseExited(final MouseEvent event)
+    {
+        if (event.getTarget() == parent)
+            hideTooltip();
+    }
+
+    private void showTooltip()
+    {
+        final CanvasRepresentation<?> item = hovered;
+        if (item == null  ||  canvas.getScene() == null)
+            return;
+        tooltip.setText(item.getTooltip());
+        tooltip.show(canvas, tooltip_x + 10, tooltip_y + 10);
+    }
+
+    private void hideTooltip()
+    {
+        hovered = null;
+        tooltip_delay.stop();
+        tooltip.hide();
+    }
+
+    private void mousePressed(final MouseEvent event)
+    {
+        final CanvasRepresentation<?> item = getItem(event.getPickResult(), event.getX(), event.getY());
+        if (item == null)
+            return;
+        // Widget drawn in canvas is on top of nodes below the canvas
+        event.consume();
+        hideTooltip();
+        toolkit.fireClick(item.getWidget(), event.isShortcutDown());
+        if (event.getButton() == MouseButton.MIDDLE  &&  item.getWidget() instanceof PVWidget)
+            RegionBaseRepresentation.copyPVName(((PVWidget) item.getWidget()).propPVName().getValue());
+    }
+
+    private void contextMenu(final ContextMenuEvent event)
+    {
+        final CanvasRepresentation<?> item = getItem(event.getPickResult(), event.getX(), event.getY());
+        if (item == null)
+            return;
+        event.consume();
+        hideTooltip();
+        toolkit.fireContextMenu(item.getWidget());
+    }
+}
@@ -38,6 +38,7 @@ import org.csstudio.javafx.rtplot.NamedColorMappings;
 import org.csstudio.javafx.rtplot.RTImagePlot;
 import org.csstudio.javafx.rtplot.RTImagePlotListener;
 import org.csstudio.javafx.rtplot.RegionOfInterest;
+import org.csstudio.javafx.rtplot.RegionStatistics;
 import org.diirt.util.array.ArrayDouble;
 import org.diirt.util.array.ArrayInt;
 import org.diirt.vtype.VImage;
@@ -69,6 +70,7 @@ public class ImageRepresentation extends RegionBaseRepresentation<Pane, ImageWid
     private final UntypedWidgetPropertyListener rangeChangedListener = this::rangeChanged;
     private final WidgetPropertyListener<Double[]> crosshairChangedListener = this::crosshairChanged;
     private final WidgetPropertyListener<Instant> runtimeConfigChangedListener = (p, o, n) -> image_plot.showConfigurationDialog();
+    private final WidgetPropertyListener<List<ROIWidgetProperty>> roisChangedListener = this::roisChanged;
 
     private volatile boolean changing_roi = false,
                              changing_range = false,
@@ -77,6 +79,11 @@ public class ImageRepresentation extends RegionBaseRepresentation<Pane, ImageWid
     private final static List<String> cursor_info_names = Arrays.asList("X", "Y", "Value", "xi", "yi");
     private final static List<Class<?>> cursor_info_types = Arrays.asList(Double.TYPE, Double.TYPE, Double.TYPE, Integer.TYPE, Integer.TYPE);
 
+    private final static List<String> statistics_names = Arrays.asList("Count", "Sum", "Mean", "Min", "Max",
+                                                                       "Centroid X", "Centroid Y", "RMS Width X", "RMS Width Y");
+    private final static List<Class<?>> statistics_types = Arrays.asList(Integer.TYPE, Double.TYPE, Double.TYPE, Double.TYPE, Double.TYPE,
+                                                                         Double.TYPE, Double.TYPE, Double.TYPE, Double.TYPE);
+
     private final RTImagePlotListener plot_listener = new RTImagePlotListener()
     {
         @Override
@@ -110,6 +117,50 @@ public class ImageRepresentation extends RegionBaseRepresentation<Pane, ImageWid
             changing_roi =  false;
         }
 
+        @Override
+        public void changedROIStatistics(final int index, final String name, final RegionStatistics statistics)
+        {
+            final List<ROIWidgetProperty> rois = model_widget.propROIs().getValue();
+            if (index >= rois.size())
+                return;
+            final ROIWidgetProperty widget_roi = rois.get(index);
+            if (statistics == null)
+            {   // Region outside of image
+                widget_roi.statistics().setValue(
+                    ValueFactory.newVTable(statistics_types, statistics_names,
+                                           Arrays.asList(new ArrayInt(0), new ArrayDouble(0.0), new ArrayDouble(Double.NaN),
+                                                         new ArrayDouble(Double.NaN), new ArrayDouble(Double.NaN),
+                                                         new ArrayDouble(Double.NaN), new ArrayDouble(Double.NaN),
+                                                         new ArrayDouble(Double.NaN), new ArrayDouble(Double.NaN))));
+                widget_roi.x_profile().setValue(newArray(new double[0]));
+                widget_roi.y_profile().setValue(newArray(new double[0]));
+                widget_roi.histogram().setValue(ValueFactory.newVIntArray(new ArrayInt(), ValueFactory.alarmNone(),
+                                                                          ValueFactory.timeNow(), ValueFactory.displayNone()));
+                return;
+            }
+            widget_roi.statistics().setValue(
+                ValueFactory.newVTable(statistics_types, statistics_names,
+                                       Arrays.asList(new ArrayInt(statistics.getCount()),
+                                                     new ArrayDouble(statistics.getSum()),
+                                                     new ArrayDouble(statistics.getMean()),
+                                                     new ArrayDouble(statistics.getMin()),
+                                                     new ArrayDouble(statistics.getMax()),
+                                                     new ArrayDouble(statistics.getCentroidX()),
+                                                     new ArrayDouble(statistics.getCentroidY()),
+                                                     new ArrayDouble(statistics.getRMSWidthX()),
+                                                     new ArrayDouble(statistics.getRMSWidthY()))));
+            widget_roi.x_profile().setValue(newArray(statistics.getHorizontalProfile()));
+            widget_roi.y_profile().setValue(newArray(statistics.getVerticalProfile()));
+            widget_roi.histogram().setValue(ValueFactory.newVIntArray(new ArrayInt(statistics.getHistogram()), ValueFactory.alarmNone(),
+                                                                      ValueFactory.timeNow(), ValueFactory.displayNone()));
+        }
+
+        private VType newArray(final double[] values)
+        {
+            return ValueFactory.newVDoubleArray(new ArrayDouble(values), ValueFactory.alarmNone(),
+                                                ValueFactory.timeNow(), ValueFactory.displayNone());
+        }
+
         @Override
         public void changedXAxis(double low, double high)
         {
@@ -165,20 +216,41 @@ public class ImageRepresentation extends RegionBaseRepresentation<Pane, ImageWid
 
         if (! toolkit.isEditMode())
         {
-            // Create ROIs once. Not allowing adding/removing ROIs in runtime.
+            // Create ROIs, then track ROIs that are added or removed in runtime
             for (ROIWidgetProperty roi : model_widget.propROIs().getValue())
                 createROI(roi);
+            model_widget.propROIs().addPropertyListener(roisChangedListener);
         }
 
         return new Pane(image_plot);
     }
 
+    /** ROIs are added and removed at the end of the list */
+    private void roisChanged(final WidgetProperty<List<ROIWidgetProperty>> prop,
+                             final List<ROIWidgetProperty> removed, final List<ROIWidgetProperty> added)
+    {
+        final List<ROIWidgetProperty> model_rois = model_widget.propROIs().getValue();
+        while (image_plot.getROIs().size() > model_rois.size())
+            image_plot.removeROI(image_plot.getROIs().size() - 1);
+        for (int i=image_plot.getROIs().size(); i<model_rois.size(); ++i)
+            createROI(model_rois.get(i));
+        image_plot.requestUpdate();
+    }
+
     private void createROI(final ROIWidgetProperty model_roi)
     {
         final RegionOfInterest plot_roi = image_plot.addROI(model_roi.name().getValue(),
                                                             JFXUtil.convert(model_roi.color().getValue()),
                                                             model_roi.visible().getValue(),
                                                             model_roi.interactive().getValue());
+        // Only compute statistics when they are written to PVs
+        final UntypedWidgetPropertyListener statistics_listener = (p, o, n) ->
+            plot_roi.setStatisticsEnabled(model_roi.hasStatisticsPVs());
+        statistics_listener.propertyChanged(null, null, null);
+        model_roi.statistics_pv().addUntypedPropertyListener(statistics_listener);
+        model_roi.x_profile_pv().addUntypedPropertyListener(statistics_listener);
+        model_roi.y_profile_pv().addUntypedPropertyListener(statistics_listener);
+        model_roi.histogram_pv().addUntypedPropertyListener(statistics_listener);
         // Show/hide ROI as roi.visible() changes
         model_roi.visible().addPropertyListener((prop, old, visible) ->
         {
@@ -316,6 +388,7 @@ public class ImageRepresentation extends RegionBaseRepresentation<Pane, ImageWid
         model_widget.runtimePropValue().removePropertyListener(contentChangedListener);
         model_widget.runtimePropCrosshair().removePropertyListener(crosshairChangedListener);
         model_widget.runtimePropConfigure().removePropertyListener(runtimeConfigChangedListener);
+        model_widget.propROIs().removePropertyListener(roisChangedListener);
         super.unregisterListeners();
     }
 
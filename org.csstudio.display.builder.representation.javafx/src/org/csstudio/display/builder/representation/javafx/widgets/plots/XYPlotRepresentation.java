@@ -184,8 +184,9 @@ public class XYPlotRepresentation extends RegionBaseRepresentation<Pane, XYPlotW
         private final UntypedWidgetPropertyListener trace_listener = this::traceChanged,
                                                     value_listener = this::valueChanged;
         private final Trace<Double> trace;
-        // Throttle this trace's x, y, error value changes
-        private final RTPlotUpdateThrottle throttle = new RTPlotUpdateThrottle(Preferences.getPlotUpdateDelayMillisec(), TimeUnit.MILLISECONDS, this::computeTrace);
+        // Throttle this trace's x, y, error value changes.
+        // Not subject to the update budget, the plot's own throttle accounts for drawing the data
+        private final RTPlotUpdateThrottle throttle = new RTPlotUpdateThrottle(Preferences.getPlotUpdateDelayMillisec(), TimeUnit.MILLISECONDS, this::computeTrace, false);
 
         TraceHandler(final TraceWidgetProperty model_trace)
         {
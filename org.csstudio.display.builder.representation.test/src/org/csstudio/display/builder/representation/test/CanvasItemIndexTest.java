@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+import org.csstudio.display.builder.representation.javafx.widgets.CanvasItemIndex;
+import org.junit.Test;
+
+import javafx.geometry.Rectangle2D;
+
+/** JUnit test of the {@link CanvasItemIndex}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class CanvasItemIndexTest
+{
+    /** Item with Z order and bounds */
+    private static class Item
+    {
+        final String name;
+        final int z;
+        Rectangle2D region;
+        boolean transparent = false;
+
+        Item(final String name, final int z, final double x, final double y, final double width, final double height)
+        {
+            this.name = name;
+            this.z = z;
+            region = new Rectangle2D(x, y, width, height);
+        }
+
+        boolean isHit(final double x, final double y)
+        {
+            return !transparent  &&  region.contains(x, y);
+        }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
+
+    private final CanvasItemIndex<Item> index =
+        new CanvasItemIndex<>(Comparator.comparingInt((Item item) -> item.z), Item::isHit);
+
+    private void add(final Item item)
+    {
+        index.update(item, item.region);
+    }
+
+    /** Items are found in the cells that they overlap, sorted by Z order */
+    @Test
+    public void testInsert()
+    {
+        final Item top = new Item("top", 2, 10, 10, 20, 20);
+        final Item bottom = new Item("bottom", 1, 20, 20, 200, 20);
+        final Item far = new Item("far", 0, 1000, 1000, 10, 10);
+        add(top);
+        add(bottom);
+        add(far);
+        assertThat(index.size(), equalTo(3));
+        assertThat(index.getBounds(bottom), equalTo(bottom.region));
+
+        // Sorted from bottom to top, no matter the order in which they were added
+        assertThat(index.getItems(new Rectangle2D(0, 0, 50, 50)), equalTo(Arrays.asList(bottom, top)));
+        // Item that spans several cells is found in each of them, but listed once
+        assertThat(index.getItems(new Rectangle2D(150, 25, 10, 10)), equalTo(Arrays.asList(bottom)));
+        assertThat(index.getItems(new Rectangle2D(0, 0, 300, 50)), equalTo(Arrays.asList(bottom, top)));
+        // Items in the same cell that do not overlap the region are skipped
+        assertThat(index.getItems(new Rectangle2D(0, 0, 5, 5)), equalTo(Collections.emptyList()));
+        assertThat(index.getItems(new Rectangle2D(995, 995, 10, 10)), equalTo(Arrays.asList(far)));
+
+        // Negative coordinates, for example the border of an item at 0, 0
+        final Item border = new Item("border", 3, -6, -6, 12, 12);
+        add(border);
+        assertThat(index.getItems(new Rectangle2D(-10, -10, 5, 5)), equalTo(Arrays.asList(border)));
+    }
+
+    /** Moved items are only found at their new location */
+    @Test
+    public void testMove()
+    {
+        final Item item = new Item("item", 0, 10, 10, 20, 20);
+        add(item);
+        item.region = new Rectangle2D(500, 500, 20, 20);
+        add(item);
+        assertThat(index.size(), equalTo(1));
+        assertThat(index.getItems(new Rectangle2D(0, 0, 100, 100)), equalTo(Collections.emptyList()));
+        assertThat(index.getItems(new Rectangle2D(490, 490, 100, 100)), equalTo(Arrays.asList(item)));
+        assertThat(index.getItemAt(15, 15), nullValue());
+        assertThat(index.getItemAt(505, 505), sameInstance(item));
+    }
+
+    /** Removed items are no longer found */
+    @Test
+    public void testRemove()
+    {
+        final Item a = new Item("a", 0, 10, 10, 100, 100);
+        final Item b = new Item("b", 1, 50, 50, 20, 20);
+        add(a);
+        add(b);
+        index.remove(a);
+        assertThat(index.size(), equalTo(1));
+        assertThat(index.getBounds(a), nullValue());
+        assertThat(index.getItems(new Rectangle2D(0, 0, 200, 200)), equalTo(Arrays.asList(b)));
+        // Removing again is ignored
+        index.remove(a);
+        assertThat(index.size(), equalTo(1));
+        index.remove(b);
+        assertThat(index.size(), equalTo(0));
+        assertThat(index.getItems(new Rectangle2D(0, 0, 200, 200)), equalTo(Collections.emptyList()));
+    }
+
+    /** Hit test finds the topmost item that accepts the mouse */
+    @Test
+    public void testHit()
+    {
+        final Item bottom = new Item("bottom", 0, 0, 0, 100, 100);
+        final Item top = new Item("top", 1, 50, 50, 100, 100);
+        add(top);
+        add(bottom);
+        assertThat(index.getItemAt(10, 10), sameInstance(bottom));
+        assertThat(index.getItemAt(60, 60), sameInstance(top));
+        // Point in another cell than the item's origin
+        assertThat(index.getItemAt(140, 140), sameInstance(top));
+        assertThat(index.getItemAt(300, 300), nullValue());
+
+        // Items that don't accept the mouse pass it to items below
+        top.transparent = true;
+        assertThat(index.getItemAt(60, 60), sameInstance(bottom));
+        assertThat(index.getItemAt(140, 140), nullValue());
+    }
+}
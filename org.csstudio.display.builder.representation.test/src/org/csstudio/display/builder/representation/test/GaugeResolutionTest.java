@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation.test;
+
+import static org.csstudio.display.builder.representation.javafx.widgets.BaseGaugeRepresentation.isUnchangedAtResolution;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.csstudio.display.builder.representation.javafx.widgets.BaseGaugeRepresentation;
+import org.junit.Test;
+
+/** JUnit test of {@link BaseGaugeRepresentation#isUnchangedAtResolution}
+ *  @author Kay Kasemir
+ */
+public class GaugeResolutionTest
+{
+    private static final double[] NONE = new double[0];
+
+    /** Changes below a pixel of the scale are skipped */
+    @Test
+    public void testPixels()
+    {
+        // 100 pixel widget, scale of up to 400 pixels for range 0..100
+        assertTrue(isUnchangedAtResolution(50.0, 50.0, 100.0, 100, -1, NONE));
+        assertTrue(isUnchangedAtResolution(50.0, 50.2, 100.0, 100, -1, NONE));
+        assertFalse(isUnchangedAtResolution(50.0, 50.3, 100.0, 100, -1, NONE));
+        assertFalse(isUnchangedAtResolution(50.0, 49.7, 100.0, 100, -1, NONE));
+        // Larger widget resolves smaller changes
+        assertFalse(isUnchangedAtResolution(50.0, 50.2, 100.0, 1000, -1, NONE));
+        // Without a known size, always update
+        assertFalse(isUnchangedAtResolution(50.0, 50.01, 100.0, 0, -1, NONE));
+    }
+
+    /** Changes in the shown digits are not skipped */
+    @Test
+    public void testDecimals()
+    {
+        assertTrue(isUnchangedAtResolution(50.0, 50.2, 100.0, 100, 0, NONE));
+        assertFalse(isUnchangedAtResolution(50.0, 50.2, 100.0, 100, 1, NONE));
+        assertTrue(isUnchangedAtResolution(50.01, 50.04, 100.0, 100, 1, NONE));
+        assertFalse(isUnchangedAtResolution(50.04, 50.06, 100.0, 100, 1, NONE));
+    }
+
+    /** Crossing a section or threshold changes the color */
+    @Test
+    public void testBoundaries()
+    {
+        final double[] sections = { 80.0, 90.0 };
+        // Within a section
+        assertTrue(isUnchangedAtResolution(85.0, 85.1, 100.0, 100, -1, sections));
+        // Crossing into the section, or out of it
+        assertFalse(isUnchangedAtResolution(79.9, 80.1, 100.0, 100, -1, sections));
+        assertFalse(isUnchangedAtResolution(90.1, 89.9, 100.0, 100, -1, sections));
+        // Reaching the boundary
+        assertFalse(isUnchangedAtResolution(79.9, 80.0, 100.0, 100, -1, sections));
+        assertFalse(isUnchangedAtResolution(80.0, 80.1, 100.0, 100, -1, sections));
+    }
+}
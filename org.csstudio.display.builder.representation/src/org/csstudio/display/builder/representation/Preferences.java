@@ -74,4 +74,13 @@ public class Preferences
         return milli;
     }
 
+    public static boolean isCanvasWidgets()
+    {
+        boolean canvas = false;
+        final IPreferencesService prefs = Platform.getPreferencesService();
+        if (prefs != null)
+            canvas = prefs.getBoolean(ID, "canvas_widgets", canvas, null);
+        return canvas;
+    }
+
 }
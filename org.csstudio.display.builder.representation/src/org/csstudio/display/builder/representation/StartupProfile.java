@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.representation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.DisplayModel;
+
+/** Timing profile for opening a display
+ *
+ *  <p>Loading, representing and starting the runtime of a display
+ *  record how long each phase took.
+ *  The profile is attached to the top-level display model.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class StartupProfile
+{
+    /** Reserved DisplayModel user data key for the {@link StartupProfile} */
+    public static final String USER_DATA_STARTUP_PROFILE = "_startup_profile";
+
+    /** Milliseconds by phase, in the order they were recorded. SYNC on this */
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /** @param model Display model
+     *  @return {@link StartupProfile} of that model, created if necessary
+     */
+    public static StartupProfile forModel(final DisplayModel model)
+    {
+        synchronized (StartupProfile.class)
+        {
+            StartupProfile profile = model.getUserData(USER_DATA_STARTUP_PROFILE);
+            if (profile == null)
+            {
+                profile = new StartupProfile();
+                model.setUserData(USER_DATA_STARTUP_PROFILE, profile);
+            }
+            return profile;
+        }
+    }
+
+    /** Record a phase
+     *  @param phase Name of the phase
+     *  @param start_ns {@link System#nanoTime()} when the phase started
+     */
+    public synchronized void record(final String phase, final long start_ns)
+    {
+        phases.put(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start_ns));
+    }
+
+    /** @return Milliseconds by phase */
+    public synchronized Map<String, Long> getPhases()
+    {
+        return new LinkedHashMap<>(phases);
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        final StringBuilder buf = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phases.entrySet())
+        {
+            if (buf.length() > 0)
+                buf.append(", ");
+            buf.append(phase.getKey()).append(' ').append(phase.getValue()).append(" ms");
+        }
+        return buf.toString();
+    }
+}
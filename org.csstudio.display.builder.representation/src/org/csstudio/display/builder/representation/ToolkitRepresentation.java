@@ -10,6 +10,7 @@ package org.csstudio.display.builder.representation;
 import java.awt.Desktop;
 import java.io.File;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -58,6 +59,17 @@ abstract public class ToolkitRepresentation<TWP extends Object, TW> implements E
 
     private static boolean initialized = false;
 
+    /** Number of widgets represented in one UI task when a runtime opens a display.
+     *  Remaining widgets of a large display are represented by later UI tasks,
+     *  so the first part of the display is shown sooner.
+     *
+     *  <p>Chunks are made of top-level widgets.
+     *  A container is represented with all its children in one UI task,
+     *  so a display that has most widgets inside one group
+     *  is still represented in one pass.
+     */
+    private static final int REPRESENT_CHUNK = 2000;
+
     /** Factories for representations based on widget type.
      *
      *  Holding WidgetRepresentationFactory<TWP, TW>,
@@ -78,18 +90,30 @@ abstract public class ToolkitRepresentation<TWP extends Object, TW> implements E
         // Move to toolkit thread.
         // May already be on toolkit, for example in drag/drop,
         // but updating the representation 'later' may reduce blocking.
-        if (removed != null)
-            for (Widget removed_widget : removed)
-                execute(() -> disposeWidget(removed_widget));
-        if (added != null)
+        // Handle all widgets of one change in one toolkit task,
+        // for example the elements that an array widget adds in bulk.
+        if (removed != null  &&  ! removed.isEmpty())
+            execute(() ->
+            {
+                for (Widget removed_widget : removed)
+                    disposeWidget(removed_widget);
+            });
+        if (added != null  &&  ! added.isEmpty())
+        {
+            final List<TWP> parent_items = new ArrayList<>(added.size());
             for (Widget added_widget : added)
             {
                 final Optional<Widget> parent = added_widget.getParent();
                 if (! parent.isPresent())
                     throw new IllegalStateException("Cannot locate parent widget for " + added_widget);
-                final TWP parent_item = parent.get().getUserData(Widget.USER_DATA_TOOLKIT_PARENT);
-                execute(() -> representWidget(parent_item, added_widget));
+                parent_items.add(parent.get().getUserData(Widget.USER_DATA_TOOLKIT_PARENT));
             }
+            execute(() ->
+            {
+                for (int i=0; i<added.size(); ++i)
+                    representWidget(parent_items.get(i), added.get(i));
+            });
+        }
     };
 
     protected DisplayModel model;
@@ -247,12 +271,71 @@ abstract public class ToolkitRepresentation<TWP extends Object, TW> implements E
 
         // DisplayModel itself is _not_ represented,
         // but all its children, recursively
-        representChildren(parent, model, model.runtimeChildren());
+        final long start = System.nanoTime();
+        if (edit_mode  ||  !model.isTopDisplayModel())
+            representChildren(parent, model, model.runtimeChildren());
+        else
+        {
+            model.setUserData(Widget.USER_DATA_TOOLKIT_PARENT, parent);
+            representChunk(parent, model, new ArrayList<>(model.runtimeChildren().getValue()), 0, start);
+        }
 
         logger.log(Level.FINE, "Tracking changes to children of {0}", model);
         model.runtimeChildren().addPropertyListener(container_children_listener);
     }
 
+    /** Represent the next chunk of a display's widgets
+     *
+     *  <p>Chunks contain complete top-level widgets,
+     *  a large container is not split across chunks.
+     *
+     *  @param parent    Toolkit parent
+     *  @param model     Display model
+     *  @param widgets   Top-level widgets of the model when representation started
+     *  @param index     Index of first widget to represent
+     *  @param start     {@link System#nanoTime()} when representation started
+     */
+    private void representChunk(final TWP parent, final DisplayModel model, final List<Widget> widgets,
+                                final int index, final long start)
+    {
+        // Display may have been closed while chunks were pending
+        if (model.getUserData(DisplayModel.USER_DATA_TOOLKIT) != this)
+            return;
+        int i = index, count = 0;
+        while (i < widgets.size()  &&  count < REPRESENT_CHUNK)
+        {
+            final Widget widget = widgets.get(i++);
+            // Skip widgets that were removed or are already represented
+            if (widget.getParent().orElse(null) != model  ||
+                widget.getUserData(Widget.USER_DATA_REPRESENTATION) != null)
+                continue;
+            representWidget(parent, widget);
+            count += countWidgets(widget);
+        }
+        if (index == 0)
+            StartupProfile.forModel(model).record("represent", start);
+        if (i < widgets.size())
+        {   // Allow UI to show what's represented so far, then continue
+            final int next = i;
+            schedule(() -> representChunk(parent, model, widgets, next, start), 0, TimeUnit.MILLISECONDS);
+        }
+        else if (index > 0)
+            StartupProfile.forModel(model).record("represent all", start);
+    }
+
+    /** @param widget Widget
+     *  @return Number of widgets, including child widgets
+     */
+    private static int countWidgets(final Widget widget)
+    {
+        int count = 1;
+        final ChildrenProperty children = ChildrenProperty.getChildren(widget);
+        if (children != null)
+            for (Widget child : children.getValue())
+                count += countWidgets(child);
+        return count;
+    }
+
     /** Create representation for each child of a ContainerWidget
      *  @param parent    Toolkit parent (Pane, Container, ..)
      *  @param container Widget that contains children (DisplayModel, GroupWidget, ..)
@@ -278,7 +361,7 @@ abstract public class ToolkitRepresentation<TWP extends Object, TW> implements E
     @SuppressWarnings("unchecked")
     public void representWidget(final TWP parent, final Widget widget)
     {
-        WidgetRepresentationFactory<TWP, TW> factory = (WidgetRepresentationFactory<TWP, TW>) factories.get(widget.getType());
+        WidgetRepresentationFactory<TWP, TW> factory = getFactory(widget);
         if (factory == null)
         {
             logger.log(Level.SEVERE, "Lacking representation for " + widget.getType());
@@ -311,6 +394,20 @@ abstract public class ToolkitRepresentation<TWP extends Object, TW> implements E
         }
     }
 
+    /** Get factory for the representation of a widget
+     *
+     *  <p>By default, the factory registered for the widget type is used.
+     *  Derived toolkit may override to select an alternate representation.
+     *
+     *  @param widget Model widget to represent
+     *  @return {@link WidgetRepresentationFactory}, <code>null</code> if none registered
+     */
+    @SuppressWarnings("unchecked")
+    protected WidgetRepresentationFactory<TWP, TW> getFactory(final Widget widget)
+    {
+        return (WidgetRepresentationFactory<TWP, TW>) factories.get(widget.getType());
+    }
+
     /** Remove all the toolkit items of the model
      *  @param model Display model
      *  @return Parent toolkit item (Group, Container, ..) that used to host the model items
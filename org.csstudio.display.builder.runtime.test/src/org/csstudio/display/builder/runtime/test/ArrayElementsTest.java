@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.csstudio.display.builder.model.widgets.PVWidget;
+import org.csstudio.display.builder.runtime.pv.ArrayElementWriter;
+import org.csstudio.display.builder.runtime.pv.ArrayElements;
+import org.csstudio.display.builder.runtime.pv.PVFactory;
+import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.display.builder.runtime.pv.RuntimePVListener;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.util.array.ArrayInt;
+import org.diirt.util.array.ListNumber;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VDouble;
+import org.diirt.vtype.VEnum;
+import org.diirt.vtype.VNumberArray;
+import org.diirt.vtype.VString;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of the {@link ArrayElements} and {@link ArrayElementWriter}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ArrayElementsTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        PVPool.addPVFactory(new LocalPVFactory());
+    }
+
+    @Test
+    public void testGetElement() throws Exception
+    {
+        final VType numbers = ValueFactory.newVDoubleArray(new ArrayDouble(1.0, 2.0, 3.0), ValueFactory.alarmNone(),
+                                                           ValueFactory.timeNow(), ValueFactory.displayNone());
+        VType element = ArrayElements.getElement(numbers, 1);
+        assertThat(element, instanceOf(VDouble.class));
+        assertThat(((VDouble) element).getValue(), equalTo(2.0));
+        assertThat(ArrayElements.getElement(numbers, 3), sameInstance(PVWidget.RUNTIME_VALUE_NO_PV));
+
+        final VType enums = ValueFactory.newVEnumArray(new ArrayInt(0, 1), Arrays.asList("Off", "On"),
+                                                       ValueFactory.alarmNone(), ValueFactory.timeNow());
+        element = ArrayElements.getElement(enums, 1);
+        assertThat(element, instanceOf(VEnum.class));
+        assertThat(((VEnum) element).getValue(), equalTo("On"));
+        assertThat(ArrayElements.getElement(enums, 2), sameInstance(PVWidget.RUNTIME_VALUE_NO_PV));
+
+        final VType strings = ValueFactory.newVStringArray(Arrays.asList("One", "Two"),
+                                                           ValueFactory.alarmNone(), ValueFactory.timeNow());
+        element = ArrayElements.getElement(strings, 0);
+        assertThat(element, instanceOf(VString.class));
+        assertThat(((VString) element).getValue(), equalTo("One"));
+        assertThat(ArrayElements.getElement(strings, 2), sameInstance(PVWidget.RUNTIME_VALUE_NO_PV));
+
+        // Scalar is treated as one-element array
+        final VType scalar = ValueFactory.newVDouble(3.14);
+        assertThat(ArrayElements.getElement(scalar, 0), sameInstance(scalar));
+        assertThat(ArrayElements.getElement(scalar, 1), sameInstance(PVWidget.RUNTIME_VALUE_NO_PV));
+
+        // Disconnected
+        assertThat(ArrayElements.getElement(null, 0), nullValue());
+    }
+
+    @Test
+    public void testSameValue() throws Exception
+    {
+        final VType a = ValueFactory.newVDouble(1.0);
+        assertThat(ArrayElements.isSameValue(a, a), equalTo(true));
+        assertThat(ArrayElements.isSameValue(a, ValueFactory.newVDouble(1.0)), equalTo(true));
+        assertThat(ArrayElements.isSameValue(a, ValueFactory.newVDouble(2.0)), equalTo(false));
+        assertThat(ArrayElements.isSameValue(a, null), equalTo(false));
+        assertThat(ArrayElements.isSameValue(null, a), equalTo(false));
+        assertThat(ArrayElements.isSameValue(a, PVWidget.RUNTIME_VALUE_NO_PV), equalTo(false));
+
+        // Same number, different alarm
+        final VType alarm = ValueFactory.newVDouble(1.0, ValueFactory.newAlarm(AlarmSeverity.MAJOR, "HIHI"),
+                                                    ValueFactory.timeNow(), ValueFactory.displayNone());
+        assertThat(ArrayElements.isSameValue(a, alarm), equalTo(false));
+
+        // Different types
+        assertThat(ArrayElements.isSameValue(a, ValueFactory.newVString("1.0", ValueFactory.alarmNone(), ValueFactory.timeNow())),
+                   equalTo(false));
+
+        final VType text = ValueFactory.newVString("Hello", ValueFactory.alarmNone(), ValueFactory.timeNow());
+        assertThat(ArrayElements.isSameValue(text, ValueFactory.newVString("Hello", ValueFactory.alarmNone(), ValueFactory.timeNow())),
+                   equalTo(true));
+    }
+
+    @Test
+    public void testBatchedWrite() throws Exception
+    {
+        final RuntimePV pv = PVFactory.getPV("loc://element_array(1.0, 2.0, 3.0, 4.0)");
+        try
+        {
+            // Executor that runs tasks when the test says so
+            final List<Runnable> tasks = new ArrayList<>();
+            final ArrayElementWriter writer = new ArrayElementWriter(pv, tasks::add);
+
+            // Several element writes result in one task..
+            writer.write(0, 10.0);
+            writer.write(2, "30");
+            writer.write(2, 33);
+            writer.write(9, 99.0);
+            assertThat(tasks.size(), equalTo(1));
+
+            // .. which writes all of them to the array, ignoring elements beyond its size
+            tasks.remove(0).run();
+            ListNumber data = ((VNumberArray) pv.read()).getData();
+            assertThat(data.size(), equalTo(4));
+            assertThat(data.getDouble(0), equalTo(10.0));
+            assertThat(data.getDouble(1), equalTo(2.0));
+            assertThat(data.getDouble(2), equalTo(33.0));
+            assertThat(data.getDouble(3), equalTo(4.0));
+
+            // Once written, the next element write schedules another task
+            writer.write(3, true);
+            assertThat(tasks.size(), equalTo(1));
+            tasks.remove(0).run();
+            data = ((VNumberArray) pv.read()).getData();
+            assertThat(data.getDouble(0), equalTo(10.0));
+            assertThat(data.getDouble(3), equalTo(1.0));
+        }
+        finally
+        {
+            PVFactory.releasePV(pv);
+        }
+    }
+
+    /** PV that only reflects written values when the test says so,
+     *  like a network PV where the update arrives some time after the write
+     */
+    private static class SlowPV implements RuntimePV
+    {
+        private volatile VType value = ValueFactory.newVDoubleArray(new ArrayDouble(1.0, 2.0, 3.0), ValueFactory.alarmNone(),
+                                                                    ValueFactory.timeNow(), ValueFactory.displayNone());
+        private final List<double[]> written = new ArrayList<>();
+
+        @Override
+        public String getName()
+        {
+            return "slow";
+        }
+
+        @Override
+        public void addListener(final RuntimePVListener listener)
+        {
+            // Not used
+        }
+
+        @Override
+        public void removeListener(final RuntimePVListener listener)
+        {
+            // Not used
+        }
+
+        @Override
+        public VType read()
+        {
+            return value;
+        }
+
+        @Override
+        public boolean isReadonly()
+        {
+            return false;
+        }
+
+        @Override
+        public void write(final Object new_value) throws Exception
+        {
+            written.add((double[]) new_value);
+        }
+    }
+
+    @Test
+    public void testWriteBeforeUpdate() throws Exception
+    {
+        final SlowPV pv = new SlowPV();
+        final List<Runnable> tasks = new ArrayList<>();
+        final ArrayElementWriter writer = new ArrayElementWriter(pv, tasks::add);
+
+        writer.write(0, 10.0);
+        tasks.remove(0).run();
+        assertThat(pv.written.get(0), equalTo(new double[] { 10.0, 2.0, 3.0 }));
+
+        // PV has not sent the value of the first write,
+        // second write must still include it
+        writer.write(1, 20.0);
+        tasks.remove(0).run();
+        assertThat(pv.written.get(1), equalTo(new double[] { 10.0, 20.0, 3.0 }));
+
+        // Once the PV sends a new value, writes are based on that
+        pv.value = ValueFactory.newVDoubleArray(new ArrayDouble(5.0, 20.0, 3.0), ValueFactory.alarmNone(),
+                                                ValueFactory.timeNow(), ValueFactory.displayNone());
+        writer.arrayChanged();
+        writer.write(2, 30.0);
+        tasks.remove(0).run();
+        assertThat(pv.written.get(2), equalTo(new double[] { 5.0, 20.0, 30.0 }));
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
+import org.csstudio.display.builder.runtime.RuntimeUtil;
+import org.csstudio.display.builder.runtime.WidgetRuntime;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of starting child runtimes via {@link RuntimeUtil}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ChildRuntimesTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        PVPool.addPVFactory(new LocalPVFactory());
+    }
+
+    /** @param children Where to add text update widgets
+     *  @param count Number of widgets to add
+     *  @param widgets List of all text update widgets
+     */
+    private static void addTextUpdates(final ChildrenProperty children, final int count, final List<Widget> widgets)
+    {
+        for (int i=0; i<count; ++i)
+        {
+            final TextUpdateWidget text = new TextUpdateWidget();
+            text.propPVName().setValue("loc://child_runtime_test(3.14)");
+            children.addChild(text);
+            widgets.add(text);
+        }
+    }
+
+    /** @param model Display model that has been started
+     *  @param widgets Widgets that should be started
+     */
+    private static void checkStarted(final DisplayModel model, final List<Widget> widgets)
+    {
+        try
+        {
+            // Primary PV is set at the end of a widget's start()
+            for (Widget widget : widgets)
+            {
+                final WidgetRuntime<Widget> runtime = RuntimeUtil.getRuntime(widget);
+                assertThat(runtime != null, equalTo(true));
+                assertThat(runtime.getPrimaryPV().isPresent(), equalTo(true));
+            }
+        }
+        finally
+        {
+            RuntimeUtil.stopRuntime(model);
+        }
+    }
+
+    /** Many groups, each with fewer widgets than are started by one thread */
+    @Test
+    public void testGroups()
+    {
+        final DisplayModel model = new DisplayModel();
+        final List<Widget> widgets = new ArrayList<>();
+        for (int g=0; g<50; ++g)
+        {
+            final GroupWidget group = new GroupWidget();
+            addTextUpdates(group.runtimeChildren(), 50, widgets);
+            model.runtimeChildren().addChild(group);
+        }
+        addTextUpdates(model.runtimeChildren(), 500, widgets);
+
+        // Display is started once all widgets inside the groups are started
+        RuntimeUtil.startRuntime(model);
+        checkStarted(model, widgets);
+    }
+
+    /** One group that holds all widgets */
+    @Test
+    public void testLargeGroup()
+    {
+        final DisplayModel model = new DisplayModel();
+        final List<Widget> widgets = new ArrayList<>();
+        final GroupWidget outer = new GroupWidget();
+        final GroupWidget inner = new GroupWidget();
+        addTextUpdates(inner.runtimeChildren(), 2000, widgets);
+        outer.runtimeChildren().addChild(inner);
+        model.runtimeChildren().addChild(outer);
+
+        RuntimeUtil.startRuntime(model);
+        checkStarted(model, widgets);
+    }
+}
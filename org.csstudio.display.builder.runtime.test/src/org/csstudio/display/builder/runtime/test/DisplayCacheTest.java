@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.csstudio.display.builder.runtime.DisplayCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** JUnit test of the {@link DisplayCache}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class DisplayCacheTest
+{
+    /** Executor that runs background loads when the test says so */
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    /** Models created by the loader */
+    private final List<DisplayModel> loaded = new ArrayList<>();
+
+    private File directory;
+
+    @Before
+    public void setup() throws Exception
+    {
+        directory = Files.createTempDirectory("display_cache").toFile();
+    }
+
+    @After
+    public void cleanup()
+    {
+        for (File file : directory.listFiles())
+            file.delete();
+        directory.delete();
+    }
+
+    /** @param name Display name
+     *  @return Path to an existing display file
+     */
+    private String createFile(final String name) throws Exception
+    {
+        final File file = new File(directory, name);
+        Files.write(file.toPath(), "<display/>".getBytes());
+        return file.getAbsolutePath();
+    }
+
+    /** Loader that creates a display with 10 labels */
+    private DisplayModel load(final String display_file)
+    {
+        final DisplayModel model = new DisplayModel();
+        for (int i=0; i<10; ++i)
+            model.runtimeChildren().addChild(new LabelWidget());
+        loaded.add(model);
+        return model;
+    }
+
+    private DisplayCache createCache(final int max_entries, final long max_memory)
+    {
+        return new DisplayCache(max_entries, max_memory, 3, Duration.ofMinutes(1), tasks::add, this::load);
+    }
+
+    private void runTasks()
+    {
+        while (! tasks.isEmpty())
+            tasks.remove(0).run();
+    }
+
+    @Test
+    public void testEvictionByCount() throws Exception
+    {
+        final DisplayCache cache = createCache(2, Long.MAX_VALUE);
+        final String a = createFile("a.bob"), b = createFile("b.bob"), c = createFile("c.bob");
+        cache.preload(a);
+        cache.preload(b);
+        cache.preload(c);
+        runTasks();
+        System.out.println(cache.getStatistics());
+
+        // Least recently used entry was evicted and disposed
+        assertThat(cache.getKeys(), equalTo(Arrays.asList(b, c)));
+        assertThat(loaded.size(), equalTo(3));
+        assertThat(loaded.get(0).getChildren().size(), equalTo(0));
+        assertThat(loaded.get(2).getChildren().size(), equalTo(10));
+    }
+
+    @Test
+    public void testEvictionByMemory() throws Exception
+    {
+        // Determine memory of one display
+        DisplayCache cache = createCache(10, Long.MAX_VALUE);
+        final String a = createFile("a.bob"), b = createFile("b.bob"), c = createFile("c.bob");
+        cache.preload(a);
+        runTasks();
+        final long memory = cache.getMemory();
+        assertThat(memory > 0, equalTo(true));
+
+        // Cache with room for 2.5 displays
+        cache = createCache(10, memory * 5 / 2);
+        cache.preload(a);
+        cache.preload(b);
+        cache.preload(c);
+        runTasks();
+        System.out.println(cache.getStatistics());
+        assertThat(cache.getKeys(), equalTo(Arrays.asList(b, c)));
+        assertThat(cache.getMemory(), equalTo(2 * memory));
+    }
+
+    @Test
+    public void testHitRemovesEntry() throws Exception
+    {
+        final DisplayCache cache = createCache(10, Long.MAX_VALUE);
+        final String a = createFile("a.bob");
+        cache.preload(a);
+        runTasks();
+        assertThat(loaded.size(), equalTo(1));
+
+        // Cached model is handed out once..
+        final DisplayModel model = cache.loadModel(a);
+        assertThat(model, sameInstance(loaded.get(0)));
+        assertThat(cache.getKeys().isEmpty(), equalTo(true));
+        assertThat(cache.getMemory(), equalTo(0L));
+
+        // .. and then loaded again
+        final DisplayModel other = cache.loadModel(a);
+        assertThat(other, not(sameInstance(model)));
+        assertThat(loaded.size(), equalTo(2));
+        assertThat(model.getChildren().size(), equalTo(10));
+        System.out.println(cache.getStatistics());
+    }
+
+    @Test
+    public void testFileChange() throws Exception
+    {
+        final DisplayCache cache = createCache(10, Long.MAX_VALUE);
+        final String a = createFile("a.bob");
+        cache.preload(a);
+        runTasks();
+        final DisplayModel cached = loaded.get(0);
+
+        // Changed file invalidates the entry
+        final File file = new File(a);
+        file.setLastModified(file.lastModified() - 10000);
+        final DisplayModel model = cache.loadModel(a);
+        assertThat(model, not(sameInstance(cached)));
+        assertThat(loaded.size(), equalTo(2));
+        // Outdated model was disposed
+        assertThat(cached.getChildren().size(), equalTo(0));
+        assertThat(cache.getKeys().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testPendingPreload() throws Exception
+    {
+        final DisplayCache cache = createCache(10, Long.MAX_VALUE);
+        final String a = createFile("a.bob");
+
+        // Requesting a display that is already being loaded doesn't load it again
+        cache.preload(a);
+        cache.preload(a);
+        assertThat(tasks.size(), equalTo(1));
+        runTasks();
+        assertThat(loaded.size(), equalTo(1));
+
+        // Neither does requesting a display that's already cached
+        cache.preload(a);
+        assertThat(tasks.size(), equalTo(0));
+        assertThat(cache.getKeys(), equalTo(Arrays.asList(a)));
+    }
+}
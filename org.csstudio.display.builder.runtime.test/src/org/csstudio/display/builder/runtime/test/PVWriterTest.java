@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.csstudio.display.builder.model.util.VTypeUtil;
+import org.csstudio.display.builder.runtime.pv.PVFactory;
+import org.csstudio.display.builder.runtime.pv.PVWriter;
+import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.display.builder.runtime.pv.RuntimePVListener;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.diirt.vtype.VType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of the {@link PVWriter}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class PVWriterTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        PVPool.addPVFactory(new LocalPVFactory());
+    }
+
+    @Test
+    public void testLastValueWins() throws Exception
+    {
+        final RuntimePV pv = PVFactory.getPV("loc://write_test(0)");
+        try
+        {
+            final AtomicInteger updates = new AtomicInteger();
+            final RuntimePVListener listener = new RuntimePVListener()
+            {
+                @Override
+                public void valueChanged(final RuntimePV pv, final VType value)
+                {
+                    updates.incrementAndGet();
+                }
+            };
+            pv.addListener(listener);
+            updates.set(0);
+
+            // Submitting many values returns right away..
+            final List<CompletableFuture<Void>> written = new ArrayList<>();
+            for (int i=1; i<=1000; ++i)
+                written.add(PVWriter.write(pv, i));
+            // .. and each completes once the last value has been written
+            for (CompletableFuture<Void> done : written)
+                done.get(5, TimeUnit.SECONDS);
+            System.out.println(updates.get() + " updates for 1000 writes");
+            System.out.println(PVWriter.getStatistics());
+
+            assertThat(VTypeUtil.getValueNumber(pv.read()).intValue(), equalTo(1000));
+            // Superseded values are not written
+            assertThat(updates.get() < 1000, equalTo(true));
+            pv.removeListener(listener);
+        }
+        finally
+        {
+            PVFactory.releasePV(pv);
+        }
+    }
+}
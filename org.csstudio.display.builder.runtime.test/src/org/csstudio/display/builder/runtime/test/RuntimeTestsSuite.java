@@ -27,11 +27,16 @@ import org.python.core.PySystemState;
     JythonScriptTest.class,
     RulesJythonScriptTest.class,
     //  The following classes can be in any order.
+    ArrayElementsTest.class,
     ArrayPVDispatcherTest.class,
+    ChildRuntimesTest.class,
     CommandExecutorTest.class,
+    DisplayCacheTest.class,
     PVFactoryTest.class,
+    PVWriterTest.class,
     PythonGatewaySupportTest.class,
     PythonScriptTest.class,
+    SharedPVTest.class,
     TextPatchTest.class,
 } )
 @SuppressWarnings( { "ClassMayBeInterface", "ClassWithoutLogger" } )
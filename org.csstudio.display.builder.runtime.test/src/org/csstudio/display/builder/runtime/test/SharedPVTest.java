@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.csstudio.display.builder.runtime.Preferences;
+import org.csstudio.display.builder.runtime.pv.PVFactory;
+import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.csstudio.vtype.pv.sim.SimPVFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of PVs shared via the {@link PVFactory}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class SharedPVTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        PVPool.addPVFactory(new LocalPVFactory());
+        PVPool.addPVFactory(new SimPVFactory());
+    }
+
+    /** @param name PV name
+     *  @return Is PV listed in the factory's statistics, i.e. still connected?
+     */
+    private static boolean isShared(final String name)
+    {
+        return PVFactory.getStatistics().contains("\n" + name + ":");
+    }
+
+    @Test
+    public void testSharing() throws Exception
+    {
+        final String name = "loc://shared_test(1)";
+        final RuntimePV pv1 = PVFactory.getPV(name);
+        final RuntimePV pv2 = PVFactory.getPV(name);
+        System.out.println(PVFactory.getStatistics());
+        // Same PV name results in same PV instance
+        assertThat(pv2, sameInstance(pv1));
+        assertThat(isShared(name), equalTo(true));
+
+        // Still in use after the first release..
+        PVFactory.releasePV(pv1);
+        assertThat(isShared(name), equalTo(true));
+
+        // .. and local PV is closed right away after the last one
+        PVFactory.releasePV(pv2);
+        assertThat(isShared(name), equalTo(false));
+        final RuntimePV pv3 = PVFactory.getPV(name);
+        assertThat(pv3, not(sameInstance(pv1)));
+        PVFactory.releasePV(pv3);
+    }
+
+    @Test
+    public void testLinger() throws Exception
+    {
+        final String name = "sim://noise";
+        final RuntimePV pv = PVFactory.getPV(name);
+        PVFactory.releasePV(pv);
+
+        // Unused PV lingers and is re-used
+        assertThat(isShared(name), equalTo(true));
+        final RuntimePV again = PVFactory.getPV(name);
+        assertThat(again, sameInstance(pv));
+        PVFactory.releasePV(again);
+
+        // After the linger time, PV is closed
+        final long linger_ms = TimeUnit.SECONDS.toMillis(Preferences.getPV_Linger());
+        final long start = System.currentTimeMillis();
+        final long deadline = start + linger_ms + TimeUnit.SECONDS.toMillis(5);
+        while (isShared(name)  &&  System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(100);
+        final long expired = System.currentTimeMillis() - start;
+        System.out.println("Expired after " + expired + " ms");
+        assertThat(isShared(name), equalTo(false));
+        assertThat(expired >= linger_ms - 100, equalTo(true));
+
+        final RuntimePV new_pv = PVFactory.getPV(name);
+        assertThat(new_pv, not(sameInstance(pv)));
+        PVFactory.releasePV(new_pv);
+    }
+
+    @Test
+    public void testReleaseTooOften() throws Exception
+    {
+        final List<LogRecord> warnings = new CopyOnWriteArrayList<>();
+        final Handler handler = new Handler()
+        {
+            @Override
+            public void publish(final LogRecord record)
+            {
+                if (record.getLevel() == Level.WARNING)
+                    warnings.add(record);
+            }
+
+            @Override
+            public void flush()
+            {
+                // NOP
+            }
+
+            @Override
+            public void close()
+            {
+                // NOP
+            }
+        };
+        logger.addHandler(handler);
+        try
+        {
+            final RuntimePV pv = PVFactory.getPV("loc://release_test(1)");
+            PVFactory.releasePV(pv);
+            assertThat(warnings.size(), equalTo(0));
+
+            PVFactory.releasePV(pv);
+            assertThat(warnings.size(), equalTo(1));
+            assertThat(warnings.get(0).getMessage().contains("released too often"), equalTo(true));
+        }
+        finally
+        {
+            logger.removeHandler(handler);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.persist.ModelWriter;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.PVWidget;
+import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
+import org.csstudio.display.builder.representation.StartupProfile;
+import org.csstudio.display.builder.runtime.DisplayCache;
+import org.csstudio.display.builder.runtime.RuntimeUtil;
+
+/** Headless benchmark of display startup
+ *
+ *  <p>Generates displays with many widgets that use
+ *  local and simulated PVs, then loads them
+ *  and starts their runtime without a representation.
+ *  Reports the {@link StartupProfile} and the time
+ *  until all widgets received a value.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class StartupBenchmark
+{
+    private static final int[] SIZES = { 10000, 50000, 100000 };
+
+    private static DisplayModel createModel(final int count)
+    {
+        final DisplayModel model = new DisplayModel();
+        model.propName().setValue("Startup " + count);
+        GroupWidget group = null;
+        for (int i=0; i<count; ++i)
+        {
+            if (i % 100 == 0)
+            {
+                group = new GroupWidget();
+                group.propX().setValue((i / 100) % 10 * 500);
+                group.propY().setValue((i / 1000) * 500);
+                model.runtimeChildren().addChild(group);
+            }
+            final TextUpdateWidget text = new TextUpdateWidget();
+            text.propX().setValue((i % 10) * 50);
+            text.propY().setValue((i % 100) / 10 * 50);
+            // Mix of distinct local PVs and shared simulated PVs
+            if (i % 2 == 0)
+                text.propPVName().setValue("loc://bench" + i + "(" + i + ")");
+            else
+                text.propPVName().setValue("sim://sine(0, 10, 0.1)");
+            group.runtimeChildren().addChild(text);
+        }
+        return model;
+    }
+
+    private static void addWidgets(final DisplayModel model, final List<PVWidget> widgets)
+    {
+        for (Widget group : model.getChildren())
+            for (Widget child : ((GroupWidget) group).runtimeChildren().getValue())
+                widgets.add((PVWidget) child);
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        Settings.setup();
+        for (int size : SIZES)
+        {
+            final File file = File.createTempFile("startup", ".bob");
+            file.deleteOnExit();
+            ModelWriter.writeAtomically(createModel(size), file);
+
+            final DisplayModel model = DisplayCache.INSTANCE.loadModel(file.getPath());
+            final List<PVWidget> widgets = new ArrayList<>(size);
+            addWidgets(model, widgets);
+
+            final long start = System.nanoTime();
+            RuntimeUtil.startRuntime(model);
+
+            // Wait for all widgets to receive a value
+            final long timeout = start + TimeUnit.SECONDS.toNanos(60);
+            int waiting = widgets.size();
+            while (waiting > 0  &&  System.nanoTime() < timeout)
+            {
+                TimeUnit.MILLISECONDS.sleep(10);
+                waiting = 0;
+                for (PVWidget widget : widgets)
+                    if (widget.runtimePropValue().getValue() == null)
+                        ++waiting;
+            }
+            final StartupProfile profile = RuntimeUtil.getStartupProfile(model);
+            profile.record("values", start);
+            System.out.format("%6d widgets: %s%s\n", size, profile,
+                              waiting > 0 ? ", " + waiting + " without value" : "");
+
+            RuntimeUtil.stopRuntime(model);
+            model.dispose();
+        }
+        System.exit(0);
+    }
+}
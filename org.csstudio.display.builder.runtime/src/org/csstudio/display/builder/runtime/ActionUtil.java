@@ -20,7 +20,6 @@ import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.macros.MacroHandler;
 import org.csstudio.display.builder.model.macros.MacroValueProvider;
 import org.csstudio.display.builder.model.macros.Macros;
-import org.csstudio.display.builder.model.persist.ModelLoader;
 import org.csstudio.display.builder.model.properties.ActionInfo;
 import org.csstudio.display.builder.model.properties.ExecuteCommandActionInfo;
 import org.csstudio.display.builder.model.properties.ExecuteScriptActionInfo;
@@ -136,7 +135,7 @@ public class ActionUtil
             }
 
             // Load new model. If that fails, no reason to continue.
-            final DisplayModel new_model = ModelLoader.resolveAndLoadModel(parent_file, expanded_path);
+            final DisplayModel new_model = DisplayCache.INSTANCE.resolveAndLoadModel(parent_file, expanded_path);
 
             // Model is standalone; source_widget (Action button, ..) is _not_ the parent,
             // but it does add macros to those already defined in the display file.
@@ -179,6 +178,8 @@ public class ActionUtil
             }
             else
             {   // Default to OpenDisplayActionInfo.Target.REPLACE
+                // Keep old display ready in case it's opened again.
+                DisplayCache.INSTANCE.preload(top_model.getUserData(DisplayModel.USER_DATA_INPUT_FILE));
                 // Stop old runtime.
                 RuntimeUtil.stopRuntime(top_model);
                 wait_for_ui = toolkit.submit(() ->
@@ -192,6 +193,7 @@ public class ActionUtil
             wait_for_ui.get();
             // Back in background thread, create new runtime
             RuntimeUtil.startRuntime(new_model);
+            DisplayCache.INSTANCE.preloadActions(new_model);
         }
         catch (final Exception ex)
         {
@@ -252,18 +254,27 @@ public class ActionUtil
         {
             // NOP
         }
+        final String message = "Cannot write " + pv_name + " = " + value;
         try
         {
-            runtime.writePV(pv_name,value);
+            runtime.writePV(pv_name,value).whenComplete((ignored, ex) ->
+            {
+                if (ex != null)
+                    showWriteError(source_widget, message, ex);
+            });
         }
         catch (final Exception ex)
         {
-            final String message = "Cannot write " + pv_name + " = " + value;
-            logger.log(Level.WARNING, message, ex);
-            ScriptUtil.showErrorDialog(source_widget, message + ".\n\nSee log for details.");
+            showWriteError(source_widget, message, ex);
         }
     }
 
+    private static void showWriteError(final Widget source_widget, final String message, final Throwable ex)
+    {
+        logger.log(Level.WARNING, message, ex);
+        ScriptUtil.showErrorDialog(source_widget, message + ".\n\nSee log for details.");
+    }
+
     /** Execute script
      *  @param source_widget Widget from which the action is invoked
      *  @param action        Script action to execute
@@ -0,0 +1,428 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime;
+
+import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.macros.MacroHandler;
+import org.csstudio.display.builder.model.macros.Macros;
+import org.csstudio.display.builder.model.persist.ModelLoader;
+import org.csstudio.display.builder.model.properties.ActionInfo;
+import org.csstudio.display.builder.model.properties.ActionInfos;
+import org.csstudio.display.builder.model.properties.CommonWidgetProperties;
+import org.csstudio.display.builder.model.properties.OpenDisplayActionInfo;
+import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.csstudio.display.builder.model.widgets.ActionButtonWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
+import org.csstudio.display.builder.representation.StartupProfile;
+
+/** Cache of display models that are likely to be opened next
+ *
+ *  <p>Loading a display parses its file and applies the widget classes.
+ *  Displays that the user is likely to open next,
+ *  like the one just left via back/forward navigation
+ *  or those opened by visible action buttons,
+ *  are loaded in the background and kept in this cache.
+ *
+ *  <p>A model is represented and executed by at most one runtime,
+ *  which then modifies and finally disposes it.
+ *  A cached model is thus handed out only once and removed from the cache.
+ *
+ *  <p>Entries for local files are dropped when the file has changed.
+ *  Other entries expire like the URL cache of the {@link ModelResourceUtil}.
+ *  When the cache exceeds its configured size or memory,
+ *  least recently used entries are evicted.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class DisplayCache
+{
+    /** Loads a display model */
+    @FunctionalInterface
+    public interface Loader
+    {
+        /** @param display_file Resolved display file
+         *  @return {@link DisplayModel} with classes applied
+         *  @throws Exception on error
+         */
+        public DisplayModel load(String display_file) throws Exception;
+    }
+
+    /** Cache configured by preferences, loading models via the {@link ModelLoader} */
+    public static final DisplayCache INSTANCE =
+        new DisplayCache(Preferences.getDisplayCacheSize(),
+                         Preferences.getDisplayCacheMemory(),
+                         Preferences.getDisplayCacheActions(),
+                         Duration.ofSeconds(org.csstudio.display.builder.model.Preferences.getCacheTimeout()),
+                         RuntimeUtil.getExecutor(),
+                         ModelLoader::loadModel);
+
+    /** Rough memory estimate for each widget property */
+    private static final long BYTES_PER_PROPERTY = 100;
+
+    private final int max_entries;
+
+    private final long max_memory;
+
+    private final int max_actions;
+
+    private final long max_age_ms;
+
+    private final Executor executor;
+
+    private final Loader loader;
+
+    private static class Entry
+    {
+        final DisplayModel model;
+        final long modified;
+        final long loaded;
+        final long memory;
+
+        Entry(final DisplayModel model, final long modified)
+        {
+            this.model = model;
+            this.modified = modified;
+            this.loaded = System.currentTimeMillis();
+            this.memory = estimateMemory(model);
+        }
+    }
+
+    /** Entries by resolved display path, least recently used first.
+     *  SYNC on cache
+     */
+    private final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Displays that are being loaded in the background. SYNC on cache */
+    private final Set<String> pending = new LinkedHashSet<>();
+
+    /** Statistics. SYNC on cache */
+    private long memory = 0, hits = 0, misses = 0, evictions = 0;
+
+    /** @param max_entries Maximum number of cached displays, 0 to disable the cache
+     *  @param max_memory Maximum estimated memory of all cached displays
+     *  @param max_actions Maximum number of displays opened by action buttons to pre-load, 0 to disable
+     *  @param max_age How long cached displays that are not local files remain valid
+     *  @param executor Executor for loading displays in the background
+     *  @param loader Loads displays
+     */
+    public DisplayCache(final int max_entries, final long max_memory, final int max_actions,
+                        final Duration max_age, final Executor executor, final Loader loader)
+    {
+        this.max_entries = max_entries;
+        this.max_memory = max_memory;
+        this.max_actions = max_actions;
+        this.max_age_ms = max_age.toMillis();
+        this.executor = executor;
+        this.loader = loader;
+    }
+
+    /** Load model, resolved relative to parent, with classes applied
+     *
+     *  <p>Like {@link ModelLoader#resolveAndLoadModel(String, String)},
+     *  but may return a model from the cache.
+     *
+     *  @param parent_display Path to a 'parent' file, may be <code>null</code>
+     *  @param display_file Model file
+     *  @return {@link DisplayModel}
+     *  @throws Exception on error
+     */
+    public DisplayModel resolveAndLoadModel(final String parent_display, final String display_file) throws Exception
+    {
+        final String resolved_name = ModelResourceUtil.resolveResource(parent_display, display_file);
+        return loadModel(resolved_name);
+    }
+
+    /** Load model, with classes applied
+     *
+     *  <p>Like {@link ModelLoader#loadModel(String)},
+     *  but may return a model from the cache.
+     *
+     *  @param display_file Model file
+     *  @return {@link DisplayModel}
+     *  @throws Exception on error
+     */
+    public DisplayModel loadModel(final String display_file) throws Exception
+    {
+        final long start = System.nanoTime();
+        final Entry entry;
+        synchronized (cache)
+        {
+            entry = cache.remove(display_file);
+            if (entry != null)
+                memory -= entry.memory;
+        }
+        final boolean hit = entry != null  &&  isCurrent(display_file, entry);
+        synchronized (cache)
+        {
+            if (hit)
+                ++hits;
+            else
+                ++misses;
+        }
+        if (hit)
+        {
+            logger.log(Level.FINE, () -> "Using cached " + display_file + ". " + getStatistics());
+            StartupProfile.forModel(entry.model).record("load (cached)", start);
+            return entry.model;
+        }
+        if (entry != null)
+            entry.model.dispose();
+        logger.log(Level.FINE, () -> "Loading " + display_file + ". " + getStatistics());
+        final DisplayModel model = loader.load(display_file);
+        StartupProfile.forModel(model).record("load", start);
+        return model;
+    }
+
+    /** Load display in background
+     *
+     *  @param display_file Resolved model file, may be <code>null</code>
+     */
+    public void preload(final String display_file)
+    {
+        if (display_file != null)
+            preload(Arrays.asList(display_file));
+    }
+
+    /** Load displays opened by action buttons in background
+     *
+     *  <p>Only considers the 'open display' actions of visible action buttons,
+     *  up to the configured number of displays.
+     *
+     *  <p>Should be called once the model is running,
+     *  so that macros in the action's file names can be expanded
+     *  and rules have set the visibility of widgets.
+     *
+     *  @param model Display model
+     */
+    public void preloadActions(final DisplayModel model)
+    {
+        if (max_entries <= 0  ||  max_actions <= 0)
+            return;
+        final Set<String> files = new LinkedHashSet<>();
+        try
+        {
+            addActionTargets(model, files);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot locate displays for actions in " + model, ex);
+        }
+        final List<String> wanted = new ArrayList<>(files);
+        preload(wanted.subList(0, Math.min(wanted.size(), Math.min(max_actions, max_entries))));
+    }
+
+    /** @return Summary of cache entries, hits, misses and evictions */
+    public String getStatistics()
+    {
+        synchronized (cache)
+        {
+            final long total = hits + misses;
+            return String.format("Display cache: %d entries, %.1f MB, %d hits, %d misses (%.0f%% hit rate), %d evictions",
+                                 cache.size(), memory / 1024.0 / 1024.0, hits, misses,
+                                 total > 0 ? 100.0 * hits / total : 0.0, evictions);
+        }
+    }
+
+    /** @return Resolved display files of cache entries, least recently used first */
+    public Collection<String> getKeys()
+    {
+        synchronized (cache)
+        {
+            return new ArrayList<>(cache.keySet());
+        }
+    }
+
+    /** @return Estimated memory of cached displays */
+    public long getMemory()
+    {
+        synchronized (cache)
+        {
+            return memory;
+        }
+    }
+
+    /** Remove all cached displays */
+    public void clear()
+    {
+        final List<Entry> removed;
+        synchronized (cache)
+        {
+            removed = new ArrayList<>(cache.values());
+            cache.clear();
+            memory = 0;
+        }
+        for (Entry entry : removed)
+            entry.model.dispose();
+    }
+
+    private void preload(final List<String> display_files)
+    {
+        if (max_entries <= 0)
+            return;
+        final List<String> needed = new ArrayList<>(display_files.size());
+        synchronized (cache)
+        {
+            for (String display_file : display_files)
+                if (! cache.containsKey(display_file)  &&  pending.add(display_file))
+                    needed.add(display_file);
+        }
+        if (needed.isEmpty())
+            return;
+        // Load one file after the other to avoid competing with the active display
+        executor.execute(() ->
+        {
+            for (String display_file : needed)
+            {
+                try
+                {
+                    final long modified = getModificationTime(display_file);
+                    final DisplayModel model = loader.load(display_file);
+                    add(display_file, new Entry(model, modified));
+                }
+                catch (Exception ex)
+                {
+                    logger.log(Level.FINE, "Cannot pre-load " + display_file, ex);
+                }
+                finally
+                {
+                    synchronized (cache)
+                    {
+                        pending.remove(display_file);
+                    }
+                }
+            }
+        });
+    }
+
+    private void add(final String display_file, final Entry entry)
+    {
+        final List<Entry> evicted = new ArrayList<>();
+        synchronized (cache)
+        {
+            final Entry previous = cache.put(display_file, entry);
+            if (previous != null)
+            {
+                memory -= previous.memory;
+                evicted.add(previous);
+            }
+            memory += entry.memory;
+            // Evict least recently used entries, but keep the new one
+            final Iterator<Entry> entries = cache.values().iterator();
+            while ((cache.size() > max_entries  ||  memory > max_memory)  &&  cache.size() > 1)
+            {
+                final Entry oldest = entries.next();
+                entries.remove();
+                memory -= oldest.memory;
+                evicted.add(oldest);
+                ++evictions;
+            }
+        }
+        for (Entry old : evicted)
+            old.model.dispose();
+        logger.log(Level.FINE, () -> "Pre-loaded " + display_file + ". " + getStatistics());
+    }
+
+    /** @param display_file Resolved display file
+     *  @param entry Cache entry for that file
+     *  @return Is the entry still valid?
+     */
+    private boolean isCurrent(final String display_file, final Entry entry)
+    {
+        if (entry.modified != 0)
+            return entry.modified == getModificationTime(display_file);
+        return System.currentTimeMillis() - entry.loaded < max_age_ms;
+    }
+
+    /** @param display_file Resolved display file
+     *  @return Modification time of local file or 0
+     */
+    private static long getModificationTime(final String display_file)
+    {
+        final String local = ModelResourceUtil.getLocalPath(display_file);
+        if (local == null)
+            return 0;
+        return new File(local).lastModified();
+    }
+
+    private static long estimateMemory(final Widget widget)
+    {
+        long bytes = widget.getProperties().size() * BYTES_PER_PROPERTY;
+        final ChildrenProperty children = ChildrenProperty.getChildren(widget);
+        if (children != null)
+            for (Widget child : children.getValue())
+                bytes += estimateMemory(child);
+        if (widget instanceof TabsWidget)
+            for (TabItemProperty tab : ((TabsWidget) widget).propTabs().getValue())
+                for (Widget child : tab.children().getValue())
+                    bytes += estimateMemory(child);
+        return bytes;
+    }
+
+    /** @param widget Widget to check for action buttons with 'open display' actions,
+     *                including visible child widgets
+     *  @param files Resolved display files that the actions would open
+     *  @throws Exception on error
+     */
+    private static void addActionTargets(final Widget widget, final Set<String> files) throws Exception
+    {
+        final WidgetProperty<Boolean> visible = widget.checkProperty(CommonWidgetProperties.propVisible).orElse(null);
+        if (visible != null  &&  ! visible.getValue())
+            return;
+        final WidgetProperty<ActionInfos> actions = widget.checkProperty(CommonWidgetProperties.propActions).orElse(null);
+        if (actions != null  &&  widget instanceof ActionButtonWidget)
+            for (ActionInfo action : actions.getValue().getActions())
+                if (action instanceof OpenDisplayActionInfo)
+                {
+                    final OpenDisplayActionInfo open = (OpenDisplayActionInfo) action;
+                    if (open.getFile().isEmpty())
+                        continue;
+                    // Resolve like ActionUtil
+                    final Macros expanded = new Macros(open.getMacros());
+                    expanded.expandValues(widget.getEffectiveMacros());
+                    final Macros macros = Macros.merge(widget.getEffectiveMacros(), expanded);
+                    final String expanded_path = MacroHandler.replace(macros, open.getFile());
+                    final String parent_file = widget.getDisplayModel().getUserData(DisplayModel.USER_DATA_INPUT_FILE);
+                    files.add(ModelResourceUtil.resolveResource(parent_file, expanded_path));
+                }
+
+        final ChildrenProperty children = ChildrenProperty.getChildren(widget);
+        if (children != null)
+            for (Widget child : children.getValue())
+                addActionTargets(child, files);
+        if (widget instanceof TabsWidget)
+        {   // Only the selected tab is visible
+            final TabsWidget tabs = (TabsWidget) widget;
+            final List<TabItemProperty> items = tabs.propTabs().getValue();
+            final int active = tabs.propActiveTab().getValue();
+            if (active >= 0  &&  active < items.size())
+                for (Widget child : items.get(active).children().getValue())
+                    addActionTargets(child, files);
+        }
+    }
+}
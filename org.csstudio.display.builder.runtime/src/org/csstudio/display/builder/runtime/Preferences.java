@@ -27,7 +27,12 @@ public class Preferences
     public static final String PYTHON_PATH = "python_path";
     public static final String PV_FACTORY = "pv_factory";
     public static final String PV_NAME_PATCHES = "pv_name_patches";
+    public static final String PV_LINGER = "pv_linger";
+    public static final String PV_WRITE_PERIOD = "pv_write_period";
     public static final String USE_BOY = "use_boy";
+    public static final String DISPLAY_CACHE_SIZE = "display_cache_size";
+    public static final String DISPLAY_CACHE_MEMORY_MB = "display_cache_memory_mb";
+    public static final String DISPLAY_CACHE_ACTIONS = "display_cache_actions";
 
     /** @return Python path */
     public static String getPythonPath()
@@ -41,6 +46,18 @@ public class Preferences
         return get(PV_FACTORY, "vtype.pv");
     }
 
+    /** @return Seconds that unused PVs remain connected */
+    public static int getPV_Linger()
+    {
+        return Integer.parseInt(get(PV_LINGER, "5"));
+    }
+
+    /** @return Minimum milliseconds between writes to the same PV */
+    public static long getPV_WritePeriod()
+    {
+        return Long.parseLong(get(PV_WRITE_PERIOD, "50"));
+    }
+
     /** @return PV {@link TextPatch}s */
     public static List<TextPatch> getPV_NamePatches()
     {
@@ -93,6 +110,24 @@ public class Preferences
         return use_boy;
     }
 
+    /** @return Number of displays kept in the {@link DisplayCache} */
+    public static int getDisplayCacheSize()
+    {
+        return Integer.parseInt(get(DISPLAY_CACHE_SIZE, "10"));
+    }
+
+    /** @return Estimated number of bytes for displays in the {@link DisplayCache} */
+    public static long getDisplayCacheMemory()
+    {
+        return Long.parseLong(get(DISPLAY_CACHE_MEMORY_MB, "50")) * 1024 * 1024;
+    }
+
+    /** @return Number of displays opened by action buttons that the {@link DisplayCache} pre-loads */
+    public static int getDisplayCacheActions()
+    {
+        return Integer.parseInt(get(DISPLAY_CACHE_ACTIONS, "3"));
+    }
+
     private static String get(final String setting, final String default_value)
     {
         String value = default_value;
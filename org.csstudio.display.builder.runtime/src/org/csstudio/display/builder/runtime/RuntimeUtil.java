@@ -9,8 +9,12 @@ package org.csstudio.display.builder.runtime;
 
 import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import org.csstudio.display.builder.model.ChildrenProperty;
@@ -19,6 +23,9 @@ import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.WidgetPropertyListener;
 import org.csstudio.display.builder.model.properties.ActionInfo;
 import org.csstudio.display.builder.model.util.NamedDaemonPool;
+import org.csstudio.display.builder.model.widgets.TabsWidget;
+import org.csstudio.display.builder.model.widgets.TabsWidget.TabItemProperty;
+import org.csstudio.display.builder.representation.StartupProfile;
 import org.csstudio.display.builder.representation.ToolkitListener;
 import org.csstudio.display.builder.representation.ToolkitRepresentation;
 import org.csstudio.display.builder.runtime.script.internal.ScriptSupport;
@@ -37,6 +44,16 @@ public class RuntimeUtil
 {
     private static final ExecutorService executor = NamedDaemonPool.createThreadPool("DisplayRuntime");
 
+    /** Number of widgets, including those inside containers,
+     *  that one thread starts before fetching more
+     */
+    private static final int START_CHUNK = 100;
+
+    /** Set while a thread starts a chunk of widgets in parallel with other threads.
+     *  Containers within that chunk then start their children on the same thread.
+     */
+    private static final ThreadLocal<Boolean> parallel_start = ThreadLocal.withInitial(() -> false);
+
     private static final ToolkitListener toolkit_listener = new ToolkitListener()
     {
         @Override
@@ -141,6 +158,7 @@ public class RuntimeUtil
      */
     public static void startRuntime(final Widget widget)
     {
+        final long start = System.nanoTime();
         try
         {
             final WidgetRuntime<Widget> runtime = WidgetRuntimeFactory.INSTANCE.createRuntime(widget);
@@ -150,6 +168,21 @@ public class RuntimeUtil
         {
             logger.log(Level.SEVERE, "Cannot start runtime for " + widget, ex);
         }
+        if (widget instanceof DisplayModel  &&  ((DisplayModel) widget).isTopDisplayModel())
+        {
+            final DisplayModel model = (DisplayModel) widget;
+            final StartupProfile profile = StartupProfile.forModel(model);
+            profile.record("runtime", start);
+            logger.log(Level.FINE, "Started {0}: {1}", new Object[] { model.getDisplayName(), profile });
+        }
+    }
+
+    /** @param model Display model
+     *  @return Timing of the phases involved in opening the display, or <code>null</code>
+     */
+    public static StartupProfile getStartupProfile(final DisplayModel model)
+    {
+        return model.getUserData(StartupProfile.USER_DATA_STARTUP_PROFILE);
     }
 
     /** Stop runtime for a widget
@@ -168,6 +201,11 @@ public class RuntimeUtil
     }
 
     /** Start runtime of all child widgets
+     *
+     *  <p>Children are started in parallel when they,
+     *  including the widgets inside child containers,
+     *  add up to several chunks of widgets.
+     *  Returns when all children have been started.
      *
      *  <p>Also starts/stops added/removed child widgets
      *
@@ -175,11 +213,96 @@ public class RuntimeUtil
      */
     public static void startChildRuntimes(final ChildrenProperty children)
     {
-        for (Widget child : children.getValue())
-            RuntimeUtil.startRuntime(child);
+        final List<Widget> widgets = new ArrayList<>(children.getValue());
+        final List<List<Widget>> chunks = parallel_start.get()
+                                        ? Collections.emptyList()
+                                        : createStartChunks(widgets);
+        final int threads = Math.min(Runtime.getRuntime().availableProcessors(), chunks.size());
+        if (threads <= 1)
+            for (Widget child : widgets)
+                RuntimeUtil.startRuntime(child);
+        else
+        {   // Start runtimes of many children in parallel,
+            // each thread fetching the next chunk of widgets until all are started
+            final AtomicInteger next = new AtomicInteger();
+            final Runnable start_chunks = () ->
+            {
+                final boolean was_parallel = parallel_start.get();
+                parallel_start.set(true);
+                try
+                {
+                    int i;
+                    while ((i = next.getAndIncrement()) < chunks.size())
+                        for (Widget child : chunks.get(i))
+                            RuntimeUtil.startRuntime(child);
+                }
+                finally
+                {
+                    parallel_start.set(was_parallel);
+                }
+            };
+            final List<Future<?>> started = new ArrayList<>(threads - 1);
+            for (int t=1; t<threads; ++t)
+                started.add(executor.submit(start_chunks));
+            start_chunks.run();
+            // Container is started when all children are started
+            for (Future<?> done : started)
+            {
+                try
+                {
+                    done.get();
+                }
+                catch (Exception ex)
+                {
+                    logger.log(Level.WARNING, "Error starting child runtimes", ex);
+                }
+            }
+        }
         children.addPropertyListener(children_listener);
     }
 
+    /** @param widgets Widgets to start
+     *  @return Consecutive groups of widgets, each holding about {@link #START_CHUNK} widgets
+     *          when counting the widgets inside containers
+     */
+    private static List<List<Widget>> createStartChunks(final List<Widget> widgets)
+    {
+        final List<List<Widget>> chunks = new ArrayList<>();
+        List<Widget> chunk = new ArrayList<>();
+        int count = 0;
+        for (Widget widget : widgets)
+        {
+            chunk.add(widget);
+            count += countWidgets(widget);
+            if (count >= START_CHUNK)
+            {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                count = 0;
+            }
+        }
+        if (! chunk.isEmpty())
+            chunks.add(chunk);
+        return chunks;
+    }
+
+    /** @param widget Widget
+     *  @return Number of widgets, including child widgets and those on tabs
+     */
+    private static int countWidgets(final Widget widget)
+    {
+        int count = 1;
+        final ChildrenProperty children = ChildrenProperty.getChildren(widget);
+        if (children != null)
+            for (Widget child : children.getValue())
+                count += countWidgets(child);
+        if (widget instanceof TabsWidget)
+            for (TabItemProperty tab : ((TabsWidget) widget).propTabs().getValue())
+                for (Widget child : tab.children().getValue())
+                    count += countWidgets(child);
+        return count;
+    }
+
     /** Stop runtime of all child widgets
      *
      *  <p>Also un-subscribes from child widget additions/removals.
@@ -19,6 +19,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -38,6 +40,7 @@ import org.csstudio.display.builder.model.properties.WritePVActionInfo;
 import org.csstudio.display.builder.model.rules.RuleInfo;
 import org.csstudio.display.builder.runtime.internal.RuntimePVs;
 import org.csstudio.display.builder.runtime.pv.PVFactory;
+import org.csstudio.display.builder.runtime.pv.PVWriter;
 import org.csstudio.display.builder.runtime.pv.RuntimePV;
 import org.csstudio.display.builder.runtime.script.internal.RuntimeScriptHandler;
 import org.csstudio.display.builder.runtime.script.internal.Script;
@@ -86,13 +89,11 @@ public class WidgetRuntime<MW extends Widget>
      */
     private volatile RuntimePVs runtime_pvs = null;
 
-    /** PVs used by write actions
+    /** PVs used by write actions, by PV name
      *
-     *  <p>Lazily created if there are scripts.
+     *  <p>Created in start() if there are write actions.
      */
-    // This is empty for most widgets, or contains very few PVs,
-    // so using List with linear lookup by name and not a HashMap
-    private volatile List<RuntimePV> writable_pvs = null;
+    private volatile Map<String, RuntimePV> writable_pvs = null;
 
     /** Handlers for widget's behaviorScripts property,
      *  i.e. scripts that are triggered by PVs
@@ -206,7 +207,7 @@ public class WidgetRuntime<MW extends Widget>
         final List<ActionInfo> actions = widget.propActions().getValue().getActions();
         if (actions.size() > 0)
         {
-            final List<RuntimePV> action_pvs = new ArrayList<>();
+            final Map<String, RuntimePV> action_pvs = new HashMap<>();
             for (final ActionInfo action : actions)
             {
                 if (action instanceof WritePVActionInfo)
@@ -214,8 +215,11 @@ public class WidgetRuntime<MW extends Widget>
                     final String pv_name = ((WritePVActionInfo) action).getPV();
                     final String expanded = MacroHandler.replace(widget.getMacrosOrProperties(), pv_name);
                     final RuntimePV pv = PVFactory.getPV(expanded);
-                    action_pvs.add(pv);
-                    addPV(pv, true);
+                    // Several actions may write the same PV
+                    if (action_pvs.putIfAbsent(pv.getName(), pv) == null)
+                        addPV(pv, true);
+                    else
+                        PVFactory.releasePV(pv);
                 }
             }
             if (action_pvs.size() > 0)
@@ -349,29 +353,58 @@ public class WidgetRuntime<MW extends Widget>
     }
 
     /** Write a value to the primary PV
+     *
+     *  <p>Returns right away, the value is written by the {@link PVWriter}.
+     *
      *  @param value
      */
     public void writePrimaryPV(final Object value)
     {
-        try
-        {
-            awaitStartup();
-            getPrimaryPV().orElseThrow(() -> new Exception("No PV"))
-                          .write(value);
+        final CompletableFuture<Void> done;
+        if (started.getCount() > 0)
+        {   // Primary PV is set in start(), which may still be running.
+            // Don't block the caller, await startup in background
+            done = CompletableFuture.supplyAsync(() ->
+            {
+                awaitStartup();
+                return getPrimaryPV().orElse(null);
+            }, RuntimeUtil.getExecutor())
+            .thenCompose(pv -> writeToPV(pv, value));
         }
-        catch (final Exception ex)
+        else
+            done = writeToPV(getPrimaryPV().orElse(null), value);
+        done.whenComplete((ignored, ex) ->
         {
-            logger.log(Level.WARNING,
-                "Widget " + widget.getName() + " write error for value " + value, ex);
+            if (ex != null)
+                logger.log(Level.WARNING,
+                    "Widget " + widget.getName() + " write error for value " + value, ex);
+        });
+    }
+
+    /** @param pv Primary PV or <code>null</code>
+     *  @param value Value to write
+     *  @return {@link CompletableFuture} that completes when the value has been written
+     */
+    private CompletableFuture<Void> writeToPV(final RuntimePV pv, final Object value)
+    {
+        if (pv == null)
+        {
+            logger.log(Level.WARNING, "Widget " + widget.getName() + " has no PV for writing " + value);
+            return CompletableFuture.completedFuture(null);
         }
+        return PVWriter.write(pv, value);
     }
 
     /** Write a value to a PV
+     *
+     *  <p>Returns right away, the value is written by the {@link PVWriter}.
+     *
      *  @param pv_name Name of PV to write, may contain macros
      *  @param value Value to write
+     *  @return {@link CompletableFuture} that completes when the value has been written
      *  @throws Exception on error
      */
-    public void writePV(final String pv_name, final Object value) throws Exception
+    public CompletableFuture<Void> writePV(final String pv_name, final Object value) throws Exception
     {
         final String expanded = MacroHandler.replace(widget.getMacrosOrProperties(), pv_name);
         String name_to_check = expanded;
@@ -387,23 +420,38 @@ public class WidgetRuntime<MW extends Widget>
             if (sep > 0)
                 name_to_check = name_to_check.substring(0, sep);
         }
-        awaitStartup();
-        final List<RuntimePV> safe_pvs = writable_pvs;
-        if (safe_pvs != null)
-            for (final RuntimePV pv : safe_pvs)
-                if (pv.getName().equals(name_to_check))
+        if (started.getCount() > 0)
+        {   // Don't block the caller while start() is still running
+            final String name = name_to_check;
+            return CompletableFuture.supplyAsync(() ->
+            {
+                awaitStartup();
+                try
                 {
-                    try
-                    {
-                        pv.write(value);
-                    }
-                    catch (final Exception ex)
-                    {
-                        throw new Exception("Failed to write " + value + " to PV " + name_to_check, ex);
-                    }
-                    return;
+                    return getWritablePV(pv_name, name);
                 }
-        throw new Exception("Unknown PV '" + pv_name + "' (expanded: '" + name_to_check + "')");
+                catch (Exception ex)
+                {
+                    throw new CompletionException(ex);
+                }
+            }, RuntimeUtil.getExecutor())
+            .thenCompose(pv -> PVWriter.write(pv, value));
+        }
+        return PVWriter.write(getWritablePV(pv_name, name_to_check), value);
+    }
+
+    /** @param pv_name Name of PV as requested
+     *  @param name_to_check Name of PV after macro expansion
+     *  @return PV used by write action
+     *  @throws Exception if there is no such PV
+     */
+    private RuntimePV getWritablePV(final String pv_name, final String name_to_check) throws Exception
+    {
+        final Map<String, RuntimePV> safe_pvs = writable_pvs;
+        final RuntimePV pv = safe_pvs == null ? null : safe_pvs.get(name_to_check);
+        if (pv == null)
+            throw new Exception("Unknown PV '" + pv_name + "' (expanded: '" + name_to_check + "')");
+        return pv;
     }
 
     /** Execute script
@@ -424,10 +472,10 @@ public class WidgetRuntime<MW extends Widget>
         awaitStartup();
         widget.propClass().removePropertyListener(update_widget_class);
 
-        final List<RuntimePV> safe_pvs = writable_pvs;
+        final Map<String, RuntimePV> safe_pvs = writable_pvs;
         if (safe_pvs != null)
         {
-            for (final RuntimePV pv : safe_pvs)
+            for (final RuntimePV pv : safe_pvs.values())
             {
                 removePV(pv);
                 PVFactory.releasePV(pv);
@@ -94,6 +94,15 @@ public class WidgetRuntimeFactory
         return () -> (WidgetRuntime<? extends Widget>) config.createExecutableExtension("class");
     }
 
+    /** @param type Widget type
+     *  @return <code>true</code> if widget type has its own runtime,
+     *          <code>false</code> if it uses the default {@link WidgetRuntime}
+     */
+    public boolean hasSpecificRuntime(final String type)
+    {
+        return runtimes.containsKey(type);
+    }
+
     /** Create a runtime and initialize for widget
      *  @param model_widget
      *  @return {@link WidgetRuntime}
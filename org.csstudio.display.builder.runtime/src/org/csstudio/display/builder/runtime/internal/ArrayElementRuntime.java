@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.internal;
+
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.runtime.WidgetRuntime;
+
+/** Runtime for a widget within an element of the array widget
+ *
+ *  <p>Used when the element widgets have no scripts, rules, actions
+ *  nor widget-specific runtime.
+ *  Does not connect to any PV.
+ *  The {@link ArrayWidgetRuntime} sets the element values
+ *  and write access of the array PV,
+ *  and this runtime forwards written values to it.
+ *
+ *  @author Kay Kasemir
+ */
+class ArrayElementRuntime extends WidgetRuntime<Widget>
+{
+    private final ArrayWidgetRuntime array;
+
+    /** @param array Runtime of the array widget that holds the element */
+    ArrayElementRuntime(final ArrayWidgetRuntime array)
+    {
+        this.array = array;
+    }
+
+    @Override
+    public void start() throws Exception
+    {
+        // Nothing to start, values are set by the array runtime
+    }
+
+    @Override
+    public void writePrimaryPV(final Object value)
+    {
+        array.writeElement(widget, value);
+    }
+
+    @Override
+    public void stop()
+    {
+        // Nothing to stop
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015-2016 Oak Ridge National Laboratory.
+ * Copyright (c) 2015-2018 Oak Ridge National Laboratory.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,8 @@
  *******************************************************************************/
 package org.csstudio.display.builder.runtime.internal;
 
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.runtimePropPVValue;
+import static org.csstudio.display.builder.model.properties.CommonWidgetProperties.runtimePropPVWritable;
 import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
 
 import java.util.ArrayList;
@@ -22,12 +24,26 @@ import org.csstudio.display.builder.model.widgets.ArrayWidget;
 import org.csstudio.display.builder.model.widgets.GroupWidget;
 import org.csstudio.display.builder.runtime.RuntimeUtil;
 import org.csstudio.display.builder.runtime.WidgetRuntime;
+import org.csstudio.display.builder.runtime.WidgetRuntimeFactory;
+import org.csstudio.display.builder.runtime.pv.ArrayElementWriter;
+import org.csstudio.display.builder.runtime.pv.ArrayElements;
 import org.csstudio.display.builder.runtime.pv.ArrayPVDispatcher;
 import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.display.builder.runtime.pv.RuntimePVListener;
+import org.diirt.vtype.VType;
 
 /** Runtime for array widget
+ *
+ *  <p>When the element widgets are simple,
+ *  i.e. have no scripts, rules, actions nor widget-specific runtime,
+ *  the elements of the array PV are directly set as the value of each element widget,
+ *  and values written by element widgets are combined into one write to the array PV.
+ *
+ *  <p>Otherwise an {@link ArrayPVDispatcher} creates local PVs for each element,
+ *  and each element widget has its full runtime connected to such a local PV.
  *
  *  @author Amanda Carpenter
+ *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
 public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
@@ -36,6 +52,18 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
     private CopyOnWriteArrayList<String> pvnames = new CopyOnWriteArrayList<String>();
     private String pvid;
 
+    /** Array PV in 'fast' mode, <code>null</code> when using dispatcher */
+    private volatile RuntimePV array_pv = null;
+
+    /** Last value of the array PV in 'fast' mode. SYNC on update_lock */
+    private VType array_value = null;
+
+    /** Serializes updates of element widgets from the PV and for added children */
+    private final Object update_lock = new Object();
+
+    /** Writes element values to the array PV in 'fast' mode */
+    private volatile ArrayElementWriter array_writer = null;
+
     private final ArrayPVDispatcher.Listener assign_pv_names = new ArrayPVDispatcher.Listener()
     {
         @Override
@@ -48,6 +76,42 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
         }
     };
 
+    private final RuntimePVListener array_listener = new RuntimePVListener()
+    {
+        @Override
+        public void permissionsChanged(final RuntimePV pv, final boolean readonly)
+        {
+            for (Widget element : widget.runtimeChildren().getValue())
+                setElementWritable(element, ! readonly);
+        }
+
+        @Override
+        public void valueChanged(final RuntimePV pv, final VType value)
+        {
+            final ArrayElementWriter writer = array_writer;
+            if (writer != null)
+                writer.arrayChanged();
+            synchronized (update_lock)
+            {
+                array_value = value;
+                updateElements(0, widget.runtimeChildren().getValue());
+            }
+        }
+
+        @Override
+        public void disconnected(final RuntimePV pv)
+        {
+            final ArrayElementWriter writer = array_writer;
+            if (writer != null)
+                writer.arrayChanged();
+            synchronized (update_lock)
+            {
+                array_value = null;
+                updateElements(0, widget.runtimeChildren().getValue());
+            }
+        }
+    };
+
     private final WidgetPropertyListener<List<Widget>> children_listener = (prop, removed, added) ->
     {
         if (removed != null)
@@ -57,7 +121,7 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
 
                 final Optional<WidgetProperty<Object>> pvname = child.checkProperty("pv_name");
                 if (!pvname.isPresent())
-                    return;
+                    continue;
                 try
                 {
                     pvname.get().setValueFromObject(pvname.get().getDefaultValue());
@@ -69,9 +133,28 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
             }
         if (added != null)
         {
-            setPVNames(this.widget.runtimeChildren().getValue().size() - added.size(), added);
-            for (Widget child : added)
-                RuntimeUtil.startRuntime(child);
+            final int first = this.widget.runtimeChildren().getValue().size() - added.size();
+            final RuntimePV pv = array_pv;
+            if (pv != null)
+            {
+                int i = first;
+                for (Widget child : added)
+                {
+                    setPVName(child, getElementName(pv, i++));
+                    startElementRuntime(child);
+                    setElementWritable(child, ! pv.isReadonly());
+                }
+                synchronized (update_lock)
+                {
+                    updateElements(first, added);
+                }
+            }
+            else
+            {
+                setPVNames(first, added);
+                for (Widget child : added)
+                    RuntimeUtil.startRuntime(child);
+            }
         }
     };
 
@@ -87,10 +170,27 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
     {
         super.start();
         RuntimePV pv = getPrimaryPV().orElse(null);
-        if (pv != null)
-            dispatcher = new ArrayPVDispatcher(pv, pvid, assign_pv_names);
-        for (final Widget child : widget.runtimeChildren().getValue())
-            RuntimeUtil.startRuntime(child);
+        final List<Widget> children = widget.runtimeChildren().getValue();
+        if (pv != null  &&  !children.isEmpty()  &&  children.stream().allMatch(ArrayWidgetRuntime::isSimple))
+        {
+            int i = 0;
+            for (final Widget child : children)
+            {
+                setPVName(child, getElementName(pv, i++));
+                startElementRuntime(child);
+                setElementWritable(child, ! pv.isReadonly());
+            }
+            array_writer = new ArrayElementWriter(pv, RuntimeUtil.getExecutor());
+            array_pv = pv;
+            pv.addListener(array_listener);
+        }
+        else
+        {
+            if (pv != null)
+                dispatcher = new ArrayPVDispatcher(pv, pvid, assign_pv_names, true);
+            for (final Widget child : children)
+                RuntimeUtil.startRuntime(child);
+        }
         widget.runtimeChildren().addPropertyListener(children_listener);
     }
 
@@ -98,6 +198,17 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
     public void stop()
     {
         widget.runtimeChildren().removePropertyListener(children_listener);
+        final RuntimePV pv = array_pv;
+        if (pv != null)
+        {
+            pv.removeListener(array_listener);
+            array_pv = null;
+            array_writer = null;
+            synchronized (update_lock)
+            {
+                array_value = null;
+            }
+        }
         for (final Widget child : widget.runtimeChildren().getValue())
             RuntimeUtil.stopRuntime(child);
         if (dispatcher != null)
@@ -126,4 +237,127 @@ public class ArrayWidgetRuntime extends WidgetRuntime<ArrayWidget>
                 setPVName(child, name);
         }
     }
+
+    /** @param pv Array PV
+     *  @param index Element index
+     *  @return Name shown by element widget in 'fast' mode, for example "array[3]"
+     */
+    private static String getElementName(final RuntimePV pv, final int index)
+    {
+        return pv.getName() + "[" + index + "]";
+    }
+
+    /** @param widget Element widget
+     *  @return <code>true</code> if widget and its children can use the {@link ArrayElementRuntime}
+     */
+    private static boolean isSimple(final Widget widget)
+    {
+        if (! (widget.propScripts().getValue().isEmpty()  &&
+               widget.propRules().getValue().isEmpty()    &&
+               widget.propActions().getValue().getActions().isEmpty()))
+            return false;
+        if (widget instanceof GroupWidget)
+        {
+            for (Widget child : ((GroupWidget) widget).runtimeChildren().getValue())
+                if (! isSimple(child))
+                    return false;
+            return true;
+        }
+        return ! WidgetRuntimeFactory.INSTANCE.hasSpecificRuntime(widget.getType());
+    }
+
+    /** @param widget Element widget, for group also start its children */
+    private void startElementRuntime(final Widget widget)
+    {
+        new ArrayElementRuntime(this).initialize(widget);
+        if (widget instanceof GroupWidget)
+            for (Widget child : ((GroupWidget) widget).runtimeChildren().getValue())
+                startElementRuntime(child);
+    }
+
+    /** Set element widgets to the elements of the current array value
+     *
+     *  <p>Caller must hold the update_lock,
+     *  so updates from the PV and for added children
+     *  are applied in order.
+     *
+     *  @param first Array index of first element widget
+     *  @param elements Element widgets
+     */
+    private void updateElements(final int first, final List<Widget> elements)
+    {
+        final VType value = array_value;
+        int i = first;
+        for (Widget element : elements)
+        {
+            try
+            {
+                setElementValue(element, ArrayElements.getElement(value, i));
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING, "Cannot update " + element + " from " + value, ex);
+            }
+            ++i;
+        }
+    }
+
+    /** @param widget Element widget, for group the members that have a value
+     *  @param value Value of the element
+     */
+    private static void setElementValue(final Widget widget, final VType value)
+    {
+        final Optional<WidgetProperty<VType>> prop = widget.checkProperty(runtimePropPVValue);
+        if (prop.isPresent())
+        {
+            if (! ArrayElements.isSameValue(prop.get().getValue(), value))
+                prop.get().setValue(value);
+        }
+        else if (widget instanceof GroupWidget)
+            for (Widget child : ((GroupWidget) widget).runtimeChildren().getValue())
+                setElementValue(child, value);
+    }
+
+    /** @param widget Element widget, for group its members
+     *  @param writable Does the array PV have write access?
+     */
+    private static void setElementWritable(final Widget widget, final boolean writable)
+    {
+        final Optional<WidgetProperty<Boolean>> prop = widget.checkProperty(runtimePropPVWritable);
+        if (prop.isPresent())
+            prop.get().setValue(writable);
+        else if (widget instanceof GroupWidget)
+            for (Widget child : ((GroupWidget) widget).runtimeChildren().getValue())
+                setElementWritable(child, writable);
+    }
+
+    /** Write value of one element
+     *
+     *  <p>Values written by several elements in quick succession,
+     *  for example when initializing all of them,
+     *  are combined into one write to the array PV.
+     *
+     *  @param element Element widget or widget within element group
+     *  @param value Value written by element widget
+     */
+    void writeElement(final Widget element, final Object value)
+    {
+        // Locate the array element that holds the widget
+        Widget top = element;
+        Optional<Widget> parent = top.getParent();
+        while (parent.isPresent()  &&  parent.get() != widget)
+        {
+            top = parent.get();
+            parent = top.getParent();
+        }
+        final int index = widget.runtimeChildren().getValue().indexOf(top);
+        if (index < 0)
+        {
+            logger.log(Level.WARNING, "Cannot write " + value + " for " + element + ", not an element of " + widget);
+            return;
+        }
+        final ArrayElementWriter writer = array_writer;
+        if (writer != null)
+            writer.write(index, value);
+    }
 }
@@ -28,11 +28,18 @@ import org.csstudio.display.builder.runtime.pv.PVFactory;
 import org.csstudio.display.builder.runtime.pv.RuntimePV;
 import org.csstudio.display.builder.runtime.pv.RuntimePVListener;
 import org.csstudio.display.builder.runtime.script.PVUtil;
+import org.diirt.util.array.ListNumber;
+import org.diirt.vtype.VNumberArray;
+import org.diirt.vtype.VTable;
 import org.diirt.vtype.VType;
 
 /** Runtime for the ImageWidget
  *
  *  <p>Updates 'Cursor Info PV' with location and value at cursor.
+ *  Updates ROI PVs with region and statistics.
+ *  Statistics are written as plain numeric arrays,
+ *  which unlike the table or array value types
+ *  can be written to any type of PV.
  *
  *  @author Kay Kasemir
  */
@@ -160,6 +167,14 @@ public class ImageWidgetRuntime extends WidgetRuntime<ImageWidget>
     private final Map<WidgetProperty<?>, WidgetPropertyListener<?>> roi_prop_listeners = new ConcurrentHashMap<>();
     private final Map<RuntimePV, RuntimePVListener> roi_pv_listeners = new ConcurrentHashMap<>();
 
+    /** Listen to ROIs added at runtime */
+    private final WidgetPropertyListener<List<ROIWidgetProperty>> rois_listener = (prop, removed, added) ->
+    {
+        if (added != null)
+            for (ROIWidgetProperty roi : added)
+                bindROI(roi);
+    };
+
     @Override
     public void initialize(final ImageWidget widget)
     {
@@ -195,12 +210,21 @@ public class ImageWidgetRuntime extends WidgetRuntime<ImageWidget>
         }
         // Connect ROI PVs
         for (ROIWidgetProperty roi : widget.propROIs().getValue())
-        {
-            bindROI(roi.x_pv(), roi.x_value());
-            bindROI(roi.y_pv(), roi.y_value());
-            bindROI(roi.width_pv(), roi.width_value());
-            bindROI(roi.height_pv(), roi.height_value());
-        }
+            bindROI(roi);
+        widget.propROIs().addPropertyListener(rois_listener);
+    }
+
+    /** @param roi ROI for which to connect PVs */
+    private void bindROI(final ROIWidgetProperty roi)
+    {
+        bindROI(roi.x_pv(), roi.x_value());
+        bindROI(roi.y_pv(), roi.y_value());
+        bindROI(roi.width_pv(), roi.width_value());
+        bindROI(roi.height_pv(), roi.height_value());
+        bindROIStatistics(roi.statistics_pv(), roi.statistics());
+        bindROIStatistics(roi.x_profile_pv(), roi.x_profile());
+        bindROIStatistics(roi.y_profile_pv(), roi.y_profile());
+        bindROIStatistics(roi.histogram_pv(), roi.histogram());
     }
 
     /** @param pv_name Name of cursor related PV
@@ -282,10 +306,80 @@ public class ImageWidgetRuntime extends WidgetRuntime<ImageWidget>
         }
     }
 
+    /** Bind an ROI statistics PV to a runtime value
+     *  @param name_prop Property for the PV name
+     *  @param value_prop Runtime property that's written to the PV
+     */
+    private void bindROIStatistics(final WidgetProperty<String> name_prop, final WidgetProperty<VType> value_prop)
+    {
+        final String pv_name = name_prop.getValue();
+        if (pv_name.isEmpty())
+            return;
+
+        logger.log(Level.FINER, "Connecting {0} to ROI statistics PV {1}",  new Object[] { widget, pv_name });
+        try
+        {
+            final RuntimePV pv = PVFactory.getPV(pv_name);
+            addPV(pv);
+            roi_pvs.add(pv);
+
+            // Write value changes to the PV
+            final WidgetPropertyListener<VType> prop_listener = (prop, old, value) ->
+            {
+                try
+                {
+                    final double[] data = toArray(value);
+                    if (data != null)
+                        pv.write(data);
+                }
+                catch (Exception ex)
+                {
+                    logger.log(Level.WARNING, "Error writing ROI statistics to PV " + pv_name, ex);
+                }
+            };
+            value_prop.addPropertyListener(prop_listener);
+            roi_prop_listeners.put(value_prop, prop_listener);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Error connecting ROI statistics PV " + pv_name, ex);
+        }
+    }
+
+    /** @param value Statistics table with one row, or numeric array
+     *  @return Table columns resp. array elements, <code>null</code> for other values
+     */
+    private static double[] toArray(final VType value)
+    {
+        if (value instanceof VTable)
+        {
+            final VTable table = (VTable) value;
+            final double[] data = new double[table.getColumnCount()];
+            for (int c=0; c<data.length; ++c)
+            {
+                final Object column = table.getColumnData(c);
+                data[c] = (column instanceof ListNumber  &&  ((ListNumber) column).size() > 0)
+                        ? ((ListNumber) column).getDouble(0)
+                        : Double.NaN;
+            }
+            return data;
+        }
+        if (value instanceof VNumberArray)
+        {
+            final ListNumber numbers = ((VNumberArray) value).getData();
+            final double[] data = new double[numbers.size()];
+            for (int i=0; i<data.length; ++i)
+                data[i] = numbers.getDouble(i);
+            return data;
+        }
+        return null;
+    }
+
     @Override
     public void stop()
     {
         // Disconnect ROI PVs and listeners
+        widget.propROIs().removePropertyListener(rois_listener);
         for (Map.Entry<WidgetProperty<?>, WidgetPropertyListener<?>> entry : roi_prop_listeners.entrySet())
             entry.getKey().removePropertyListener(entry.getValue());
         roi_prop_listeners.clear();
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.pv;
+
+import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/** Writes elements of an array PV
+ *
+ *  <p>Values written for several elements in quick succession,
+ *  for example when the array widget initializes all of them,
+ *  are combined into one write to the array PV.
+ *
+ *  <p>Element values are merged onto the array that was last written
+ *  until the PV sends a new value, so a write that is sent
+ *  before the PV reflects the previous one does not revert it.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ArrayElementWriter
+{
+    private final RuntimePV pv;
+
+    private final Executor executor;
+
+    /** Values awaiting write to the array PV by element index. SYNC on access */
+    private final Map<Integer, Object> pending = new HashMap<>();
+
+    /** Last value written to the array PV,
+     *  <code>null</code> when the PV has since sent a new value
+     */
+    private volatile Object written = null;
+
+    /** @param pv Array PV
+     *  @param executor Executor for writing to the PV
+     */
+    public ArrayElementWriter(final RuntimePV pv, final Executor executor)
+    {
+        this.pv = pv;
+        this.executor = executor;
+    }
+
+    /** Write value of one element
+     *
+     *  <p>Returns right away, the value is written by the executor.
+     *
+     *  @param index Element index
+     *  @param value Value of the element
+     */
+    public void write(final int index, final Object value)
+    {
+        synchronized (pending)
+        {
+            final boolean idle = pending.isEmpty();
+            pending.put(index, value);
+            if (idle)
+                executor.execute(this::writeArray);
+        }
+    }
+
+    /** To be called when the array PV sends a new value or disconnects,
+     *  so subsequent element writes are merged onto the PV's value
+     */
+    public void arrayChanged()
+    {
+        written = null;
+    }
+
+    /** Write pending element values to the array PV */
+    private synchronized void writeArray()
+    {
+        final Map<Integer, Object> writes;
+        synchronized (pending)
+        {
+            writes = new HashMap<>(pending);
+            pending.clear();
+        }
+        try
+        {
+            final Object last = written;
+            final Object value = last != null
+                               ? ArrayElements.mergeElements(last, writes)
+                               : ArrayElements.setElements(pv.read(), writes);
+            if (value != null)
+            {
+                written = value;
+                pv.write(value);
+            }
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot write elements " + writes + " to " + pv.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.pv;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.csstudio.display.builder.model.widgets.PVWidget;
+import org.diirt.vtype.Alarm;
+import org.diirt.vtype.VEnum;
+import org.diirt.vtype.VEnumArray;
+import org.diirt.vtype.VNumber;
+import org.diirt.vtype.VNumberArray;
+import org.diirt.vtype.VString;
+import org.diirt.vtype.VStringArray;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+
+/** Access to the elements of an array value
+ *
+ *  <p>Used by the array widget to read and write elements
+ *  of an array PV without per-element PVs.
+ *  Treats scalar values as one-element array.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ArrayElements
+{
+    /** @param value Array value
+     *  @param index Element index
+     *  @return Value of element, {@link PVWidget#RUNTIME_VALUE_NO_PV} when beyond the array,
+     *          <code>null</code> when value is <code>null</code>, i.e. disconnected
+     *  @throws Exception on unknown value type
+     */
+    public static VType getElement(final VType value, final int index) throws Exception
+    {
+        if (value == null)
+            return null;
+        if (value instanceof VNumberArray)
+        {
+            final VNumberArray array = (VNumberArray) value;
+            if (index >= array.getData().size())
+                return PVWidget.RUNTIME_VALUE_NO_PV;
+            return ValueFactory.newVDouble(array.getData().getDouble(index), array, array, array);
+        }
+        if (value instanceof VEnumArray)
+        {
+            final VEnumArray array = (VEnumArray) value;
+            if (index >= array.getIndexes().size())
+                return PVWidget.RUNTIME_VALUE_NO_PV;
+            return ValueFactory.newVEnum(array.getIndexes().getInt(index), array.getLabels(), array, array);
+        }
+        if (value instanceof VStringArray)
+        {
+            final VStringArray array = (VStringArray) value;
+            if (index >= array.getData().size())
+                return PVWidget.RUNTIME_VALUE_NO_PV;
+            return ValueFactory.newVString(array.getData().get(index), array, array);
+        }
+        // Treat scalar as one-element array
+        if (value instanceof VNumber  ||  value instanceof VEnum  ||  value instanceof VString)
+            return index == 0 ? value : PVWidget.RUNTIME_VALUE_NO_PV;
+        throw new Exception("Cannot handle " + value);
+    }
+
+    /** @param old_value Previous element value
+     *  @param new_value New element value
+     *  @return <code>true</code> if value and alarm are the same
+     */
+    public static boolean isSameValue(final VType old_value, final VType new_value)
+    {
+        if (old_value == new_value)
+            return true;
+        if (old_value == null  ||  new_value == null  ||
+            old_value.getClass() != new_value.getClass()  ||
+            old_value == PVWidget.RUNTIME_VALUE_NO_PV  ||  new_value == PVWidget.RUNTIME_VALUE_NO_PV)
+            return false;
+        final Alarm old_alarm = (Alarm) old_value, new_alarm = (Alarm) new_value;
+        if (old_alarm.getAlarmSeverity() != new_alarm.getAlarmSeverity()  ||
+            ! Objects.equals(old_alarm.getAlarmName(), new_alarm.getAlarmName()))
+            return false;
+        if (old_value instanceof VNumber)
+            return Objects.equals(((VNumber) old_value).getValue(), ((VNumber) new_value).getValue());
+        if (old_value instanceof VEnum)
+            return ((VEnum) old_value).getIndex() == ((VEnum) new_value).getIndex();
+        if (old_value instanceof VString)
+            return Objects.equals(((VString) old_value).getValue(), ((VString) new_value).getValue());
+        return false;
+    }
+
+    /** Replace elements of an array
+     *
+     *  <p>Elements beyond the size of the array are ignored.
+     *
+     *  @param array Current array value
+     *  @param writes New element values by index
+     *  @return Value to write to the array PV: <code>String[]</code> or <code>double[]</code> for arrays,
+     *          the new value of element 0 for a scalar,
+     *          <code>null</code> if there is nothing to write
+     *  @throws Exception on unknown value type or element value that cannot be converted
+     */
+    public static Object setElements(final VType array, final Map<Integer, Object> writes) throws Exception
+    {
+        if (array instanceof VNumber  ||  array instanceof VEnum  ||  array instanceof VString)
+            // 'Array' is really a scalar
+            return writes.get(0);
+        if (array instanceof VStringArray)
+        {
+            final List<String> data = ((VStringArray) array).getData();
+            final String[] value = data.toArray(new String[data.size()]);
+            for (Map.Entry<Integer, Object> write : writes.entrySet())
+                if (write.getKey() < value.length)
+                    value[write.getKey()] = Objects.toString(write.getValue());
+            return value;
+        }
+        if (array instanceof VNumberArray  ||  array instanceof VEnumArray)
+        {
+            final double[] value = new double[array instanceof VEnumArray
+                                              ? ((VEnumArray) array).getIndexes().size()
+                                              : ((VNumberArray) array).getData().size()];
+            for (int i=0; i<value.length; ++i)
+                value[i] = getElementNumber(array, i);
+            for (Map.Entry<Integer, Object> write : writes.entrySet())
+                if (write.getKey() < value.length)
+                    value[write.getKey()] = toDouble(write.getValue());
+            return value;
+        }
+        throw new Exception("Cannot write elements to " + array);
+    }
+
+    /** Replace elements of an array that was written before
+     *
+     *  <p>Elements beyond the size of the array are ignored.
+     *
+     *  @param written Value that was written: <code>String[]</code>, <code>double[]</code> or scalar
+     *  @param writes New element values by index
+     *  @return Value to write to the array PV
+     *  @throws Exception on element value that cannot be converted
+     *  @see #setElements(VType, Map)
+     */
+    public static Object mergeElements(final Object written, final Map<Integer, Object> writes) throws Exception
+    {
+        if (written instanceof String[])
+        {
+            final String[] value = ((String[]) written).clone();
+            for (Map.Entry<Integer, Object> write : writes.entrySet())
+                if (write.getKey() < value.length)
+                    value[write.getKey()] = Objects.toString(write.getValue());
+            return value;
+        }
+        if (written instanceof double[])
+        {
+            final double[] value = ((double[]) written).clone();
+            for (Map.Entry<Integer, Object> write : writes.entrySet())
+                if (write.getKey() < value.length)
+                    value[write.getKey()] = toDouble(write.getValue());
+            return value;
+        }
+        // Scalar
+        return writes.containsKey(0) ? writes.get(0) : written;
+    }
+
+    private static double getElementNumber(final VType array, final int index)
+    {
+        if (array instanceof VEnumArray)
+            return ((VEnumArray) array).getIndexes().getInt(index);
+        return ((VNumberArray) array).getData().getDouble(index);
+    }
+
+    private static double toDouble(final Object value) throws Exception
+    {
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        if (value instanceof Boolean)
+            return ((Boolean) value) ? 1.0 : 0.0;
+        return Double.parseDouble(Objects.toString(value).trim());
+    }
+}
@@ -13,9 +13,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 
+import org.csstudio.display.builder.model.util.ModelThreadPool;
 import org.csstudio.display.builder.model.util.VTypeUtil;
 import org.diirt.util.array.ArrayDouble;
 import org.diirt.util.array.ArrayInt;
@@ -99,6 +101,12 @@ public class ArrayPVDispatcher implements AutoCloseable
         {
             if (ignore_element_updates)
                 return;
+            if (batch_writes)
+            {
+                if (array_update_pending.compareAndSet(false, true))
+                    ModelThreadPool.getExecutor().execute(ArrayPVDispatcher.this::batchedArrayUpdate);
+                return;
+            }
             try
             {
                 updateArrayFromElements();
@@ -110,6 +118,12 @@ public class ArrayPVDispatcher implements AutoCloseable
         }
     };
 
+    /** Combine element updates into one array write? */
+    private final boolean batch_writes;
+
+    /** Is a batched update of the array PV pending? */
+    private final AtomicBoolean array_update_pending = new AtomicBoolean();
+
     private volatile boolean is_string = false;
 
     private final AtomicReference<List<RuntimePV>> element_pvs = new AtomicReference<>(Collections.emptyList());
@@ -122,10 +136,28 @@ public class ArrayPVDispatcher implements AutoCloseable
      */
     public ArrayPVDispatcher(final RuntimePV array_pv, final String basename,
                              final Listener listener)
+    {
+        this(array_pv, basename, listener, false);
+    }
+
+    /** Construct dispatcher
+     *
+     *  @param array_pv PV that will be dispatched into per-element PVs
+     *  @param basename Base name used to create per-element PVs.
+     *  @param batch_writes Update the array PV in the background,
+     *                      combining changes of several per-element PVs
+     *                      into one write?
+     *                      Otherwise each change of a per-element PV
+     *                      writes the array PV right away.
+     *  @see #close()
+     */
+    public ArrayPVDispatcher(final RuntimePV array_pv, final String basename,
+                             final Listener listener, final boolean batch_writes)
     {
         this.array_pv = array_pv;
         this.basename = basename;
         this.listener = listener;
+        this.batch_writes = batch_writes;
 
         array_pv.addListener(array_listener);
     }
@@ -243,6 +275,21 @@ public class ArrayPVDispatcher implements AutoCloseable
         }
     }
 
+    /** Update the array PV with all element changes since the update was scheduled */
+    private void batchedArrayUpdate()
+    {
+        // Element changes from now on schedule another update
+        array_update_pending.set(false);
+        try
+        {
+            updateArrayFromElements();
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot update array " + array_pv.getName() + " from elements", ex);
+        }
+    }
+
     /** Update the array PV with the current value of all element PVs */
     private void updateArrayFromElements() throws Exception
     {
@@ -255,7 +302,7 @@ public class ArrayPVDispatcher implements AutoCloseable
             if (array instanceof VNumber ||
                 array instanceof VString)
             {
-                array_pv.write(pvs.get(0).read());
+                writeArray(pvs.get(0).read());
                 return;
             }
         }
@@ -265,17 +312,32 @@ public class ArrayPVDispatcher implements AutoCloseable
             final String[] value = new String[N];
             for (int i=0; i<N; ++i)
                 value[i] = VTypeUtil.getValueString(pvs.get(i).read(), false);
-            array_pv.write(value);
+            writeArray(value);
         }
         else
         {
             final double[] value = new double[N];
             for (int i=0; i<N; ++i)
                 value[i] = VTypeUtil.getValueNumber(pvs.get(i).read()).doubleValue();
-            array_pv.write(value);
+            writeArray(value);
         }
     }
 
+    /** @param value Value to write to the array PV
+     *  @throws Exception on error
+     */
+    private void writeArray(final Object value) throws Exception
+    {
+        if (batch_writes)
+            PVWriter.write(array_pv, value).whenComplete((ignored, ex) ->
+            {
+                if (ex != null)
+                    logger.log(Level.WARNING, "Cannot update array " + array_pv.getName() + " from elements", ex);
+            });
+        else
+            array_pv.write(value);
+    }
+
     /** Update per-element PVs.
      *
      *  <p>Disposes old PVs.
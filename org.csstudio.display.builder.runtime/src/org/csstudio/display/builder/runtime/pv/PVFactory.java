@@ -13,8 +13,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import org.csstudio.display.builder.model.util.ModelThreadPool;
 import org.csstudio.display.builder.runtime.Preferences;
 import org.csstudio.display.builder.runtime.TextPatch;
 import org.csstudio.display.builder.runtime.pv.vtype_pv.VTypePVFactory;
@@ -26,6 +28,13 @@ import org.eclipse.core.runtime.RegistryFactory;
  *
  *  <p>Allows pluggable implementations: vtype.pv, PVManager, ..
  *
+ *  <p>All widgets and scripts of all displays share one {@link RuntimePV}
+ *  for each PV name, which receives each value once
+ *  and forwards it to all listeners.
+ *  When a PV is no longer used, it lingers for a short time
+ *  so that a display which is closed and re-opened can re-use
+ *  the PV connection.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -41,6 +50,15 @@ public class PVFactory
     /** Has RuntimePV.setValue() issued warning about being called? */
     static volatile boolean issued_write_warning = false;
 
+    /** Time that unused PVs remain connected */
+    private static final long linger_ms = TimeUnit.SECONDS.toMillis(Preferences.getPV_Linger());
+
+    /** Shared PVs by patched name. SYNC on shared */
+    private static final Map<String, SharedPV> shared = new HashMap<>();
+
+    /** Period for logging {@link #getStatistics()} at level FINE */
+    private static final long STATISTICS_PERIOD_SECS = 60;
+
     static
     {
         final List<String> impl = new ArrayList<>();
@@ -81,6 +99,9 @@ public class PVFactory
 
         implementations = impl.toArray(new String[impl.size()]);
         factory = the_factory;
+
+        ModelThreadPool.getTimer().scheduleAtFixedRate(PVFactory::logStatistics,
+                                                       STATISTICS_PERIOD_SECS, STATISTICS_PERIOD_SECS, TimeUnit.SECONDS);
     }
 
     public static String[] getImplementations()
@@ -108,7 +129,22 @@ public class PVFactory
      */
     public static RuntimePV getPV(final String name) throws Exception
     {
-        return factory.getPV(patch(name));
+        final String key = patch(name);
+        synchronized (shared)
+        {
+            SharedPV pv = shared.get(key);
+            if (pv == null)
+            {
+                pv = new SharedPV(key, factory.getPV(key));
+                shared.put(key, pv);
+            }
+            else if (pv.references++ == 0)
+            {   // Re-use lingering PV
+                pv.linger.cancel(false);
+                pv.linger = null;
+            }
+            return pv;
+        }
     }
 
     /** Release a PV (close, dispose resources, ...)
@@ -116,6 +152,74 @@ public class PVFactory
      */
     public static void releasePV(final RuntimePV pv)
     {
-        factory.releasePV(pv);
+        final SharedPV shared_pv = (SharedPV) pv;
+        synchronized (shared)
+        {
+            if (shared_pv.references <= 0)
+            {
+                logger.log(Level.WARNING, "PV " + pv + " released too often");
+                return;
+            }
+            if (--shared_pv.references > 0)
+                return;
+            // Local PVs are re-initialized when a display is opened again,
+            // and they cost nothing to create, so close them right away
+            if (linger_ms > 0  &&  !shared_pv.key.startsWith("loc://"))
+            {
+                shared_pv.linger = ModelThreadPool.getTimer().schedule(() -> expire(shared_pv),
+                                                                       linger_ms, TimeUnit.MILLISECONDS);
+                return;
+            }
+            shared.remove(shared_pv.key);
+        }
+        close(shared_pv);
+    }
+
+    /** Close PV unless it has been re-used while lingering */
+    private static void expire(final SharedPV pv)
+    {
+        synchronized (shared)
+        {
+            if (pv.references > 0  ||  shared.get(pv.key) != pv)
+                return;
+            shared.remove(pv.key);
+        }
+        close(pv);
+    }
+
+    private static void close(final SharedPV pv)
+    {
+        pv.close();
+        factory.releasePV(pv.pv);
+    }
+
+    /** Log statistics of shared PVs when FINE logging is enabled */
+    private static void logStatistics()
+    {
+        if (! logger.isLoggable(Level.FINE))
+            return;
+        synchronized (shared)
+        {
+            if (shared.isEmpty())
+                return;
+        }
+        logger.log(Level.FINE, "Shared PVs: {0}", getStatistics());
+    }
+
+    /** @return Description of shared PVs: references, listeners, time spent forwarding updates */
+    public static String getStatistics()
+    {
+        final StringBuilder buf = new StringBuilder();
+        synchronized (shared)
+        {
+            int lingering = 0;
+            for (SharedPV pv : shared.values())
+                if (pv.references == 0)
+                    ++lingering;
+            buf.append(shared.size()).append(" PVs, ").append(lingering).append(" lingering\n");
+            for (SharedPV pv : shared.values())
+                buf.append(pv.getStatistics()).append('\n');
+        }
+        return buf.toString();
     }
 }
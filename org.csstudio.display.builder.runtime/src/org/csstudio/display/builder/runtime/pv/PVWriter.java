@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.pv;
+
+import static org.csstudio.display.builder.runtime.RuntimePlugin.logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.model.util.ModelThreadPool;
+import org.csstudio.display.builder.runtime.Preferences;
+
+/** Asynchronous writes to PVs
+ *
+ *  <p>Widgets like sliders that are dragged quickly,
+ *  or scripts that write many values,
+ *  should neither block the caller nor flood the PV layer.
+ *
+ *  <p>Writes are performed in background threads.
+ *  For each PV, only the most recent value is kept:
+ *  Values that are written while an earlier value is still waiting
+ *  replace the earlier value.
+ *  Writes to the same PV are further limited to one per configured period.
+ *  A first write to a PV that has not been written for a while
+ *  is performed right away.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class PVWriter
+{
+    /** Minimum time between writes to the same PV */
+    private static final long period_ms = Preferences.getPV_WritePeriod();
+
+    /** Upper limits of the latency histogram bins in milliseconds.
+     *  Last bin holds everything above.
+     */
+    private static final long[] BINS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+
+    /** Pending writes for one PV */
+    private static class PendingWrite
+    {
+        final RuntimePV pv;
+
+        /** Value to write. SYNC on this */
+        Object value;
+
+        /** Completes when value has been written, <code>null</code> if nothing pending. SYNC on this */
+        CompletableFuture<Void> done = null;
+
+        /** {@link System#nanoTime()} when the oldest pending value was submitted. SYNC on this */
+        long submitted;
+
+        /** Is a write or the end of the write period scheduled? SYNC on this */
+        boolean scheduled = false;
+
+        /** Has this been removed from the map of pending writes? SYNC on this */
+        boolean removed = false;
+
+        PendingWrite(final RuntimePV pv)
+        {
+            this.pv = pv;
+        }
+    }
+
+    /** Pending writes by PV */
+    private static final Map<RuntimePV, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    /** Count of writes by latency bin */
+    private static final AtomicLongArray latencies = new AtomicLongArray(BINS.length + 1);
+
+    /** Statistics */
+    private static final AtomicLong submitted = new AtomicLong(), written = new AtomicLong(),
+                                    superseded = new AtomicLong(), failed = new AtomicLong();
+
+    /** Write value to PV
+     *
+     *  <p>Returns right away, the value is written in the background.
+     *
+     *  @param pv PV to write
+     *  @param value Value to write
+     *  @return {@link CompletableFuture} that completes when the value,
+     *          or a more recent value that replaced it, has been written.
+     *          Completes exceptionally when the write fails.
+     */
+    public static CompletableFuture<Void> write(final RuntimePV pv, final Object value)
+    {
+        submitted.incrementAndGet();
+        while (true)
+        {
+            final PendingWrite write = pending.computeIfAbsent(pv, PendingWrite::new);
+            synchronized (write)
+            {
+                // Lost race with the end of the write period? Try again
+                if (write.removed)
+                    continue;
+                if (write.done == null)
+                {
+                    write.done = new CompletableFuture<>();
+                    write.submitted = System.nanoTime();
+                }
+                else
+                    superseded.incrementAndGet();
+                write.value = value;
+                if (! write.scheduled)
+                {   // PV has not been written within the period, write right away
+                    write.scheduled = true;
+                    ModelThreadPool.getExecutor().execute(() -> perform(write));
+                }
+                // else: Will be written at end of the current period
+                return write.done;
+            }
+        }
+    }
+
+    /** Perform pending write, then schedule end of write period */
+    private static void perform(final PendingWrite write)
+    {
+        final Object value;
+        final CompletableFuture<Void> done;
+        final long start;
+        synchronized (write)
+        {
+            if (write.done == null)
+            {   // Nothing written within the last period, forget the PV
+                write.scheduled = false;
+                write.removed = true;
+                pending.remove(write.pv, write);
+                return;
+            }
+            value = write.value;
+            done = write.done;
+            start = write.submitted;
+            write.value = null;
+            write.done = null;
+        }
+
+        try
+        {
+            write.pv.write(value);
+            written.incrementAndGet();
+            record(start);
+            done.complete(null);
+        }
+        catch (Throwable ex)
+        {
+            failed.incrementAndGet();
+            logger.log(Level.FINE, "Failed to write " + value + " to " + write.pv, ex);
+            done.completeExceptionally(new Exception("Failed to write " + value + " to PV " + write.pv.getName(), ex));
+        }
+
+        // At end of period, perform the next write or forget the PV
+        if (period_ms > 0)
+            ModelThreadPool.getTimer().schedule(() -> ModelThreadPool.getExecutor().execute(() -> perform(write)),
+                                                period_ms, TimeUnit.MILLISECONDS);
+        else
+            perform(write);
+    }
+
+    /** @param start {@link System#nanoTime()} when write was submitted */
+    private static void record(final long start)
+    {
+        final long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int bin = 0;
+        while (bin < BINS.length  &&  ms > BINS[bin])
+            ++bin;
+        latencies.incrementAndGet(bin);
+    }
+
+    /** @return Histogram of write latencies, i.e. counts by bin.
+     *          Element <code>i</code> counts writes that took at most
+     *          {@link #getLatencyBins()}[i] milliseconds,
+     *          the last element counts all writes that took longer.
+     */
+    public static long[] getLatencyHistogram()
+    {
+        final long[] counts = new long[latencies.length()];
+        for (int i=0; i<counts.length; ++i)
+            counts[i] = latencies.get(i);
+        return counts;
+    }
+
+    /** @return Upper limits of the latency histogram bins in milliseconds */
+    public static long[] getLatencyBins()
+    {
+        return BINS.clone();
+    }
+
+    /** @return Description of submitted, written, superseded and failed writes with latency histogram */
+    public static String getStatistics()
+    {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(String.format("PV writes: %d submitted, %d written, %d superseded, %d failed, %d PVs pending\n",
+                                 submitted.get(), written.get(), superseded.get(), failed.get(), pending.size()));
+        final long[] counts = getLatencyHistogram();
+        for (int i=0; i<counts.length; ++i)
+        {
+            if (i < BINS.length)
+                buf.append(String.format("<= %4d ms", BINS[i]));
+            else
+                buf.append(String.format(" > %4d ms", BINS[BINS.length-1]));
+            buf.append(": ").append(counts[i]).append('\n');
+        }
+        return buf.toString();
+    }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.runtime.pv;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.diirt.vtype.VType;
+
+/** {@link RuntimePV} shared by all users of the same PV name
+ *
+ *  <p>Subscribes once to the PV of the {@link RuntimePVFactory}
+ *  and forwards its updates to all listeners.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class SharedPV implements RuntimePV
+{
+    /** Patched name used to share the PV */
+    final String key;
+
+    /** PV from the {@link RuntimePVFactory} */
+    final RuntimePV pv;
+
+    /** Number of users that obtained but didn't release this PV. SYNC on PVFactory.shared */
+    int references = 1;
+
+    /** Pending release of the unused PV, or <code>null</code>. SYNC on PVFactory.shared */
+    ScheduledFuture<?> linger = null;
+
+    private final List<RuntimePVListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Number of value updates */
+    private final AtomicLong updates = new AtomicLong();
+
+    /** Total time spent forwarding value updates to listeners */
+    private final AtomicLong fanout_nanos = new AtomicLong();
+
+    private final RuntimePVListener forwarder = new RuntimePVListener()
+    {
+        @Override
+        public void permissionsChanged(final RuntimePV pv, final boolean readonly)
+        {
+            for (RuntimePVListener listener : listeners)
+                listener.permissionsChanged(SharedPV.this, readonly);
+        }
+
+        @Override
+        public void valueChanged(final RuntimePV pv, final VType value)
+        {
+            final long start = System.nanoTime();
+            for (RuntimePVListener listener : listeners)
+                listener.valueChanged(SharedPV.this, value);
+            fanout_nanos.addAndGet(System.nanoTime() - start);
+            updates.incrementAndGet();
+        }
+
+        @Override
+        public void disconnected(final RuntimePV pv)
+        {
+            for (RuntimePVListener listener : listeners)
+                listener.disconnected(SharedPV.this);
+        }
+    };
+
+    /** @param key Patched PV name
+     *  @param pv PV from the {@link RuntimePVFactory}
+     */
+    SharedPV(final String key, final RuntimePV pv)
+    {
+        this.key = key;
+        this.pv = pv;
+        pv.addListener(forwarder);
+    }
+
+    @Override
+    public String getName()
+    {
+        return pv.getName();
+    }
+
+    @Override
+    public void addListener(final RuntimePVListener listener)
+    {
+        // If there is a known value, perform initial update
+        final VType value = pv.read();
+        if (value != null)
+            listener.valueChanged(this, value);
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(final RuntimePVListener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public VType read()
+    {
+        return pv.read();
+    }
+
+    @Override
+    public boolean isReadonly()
+    {
+        return pv.isReadonly();
+    }
+
+    @Override
+    public void write(final Object new_value) throws Exception
+    {
+        pv.write(new_value);
+    }
+
+    /** Unsubscribe from the PV of the {@link RuntimePVFactory} */
+    void close()
+    {
+        pv.removeListener(forwarder);
+    }
+
+    /** @return Description of references, listeners and update cost */
+    String getStatistics()
+    {
+        final long count = updates.get();
+        return String.format("%s: %d references, %d listeners, %d updates, %.1f us per update",
+                             key, references, listeners.size(), count,
+                             count > 0 ? fanout_nanos.get() / 1000.0 / count : 0.0);
+    }
+
+    @Override
+    public String toString()
+    {
+        return pv.toString();
+    }
+}
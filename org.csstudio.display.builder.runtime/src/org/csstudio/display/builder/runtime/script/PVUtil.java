@@ -10,10 +10,14 @@ package org.csstudio.display.builder.runtime.script;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.csstudio.display.builder.runtime.RuntimeUtil;
 import org.csstudio.display.builder.runtime.pv.PVFactory;
+import org.csstudio.display.builder.runtime.pv.PVWriter;
 import org.csstudio.display.builder.runtime.pv.RuntimePV;
 import org.csstudio.display.builder.runtime.pv.RuntimePVListener;
 import org.csstudio.java.time.TimestampFormats;
@@ -433,4 +437,35 @@ public class PVUtil
             releasePV(pv);
         }
     }
+
+    /** Write a value to a PV without waiting
+     *
+     *  <p>Like {@link #writePV(String, Object, int)},
+     *  but returns right away.
+     *  Connecting to the PV and writing the value happens in the background,
+     *  so a script can write many PVs without waiting for each one.
+     *  When the same PV is written repeatedly in quick succession,
+     *  only the most recent value is written.
+     *
+     *  @param pv_name Name of the PV
+     *  @param value Value to write
+     *  @param timeout_ms Connection timeout in milliseconds
+     *  @return {@link CompletableFuture} that completes when the value has been written,
+     *          or exceptionally when the write cannot be performed.
+     */
+    public final static CompletableFuture<Void> writePVAsync(final String pv_name, final Object value, final int timeout_ms)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return createPV(pv_name, timeout_ms);
+            }
+            catch (Exception ex)
+            {
+                throw new CompletionException(ex);
+            }
+        }, RuntimeUtil.getExecutor())
+        .thenCompose(pv -> PVWriter.write(pv, value).whenComplete((ignored, ex) -> releasePV(pv)));
+    }
 }
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.util.undo;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link SizeLimitedStack}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class SizeLimitedStackUnitTest
+{
+    @Test
+    public void testSizeLimit()
+    {
+        final SizeLimitedStack<String> stack = new SizeLimitedStack<>(3);
+        for (String item : Arrays.asList("a", "b", "c", "d"))
+            stack.push(item);
+        assertThat(stack.size(), equalTo(3));
+        assertThat(stack.getItems(), equalTo(Arrays.asList("b", "c", "d")));
+        assertThat(stack.getMemory(), equalTo(0L));
+    }
+
+    @Test
+    public void testMemoryLimit()
+    {
+        // Estimate memory by length of string, allow 10 'bytes'
+        final SizeLimitedStack<String> stack = new SizeLimitedStack<>(100, String::length, 10);
+        stack.push("aaaa");
+        stack.push("bbbb");
+        assertThat(stack.size(), equalTo(2));
+        assertThat(stack.getMemory(), equalTo(8L));
+
+        // Exceeding the memory limit removes the oldest item
+        stack.push("ccc");
+        assertThat(stack.getItems(), equalTo(Arrays.asList("bbbb", "ccc")));
+        assertThat(stack.getMemory(), equalTo(7L));
+
+        // Most recent item is kept even if it alone exceeds the limit
+        stack.push("dddddddddddd");
+        assertThat(stack.getItems(), equalTo(Arrays.asList("dddddddddddd")));
+        assertThat(stack.getMemory(), equalTo(12L));
+
+        // Pop and clear update the memory
+        stack.push("e");
+        assertThat(stack.size(), equalTo(1));
+        assertThat(stack.pop(), equalTo("e"));
+        assertThat(stack.getMemory(), equalTo(0L));
+        stack.push("ff");
+        stack.push("gg");
+        assertThat(stack.getMemory(), equalTo(4L));
+        stack.clear();
+        assertThat(stack.isEmpty(), equalTo(true));
+        assertThat(stack.getMemory(), equalTo(0L));
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.csstudio.display.builder.util.undo;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.csstudio.display.builder.editor.undo.UpdateWidgetLocationAction;
+import org.csstudio.display.builder.model.ChildrenProperty;
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.widgets.LabelWidget;
+import org.junit.Test;
+
+/** JUnit test of merging actions in the {@link UndoableActionManager}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class UndoableActionManagerUnitTest
+{
+    private final DisplayModel model = new DisplayModel();
+    private final ChildrenProperty children = model.runtimeChildren();
+
+    /** Action that changes nothing */
+    private static class OtherAction extends UndoableAction
+    {
+        OtherAction()
+        {
+            super("Other");
+        }
+
+        @Override
+        public void run()
+        {
+            // NOP
+        }
+
+        @Override
+        public void undo()
+        {
+            // NOP
+        }
+    }
+
+    private Widget createWidget()
+    {
+        final Widget widget = new LabelWidget();
+        children.addChild(widget);
+        return widget;
+    }
+
+    /** Move widget to the right, as done via arrow key
+     *  @param widget Widget to move
+     *  @return Action for the move
+     */
+    private UndoableAction move(final Widget widget)
+    {
+        final int x = widget.propX().getValue();
+        widget.propX().setValue(x + 1);
+        return new UpdateWidgetLocationAction(widget, children, children,
+                                              x, widget.propY().getValue(),
+                                              widget.propWidth().getValue(), widget.propHeight().getValue());
+    }
+
+    /** @return Number of actions that can be un-done */
+    private int undoAll(final UndoableActionManager undo)
+    {
+        int count = 0;
+        while (undo.canUndo())
+        {
+            undo.undoLast();
+            ++count;
+        }
+        return count;
+    }
+
+    @Test
+    public void testMergeMoves()
+    {
+        final UndoableActionManager undo = new UndoableActionManager(10, Long.MAX_VALUE, 60000);
+        final Widget widget = createWidget();
+        for (int i=0; i<5; ++i)
+            undo.add(move(widget));
+        assertThat(widget.propX().getValue(), equalTo(5));
+
+        // Consecutive moves are un-done as one action..
+        assertThat(undoAll(undo), equalTo(1));
+        assertThat(widget.propX().getValue(), equalTo(0));
+
+        // .. and re-done as one
+        undo.redoLast();
+        assertThat(widget.propX().getValue(), equalTo(5));
+        assertThat(undo.canRedo(), equalTo(false));
+    }
+
+    @Test
+    public void testMergeWindow() throws Exception
+    {
+        final UndoableActionManager undo = new UndoableActionManager(10, Long.MAX_VALUE, 100);
+        final Widget widget = createWidget();
+        undo.add(move(widget));
+        Thread.sleep(300);
+        // Move after the merge window is a separate action
+        undo.add(move(widget));
+
+        undo.undoLast();
+        assertThat(widget.propX().getValue(), equalTo(1));
+        assertThat(undoAll(undo), equalTo(1));
+        assertThat(widget.propX().getValue(), equalTo(0));
+    }
+
+    @Test
+    public void testOtherActions()
+    {
+        final UndoableActionManager undo = new UndoableActionManager(10, Long.MAX_VALUE, 60000);
+        final Widget widget = createWidget();
+        final Widget other = createWidget();
+
+        // Other type of action in between prevents merge
+        undo.add(move(widget));
+        undo.add(new OtherAction());
+        undo.add(move(widget));
+        assertThat(widget.propX().getValue(), equalTo(2));
+        assertThat(undoAll(undo), equalTo(3));
+        assertThat(widget.propX().getValue(), equalTo(0));
+
+        // Moves of different widgets are not merged
+        undo.add(move(widget));
+        undo.add(move(other));
+        assertThat(undoAll(undo), equalTo(2));
+        assertThat(widget.propX().getValue(), equalTo(0));
+        assertThat(other.propX().getValue(), equalTo(0));
+    }
+}
@@ -51,6 +51,12 @@ public class CompoundUndoableAction extends UndoableAction
         steps.add(step);
     }
 
+    /** @return <code>true</code> if no steps were added */
+    public boolean isEmpty()
+    {
+        return steps.isEmpty();
+    }
+
     @Override
     public void run()
     {
@@ -64,4 +70,35 @@ public class CompoundUndoableAction extends UndoableAction
         for (int i=steps.size()-1; i>=0; --i)
             steps.get(i).undo();
     }
+
+    @Override
+    public long getMemoryEstimate()
+    {
+        long size = DEFAULT_MEMORY_ESTIMATE;
+        for (UndoableAction step : steps)
+            size += step.getMemoryEstimate();
+        return size;
+    }
+
+    /** Merge with a compound action that has the same number of steps,
+     *  where each step can be merged with the corresponding step
+     */
+    @Override
+    public UndoableAction merge(final UndoableAction next)
+    {
+        if (! (next instanceof CompoundUndoableAction))
+            return null;
+        final List<UndoableAction> next_steps = ((CompoundUndoableAction) next).steps;
+        if (next_steps.size() != steps.size())
+            return null;
+        final CompoundUndoableAction merged = new CompoundUndoableAction(next.toString());
+        for (int i=0; i<steps.size(); ++i)
+        {
+            final UndoableAction step = steps.get(i).merge(next_steps.get(i));
+            if (step == null)
+                return null;
+            merged.add(step);
+        }
+        return merged;
+    }
 }
@@ -11,9 +11,13 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
 
 /** A stack with limited size.
  *  When full, oldest element will be removed.
+ *
+ *  <p>Optionally also limits the total memory of all elements,
+ *  based on an estimate of the memory used by each element.
  *  @param <T> Stack element
  *  @author Xihui Chen original org.csstudio.swt.xygraph.undo.SizeLimitedStack
  *  @author Kay Kasemir
@@ -21,12 +25,29 @@ import java.util.NoSuchElementException;
 public class SizeLimitedStack<T>
 {
     final private int limit;
+    final private ToLongFunction<T> memory;
+    final private long memory_limit;
     final private LinkedList<T> list = new LinkedList<T>();
+    /** Memory estimate for each element in 'list' */
+    final private LinkedList<Long> sizes = new LinkedList<>();
+    private long total = 0;
 
     /**@param limit Maximum number of stack elements */
     public SizeLimitedStack(final int limit)
+    {
+        this(limit, item -> 0, Long.MAX_VALUE);
+    }
+
+    /** @param limit Maximum number of stack elements
+     *  @param memory Function that estimates the memory used by an element
+     *  @param memory_limit Maximum estimated memory of all elements.
+     *                      The most recent element is kept even if it exceeds the limit.
+     */
+    public SizeLimitedStack(final int limit, final ToLongFunction<T> memory, final long memory_limit)
     {
         this.limit = limit;
+        this.memory = memory;
+        this.memory_limit = memory_limit;
     }
 
     /** @return <code>true</code> if stack is empty */
@@ -38,9 +59,16 @@ public class SizeLimitedStack<T>
     /** @param item Item to pushed onto stack. */
     public void push(final T item)
     {
-        if (list.size() >= limit)
-            list.removeFirst();
+        final long size = memory.applyAsLong(item);
         list.addLast(item);
+        sizes.addLast(size);
+        total += size;
+        while (list.size() > limit  ||
+               (total > memory_limit  &&  list.size() > 1))
+        {
+            list.removeFirst();
+            total -= sizes.removeFirst();
+        }
     }
 
     /** Get items which are currently on the stack.
@@ -61,6 +89,12 @@ public class SizeLimitedStack<T>
         return list.size();
     }
 
+    /** @return Estimated memory used by all items on stack */
+    public long getMemory()
+    {
+        return total;
+    }
+
     /** @return Top element
      *  @throws NoSuchElementException if empty
      */
@@ -74,12 +108,16 @@ public class SizeLimitedStack<T>
      */
     public T pop()
     {
-        return list.removeLast();
+        final T item = list.removeLast();
+        total -= sizes.removeLast();
+        return item;
     }
 
     /** Empty the stack */
     public void clear()
     {
         list.clear();
+        sizes.clear();
+        total = 0;
     }
 }
@@ -14,6 +14,9 @@ package org.csstudio.display.builder.util.undo;
  */
 abstract public class UndoableAction implements Runnable
 {
+    /** Default estimate for the memory used by an action */
+    public static final long DEFAULT_MEMORY_ESTIMATE = 100;
+
     final private String name;
 
     /** @param name Name used to show action in undo/redo UI */
@@ -34,6 +37,36 @@ abstract public class UndoableAction implements Runnable
     /** Called by the {@link UndoableActionManager} to un-do the action. */
     abstract public void undo();
 
+    /** Estimate memory held by the action
+     *
+     *  <p>Actions that keep for example removed widgets
+     *  should return an estimate that includes them,
+     *  so the {@link UndoableActionManager} can limit
+     *  the memory used by the undo history.
+     *
+     *  @return Estimated number of bytes used by the action
+     */
+    public long getMemoryEstimate()
+    {
+        return DEFAULT_MEMORY_ESTIMATE;
+    }
+
+    /** Merge with a following action
+     *
+     *  <p>Called by the {@link UndoableActionManager} when the
+     *  next action is added shortly after this one.
+     *  For example, several small moves of a widget via arrow keys
+     *  may be merged into one move that is un-done as a whole.
+     *
+     *  @param next Action that follows this one
+     *  @return Action that combines this and the next action,
+     *          or <code>null</code> if they cannot be merged
+     */
+    public UndoableAction merge(final UndoableAction next)
+    {
+        return null;
+    }
+
     /** @return Name used to show action in undo/redo UI */
     @Override
     final public String toString()
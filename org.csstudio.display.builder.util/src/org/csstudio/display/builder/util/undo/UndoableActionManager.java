@@ -14,6 +14,11 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 
 /** Manager for {@link UndoableAction}s
+ *
+ *  <p>Limits the undo/redo history by number of entries
+ *  and by the estimated memory of the actions.
+ *  An action that is added shortly after the previous one
+ *  may be merged with it, see {@link UndoableAction#merge(UndoableAction)}.
  *
  *  @author Xihui Chen original org.csstudio.swt.xygraph.undo.OperationsManager
  *  @author Kay Kasemir
@@ -21,15 +26,41 @@ import java.util.logging.Level;
 @SuppressWarnings("nls")
 public class UndoableActionManager
 {
+    /** Actions added within this time may be merged */
+    private static final long MERGE_MS = 1000;
+
+    private final long merge_ms;
+
     private final SizeLimitedStack<UndoableAction> undoStack;
     private final SizeLimitedStack<UndoableAction> redoStack;
     private final List<UndoRedoListener> listeners = new CopyOnWriteArrayList<>();
 
+    /** Time when last action was added to undo stack */
+    private long last_add_ms = 0;
+
     /** @param stack_size Number of undo/redo entries */
     public UndoableActionManager(final int stack_size)
     {
-        undoStack = new SizeLimitedStack<UndoableAction>(stack_size);
-        redoStack = new SizeLimitedStack<UndoableAction>(stack_size);
+        this(stack_size, Long.MAX_VALUE);
+    }
+
+    /** @param stack_size Number of undo/redo entries
+     *  @param memory_limit Estimated number of bytes for each of the undo and redo history
+     */
+    public UndoableActionManager(final int stack_size, final long memory_limit)
+    {
+        this(stack_size, memory_limit, MERGE_MS);
+    }
+
+    /** @param stack_size Number of undo/redo entries
+     *  @param memory_limit Estimated number of bytes for each of the undo and redo history
+     *  @param merge_ms Actions added within this time may be merged
+     */
+    UndoableActionManager(final int stack_size, final long memory_limit, final long merge_ms)
+    {
+        this.merge_ms = merge_ms;
+        undoStack = new SizeLimitedStack<UndoableAction>(stack_size, UndoableAction::getMemoryEstimate, memory_limit);
+        redoStack = new SizeLimitedStack<UndoableAction>(stack_size, UndoableAction::getMemoryEstimate, memory_limit);
     }
 
     /** @param listener Listener to add */
@@ -74,11 +105,28 @@ public class UndoableActionManager
     /** @param action Action that has already been performed, which can be un-done */
     public void add(final UndoableAction action)
     {
-        undoStack.push(action);
+        final long now = System.currentTimeMillis();
+        UndoableAction merged = null;
+        if (now - last_add_ms < merge_ms  &&  ! undoStack.isEmpty())
+            merged = undoStack.peek().merge(action);
+        last_add_ms = now;
+        if (merged != null)
+        {
+            undoStack.pop();
+            undoStack.push(merged);
+        }
+        else
+            undoStack.push(action);
         redoStack.clear();
         fireOperationsHistoryChanged();
     }
 
+    /** @return Estimated memory used by the undo and redo history */
+    public long getMemoryEstimate()
+    {
+        return undoStack.getMemory() + redoStack.getMemory();
+    }
+
     /** Undo the last command
      *  @returns Action that was un-done
      */
@@ -98,6 +146,8 @@ public class UndoableActionManager
             return null;
         }
         redoStack.push(action);
+        // Don't merge the next action with one before the undo
+        last_add_ms = 0;
         fireOperationsHistoryChanged();
         return action;
     }
@@ -113,6 +163,7 @@ public class UndoableActionManager
         logger.log(Level.FINE, "Redo {0}", action);
         action.run();
         undoStack.push(action);
+        last_add_ms = 0;
         fireOperationsHistoryChanged();
         return action;
     }
@@ -122,6 +173,7 @@ public class UndoableActionManager
     {
         undoStack.clear();
         redoStack.clear();
+        last_add_ms = 0;
         fireOperationsHistoryChanged();
     }
 
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.csstudio.javafx.rtplot.internal.MajorTick;
+import org.csstudio.javafx.rtplot.internal.MinorTick;
+import org.csstudio.javafx.rtplot.internal.TimeTicks;
+import org.junit.After;
+import org.junit.Test;
+
+/** JUnit test
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class TimeTicksTest
+{
+    final BufferedImage buf = new BufferedImage(800, 50, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D gc = buf.createGraphics();
+
+    @After
+    public void cleanup()
+    {
+        gc.dispose();
+    }
+
+    private static String ticks2text(final TimeTicks ticks)
+    {
+        final StringBuilder buf = new StringBuilder();
+        for (MajorTick<Instant> tick : ticks.getMajorTicks())
+            buf.append(tick.getValue()).append(" '").append(tick.getLabel()).append("' ");
+        final List<MinorTick<Instant>> minor_ticks = ticks.getMinorTicks();
+        buf.append(minor_ticks.size()).append(" minor ticks");
+        return buf.toString();
+    }
+
+    /** Scrolling axis re-uses labels, must result in the same ticks as a new computation */
+    @Test
+    public void testScrolling()
+    {
+        final TimeTicks scrolling = new TimeTicks();
+        for (Duration range : new Duration[] { Duration.ofSeconds(30), Duration.ofMinutes(2), Duration.ofHours(3), Duration.ofDays(40) })
+        {
+            // Scroll across a few start/end ticks and a day boundary
+            Instant start = Instant.parse("2018-03-10T23:55:00Z");
+            final Duration step = range.dividedBy(17);
+            for (int i=0; i<100; ++i)
+            {
+                final Instant end = start.plus(range);
+                scrolling.compute(start, end, gc, buf.getWidth());
+                final TimeTicks fresh = new TimeTicks();
+                fresh.compute(start, end, gc, buf.getWidth());
+                assertThat(ticks2text(scrolling), equalTo(ticks2text(fresh)));
+                start = start.plus(step);
+            }
+        }
+    }
+
+    /** Ticks are only computed when range, size or font change */
+    @Test
+    public void testUpdate()
+    {
+        final TimeTicks ticks = new TimeTicks();
+        final Instant start = Instant.parse("2018-03-10T12:00:00Z");
+        final Instant end = start.plus(Duration.ofMinutes(10));
+        assertThat(ticks.update(start, end, gc, buf.getWidth()), equalTo(true));
+        final List<MajorTick<Instant>> major = ticks.getMajorTicks();
+        assertThat(ticks.update(start, end, gc, buf.getWidth()), equalTo(false));
+        assertThat(ticks.getMajorTicks() == major, equalTo(true));
+
+        assertThat(ticks.update(start, end, gc, buf.getWidth()/2), equalTo(true));
+        assertThat(ticks.update(start, end.plusSeconds(1), gc, buf.getWidth()/2), equalTo(true));
+        gc.setFont(gc.getFont().deriveFont(30.0f));
+        assertThat(ticks.update(start, end.plusSeconds(1), gc, buf.getWidth()/2), equalTo(true));
+        assertThat(ticks.update(start, end.plusSeconds(1), gc, buf.getWidth()/2), equalTo(false));
+    }
+}
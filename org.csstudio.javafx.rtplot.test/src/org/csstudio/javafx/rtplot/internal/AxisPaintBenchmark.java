@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Time spent painting the axes of a strip chart
+ *
+ *  <p>Scrolling time axis with several value axes,
+ *  one of them slightly changing its range on each update
+ *  like an auto-scaled axis.
+ *
+ *  <p>Reports the time per frame and how many
+ *  layout requests the axes triggered,
+ *  since each of those leads to another layout and update of the plot.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class AxisPaintBenchmark
+{
+    private static final int Y_AXES = 4, FRAMES = 5000;
+
+    public static void main(final String[] args)
+    {
+        final AtomicInteger layouts = new AtomicInteger();
+        final PlotPartListener listener = new PlotPartListener()
+        {
+            @Override
+            public void layoutPlotPart(final PlotPart plotPart)
+            {
+                layouts.incrementAndGet();
+            }
+
+            @Override
+            public void refreshPlotPart(final PlotPart plotPart)
+            {
+                // Ignore
+            }
+        };
+
+        final BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D gc = image.createGraphics();
+        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        final Instant start = Instant.ofEpochSecond(1500000000L);
+        final TimeAxis x_axis = new TimeAxis("Time", listener, start, start.plusSeconds(120));
+        x_axis.setGridVisible(true);
+        x_axis.setGridColor(Color.GRAY);
+        final List<YAxisImpl<Instant>> y_axes = new ArrayList<>();
+        for (int i=0; i<Y_AXES; ++i)
+        {
+            final YAxisImpl<Instant> axis = new YAxisImpl<>("Value " + i, listener);
+            axis.setValueRange(-10.0 * (i+1), 10.0 * (i+1));
+            axis.setGridVisible(i == 0);
+            axis.setGridColor(Color.GRAY);
+            axis.setBounds(i*60, 0, 60, 700);
+            y_axes.add(axis);
+        }
+        x_axis.setBounds(Y_AXES*60, 700, 1200 - Y_AXES*60, 100);
+        final Rectangle plot_bounds = new Rectangle(Y_AXES*60, 0, 1200 - Y_AXES*60, 700);
+
+        // Run twice, using the second run to allow for JIT
+        for (int run=0; run<2; ++run)
+        {
+            layouts.set(0);
+            final long t0 = System.nanoTime();
+            for (int frame=0; frame<FRAMES; ++frame)
+            {
+                final Instant now = start.plusMillis(100L * (run*FRAMES + frame));
+                x_axis.setValueRange(now, now.plusSeconds(120));
+                y_axes.get(0).setValueRange(-10.0, 10.0 + 0.001 * (frame % 10));
+
+                // Layout
+                for (YAxisImpl<Instant> axis : y_axes)
+                    axis.getPixelGaps(gc);
+                // Paint
+                gc.setColor(Color.WHITE);
+                gc.fillRect(0, 0, image.getWidth(), image.getHeight());
+                gc.setColor(Color.BLACK);
+                x_axis.paint(gc, plot_bounds);
+                for (YAxisImpl<Instant> axis : y_axes)
+                    axis.paint(gc, plot_bounds);
+            }
+            final long t1 = System.nanoTime();
+            // setValueRange() of the two changing axes requests 2 layouts per frame,
+            // anything beyond that was caused by re-computing the ticks
+            System.out.format("%8.3f ms per frame, %d layout requests from %d frames\n",
+                              (t1 - t0) / 1e6 / FRAMES, layouts.get(), FRAMES);
+        }
+        gc.dispose();
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.javafx.rtplot.LineStyle;
+import org.csstudio.javafx.rtplot.PointType;
+import org.csstudio.javafx.rtplot.TraceType;
+import org.csstudio.javafx.rtplot.data.ArrayPlotDataProvider;
+import org.csstudio.javafx.rtplot.data.SimpleDataItem;
+import org.csstudio.javafx.rtplot.util.RGBFactory;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/** Frame time of {@link Plot#updateImageBuffer()}
+ *
+ *  <p>Strip chart with 20 traces where only one trace receives new samples,
+ *  comparing plain painting with cached layers,
+ *  and building the trace geometry sequentially or in parallel.
+ *
+ *  <p>With a fixed time axis, only the layer of the updated trace is painted.
+ *  With a scrolling time axis, all traces need to be painted,
+ *  so the cached layers should not add noticeable overhead,
+ *  while building the traces in parallel should help.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class PlotLayerBenchmark extends Application
+{
+    private static final int TRACES = 20, SAMPLES = 5000, FRAMES = 200;
+
+    private final Instant start = Instant.ofEpochSecond(1500000000L);
+
+    @Override
+    public void start(final Stage stage) throws Exception
+    {
+        final Thread thread = new Thread(() ->
+        {
+            try
+            {
+                for (boolean scroll : new boolean[] { false, true })
+                    for (boolean cache : new boolean[] { false, true })
+                        for (boolean parallel : new boolean[] { false, true })
+                        {
+                            // Run twice, using the second run to allow for JIT
+                            run(scroll, cache, parallel);
+                            final double ms = run(scroll, cache, parallel);
+                            System.out.format("%-10s %-10s %-10s: %8.3f ms per frame\n",
+                                              scroll ? "Scrolling" : "Fixed",
+                                              cache ? "Layers" : "No layers",
+                                              parallel ? "Parallel" : "Sequential",
+                                              ms);
+                        }
+            }
+            catch (Throwable ex)
+            {
+                ex.printStackTrace();
+            }
+            Platform.exit();
+        }, "Benchmark");
+        thread.start();
+    }
+
+    /** @param scroll Scroll time axis?
+     *  @param cache Use cached layers?
+     *  @param parallel Build trace geometry in parallel?
+     *  @return Milliseconds per frame
+     */
+    private double run(final boolean scroll, final boolean cache, final boolean parallel) throws Exception
+    {
+        final List<ArrayPlotDataProvider<Instant>> data = new ArrayList<>();
+        final Plot<Instant> plot = createPlot(data);
+        plot.cache_layers = cache;
+        plot.parallel_traces = parallel;
+
+        // Initial frame
+        plot.updateImageBuffer();
+
+        final ArrayPlotDataProvider<Instant> updated = data.get(TRACES / 2);
+        final long t0 = System.nanoTime();
+        for (int frame=0; frame<FRAMES; ++frame)
+        {
+            final Instant time = start.plusSeconds(SAMPLES + frame);
+            updated.add(new SimpleDataItem<>(time, Math.sin(frame * 0.1)));
+            if (scroll)
+                plot.getXAxis().setValueRange(start.plusSeconds(frame), time);
+            if (plot.updateImageBuffer() == null)
+                throw new Exception("No image");
+        }
+        final long t1 = System.nanoTime();
+        plot.dispose();
+        return (t1 - t0) / 1e6 / FRAMES;
+    }
+
+    private Plot<Instant> createPlot(final List<ArrayPlotDataProvider<Instant>> traces) throws Exception
+    {
+        final Plot<Instant> plot = new Plot<>(Instant.class, false);
+        // Benchmark calls updateImageBuffer().
+        // Throttle will perform one background update,
+        // then remain dormant.
+        plot.setUpdateThrottle(1, TimeUnit.HOURS);
+        plot.setTitle("Benchmark");
+        plot.setSize(1200, 800);
+        plot.getXAxis().setValueRange(start, start.plus(Duration.ofSeconds(SAMPLES + FRAMES)));
+        plot.getYAxes().get(0).setValueRange(-TRACES - 1.0, TRACES + 1.0);
+        plot.getXAxis().setGridVisible(true);
+        plot.getYAxes().get(0).setGridVisible(true);
+
+        final RGBFactory colors = new RGBFactory();
+        for (int t=0; t<TRACES; ++t)
+        {
+            final ArrayPlotDataProvider<Instant> data = new ArrayPlotDataProvider<>();
+            for (int i=0; i<SAMPLES; ++i)
+                data.add(new SimpleDataItem<>(start.plusSeconds(i), t - TRACES/2 + Math.sin((i + t*100) * 0.01)));
+            plot.addTrace(new TraceImpl<>("Trace " + t, "a.u.", data, colors.next(),
+                                          TraceType.AREA_DIRECT, 1, LineStyle.SOLID, PointType.NONE, 1, 0));
+            traces.add(data);
+        }
+        // Allow background update to complete
+        Thread.sleep(2000);
+        return plot;
+    }
+
+    public static void main(final String[] args)
+    {
+        launch(args);
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.javafx.rtplot.LineStyle;
+import org.csstudio.javafx.rtplot.PointType;
+import org.csstudio.javafx.rtplot.TraceType;
+import org.csstudio.javafx.rtplot.data.ArrayPlotDataProvider;
+import org.csstudio.javafx.rtplot.data.SimpleDataItem;
+import org.csstudio.javafx.rtplot.util.RGBFactory;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.TilePane;
+import javafx.stage.Stage;
+
+/** UI thread time for transferring plot images
+ *
+ *  <p>Display with many small plots,
+ *  each receiving a new sample about 20 times per second.
+ *  Since the time axis does not scroll, only the
+ *  newest section of each trace changes.
+ *
+ *  <p>Compares transferring the complete image
+ *  with only transferring the changed region.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class RedrawBenchmark extends Application
+{
+    private static final int PLOTS = 64, COLUMNS = 8, WIDTH = 200, HEIGHT = 120, SAMPLES = 1200;
+    private static final long RUN_SECONDS = 20;
+
+    private final Instant start = Instant.ofEpochSecond(1500000000L);
+    private final List<Plot<Instant>> plots = new ArrayList<>();
+    private final List<ArrayPlotDataProvider<Instant>> data = new ArrayList<>();
+
+    @Override
+    public void start(final Stage stage) throws Exception
+    {
+        final TilePane tiles = new TilePane();
+        tiles.setPrefColumns(COLUMNS);
+        final RGBFactory colors = new RGBFactory();
+        for (int p=0; p<PLOTS; ++p)
+        {
+            final Plot<Instant> plot = new Plot<>(Instant.class, false);
+            plot.setUpdateThrottle(50, TimeUnit.MILLISECONDS);
+            plot.setSize(WIDTH, HEIGHT);
+            plot.getXAxis().setValueRange(start, start.plusSeconds(SAMPLES));
+            plot.getYAxes().get(0).setValueRange(-1.5, 1.5);
+            final ArrayPlotDataProvider<Instant> trace = new ArrayPlotDataProvider<>();
+            plot.addTrace(new TraceImpl<>("Trace " + p, "a.u.", trace, colors.next(),
+                                          TraceType.SINGLE_LINE_DIRECT, 1, LineStyle.SOLID, PointType.NONE, 1, 0));
+            plots.add(plot);
+            data.add(trace);
+            tiles.getChildren().add(plot);
+        }
+        stage.setScene(new Scene(tiles, COLUMNS * WIDTH, (PLOTS / COLUMNS) * HEIGHT));
+        stage.setTitle("Redraw Benchmark");
+        stage.show();
+
+        final Thread thread = new Thread(() ->
+        {
+            try
+            {
+                for (boolean changes : new boolean[] { false, true })
+                {
+                    PlotCanvasBase.transfer_changes = changes;
+                    run(RUN_SECONDS / 4);
+                    PlotCanvasBase.redraw_nanos.reset();
+                    PlotCanvasBase.redraw_count.reset();
+                    PlotCanvasBase.redraw_pixels.reset();
+                    run(RUN_SECONDS);
+                    final long count = PlotCanvasBase.redraw_count.sum();
+                    System.out.format("%-16s: %6d redraws, %8.3f ms UI thread time and %8d pixels per redraw\n",
+                                      changes ? "Changed region" : "Complete image",
+                                      count,
+                                      PlotCanvasBase.redraw_nanos.sum() / 1e6 / count,
+                                      PlotCanvasBase.redraw_pixels.sum() / count);
+                }
+            }
+            catch (Throwable ex)
+            {
+                ex.printStackTrace();
+            }
+            Platform.runLater(() ->
+            {
+                for (Plot<Instant> plot : plots)
+                    plot.dispose();
+                Platform.exit();
+            });
+        }, "Benchmark");
+        thread.start();
+    }
+
+    private int sample = 0;
+
+    /** @param seconds Add samples for this many seconds */
+    private void run(final long seconds) throws Exception
+    {
+        final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds);
+        while (System.currentTimeMillis() < end)
+        {
+            // Time axis is long enough for all runs, no scrolling
+            ++sample;
+            for (int p=0; p<PLOTS; ++p)
+            {
+                data.get(p).add(new SimpleDataItem<>(start.plusSeconds(sample), Math.sin(sample * 0.05 + p)));
+                plots.get(p).requestUpdate();
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    public static void main(final String[] args)
+    {
+        launch(args);
+    }
+}
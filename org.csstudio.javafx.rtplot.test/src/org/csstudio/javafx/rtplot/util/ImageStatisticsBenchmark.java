@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.util;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+import org.csstudio.javafx.rtplot.RegionStatistics;
+import org.csstudio.javafx.rtplot.internal.util.ImageStatistics;
+import org.diirt.util.array.ArrayShort;
+import org.diirt.util.array.ListNumber;
+
+/** Throughput of {@link ImageStatistics} for 16 bit 2k x 2k frames
+ *
+ *  <p>Compares with the approach of a script that
+ *  copies the image data for each frame and then computes
+ *  sum and centroid.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ImageStatisticsBenchmark
+{
+    private static final int WIDTH = 2048, HEIGHT = 2048, FRAMES = 50;
+
+    public static void main(final String[] args)
+    {
+        final Random random = new Random(42);
+        final ListNumber[] frames = new ListNumber[4];
+        for (int f=0; f<frames.length; ++f)
+        {
+            final short[] pixels = new short[WIDTH * HEIGHT];
+            for (int i=0; i<pixels.length; ++i)
+                pixels[i] = (short) random.nextInt(65536);
+            frames[f] = new ArrayShort(pixels);
+        }
+
+        final Rectangle[] regions = new Rectangle[]
+        {
+            new Rectangle(0, 0, WIDTH, HEIGHT),
+            new Rectangle(WIDTH/4, HEIGHT/4, WIDTH/2, HEIGHT/2),
+            new Rectangle(1000, 1000, 64, 64),
+        };
+
+        // Run twice, using the second run to allow for JIT
+        for (int run=0; run<2; ++run)
+        {
+            System.out.println("Run " + (run+1) + ":");
+            for (Rectangle region : regions)
+            {
+                RegionStatistics stats = null;
+                long start = System.nanoTime();
+                for (int f=0; f<FRAMES; ++f)
+                    stats = ImageStatistics.compute(WIDTH, HEIGHT, frames[f % frames.length], true, region, 256, 0, 1, 0, 1);
+                final double ms = (System.nanoTime() - start) / 1e6 / FRAMES;
+
+                double sum = 0, centroid = 0;
+                start = System.nanoTime();
+                for (int f=0; f<FRAMES; ++f)
+                {
+                    final ListNumber data = frames[f % frames.length];
+                    final double[] copy = new double[data.size()];
+                    for (int i=0; i<copy.length; ++i)
+                        copy[i] = Short.toUnsignedInt(data.getShort(i));
+                    sum = centroid = 0;
+                    for (int y=region.y; y<region.y+region.height; ++y)
+                        for (int x=region.x; x<region.x+region.width; ++x)
+                        {
+                            sum += copy[y*WIDTH + x];
+                            centroid += (x + 0.5) * copy[y*WIDTH + x];
+                        }
+                    centroid /= sum;
+                }
+                final double copy_ms = (System.nanoTime() - start) / 1e6 / FRAMES;
+
+                System.out.format("%4d x %4d region: %8.3f ms per frame (%6.1f frames/s, %7.1f Mpixel/s), copy and sum: %8.3f ms, centroid %.3f vs. %.3f\n",
+                                  region.width, region.height,
+                                  ms, 1000.0 / ms, region.width * region.height / ms / 1000.0,
+                                  copy_ms, stats.getCentroidX(), centroid);
+            }
+        }
+    }
+}
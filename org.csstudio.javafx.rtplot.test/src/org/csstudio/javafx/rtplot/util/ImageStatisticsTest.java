@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.csstudio.javafx.rtplot.RegionStatistics;
+import org.csstudio.javafx.rtplot.internal.util.ImageStatistics;
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.util.array.ArrayShort;
+import org.junit.Test;
+
+/** JUnit test of {@link ImageStatistics}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class ImageStatisticsTest
+{
+    private static final int WIDTH = 8, HEIGHT = 6;
+
+    @Test
+    public void testUniform()
+    {
+        final double[] pixels = new double[WIDTH * HEIGHT];
+        Arrays.fill(pixels, 2.0);
+        final RegionStatistics stats = ImageStatistics.compute(WIDTH, HEIGHT, new ArrayDouble(pixels), false,
+                                                               new Rectangle(2, 1, 3, 2), 4, 0, 1, 0, 1);
+        System.out.println(stats);
+        assertThat(stats.getCount(), equalTo(6));
+        assertEquals(12.0, stats.getSum(), 0.0);
+        assertEquals(2.0, stats.getMean(), 0.0);
+        assertEquals(2.0, stats.getMin(), 0.0);
+        assertEquals(2.0, stats.getMax(), 0.0);
+        // Centers of columns 2, 3, 4 and rows 1, 2
+        assertEquals(3.5, stats.getCentroidX(), 1e-12);
+        assertEquals(2.0, stats.getCentroidY(), 1e-12);
+        assertEquals(Math.sqrt(2.0/3.0), stats.getRMSWidthX(), 1e-12);
+        assertEquals(0.5, stats.getRMSWidthY(), 1e-12);
+        assertArrayEquals(new double[] { 2.0, 2.0, 2.0 }, stats.getHorizontalProfile(), 0.0);
+        assertArrayEquals(new double[] { 2.0, 2.0 }, stats.getVerticalProfile(), 0.0);
+        assertArrayEquals(new int[] { 6, 0, 0, 0 }, stats.getHistogram());
+    }
+
+    @Test
+    public void testSinglePixel()
+    {
+        final double[] pixels = new double[WIDTH * HEIGHT];
+        pixels[3*WIDTH + 5] = 10.0;
+        final RegionStatistics stats = ImageStatistics.compute(WIDTH, HEIGHT, new ArrayDouble(pixels), false,
+                                                               new Rectangle(0, 0, WIDTH, HEIGHT), 4, 0, 1, 0, 1);
+        System.out.println(stats);
+        assertThat(stats.getCount(), equalTo(WIDTH * HEIGHT));
+        assertEquals(10.0, stats.getSum(), 0.0);
+        assertEquals(0.0, stats.getMin(), 0.0);
+        assertEquals(10.0, stats.getMax(), 0.0);
+        assertEquals(5.5, stats.getCentroidX(), 1e-12);
+        assertEquals(3.5, stats.getCentroidY(), 1e-12);
+        assertEquals(0.0, stats.getRMSWidthX(), 1e-12);
+        assertEquals(0.0, stats.getRMSWidthY(), 1e-12);
+        assertEquals(10.0/HEIGHT, stats.getHorizontalProfile()[5], 1e-12);
+        assertEquals(10.0/WIDTH, stats.getVerticalProfile()[3], 1e-12);
+        assertArrayEquals(new int[] { WIDTH * HEIGHT - 1, 0, 0, 1 }, stats.getHistogram());
+    }
+
+    @Test
+    public void testAxisCoordinates()
+    {
+        final double[] pixels = new double[WIDTH * HEIGHT];
+        pixels[3*WIDTH + 5] = 10.0;
+        pixels[3*WIDTH + 6] = 10.0;
+        // X axis from 100 in steps of 2, Y axis from 50 at top going down in steps of 10
+        final RegionStatistics stats = ImageStatistics.compute(WIDTH, HEIGHT, new ArrayDouble(pixels), false,
+                                                               new Rectangle(0, 0, WIDTH, HEIGHT), 4, 100, 2, 50, -10);
+        System.out.println(stats);
+        assertEquals(100 + 6.0*2, stats.getCentroidX(), 1e-12);
+        assertEquals(50 - 3.5*10, stats.getCentroidY(), 1e-12);
+        assertEquals(0.5*2, stats.getRMSWidthX(), 1e-12);
+        assertEquals(0.0, stats.getRMSWidthY(), 1e-12);
+    }
+
+    @Test
+    public void testUnsigned()
+    {
+        final short[] pixels = new short[WIDTH * HEIGHT];
+        pixels[0] = (short) 0xFFFF;
+        final RegionStatistics signed = ImageStatistics.compute(WIDTH, HEIGHT, new ArrayShort(pixels), false,
+                                                                new Rectangle(0, 0, 2, 2), 4, 0, 1, 0, 1);
+        assertEquals(-1.0, signed.getMin(), 0.0);
+        final RegionStatistics unsigned = ImageStatistics.compute(WIDTH, HEIGHT, new ArrayShort(pixels), true,
+                                                                  new Rectangle(0, 0, 2, 2), 4, 0, 1, 0, 1);
+        assertEquals(65535.0, unsigned.getMax(), 0.0);
+        assertEquals(65535.0, unsigned.getSum(), 0.0);
+    }
+
+    @Test
+    public void testOutside()
+    {
+        final ArrayDouble pixels = new ArrayDouble(new double[WIDTH * HEIGHT]);
+        // Clipped to image
+        final RegionStatistics stats = ImageStatistics.compute(WIDTH, HEIGHT, pixels, false,
+                                                               new Rectangle(-2, 4, 4, 10), 4, 0, 1, 0, 1);
+        assertThat(stats.getCount(), equalTo(2 * 2));
+        // Weighted centroid of all-zero region is undefined
+        assertThat(Double.isNaN(stats.getCentroidX()), equalTo(true));
+        // Outside of image
+        assertThat(ImageStatistics.compute(WIDTH, HEIGHT, pixels, false,
+                                           new Rectangle(WIDTH, 0, 4, 4), 4, 0, 1, 0, 1),
+                   nullValue());
+    }
+
+    /** Large region is computed in parallel, must match plain computation */
+    @Test
+    public void testParallel()
+    {
+        final int width = 1000, height = 800;
+        final short[] pixels = new short[width * height];
+        final Random random = new Random(42);
+        for (int i=0; i<pixels.length; ++i)
+            pixels[i] = (short) random.nextInt(65536);
+
+        final Rectangle region = new Rectangle(10, 20, 900, 700);
+        final RegionStatistics stats = ImageStatistics.compute(width, height, new ArrayShort(pixels), true,
+                                                               region, 16, 0, 1, 0, 1);
+        double sum = 0, sum_x = 0, min = Double.MAX_VALUE, max = 0;
+        final int[] histogram = new int[16];
+        for (int y=region.y; y<region.y+region.height; ++y)
+            for (int x=region.x; x<region.x+region.width; ++x)
+            {
+                final double value = pixels[y*width + x] & 0xFFFF;
+                sum += value;
+                sum_x += (x + 0.5) * value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        final double scale = 16 / (max - min);
+        for (int y=region.y; y<region.y+region.height; ++y)
+            for (int x=region.x; x<region.x+region.width; ++x)
+                ++histogram[Math.min(15, (int) (((pixels[y*width + x] & 0xFFFF) - min) * scale))];
+        assertEquals(sum, stats.getSum(), sum * 1e-12);
+        assertEquals(min, stats.getMin(), 0.0);
+        assertEquals(max, stats.getMax(), 0.0);
+        assertEquals(sum_x / sum, stats.getCentroidX(), 1e-9);
+        assertArrayEquals(histogram, stats.getHistogram());
+    }
+}
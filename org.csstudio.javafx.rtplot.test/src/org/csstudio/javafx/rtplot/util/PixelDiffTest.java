@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Rectangle;
+
+import org.csstudio.javafx.rtplot.internal.util.PixelDiff;
+import org.junit.Test;
+
+/** JUnit test of {@link PixelDiff}
+ *  @author Kay Kasemir
+ */
+public class PixelDiffTest
+{
+    private static final int WIDTH = 40, HEIGHT = 30;
+
+    @Test
+    public void testPixelDiff()
+    {
+        final int[] previous = new int[WIDTH * HEIGHT];
+        final int[] current = new int[WIDTH * HEIGHT];
+        assertThat(PixelDiff.getChangedRegion(previous, current, WIDTH, HEIGHT), nullValue());
+
+        // Single pixel
+        current[5*WIDTH + 7] = 0xFF00FF00;
+        assertThat(PixelDiff.getChangedRegion(previous, current, WIDTH, HEIGHT), equalTo(new Rectangle(7, 5, 1, 1)));
+
+        // Pixels in first and last column of different rows
+        current[10*WIDTH] = 1;
+        current[12*WIDTH + WIDTH-1] = 1;
+        assertThat(PixelDiff.getChangedRegion(previous, current, WIDTH, HEIGHT), equalTo(new Rectangle(0, 5, WIDTH, 8)));
+
+        // Corners
+        current[0] = 1;
+        current[WIDTH*HEIGHT - 1] = 1;
+        assertThat(PixelDiff.getChangedRegion(previous, current, WIDTH, HEIGHT), equalTo(new Rectangle(0, 0, WIDTH, HEIGHT)));
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/** JUnit test of {@link UpdateBudget}
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class UpdateBudgetTest
+{
+    @Test
+    public void testBackoff() throws Exception
+    {
+        final UpdateBudget budget = new UpdateBudget(100.0, false);
+        final RTPlotUpdateThrottle busy = new RTPlotUpdateThrottle(100, TimeUnit.MILLISECONDS, () -> {}, budget);
+        final RTPlotUpdateThrottle active = new RTPlotUpdateThrottle(100, TimeUnit.MILLISECONDS, () -> {}, budget);
+        active.markInteraction();
+
+        // Within budget
+        busy.addCost(TimeUnit.MILLISECONDS.toNanos(50));
+        budget.check(1.0);
+        System.out.println(budget);
+        assertThat(budget.getUsage(), equalTo(50.0));
+        assertThat(budget.getBackoff(), equalTo(1.0));
+        assertThat(busy.getEffectiveDormantTime(), equalTo(100L));
+
+        // Exceeding the budget, the busy plot backs off,
+        // which reduces its update time
+        for (int i=0; i<5; ++i)
+        {
+            busy.addCost(Math.round(TimeUnit.MILLISECONDS.toNanos(300) / budget.getBackoff()));
+            budget.check(1.0);
+            System.out.println(budget);
+        }
+        assertThat(budget.getBackoff() > 2.0, equalTo(true));
+        assertThat(busy.getEffectiveDormantTime() > 200L, equalTo(true));
+        // .. but not the one with priority
+        assertThat(active.getEffectiveDormantTime(), equalTo(100L));
+
+        // Hidden plots back off even more
+        busy.setVisible(false);
+        assertThat(busy.getEffectiveDormantTime() > 1000L, equalTo(true));
+        busy.setVisible(true);
+
+        // Plot with priority using most of the budget leaves little for others
+        active.addCost(TimeUnit.MILLISECONDS.toNanos(95));
+        busy.addCost(TimeUnit.MILLISECONDS.toNanos(50));
+        budget.check(1.0);
+        System.out.println(budget);
+        assertThat(budget.getUsage(), equalTo(145.0));
+        assertThat(budget.getBackoff() > 5.0, equalTo(true));
+
+        // Back to normal when load drops
+        for (int i=0; i<20; ++i)
+        {
+            busy.addCost(TimeUnit.MILLISECONDS.toNanos(1));
+            budget.check(1.0);
+            System.out.println(budget);
+        }
+        assertThat(budget.getBackoff(), equalTo(1.0));
+        assertThat(busy.getEffectiveDormantTime(), equalTo(100L));
+
+        busy.dispose();
+        active.dispose();
+    }
+}
@@ -41,6 +41,17 @@ public interface RTImagePlotListener
      */
     default public void changedROI(int index, String name, Rectangle2D region) {}
 
+    /** Invoked when the statistics of a region of interest have been computed
+     *
+     *  <p>Only called for regions with statistics enabled,
+     *  and only when the image data or the region changed.
+     *
+     *  @param index Index 0, .. of the R.O.I.
+     *  @param name Name of the R.O.I.
+     *  @param statistics {@link RegionStatistics} or <code>null</code> when region is outside of the image
+     */
+    default public void changedROIStatistics(int index, String name, RegionStatistics statistics) {}
+
     /** Invoked when the X axis range was changed by user */
     default public void changedXAxis(double low, double high) {}
 
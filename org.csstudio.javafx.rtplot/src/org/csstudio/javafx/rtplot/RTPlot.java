@@ -529,6 +529,18 @@ public class RTPlot<XTYPE extends Comparable<XTYPE>> extends BorderPane
         plot.setUpdateThrottle(dormant_time, unit);
     }
 
+    /** @return Dormant time between updates in milliseconds, extended when plots exceed their update budget */
+    public long getEffectiveUpdateThrottle()
+    {
+        return plot.getEffectiveUpdateThrottle();
+    }
+
+    /** @return Updates per second, measured over the last second */
+    public double getUpdateRate()
+    {
+        return plot.getUpdateRate();
+    }
+
     // Used to request a complete redraw of the plot with new layout of node,
     // but that creates loops:
     // layout -> compute new image -> set image -> trigger another layout
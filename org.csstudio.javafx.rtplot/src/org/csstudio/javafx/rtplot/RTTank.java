@@ -23,6 +23,7 @@ import org.csstudio.javafx.rtplot.internal.PlotPartListener;
 import org.csstudio.javafx.rtplot.internal.YAxisImpl;
 import org.csstudio.javafx.rtplot.internal.util.GraphicsUtils;
 import org.csstudio.javafx.rtplot.util.RTPlotUpdateThrottle;
+import org.csstudio.javafx.rtplot.util.VisibilityTracker;
 
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
@@ -62,6 +63,9 @@ public class RTTank extends Canvas
     /** Throttle updates, enforcing a 'dormant' period */
     private final RTPlotUpdateThrottle update_throttle;
 
+    /** Informs update_throttle about visibility and interaction */
+    private final VisibilityTracker visibility;
+
     /** Buffer for image of the tank and scale */
     private volatile Image plot_image = null;
 
@@ -120,6 +124,7 @@ public class RTTank extends Canvas
             plot_image = updateImageBuffer();
             redrawSafely();
         });
+        visibility = new VisibilityTracker(this, update_throttle);
     }
 
     /** Update the dormant time between updates
@@ -301,6 +306,7 @@ public class RTTank extends Canvas
     public void dispose()
     {   // Stop updates which could otherwise still use
         // what's about to be disposed
+        visibility.dispose();
         update_throttle.dispose();
     }
 
@@ -22,7 +22,7 @@ public class RegionOfInterest
     private final String name;
     private final Color color;
     private volatile Image image = null;
-    private volatile boolean visible, interactive;
+    private volatile boolean visible, interactive, statistics = false;
     private volatile Rectangle2D region;
 
     /** Not meant to be called by user.
@@ -83,6 +83,21 @@ public class RegionOfInterest
         return interactive;
     }
 
+    /** @return Compute {@link RegionStatistics} for this region? */
+    public boolean isStatisticsEnabled()
+    {
+        return statistics;
+    }
+
+    /** @param statistics Compute {@link RegionStatistics} for this region?
+     *  @see RTImagePlotListener#changedROIStatistics(int, String, RegionStatistics)
+     */
+    public void setStatisticsEnabled(final boolean statistics)
+    {
+        this.statistics = statistics;
+        // Caller needs to request update of image
+    }
+
     /** @return Region of interest within image */
     public Rectangle2D getRegion()
     {
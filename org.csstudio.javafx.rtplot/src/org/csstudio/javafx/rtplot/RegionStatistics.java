@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot;
+
+/** Statistics of the image pixels within a {@link RegionOfInterest}
+ *
+ *  <p>Centroid and RMS widths are weighted by pixel value
+ *  and use the coordinates of the X and Y axes.
+ *  Profiles hold the average pixel value of each column
+ *  respectively row within the region.
+ *  The histogram bins are evenly spaced between minimum and maximum.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class RegionStatistics
+{
+    private final int count;
+    private final double sum, min, max;
+    private final double centroid_x, centroid_y, rms_x, rms_y;
+    private final double[] horizontal_profile, vertical_profile;
+    private final int[] histogram;
+
+    /** Not meant to be called by user.
+     *  Statistics are computed by the image plot.
+     */
+    public RegionStatistics(final int count, final double sum, final double min, final double max,
+                            final double centroid_x, final double centroid_y,
+                            final double rms_x, final double rms_y,
+                            final double[] horizontal_profile, final double[] vertical_profile,
+                            final int[] histogram)
+    {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.centroid_x = centroid_x;
+        this.centroid_y = centroid_y;
+        this.rms_x = rms_x;
+        this.rms_y = rms_y;
+        this.horizontal_profile = horizontal_profile;
+        this.vertical_profile = vertical_profile;
+        this.histogram = histogram;
+    }
+
+    /** @return Number of pixels in region */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /** @return Sum of all pixel values */
+    public double getSum()
+    {
+        return sum;
+    }
+
+    /** @return Average pixel value */
+    public double getMean()
+    {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /** @return Minimum pixel value */
+    public double getMin()
+    {
+        return min;
+    }
+
+    /** @return Maximum pixel value */
+    public double getMax()
+    {
+        return max;
+    }
+
+    /** @return Horizontal position of centroid */
+    public double getCentroidX()
+    {
+        return centroid_x;
+    }
+
+    /** @return Vertical position of centroid */
+    public double getCentroidY()
+    {
+        return centroid_y;
+    }
+
+    /** @return Horizontal RMS width around centroid */
+    public double getRMSWidthX()
+    {
+        return rms_x;
+    }
+
+    /** @return Vertical RMS width around centroid */
+    public double getRMSWidthY()
+    {
+        return rms_y;
+    }
+
+    /** @return Average pixel value for each column of the region, left to right. Do not modify */
+    public double[] getHorizontalProfile()
+    {
+        return horizontal_profile;
+    }
+
+    /** @return Average pixel value for each row of the region, top to bottom. Do not modify */
+    public double[] getVerticalProfile()
+    {
+        return vertical_profile;
+    }
+
+    /** @return Number of pixels in each histogram bin. Do not modify */
+    public int[] getHistogram()
+    {
+        return histogram;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d pixels, sum %g, mean %g, min %g, max %g, centroid %g, %g, RMS width %g, %g",
+                             count, sum, getMean(), min, max, centroid_x, centroid_y, rms_x, rms_y);
+    }
+}
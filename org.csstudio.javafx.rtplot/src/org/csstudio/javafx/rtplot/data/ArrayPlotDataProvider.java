@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -24,18 +25,31 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
     final private ReadWriteLock lock = new InstrumentedReadWriteLock();
     final private List<PlotDataItem<XTYPE>> data;
 
+    /** Count of changes, -1 when data list is not owned by this provider */
+    final private AtomicLong changes;
+
     /** Construct with existing data
+     *
+     *  <p>Since the caller may modify the data,
+     *  changes are not tracked.
+     *
      *  @param data
      */
     public ArrayPlotDataProvider(final List<PlotDataItem<XTYPE>> data)
     {
-        this.data = data;
+        this(data, -1);
     }
 
     /** Construct with internal array */
     public ArrayPlotDataProvider()
     {
-        this(new ArrayList<PlotDataItem<XTYPE>>());
+        this(new ArrayList<PlotDataItem<XTYPE>>(), 0);
+    }
+
+    private ArrayPlotDataProvider(final List<PlotDataItem<XTYPE>> data, final long changes)
+    {
+        this.data = data;
+        this.changes = new AtomicLong(changes);
     }
 
     /** @param item Item to add to the list
@@ -48,6 +62,8 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
         try
         {
             data.add(item);
+            if (changes.get() >= 0)
+                changes.incrementAndGet();
         }
         finally
         {
@@ -73,6 +89,12 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
         return data.get(index);
     }
 
+    @Override
+    public long getChangeCount()
+    {
+        return changes.get();
+    }
+
     @Override
     public String toString()
     {
@@ -58,6 +58,20 @@ public interface PlotDataProvider<XTYPE extends Comparable<XTYPE>>
      */
     public PlotDataItem<XTYPE> get(int index);
 
+    /** Allows the plot to re-use what it painted for this data.
+     *
+     *  <p>A provider that returns a non-negative value
+     *  must return a different value whenever any of its samples changed.
+     *  The default implementation returns -1, so the plot
+     *  will paint the data on every update.
+     *
+     *  @return Counter that changes with the samples, or -1 if changes are not tracked
+     */
+    default public long getChangeCount()
+    {
+        return -1;
+    }
+
     //    public String toString()
     //    {
     //        // Derived class should include InstrumentedReadWriteLock#toString()
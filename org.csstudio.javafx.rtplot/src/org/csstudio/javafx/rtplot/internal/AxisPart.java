@@ -14,7 +14,10 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
@@ -88,6 +91,16 @@ public abstract class AxisPart<T extends Comparable<T>> extends PlotPart impleme
     /** Font to use for scale */
     protected volatile Font scale_font = new Font(Plot.FONT_FAMILY, Font.PLAIN, 12);
 
+    /** Maximum number of tick label sizes to cache */
+    private static final int MAX_TICK_LABEL_SIZES = 500;
+
+    /** Measured sizes of tick labels, see {@link #measureTickLabel(Graphics2D, String)} */
+    private final ConcurrentHashMap<String, Rectangle> tick_label_sizes = new ConcurrentHashMap<>();
+
+    /** Font and render context used for the <code>tick_label_sizes</code> */
+    private volatile Font tick_label_font = null;
+    private volatile FontRenderContext tick_label_context = null;
+
 
     /** @param name Axis name
      *  @param listener {@link PlotPartListener}
@@ -358,15 +371,58 @@ public abstract class AxisPart<T extends Comparable<T>> extends PlotPart impleme
     {
         if (! dirty_ticks)
             return;
+        dirty_ticks = false;
         final AxisRange<T> safe_range = range;
+        final List<MajorTick<T>> previous = ticks.getMajorTicks();
+        final boolean computed;
         if (horizontal)
-            ticks.compute(safe_range.getLow(), safe_range.getHigh(), gc, getBounds().width);
+            computed = ticks.update(safe_range.getLow(), safe_range.getHigh(), gc, getBounds().width);
         else
-            ticks.compute(safe_range.getLow(), safe_range.getHigh(), gc, getBounds().height);
-        // If ticks changed, the layout of tick labels may change
-        requestLayout();
-        requestRefresh();
-        dirty_ticks = false;
+            computed = ticks.update(safe_range.getLow(), safe_range.getHigh(), gc, getBounds().height);
+        // Layout of tick labels may change if the outermost labels changed,
+        // see getPixelGaps()
+        if (computed  &&  ! sameOuterLabels(previous, ticks.getMajorTicks()))
+        {
+            requestLayout();
+            requestRefresh();
+        }
+    }
+
+    /** @param a Tick marks
+     *  @param b Other tick marks
+     *  @return <code>true</code> if first and last labels are the same
+     */
+    private static <T> boolean sameOuterLabels(final List<MajorTick<T>> a, final List<MajorTick<T>> b)
+    {
+        if (a.isEmpty()  ||  b.isEmpty())
+            return a.isEmpty()  &&  b.isEmpty();
+        return a.get(0).getLabel().equals(b.get(0).getLabel())  &&
+               a.get(a.size()-1).getLabel().equals(b.get(b.size()-1).getLabel());
+    }
+
+    /** Measure a tick label
+     *
+     *  <p>Tick labels tend to repeat from one update to the next,
+     *  for example while a time axis scrolls,
+     *  so their size is cached for the current font.
+     *
+     *  @param gc GC with scale font
+     *  @param label Tick label
+     *  @return Size of the label as computed by {@link GraphicsUtils#measureText(Graphics2D, String)}.
+     *          Shared, must not be modified.
+     */
+    protected Rectangle measureTickLabel(final Graphics2D gc, final String label)
+    {
+        final Font font = gc.getFont();
+        final FontRenderContext context = gc.getFontRenderContext();
+        if (! (font.equals(tick_label_font)  &&  context.equals(tick_label_context))  ||
+            tick_label_sizes.size() > MAX_TICK_LABEL_SIZES)
+        {
+            tick_label_sizes.clear();
+            tick_label_font = font;
+            tick_label_context = context;
+        }
+        return tick_label_sizes.computeIfAbsent(label, text -> GraphicsUtils.measureText(gc, text));
     }
 
     /** Invoked to paint the part.
@@ -25,6 +25,9 @@ import org.csstudio.javafx.rtplot.internal.util.GraphicsUtils;
 @SuppressWarnings("nls")
 public class HorizontalNumericAxis extends NumericAxis
 {
+    /** Dashed line for grid */
+    private static final BasicStroke GRID_STROKE = new BasicStroke(1, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 1, new float[] { 5 }, 0);
+
     /** Create axis with label and listener. */
     public HorizontalNumericAxis(final String name, final PlotPartListener listener)
     {
@@ -84,7 +87,7 @@ public class HorizontalNumericAxis extends NumericAxis
             if (show_grid)
             {   // Dashed line
                 gc.setColor(grid_color);
-                gc.setStroke(new BasicStroke(1, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 1, new float[] { 5 }, 0));
+                gc.setStroke(GRID_STROKE);
                 gc.drawLine(x, plot_bounds.y, x, plot_bounds.y + plot_bounds.height-1);
                 gc.setColor(foreground);
             }
@@ -122,7 +125,7 @@ public class HorizontalNumericAxis extends NumericAxis
     {
         final Rectangle region = getBounds();
         gc.setFont(scale_font);
-        final Rectangle metrics = GraphicsUtils.measureText(gc, mark);
+        final Rectangle metrics = measureTickLabel(gc, mark);
         int tx = x - metrics.width/2;
         // Correct location of rightmost label to remain within region
         if (tx + metrics.width > region.x + region.width)
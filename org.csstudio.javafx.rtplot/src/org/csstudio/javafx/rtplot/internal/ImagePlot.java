@@ -16,8 +16,10 @@ import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -35,9 +37,11 @@ import org.csstudio.javafx.rtplot.Interpolation;
 import org.csstudio.javafx.rtplot.Messages;
 import org.csstudio.javafx.rtplot.RTImagePlotListener;
 import org.csstudio.javafx.rtplot.RegionOfInterest;
+import org.csstudio.javafx.rtplot.RegionStatistics;
 import org.csstudio.javafx.rtplot.data.ValueRange;
 import org.csstudio.javafx.rtplot.internal.undo.ChangeImageZoom;
 import org.csstudio.javafx.rtplot.internal.util.GraphicsUtils;
+import org.csstudio.javafx.rtplot.internal.util.ImageStatistics;
 import org.csstudio.javafx.rtplot.internal.util.LinearScreenTransform;
 import org.csstudio.javafx.rtplot.internal.util.Log10;
 import org.diirt.util.array.ArrayByte;
@@ -119,6 +123,58 @@ public class ImagePlot extends PlotCanvasBase
     /** Regions of interest */
     private final List<RegionOfInterest> rois = new CopyOnWriteArrayList<>();
 
+    /** Number of bins in the histogram of a region */
+    private static final int HISTOGRAM_BINS = 256;
+
+    /** What the last statistics of a region were computed for */
+    private static class StatisticsKey
+    {
+        private final ListNumber data;
+        private final int width, height;
+        private final boolean unsigned;
+        private final Rectangle pixels;
+        private final double min_x, max_x, min_y, max_y;
+
+        StatisticsKey(final ListNumber data, final int width, final int height, final boolean unsigned,
+                      final Rectangle pixels,
+                      final double min_x, final double max_x, final double min_y, final double max_y)
+        {
+            this.data = data;
+            this.width = width;
+            this.height = height;
+            this.unsigned = unsigned;
+            this.pixels = pixels;
+            this.min_x = min_x;
+            this.max_x = max_x;
+            this.min_y = min_y;
+            this.max_y = max_y;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return pixels.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (! (obj instanceof StatisticsKey))
+                return false;
+            final StatisticsKey other = (StatisticsKey) obj;
+            // Same data means identical ListNumber, not comparing all pixels
+            return data == other.data  &&
+                   width == other.width  &&  height == other.height  &&
+                   unsigned == other.unsigned  &&
+                   pixels.equals(other.pixels)  &&
+                   min_x == other.min_x  &&  max_x == other.max_x  &&
+                   min_y == other.min_y  &&  max_y == other.max_y;
+        }
+    }
+
+    /** Key of last statistics computed for each region */
+    private final Map<RegionOfInterest, StatisticsKey> statistics_keys = new ConcurrentHashMap<>();
+
     /** Show crosshair marker, positioned on click?
      *  Otherwise update cursor listener with each mouse movement.
      */
@@ -353,6 +409,14 @@ public class ImagePlot extends PlotCanvasBase
                 super.setRegion(region);
                 requestUpdate();
             }
+
+            @Override
+            public void setStatisticsEnabled(final boolean statistics)
+            {
+                super.setStatisticsEnabled(statistics);
+                statistics_keys.remove(this);
+                requestUpdate();
+            }
         };
         rois.add(roi);
         return roi;
@@ -369,7 +433,7 @@ public class ImagePlot extends PlotCanvasBase
      */
     public void removeROI(final int index)
     {
-        rois.remove(index);
+        statistics_keys.remove(rois.remove(index));
         requestUpdate();
     }
 
@@ -604,6 +668,9 @@ public class ImagePlot extends PlotCanvasBase
             }
         }
 
+        if (numbers != null  &&  ! isRGB)
+            updateStatistics(data_width, data_height, numbers, unsigned);
+
         // If log, min needs to be > 0
         if (colorbar_axis.isLogarithmic()  &&  min <= 0.0)
             min = 0.001;  // arbitrary minimum
@@ -708,6 +775,52 @@ public class ImagePlot extends PlotCanvasBase
         return image;
     }
 
+    /** Compute statistics for regions where the data or region changed
+     *  @param data_width
+     *  @param data_height
+     *  @param numbers
+     *  @param unsigned
+     */
+    private void updateStatistics(final int data_width, final int data_height,
+                                  final ListNumber numbers, final boolean unsigned)
+    {
+        if (data_width <= 0  ||  data_height <= 0)
+            return;
+        final double min_x = this.min_x, max_x = this.max_x, min_y = this.min_y, max_y = this.max_y;
+        final double x_scale = (max_x - min_x) / data_width;
+        final double y_scale = (max_y - min_y) / data_height;
+        final RTImagePlotListener listener = plot_listener;
+        for (int index=0; index<rois.size(); ++index)
+        {
+            final RegionOfInterest roi = rois.get(index);
+            if (! roi.isStatisticsEnabled())
+                continue;
+            // Region in image pixels, top row of image is max_y
+            final Rectangle2D region = roi.getRegion();
+            final int x0 = (int) Math.floor((region.getMinX() - min_x) / x_scale),
+                      x1 = (int) Math.ceil((region.getMaxX() - min_x) / x_scale),
+                      y0 = (int) Math.floor((max_y - region.getMaxY()) / y_scale),
+                      y1 = (int) Math.ceil((max_y - region.getMinY()) / y_scale);
+            final Rectangle pixels = new Rectangle(x0, y0, x1 - x0, y1 - y0);
+            final StatisticsKey key = new StatisticsKey(numbers, data_width, data_height, unsigned, pixels,
+                                                        min_x, max_x, min_y, max_y);
+            if (key.equals(statistics_keys.put(roi, key)))
+                continue;
+            try
+            {
+                final RegionStatistics statistics = ImageStatistics.compute(data_width, data_height, numbers, unsigned,
+                                                                            pixels, HISTOGRAM_BINS,
+                                                                            min_x, x_scale, max_y, -y_scale);
+                if (listener != null)
+                    listener.changedROIStatistics(index, roi.getName(), statistics);
+            }
+            catch (Throwable ex)
+            {
+                logger.log(Level.WARNING, "Cannot compute statistics for " + roi.getName(), ex);
+            }
+        }
+    }
+
     /** @param roi RegionOfInterest
      *  @return Screen coordinates
      */
@@ -20,10 +20,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import org.csstudio.javafx.BufferUtil;
@@ -117,6 +121,26 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
 
     private volatile List<CursorMarker> cursor_markers = null;
 
+    /** Maximum number of layers used to cache traces */
+    private static final int MAX_TRACE_LAYERS = 10;
+
+    /** Value of <code>future_x</code> when there is no future region to shade */
+    private static final int NO_FUTURE = Integer.MIN_VALUE;
+
+    /** Cache content in layers? */
+    volatile boolean cache_layers = ! Boolean.parseBoolean(System.getProperty("org.csstudio.javafx.rtplot.no_layers"));
+
+    /** Build the geometry of traces in parallel? */
+    volatile boolean parallel_traces = ! Boolean.parseBoolean(System.getProperty("org.csstudio.javafx.rtplot.no_parallel_traces"));
+
+    /** Layer for background, title, legend, axes and grid */
+    private final PlotLayer chrome = new PlotLayer(true);
+
+    /** Layers for groups of traces, in painting order */
+    private final List<PlotLayer> trace_layers = new ArrayList<>();
+
+    /** Number of layout computations, changes whenever parts were moved */
+    private long layouts = 0;
 
     /** Constructor
      *  @param active Active mode where plot reacts to mouse/keyboard?
@@ -622,56 +646,253 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends PlotCanvasBase
         gc.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
 
         if (need_layout.getAndSet(false))
+        {
             computeLayout(gc, area_copy);
+            ++layouts;
+        }
 
         final Rectangle plot_bounds = plot_area.getBounds();
 
+        title_part.setColor(foreground);
+        x_axis.setGridColor(grid);
+        for (YAxisImpl<XTYPE> y_axis : y_axes)
+            y_axis.setGridColor(grid);
+
+        // Shade plot region beyond 'now',
+        // limited to the plot area so that the position only changes
+        // when 'now' is visible
+        int future_x = NO_FUTURE;
+        if (x_axis instanceof TimeAxis  &&  shady_future.getAlpha() > 0)
+            future_x = Math.max(plot_bounds.x,
+                                Math.min(((TimeAxis)x_axis).getScreenCoord(Instant.now()),
+                                         plot_bounds.x + plot_bounds.width));
+
+        // Each layer's key is determined before painting,
+        // so changes while painting will cause another update
+        final int shade_x = future_x;
+        chrome.draw(gc, area_copy, cache_layers ? createChromeKey(area_copy, future_x) : null,
+                    chrome_gc -> paintChrome(chrome_gc, area_copy, plot_bounds, shade_x));
+
+        gc.setClip(plot_bounds.x, plot_bounds.y, plot_bounds.width, plot_bounds.height);
+        paintTraces(gc, plot_bounds);
+
+        // Overlay of markers and annotations is cheap to paint, not cached
+        drawPlotMarkers(gc);
+        gc.setClip(null);
+
+        // Annotations use label font
+        for (AnnotationImpl<XTYPE> annotation : annotations)
+            annotation.paint(gc, x_axis, y_axes.get(annotation.getTrace().getYAxis()));
+
+        return image;
+    }
+
+    /** @param area Plot area
+     *  @param future_x Start of region to shade as 'future'
+     *  @return Key for everything that affects the background, title, legend, axes and grid
+     */
+    private Object createChromeKey(final Rectangle area, final int future_x)
+    {
+        final List<Object> key = new ArrayList<>();
+        key.add(area);
+        key.add(layouts);
+        key.add(future_x);
+        key.add(background);
+        key.add(grid);
+        key.add(foreground);
+        key.add(title_font);
+        key.add(legend_font);
+        key.add(legend.isVisible());
+        key.add(title_part.getChangeCount());
+        key.add(legend.getChangeCount());
+        key.add(x_axis.getChangeCount());
+        for (YAxisImpl<XTYPE> y_axis : y_axes)
+            key.add(y_axis.getChangeCount());
+        // Legend and axis labels show trace names in trace color
+        for (Trace<XTYPE> trace : traces)
+        {
+            key.add(trace.getLabel());
+            key.add(trace.getColor());
+            key.add(trace.isVisible());
+            key.add(trace.getYAxis());
+        }
+        return key;
+    }
+
+    /** Paint background, title, legend, axes and grid
+     *  @param gc GC
+     *  @param area Plot area
+     *  @param plot_bounds Bounds of the plot region
+     *  @param future_x Start of region to shade as 'future'
+     */
+    private void paintChrome(final Graphics2D gc, final Rectangle area, final Rectangle plot_bounds, final int future_x)
+    {
         gc.setColor(background);
-        gc.fillRect(0, 0, area_copy.width, area_copy.height);
+        gc.fillRect(0, 0, area.width, area.height);
 
-        title_part.setColor(foreground);
         title_part.paint(gc, title_font);
         legend.paint(gc, legend_font, traces);
 
-        // Fetch x_axis transformation and use that to paint all traces,
-        // because X Axis tends to change from scrolling
-        // while we're painting traces
-        x_axis.setGridColor(grid);
         x_axis.paint(gc, plot_bounds);
-        final ScreenTransform<XTYPE> x_transform = x_axis.getScreenTransform();
         for (YAxisImpl<XTYPE> y_axis : y_axes)
-        {
-            y_axis.setGridColor(grid);
             y_axis.paint(gc, plot_bounds);
-        }
 
         gc.setClip(plot_bounds.x, plot_bounds.y, plot_bounds.width, plot_bounds.height);
 
-        // Shade plot region beyond 'now'
-        // Lay this 'on top' of grid, then add the traces.
-        if (x_axis instanceof TimeAxis  &&  shady_future.getAlpha() > 0)
+        // Lay shade 'on top' of grid, then add the traces.
+        if (future_x != NO_FUTURE)
         {
-            final int future_x = ((TimeAxis)x_axis).getScreenCoord(Instant.now());
             // Half-transparent, average of black & white, works for both white and black backgrounds
             gc.setColor(shady_future);
-            gc.fillRect(future_x, 0, area_copy.width - future_x, area_copy.height);
-            title_part.setColor(foreground);
+            gc.fillRect(future_x, 0, area.width - future_x, area.height);
         }
 
         plot_area.paint(gc);
+        gc.setClip(null);
+    }
+
+    /** @param trace Trace
+     *  @param y_axis Axis of the trace
+     *  @param plot_bounds Bounds of the plot region
+     *  @return Key for everything that affects how the trace is painted,
+     *          <code>null</code> if the data doesn't track changes
+     */
+    private Object createTraceKey(final Trace<XTYPE> trace, final YAxisImpl<XTYPE> y_axis, final Rectangle plot_bounds)
+    {
+        final long data_changes = trace.getData().getChangeCount();
+        if (data_changes < 0)
+            return null;
+        return Arrays.asList(trace, data_changes, trace.isVisible(),
+                             trace.getColor(), trace.getType(), trace.getWidth(),
+                             trace.getLineStyle(), trace.getPointType(), trace.getPointSize(),
+                             opacity, plot_bounds,
+                             x_axis.getChangeCount(), x_axis.getBounds(),
+                             y_axis.getChangeCount(), y_axis.getBounds());
+    }
+
+    /** Traces that are painted together */
+    private static class TraceGroup
+    {
+        /** Index of first and one beyond last trace */
+        final int start, end;
+
+        /** Layer, <code>null</code> to paint directly */
+        final PlotLayer layer;
+
+        /** Key of the layer */
+        final Object key;
+
+        TraceGroup(final int start, final int end, final PlotLayer layer, final Object key)
+        {
+            this.start = start;
+            this.end = end;
+            this.layer = layer;
+            this.key = key;
+        }
+    }
 
+    /** Paint traces
+     *
+     *  <p>Consecutive traces whose data tracks changes
+     *  are grouped into cached layers.
+     *  Other traces are painted directly.
+     *
+     *  <p>The geometry of all traces that need to be painted
+     *  is built in parallel, then painted in trace order.
+     *
+     *  @param gc GC
+     *  @param plot_bounds Bounds of the plot region
+     */
+    private void paintTraces(final Graphics2D gc, final Rectangle plot_bounds)
+    {
+        // Traces in painting order, with their axis and key
+        final List<Trace<XTYPE>> painted = new ArrayList<>();
+        final List<YAxisImpl<XTYPE>> axes = new ArrayList<>();
+        final List<Object> keys = new ArrayList<>();
+        int cacheable = 0;
         for (YAxisImpl<XTYPE> y_axis : y_axes)
             for (Trace<XTYPE> trace : y_axis.getTraces())
-                trace_painter.paint(gc, plot_area.getBounds(), opacity, x_transform, y_axis, trace);
+            {
+                final Object key = cache_layers ? createTraceKey(trace, y_axis, plot_bounds) : null;
+                painted.add(trace);
+                axes.add(y_axis);
+                keys.add(key);
+                if (key != null)
+                    ++cacheable;
+            }
 
-        drawPlotMarkers(gc);
-        gc.setClip(null);
+        // Fetch x_axis transformation and use that to paint all traces,
+        // because X Axis tends to change from scrolling
+        // while we're painting traces
+        final ScreenTransform<XTYPE> x_transform = x_axis.getScreenTransform();
+        final int trace_opacity = opacity;
+
+        // Group consecutive cacheable traces into layers
+        final int per_layer = Math.max(1, (cacheable + MAX_TRACE_LAYERS - 1) / MAX_TRACE_LAYERS);
+        final int n = painted.size();
+        final List<TraceGroup> groups = new ArrayList<>();
+        int layer = 0, i = 0;
+        while (i < n)
+        {
+            if (keys.get(i) == null)
+            {
+                groups.add(new TraceGroup(i, i+1, null, null));
+                ++i;
+                continue;
+            }
+            final int start = i;
+            while (i < n  &&  i - start < per_layer  &&  keys.get(i) != null)
+                ++i;
+            if (layer >= trace_layers.size())
+                trace_layers.add(new PlotLayer(false));
+            groups.add(new TraceGroup(start, i, trace_layers.get(layer++), new ArrayList<>(keys.subList(start, i))));
+        }
 
-        // Annotations use label font
-        for (AnnotationImpl<XTYPE> annotation : annotations)
-            annotation.paint(gc, x_axis, y_axes.get(annotation.getTrace().getYAxis()));
+        // Release layers that are no longer used
+        while (trace_layers.size() > layer)
+            trace_layers.remove(trace_layers.size()-1).dispose();
 
-        return image;
+        // Start building the geometry of traces that need to be painted.
+        // Each task uses its own TracePainter.
+        final List<ForkJoinTask<TraceGeometry>> geometry = new ArrayList<>(Collections.nCopies(n, null));
+        if (parallel_traces)
+        {
+            int needed = 0;
+            for (TraceGroup group : groups)
+                if (group.layer == null  ||  ! group.layer.isCurrent(group.key, plot_bounds))
+                    needed += group.end - group.start;
+            if (needed > 1)
+                for (TraceGroup group : groups)
+                    if (group.layer == null  ||  ! group.layer.isCurrent(group.key, plot_bounds))
+                        for (int t=group.start; t<group.end; ++t)
+                        {
+                            final Trace<XTYPE> trace = painted.get(t);
+                            final YAxisImpl<XTYPE> y_axis = axes.get(t);
+                            geometry.set(t, ForkJoinPool.commonPool().submit(() ->
+                                new TracePainter<XTYPE>().build(plot_bounds, trace_opacity, x_transform, y_axis, trace)));
+                        }
+        }
+
+        // Paint in trace order
+        for (TraceGroup group : groups)
+        {
+            final Consumer<Graphics2D> painter = trace_gc ->
+            {
+                for (int t=group.start; t<group.end; ++t)
+                {
+                    final ForkJoinTask<TraceGeometry> task = geometry.get(t);
+                    final TraceGeometry trace_geometry = task == null
+                        ? trace_painter.build(plot_bounds, trace_opacity, x_transform, axes.get(t), painted.get(t))
+                        : task.join();
+                    if (trace_geometry != null)
+                        trace_geometry.paint(trace_gc);
+                }
+            };
+            if (group.layer == null)
+                painter.accept(gc);
+            else
+                group.layer.draw(gc, plot_bounds, group.key, painter);
+        }
     }
 
     /** Draw the {@link PlotMarker}s
@@ -18,11 +18,14 @@ import java.awt.image.DataBufferInt;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.csstudio.display.builder.util.undo.UndoableActionManager;
 import org.csstudio.javafx.BufferUtil;
 import org.csstudio.javafx.DoubleBuffer;
+import org.csstudio.javafx.rtplot.internal.util.PixelDiff;
 import org.csstudio.javafx.rtplot.util.RTPlotUpdateThrottle;
+import org.csstudio.javafx.rtplot.util.VisibilityTracker;
 
 import javafx.application.Platform;
 import javafx.geometry.Point2D;
@@ -94,6 +97,9 @@ abstract class PlotCanvasBase extends ImageView
     /** Throttle updates, enforcing a 'dormant' period */
     private final RTPlotUpdateThrottle update_throttle;
 
+    /** Informs update_throttle about visibility and interaction */
+    private final VisibilityTracker visibility;
+
     /** Buffer for image and color bar
      *
      *  <p>UpdateThrottle calls updateImageBuffer() to set the image
@@ -128,10 +134,25 @@ abstract class PlotCanvasBase extends ImageView
 
     private WritableImage awt_jfx_convert_buffer = null;
 
+    /** Combined image that was last transferred into <code>awt_jfx_convert_buffer</code> */
+    private BufferedImage shown = null;
+
+    /** Only transfer the changed region of the image? */
+    static volatile boolean transfer_changes = ! Boolean.parseBoolean(System.getProperty("org.csstudio.javafx.rtplot.full_transfer"));
+
+    /** Time spent in redraw_runnable by all plots, nanoseconds */
+    static final LongAdder redraw_nanos = new LongAdder();
+
+    /** Number of redraw_runnable calls by all plots */
+    static final LongAdder redraw_count = new LongAdder();
+
+    /** Number of pixels transferred to JFX images by all plots */
+    static final LongAdder redraw_pixels = new LongAdder();
+
     /** Debug option to show update performance */
     private static final boolean show_updates = Boolean.parseBoolean(System.getProperty("org.csstudio.javafx.rtplot.update_counter"));
     private long update_counter = 0, last_counter = 0, next_rate_update = 0;
-    private double update_rate = 0;
+    private double update_rate = 0, update_ms = 0;
 
     /** Redraw the plot on UI thread by painting the 'plot_image' */
     private final Runnable redraw_runnable = () ->
@@ -141,6 +162,7 @@ abstract class PlotCanvasBase extends ImageView
         final BufferedImage copy = plot_image;
         if (copy != null)
         {
+            final long start = System.nanoTime();
             // Create copy of basic plot
             if (copy.getType() != BufferedImage.TYPE_INT_ARGB)
                 throw new IllegalPathStateException("Need TYPE_INT_ARGB for direct buffer access, not " + copy.getType());
@@ -168,7 +190,7 @@ abstract class PlotCanvasBase extends ImageView
                     last_counter = update_counter;
                     next_rate_update = now + 1000;
                 }
-                final String text = String.format("%d (%.1f Hz)", update_counter, update_rate);
+                final String text = String.format("%d (%.1f Hz, %.2f ms)", update_counter, update_rate, update_ms);
                 gc.setPaint(Color.WHITE);
                 gc.drawString(text, 1, height-2);
                 gc.setPaint(Color.BLACK);
@@ -176,14 +198,44 @@ abstract class PlotCanvasBase extends ImageView
             }
 
             // Convert to JFX image and show
+            final Rectangle changed;
             if (awt_jfx_convert_buffer == null  ||
                 awt_jfx_convert_buffer.getWidth() != width ||
                 awt_jfx_convert_buffer.getHeight() != height)
+            {
                 awt_jfx_convert_buffer = new WritableImage(width, height);
+                changed = new Rectangle(0, 0, width, height);
+            }
+            else if (transfer_changes  &&  shown != null  &&  shown != combined  &&
+                     shown.getWidth() == width  &&  shown.getHeight() == height)
+            {   // JFX image holds the 'shown' pixels, only transfer what changed
+                final int[] previous = ((DataBufferInt) shown.getRaster().getDataBuffer()).getData();
+                changed = PixelDiff.getChangedRegion(previous, dest, width, height);
+            }
+            else
+                changed = new Rectangle(0, 0, width, height);
+            shown = combined;
             // SwingFXUtils.toFXImage(combined, image);
-            awt_jfx_convert_buffer.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), dest, 0, width);
+            if (changed != null)
+            {
+                awt_jfx_convert_buffer.getPixelWriter().setPixels(changed.x, changed.y, changed.width, changed.height,
+                                                                  PixelFormat.getIntArgbInstance(),
+                                                                  dest, changed.y * width + changed.x, width);
+                redraw_pixels.add(changed.width * changed.height);
+            }
 
             setImage(awt_jfx_convert_buffer);
+
+            final long nanos = System.nanoTime() - start;
+            redraw_nanos.add(nanos);
+            redraw_count.increment();
+            if (show_updates)
+                update_ms = (update_ms * 9.0 + nanos / 1e6) / 10.0;
+
+            // Inform throttle about UI thread time and state of the plot
+            update_throttle.addCost(nanos);
+            if (isHover()  ||  isFocused())
+                update_throttle.markInteraction();
         }
     };
 
@@ -214,6 +266,8 @@ abstract class PlotCanvasBase extends ImageView
                 Platform.runLater(redraw_runnable);
         });
 
+        visibility = new VisibilityTracker(this, update_throttle);
+
         if (active)
         {
             setOnMouseEntered(this::mouseEntered);
@@ -248,6 +302,18 @@ abstract class PlotCanvasBase extends ImageView
         update_throttle.setDormantTime(dormant_time, unit);
     }
 
+    /** @return Dormant time between updates in milliseconds, extended when plots exceed their update budget */
+    public long getEffectiveUpdateThrottle()
+    {
+        return update_throttle.getEffectiveDormantTime();
+    }
+
+    /** @return Updates per second, measured over the last second */
+    public double getUpdateRate()
+    {
+        return update_throttle.getUpdateRate();
+    }
+
     /** Request a complete redraw of the plot with new layout */
     final public void requestLayout()
     {
@@ -467,6 +533,7 @@ abstract class PlotCanvasBase extends ImageView
     public void dispose()
     {   // Stop updates which could otherwise still use
         // what's about to be disposed
+        visibility.dispose();
         update_throttle.dispose();
     }
 }
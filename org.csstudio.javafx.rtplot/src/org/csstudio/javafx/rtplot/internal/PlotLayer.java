@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.csstudio.javafx.BufferUtil;
+
+/** Cached image for one layer of a {@link Plot}
+ *
+ *  <p>The layer is described by a 'key' that lists
+ *  everything that affects its content, for example
+ *  axis ranges, colors, data change counts.
+ *  As long as the key remains the same, the cached
+ *  image is drawn instead of painting the content again.
+ *
+ *  <p>Content that changes on every update,
+ *  for example traces while the time axis scrolls,
+ *  is painted directly, because caching it would only
+ *  add the cost of clearing and compositing the layer.
+ *
+ *  <p>Only accessed by the plot's update thread.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+class PlotLayer
+{
+    /** Does the layer cover the complete region with opaque pixels? */
+    private final boolean opaque;
+
+    private BufferUtil buffer = null;
+
+    /** Key that describes the current content */
+    private Object key = null;
+
+    /** Does the buffer hold the content for the key? */
+    private boolean valid = false;
+
+    /** Did the key change on the previous update? */
+    private boolean changed_last = false;
+
+    /** @param opaque Does the layer cover its region with opaque pixels? */
+    PlotLayer(final boolean opaque)
+    {
+        this.opaque = opaque;
+    }
+
+    /** Draw layer
+     *
+     *  @param gc GC of the plot image
+     *  @param region Region of the plot image covered by the layer
+     *  @param key Description of the content, must implement <code>equals</code>.
+     *             <code>null</code> if the content cannot be cached.
+     *  @param painter Paints the content, using plot image coordinates
+     *  @return <code>true</code> if content was painted, <code>false</code> if cached image was used
+     */
+    boolean draw(final Graphics2D gc, final Rectangle region, final Object key, final Consumer<Graphics2D> painter)
+    {
+        if (key == null  ||  region.width <= 0  ||  region.height <= 0)
+        {   // Cannot cache
+            this.key = null;
+            valid = false;
+            changed_last = true;
+            painter.accept(gc);
+            return true;
+        }
+
+        final boolean changed = ! key.equals(this.key);
+        this.key = key;
+        if (! changed  &&  valid)
+        {
+            changed_last = false;
+            drawImage(gc, region);
+            return false;
+        }
+
+        if (changed  &&  changed_last)
+        {   // Content keeps changing, don't bother to cache
+            valid = false;
+            painter.accept(gc);
+            return true;
+        }
+        changed_last = changed;
+
+        if (buffer == null  ||
+            buffer.getImage().getWidth() != region.width  ||
+            buffer.getImage().getHeight() != region.height)
+        {
+            dispose();
+            buffer = BufferUtil.getBufferedImage(region.width, region.height);
+            if (buffer == null)
+            {   // Cannot cache, paint directly
+                valid = false;
+                painter.accept(gc);
+                return true;
+            }
+        }
+
+        final BufferedImage image = buffer.getImage();
+        if (! opaque)
+            Arrays.fill(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0);
+        final Graphics2D layer_gc = buffer.getGraphics();
+        layer_gc.setRenderingHints(gc.getRenderingHints());
+        layer_gc.setTransform(AffineTransform.getTranslateInstance(-region.x, -region.y));
+        layer_gc.setClip(region.x, region.y, region.width, region.height);
+        painter.accept(layer_gc);
+        valid = true;
+
+        drawImage(gc, region);
+        return true;
+    }
+
+    /** @param key Description of the content
+     *  @param region Region of the plot image covered by the layer
+     *  @return <code>true</code> if {@link #draw} would use the cached image
+     *          without calling the painter
+     */
+    boolean isCurrent(final Object key, final Rectangle region)
+    {
+        return key != null  &&  region.width > 0  &&  region.height > 0  &&
+               valid  &&  key.equals(this.key);
+    }
+
+    private void drawImage(final Graphics2D gc, final Rectangle region)
+    {
+        if (opaque)
+        {   // Replace, no need to blend
+            final Composite orig = gc.getComposite();
+            gc.setComposite(AlphaComposite.Src);
+            gc.drawImage(buffer.getImage(), region.x, region.y, null);
+            gc.setComposite(orig);
+        }
+        else
+            gc.drawImage(buffer.getImage(), region.x, region.y, null);
+    }
+
+    /** Mark content as invalid, forcing a repaint on the next update */
+    void invalidate()
+    {
+        valid = false;
+    }
+
+    /** Release the cached image */
+    void dispose()
+    {
+        if (buffer != null)
+        {
+            buffer.dispose();
+            buffer = null;
+        }
+        valid = false;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PlotLayer " + Objects.toString(key);
+    }
+}
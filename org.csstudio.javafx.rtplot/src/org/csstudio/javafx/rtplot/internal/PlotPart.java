@@ -14,6 +14,7 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Stroke;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.csstudio.javafx.rtplot.internal.util.GraphicsUtils;
@@ -40,6 +41,9 @@ public class PlotPart
 
     final private PlotPartListener listener;
 
+    /** Incremented on each request for layout or refresh */
+    final private AtomicLong changes = new AtomicLong();
+
     /** Screen region occupied by this part */
     private volatile Rectangle bounds = new Rectangle(0, 0, 10, 10);
 
@@ -137,15 +141,23 @@ public class PlotPart
         return bounds;
     }
 
+    /** @return Counter that changes whenever the part requests a new layout or refresh */
+    public long getChangeCount()
+    {
+        return changes.get();
+    }
+
     /** Derived part can call to request re-computation of layout */
     protected void requestLayout()
     {
+        changes.incrementAndGet();
         listener.layoutPlotPart(this);
     }
 
     /** Derived part can call to request refresh */
     protected void requestRefresh()
     {
+        changes.incrementAndGet();
         listener.refreshPlotPart(this);
     }
 
@@ -8,6 +8,7 @@
 package org.csstudio.javafx.rtplot.internal;
 
 import java.awt.Graphics2D;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -43,6 +44,33 @@ public abstract class Ticks<XTYPE>
      */
     public abstract void compute(XTYPE low, XTYPE high, Graphics2D gc, int screen_width);
 
+    /** Range, screen size and font of the last {@link #update} */
+    private volatile Object layout = null;
+
+    /** Compute tick information unless it is already known.
+     *
+     *  <p>Skips the computation when range, screen size and font
+     *  match those of the previous call.
+     *  Direct calls to {@link #compute} are not tracked,
+     *  so a caller should consistently use one or the other.
+     *
+     *  @param low Low limit of the axis range.
+     *  @param high High limit of the axis range.
+     *  @param gc GC for determining width of labels.
+     *  @param screen_width Width of axis on screen.
+     *  @return <code>true</code> if ticks were computed,
+     *          <code>false</code> if the previous ticks still apply
+     */
+    public boolean update(final XTYPE low, final XTYPE high, final Graphics2D gc, final int screen_width)
+    {
+        final Object key = Arrays.asList(low, high, screen_width, gc.getFont(), gc.getFontRenderContext());
+        if (key.equals(layout))
+            return false;
+        compute(low, high, gc, screen_width);
+        layout = key;
+        return true;
+    }
+
     /** @return Major tick marks */
     public final List<MajorTick<XTYPE>> getMajorTicks()
     {
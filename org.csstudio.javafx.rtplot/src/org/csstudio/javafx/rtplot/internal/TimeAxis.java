@@ -28,6 +28,9 @@ import org.csstudio.javafx.rtplot.internal.util.TimeScreenTransform;
  */
 public class TimeAxis extends AxisPart<Instant>
 {
+    /** Dashed line for grid */
+    private static final BasicStroke GRID_STROKE = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10, new float[] { 2 }, 0);
+
     /** Create axis with label and listener. */
     public static TimeAxis forDuration(final String name, final PlotPartListener listener,
             final Duration duration)
@@ -133,7 +136,7 @@ public class TimeAxis extends AxisPart<Instant>
             if (show_grid)
             {   // Dashed line
                 gc.setColor(grid_color);
-                gc.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10, new float[] { 2 }, 0));
+                gc.setStroke(GRID_STROKE);
                 gc.drawLine(x, plot_bounds.y, x, region.y-1);
                 gc.setColor(foreground);
             }
@@ -166,7 +169,7 @@ public class TimeAxis extends AxisPart<Instant>
     {
         final Rectangle region = getBounds();
         gc.setFont(scale_font);
-        final Rectangle metrics = GraphicsUtils.measureText(gc, mark);
+        final Rectangle metrics = measureTickLabel(gc, mark);
         int tx = x - metrics.width/2;
         // Correct location of rightmost label to remain within region
         if (tx + metrics.width > region.x + region.width)
@@ -20,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAmount;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -154,6 +155,10 @@ public class TimeTicks extends Ticks<Instant>
     /** Tick mark configuration */
     private TickConfig config, detailed_config;
 
+    /** Configuration and first tick mark value used for the current <code>major_ticks</code> */
+    private TickConfig previous_config = null;
+    private Instant previous_start = Instant.MIN;
+
     /** {@inheritDoc} */
     @Override
     public boolean isSupportedRange(final Instant low, final Instant high)
@@ -193,6 +198,13 @@ public class TimeTicks extends Ticks<Instant>
         logger.log(Level.FINE, "Compute time ticks for {0}, {1} pixels: Tick distance {2}",
                                new Object[] { range, screen_width, config.distance });
 
+        // While scrolling, most major ticks remain the same,
+        // so their labels can be re-used unless the configuration changed
+        // or it is the 'start' tick, which uses a different format.
+        // Ticks are sorted, so match them by stepping through the previous ticks.
+        final List<MajorTick<Instant>> previous = config == previous_config ? this.major_ticks : Collections.emptyList();
+        int reuse = 0;
+
         final List<MajorTick<Instant>> major_ticks = new ArrayList<>();
         final List<MinorTick<Instant>> minor_ticks = new ArrayList<>();
 
@@ -201,7 +213,15 @@ public class TimeTicks extends Ticks<Instant>
         for (Instant value = start;  value.isBefore(end);  value = getNext(value))
         {
             if (value.compareTo(low) >= 0  &&  value.compareTo(high) <= 0)
-                major_ticks.add(new MajorTick<Instant>(value, format(value)));
+            {
+                while (reuse < previous.size()  &&  previous.get(reuse).getValue().isBefore(value))
+                    ++reuse;
+                if (value.isAfter(start)  &&  reuse < previous.size()  &&
+                    previous.get(reuse).getValue().equals(value)  &&  previous.get(reuse).getValue().isAfter(previous_start))
+                    major_ticks.add(previous.get(reuse));
+                else
+                    major_ticks.add(new MajorTick<Instant>(value, format(value)));
+            }
 
             final long ms = value.toEpochMilli();
             for (int i=1; i<config.minor_ticks; ++i)
@@ -225,6 +245,8 @@ public class TimeTicks extends Ticks<Instant>
         }
         this.major_ticks = major_ticks;
         this.minor_ticks = minor_ticks;
+        previous_config = config;
+        previous_start = start;
     }
 
     private Instant getPrevious(final Instant tick)
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Stroke;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.csstudio.javafx.rtplot.internal.util.IntList;
+
+/** Screen-space geometry of a trace
+ *
+ *  <p>Records the drawing operations of the {@link TracePainter}
+ *  with the subset of the {@link Graphics2D} API that it uses.
+ *  Recording only needs the trace data and axis transformations,
+ *  so the geometry of several traces can be built in parallel,
+ *  and then painted onto the plot in trace order.
+ *
+ *  @author Kay Kasemir
+ */
+class TraceGeometry
+{
+    /** Kinds of batched operations */
+    private static final int NONE = 0, RECTS = 1, OVALS = 2, LINES = 3;
+
+    private final List<Consumer<Graphics2D>> operations = new ArrayList<>();
+
+    /** Current batch of rectangles, ovals or lines */
+    private IntList batch = null;
+    private int batch_kind = NONE;
+
+    /** @param kind Kind of batched operation
+     *  @return Batch to which coordinates can be added
+     */
+    private IntList batch(final int kind)
+    {
+        if (batch_kind != kind)
+        {
+            final IntList coords = new IntList(256);
+            batch = coords;
+            batch_kind = kind;
+            operations.add(gc -> paintBatch(gc, kind, coords));
+        }
+        return batch;
+    }
+
+    private void add(final Consumer<Graphics2D> operation)
+    {
+        batch_kind = NONE;
+        operations.add(operation);
+    }
+
+    private static void paintBatch(final Graphics2D gc, final int kind, final IntList coords)
+    {
+        final int[] c = coords.getArray();
+        final int N = coords.size();
+        for (int i=0; i<N; i+=4)
+            switch (kind)
+            {
+            case RECTS:
+                gc.fillRect(c[i], c[i+1], c[i+2], c[i+3]);
+                break;
+            case OVALS:
+                gc.fillOval(c[i], c[i+1], c[i+2], c[i+3]);
+                break;
+            default:
+                gc.drawLine(c[i], c[i+1], c[i+2], c[i+3]);
+            }
+    }
+
+    /** @param paint Paint to use for following operations */
+    public void setPaint(final Paint paint)
+    {
+        add(gc -> gc.setPaint(paint));
+    }
+
+    /** @param color Color to use for following operations */
+    public void setColor(final Color color)
+    {
+        add(gc -> gc.setColor(color));
+    }
+
+    /** @param stroke Stroke to use for following operations */
+    public void setStroke(final Stroke stroke)
+    {
+        add(gc -> gc.setStroke(stroke));
+    }
+
+    /** @param x Coordinates, copied
+     *  @param y Coordinates, copied
+     *  @param N Number of points
+     */
+    public void drawPolyline(final int[] x, final int[] y, final int N)
+    {
+        final int[] px = Arrays.copyOf(x, N), py = Arrays.copyOf(y, N);
+        add(gc -> gc.drawPolyline(px, py, N));
+    }
+
+    /** @param x Coordinates, copied
+     *  @param y Coordinates, copied
+     *  @param N Number of points
+     */
+    public void fillPolygon(final int[] x, final int[] y, final int N)
+    {
+        final int[] px = Arrays.copyOf(x, N), py = Arrays.copyOf(y, N);
+        add(gc -> gc.fillPolygon(px, py, N));
+    }
+
+    public void fillRect(final int x, final int y, final int width, final int height)
+    {
+        final IntList coords = batch(RECTS);
+        coords.add(x);
+        coords.add(y);
+        coords.add(width);
+        coords.add(height);
+    }
+
+    public void fillOval(final int x, final int y, final int width, final int height)
+    {
+        final IntList coords = batch(OVALS);
+        coords.add(x);
+        coords.add(y);
+        coords.add(width);
+        coords.add(height);
+    }
+
+    public void drawLine(final int x1, final int y1, final int x2, final int y2)
+    {
+        final IntList coords = batch(LINES);
+        coords.add(x1);
+        coords.add(y1);
+        coords.add(x2);
+        coords.add(y2);
+    }
+
+    /** Paint the recorded operations
+     *
+     *  <p>Color and stroke of the GC are restored.
+     *
+     *  @param gc GC
+     */
+    public void paint(final Graphics2D gc)
+    {
+        final Color old_color = gc.getColor();
+        final Color old_bg = gc.getBackground();
+        final Stroke old_stroke = gc.getStroke();
+        for (Consumer<Graphics2D> operation : operations)
+            operation.accept(gc);
+        gc.setStroke(old_stroke);
+        gc.setBackground(old_bg);
+        gc.setColor(old_color);
+    }
+}
@@ -14,6 +14,7 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Stroke;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
@@ -83,18 +84,42 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     final public void paint(final Graphics2D gc, final Rectangle bounds, final int opacity,
                             final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
                             final Trace<XTYPE> trace)
+    {
+        final TraceGeometry geometry = build(bounds, opacity, x_transform, y_axis, trace);
+        if (geometry != null)
+            geometry.paint(gc);
+    }
+
+    /** Compute the screen geometry of a trace
+     *
+     *  <p>Only reads the trace data and the axis transformations,
+     *  so a separate {@link TracePainter} per thread may be used
+     *  to build the geometry of several traces in parallel.
+     *  The data of the trace is locked while building the geometry,
+     *  but no longer needs to be locked while the result is painted.
+     *
+     *  @param bounds Clipping bounds within which to paint
+     *  @param opacity Opacity (0 .. 100 %) of 'area'
+     *  @param x_transform Coordinate transform used by the x axis
+     *  @param trace Trace, has reference to its value axis
+     *  @return {@link TraceGeometry} or <code>null</code> if there is nothing to paint
+     */
+    final TraceGeometry build(final Rectangle bounds, final int opacity,
+                              final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+                              final Trace<XTYPE> trace)
     {
         if (! trace.isVisible())
-            return;
+            return null;
         x_min = bounds.x - OUTSIDE;
         x_max = bounds.x + bounds.width + OUTSIDE;
         y_min = bounds.y - OUTSIDE;
         y_max = bounds.y + bounds.height + OUTSIDE;
 
-        final Color old_color = gc.getColor();
-        final Color old_bg = gc.getBackground();
-        final Stroke old_width = gc.getStroke();
-
+        // Use copies of the transformations, which are synchronized,
+        // to avoid contention when building traces in parallel
+        final ScreenTransform<XTYPE> x = x_transform.copy();
+        final ScreenTransform<Double> y = y_axis.getScreenTransform();
+        final TraceGeometry gc = new TraceGeometry();
         final Color color = GraphicsUtils.convert(trace.getColor());
         final Color tpcolor = new Color(color.getRed(), color.getGreen(), color.getBlue(), opacity);
         gc.setColor(color);
@@ -105,9 +130,6 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         // then end drawing when reaching right end of area.
         //
         // Loop only once, performing drawMinMax, drawStdDev, drawValueStaircase in one loop
-        //
-        // For now, main point is that this happens in non-UI thread,
-        // so the slower the better to test UI responsiveness.
         final PlotDataProvider<XTYPE> data = trace.getData();
         try
         {
@@ -117,7 +139,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         catch (Exception ex)
         {
             logger.log(Level.WARNING, "Skip painting " + trace + ", cannot lock " + data, ex);
-            return;
+            return null;
         }
         try
         {
@@ -130,72 +152,70 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
                 break;
             case AREA:
                 gc.setPaint(tpcolor);
-                drawMinMaxArea(gc, x_transform, y_axis, data);
+                drawMinMaxArea(gc, x, y, data);
                 gc.setPaint(color);
-                drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawStdDevLines(gc, x, y, data, trace.getWidth());
+                drawValueStaircase(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case AREA_DIRECT:
                 gc.setPaint(tpcolor);
-                drawMinMaxArea(gc, x_transform, y_axis, data);
+                drawMinMaxArea(gc, x, y, data);
                 gc.setPaint(color);
-                drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawStdDevLines(gc, x, y, data, trace.getWidth());
+                drawValueLines(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES:
-                drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
+                drawMinMaxLines(gc, x, y, data, trace.getWidth());
                 gc.setPaint(tpcolor);
-                drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
+                drawStdDevLines(gc, x, y, data, trace.getWidth());
                 gc.setPaint(color);
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES_DIRECT:
-                drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
+                drawMinMaxLines(gc, x, y, data, trace.getWidth());
                 gc.setPaint(tpcolor);
-                drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
+                drawStdDevLines(gc, x, y, data, trace.getWidth());
                 gc.setPaint(color);
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case SINGLE_LINE:
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case SINGLE_LINE_DIRECT:
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES_ERROR_BARS:
-                drawErrorBars(gc, x_transform, y_axis, data, trace.getPointSize());
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawErrorBars(gc, x, y, data, trace.getPointSize());
+                drawValueLines(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
                 break;
             case ERROR_BARS:
                 // Compare error bars to area and min/max lines
                 // gc.setPaint(tpcolor);
                 // drawMinMaxArea(gc, x_transform, y_axis, data);
                 // gc.setPaint(color);
-                // drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
-                drawErrorBars(gc, x_transform, y_axis, data, trace.getPointSize());
+                // drawMinMaxLines(gc, x, y, data, trace.getWidth());
+                drawErrorBars(gc, x, y, data, trace.getPointSize());
                 break;
             case BARS:
                 final int width = trace.getWidth();
                 if (width > 0)
-                    drawBars(gc, x_transform, y_axis, data, width);
+                    drawBars(gc, x, y, data, width);
                 else
-                    drawHistogram(gc, x_transform, y_axis, data);
+                    drawHistogram(gc, x, y, data);
                 break;
             default:
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x, y, data, trace.getWidth(), trace.getLineStyle());
             }
 
             final PointType point_type = trace.getPointType();
             if (point_type != PointType.NONE)
-                drawPoints(gc, x_transform, y_axis, data, point_type, trace.getPointSize());
+                drawPoints(gc, x, y, data, point_type, trace.getPointSize());
         }
         finally
         {
             data.getLock().unlock();
         }
-        gc.setStroke(old_width);
-        gc.setBackground(old_bg);
-        gc.setColor(old_color);
+        return gc;
     }
 
     // Basic dash patterns
@@ -214,6 +234,19 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         return scaled;
     }
 
+    /** Strokes by line width and style, see {@link #getStroke(int, LineStyle)} */
+    private static final ConcurrentHashMap<Long, Stroke> strokes = new ConcurrentHashMap<>();
+
+    /** @param line_width Line width
+     *  @param line_style Line style
+     *  @return Shared {@link Stroke}
+     */
+    private static Stroke getStroke(final int line_width, final LineStyle line_style)
+    {
+        final long key = ((long) line_width << 8) | line_style.ordinal();
+        return strokes.computeIfAbsent(key, k -> createStroke(line_width, line_style));
+    }
+
     private final static Stroke createStroke(final int line_width, final LineStyle line_style)
     {
         switch (line_style)
@@ -232,23 +265,32 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         }
     }
     
+    /** @param y_transform Value axis transformation
+     *  @param value Value
+     *  @return Screen coordinate
+     */
+    private static int getScreenCoord(final ScreenTransform<Double> y_transform, final double value)
+    {
+        return (int)Math.round(y_transform.transform(value));
+    }
+
     /** Draw values of data as staircase line
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      *  @param line_width
      *  @param lineStyle 
      */
-    final private void drawValueStaircase(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawValueStaircase(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, final int line_width, final LineStyle line_style)
     {
         final IntList poly_x = new IntList(INITIAL_ARRAY_SIZE);
         final IntList poly_y = new IntList(INITIAL_ARRAY_SIZE);
         final int N = data.size();
         int last_x = -1, last_y = -1;
-        gc.setStroke(createStroke(line_width, line_style));
+        gc.setStroke(getStroke(line_width, line_style));
         for (int i=0; i<N; ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
@@ -267,7 +309,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             }
             else
             {
-                final int y = clipY(y_axis.getScreenCoord(value));
+                final int y = clipY(getScreenCoord(y_transform, value));
                 if (last_x == x  &&  last_y == y)
                     continue;
                 poly_x.add(x);
@@ -281,19 +323,19 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     /** Draw values of data as direct line
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      *  @param line_width
      */
-    final private void drawValueLines(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawValueLines(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, final int line_width, final LineStyle line_style)
     {
         final IntList value_poly_x = new IntList(INITIAL_ARRAY_SIZE);
         final IntList value_poly_y = new IntList(INITIAL_ARRAY_SIZE);
         final int N = data.size();
 
-        gc.setStroke(createStroke(line_width, line_style));
+        gc.setStroke(getStroke(line_width, line_style));
         int last_x = -1, last_y = -1;
         for (int i=0; i<N; ++i)
         {
@@ -304,7 +346,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
                 flushPolyLine(gc, value_poly_x, value_poly_y, line_width);
             else
             {
-                final int y = clipY(y_axis.getScreenCoord(value));
+                final int y = clipY(getScreenCoord(y_transform, value));
                 if (x == last_x  &&  y == last_y)
                     continue;
                 value_poly_x.add(x);
@@ -317,13 +359,13 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     }
 
     /** Draw min/max outline
-     *  @param graphics2D GC
+     *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      */
-    final private void drawMinMaxArea(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawMinMaxArea(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data)
     {
         final int N = data.size();
@@ -343,8 +385,8 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             else
             {
                 final int x1 = clipX(x_transform.transform(item.getPosition()));
-                final int y1min = clipY(y_axis.getScreenCoord(ymin));
-                final int y1max = clipY(y_axis.getScreenCoord(ymax));
+                final int y1min = clipY(getScreenCoord(y_transform, ymin));
+                final int y1max = clipY(getScreenCoord(y_transform, ymax));
                 pos.add(x1);
                 min.add(y1min);
                 max.add(y1max);
@@ -356,11 +398,11 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     /** Draw min/max outline
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      */
-    final private void drawMinMaxLines(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawMinMaxLines(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, final int line_width)
     {
         final IntList min_x = new IntList(INITIAL_ARRAY_SIZE);
@@ -382,8 +424,8 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             else
             {
                 final int x1 = clipX(x_transform.transform(item.getPosition()));
-                final int y1min = clipY(y_axis.getScreenCoord(ymin));
-                final int y1max = clipY(y_axis.getScreenCoord(ymax));
+                final int y1min = clipY(getScreenCoord(y_transform, ymin));
+                final int y1max = clipY(getScreenCoord(y_transform, ymax));
                 min_x.add(x1);   min_y.add(y1min);
                 max_x.add(x1);   max_y.add(y1max);
             }
@@ -395,11 +437,11 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     /** Draw std. deviation outline
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      *  @param line_width
      */
-    final private void drawStdDevLines(final Graphics2D gc, final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawStdDevLines(final TraceGeometry gc, final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, final int line_width)
     {
         final IntList lower_poly_y = new IntList(INITIAL_ARRAY_SIZE);
@@ -421,8 +463,8 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             else
             {
                 final int x = clipX(x_transform.transform(item.getPosition()));
-                final int low_y = clipY(y_axis.getScreenCoord(value - dev));
-                final int upp_y = clipY(y_axis.getScreenCoord(value + dev));
+                final int low_y = clipY(getScreenCoord(y_transform, value - dev));
+                final int upp_y = clipY(getScreenCoord(y_transform, value + dev));
                 lower_poly_x.add(x);  lower_poly_y.add(low_y);
                 upper_poly_x.add(x);  upper_poly_y.add(upp_y);
             }
@@ -435,7 +477,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *  @param poly Points of poly line, will be cleared
      *  @param line_width
      */
-    final private void flushPolyLine(final Graphics2D gc, final IntList poly_x, final IntList poly_y, final int line_width)
+    final private void flushPolyLine(final TraceGeometry gc, final IntList poly_x, final IntList poly_y, final int line_width)
     {
         final int N = poly_x.size();
         if (N == 1)
@@ -449,12 +491,12 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     /** Draw error bar for each value
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      *  @param size
      */
-    final private void drawErrorBars(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawErrorBars(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, final int size)
     {
         final int N = data.size();
@@ -465,18 +507,18 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             if (!Double.isNaN(value))
             {
                 final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
-                final int y = clipY(y_axis.getScreenCoord(value));
+                final int y = clipY(getScreenCoord(y_transform, value));
                 final double min = item.getMin();
                 if (!Double.isNaN(min))
                 {
-                    final int ym = clipY(y_axis.getScreenCoord(min));
+                    final int ym = clipY(getScreenCoord(y_transform, min));
                     gc.drawLine(x, y, x, ym);
                     gc.drawLine(x-size/2, ym, x+size/2, ym);
                 }
                 final double max = item.getMax();
                 if (!Double.isNaN(max))
                 {
-                    final int ym = clipY(y_axis.getScreenCoord(max));
+                    final int ym = clipY(getScreenCoord(y_transform, max));
                     gc.drawLine(x, y, x, ym);
                     gc.drawLine(x-size/2, ym, x+size/2, ym);
                 }
@@ -487,13 +529,13 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     /** Draw point for each value
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      *  @param point_type
      *  @param size
      */
-    final private void drawPoints(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawPoints(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, PointType point_type, final int size)
     {
         final int N = data.size();
@@ -505,7 +547,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             if (!Double.isNaN(value))
             {
                 final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
-                final int y = clipY(y_axis.getScreenCoord(value));
+                final int y = clipY(getScreenCoord(y_transform, value));
                 if (x == last_x  &&  y == last_y)
                     continue;
                 switch (point_type)
@@ -540,7 +582,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *  @param y .. of point on screen
      *  @param size
      */
-    final private void drawPoint(final Graphics2D gc, final int x, final int y, final int size)
+    final private void drawPoint(final TraceGeometry gc, final int x, final int y, final int size)
     {
         gc.fillOval(x-size/2, y-size/2, size, size);
     }
@@ -551,7 +593,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *  @param min Minimum 'y' values in screen coords
      *  @param max .. maximum
      */
-    final private void flushPolyFill(final Graphics2D gc, final IntList pos, final IntList min, final IntList max)
+    final private void flushPolyFill(final TraceGeometry gc, final IntList pos, final IntList min, final IntList max)
     {
         final int N = pos.size();
         if (N <= 0)
@@ -584,16 +626,16 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      *  @param width Width of each bar
      */
-    final private void drawBars(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawBars(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data, int width)
     {
         final int N = data.size();
-        final int y0 = clipY(y_axis.getScreenCoord(0.0));
+        final int y0 = clipY(getScreenCoord(y_transform, 0.0));
         for (int i=0; i<N; ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
@@ -601,7 +643,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
             if (Double.isNaN(value))
                 continue;
             final int x = (int) Math.round(x_transform.transform(item.getPosition()));
-            final int y = clipY(y_axis.getScreenCoord(value));
+            final int y = clipY(getScreenCoord(y_transform, value));
             if (y0 > y)
                 gc.fillRect(x-width/2, y, width, y0-y);
             else // Value is below zero, draw down from y0
@@ -615,11 +657,11 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *
      *  @param gc GC
      *  @param x_transform Horizontal axis
-     *  @param y_axis Value axis
+     *  @param y_transform Value axis transformation
      *  @param data Data
      */
-    final private void drawHistogram(final Graphics2D gc,
-            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
+    final private void drawHistogram(final TraceGeometry gc,
+            final ScreenTransform<XTYPE> x_transform, final ScreenTransform<Double> y_transform,
             final PlotDataProvider<XTYPE> data)
     {
         // Bars need the x0, x1 center points between samples.
@@ -627,14 +669,14 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         // Samples      :       (last_x,y)        (x,y)
         // Bar start/end:   x0              x1
         final int N = data.size();
-        final int y0 = clipY(y_axis.getScreenCoord(0.0));
+        final int y0 = clipY(getScreenCoord(y_transform, 0.0));
         int last_x1 = -1, last_x = -1, last_y = -1;
         for (int i=0; i<N; ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             final double value = item.getValue();
             final int x = (int) Math.round(x_transform.transform(item.getPosition()));
-            final int y = Double.isNaN(value) ?  -1  :  clipY(y_axis.getScreenCoord(value));
+            final int y = Double.isNaN(value) ?  -1  :  clipY(getScreenCoord(y_transform, value));
             if (last_x >= 0)
             {
                 final int x0;
@@ -664,7 +706,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         }
     }
 
-    private void drawBar(final Graphics2D gc, final int x0, final int x1, final int y0, final int y)
+    private void drawBar(final TraceGeometry gc, final int x0, final int x1, final int y0, final int y)
     {
         final int width = x1 - x0;
         if (y > y0)
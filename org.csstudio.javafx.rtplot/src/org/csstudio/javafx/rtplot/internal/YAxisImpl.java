@@ -37,6 +37,9 @@ import org.csstudio.javafx.rtplot.internal.util.IntList;
 @SuppressWarnings("nls")
 public class YAxisImpl<XTYPE extends Comparable<XTYPE>> extends NumericAxis implements YAxis<XTYPE>
 {
+    /** Dashed line for grid */
+    private static final BasicStroke GRID_STROKE = new BasicStroke(1, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 1, new float[] { 5 }, 0);
+
     /** How to label the axis */
     final private AxisLabelProvider<XTYPE> label_provider;
 
@@ -265,15 +268,14 @@ public class YAxisImpl<XTYPE extends Comparable<XTYPE>> extends NumericAxis impl
             return super.getPixelGaps(gc);
 
         gc.setFont(scale_font);
-        final FontMetrics metrics = gc.getFontMetrics();
 
         final List<MajorTick<Double>> major_ticks = ticks.getMajorTicks();
         if (major_ticks.isEmpty())
             return super.getPixelGaps(gc);
 
         // Measure first and last tick
-        final int low = metrics.stringWidth(major_ticks.get(0).getLabel());
-        final int high = metrics.stringWidth(major_ticks.get(major_ticks.size()-1).getLabel());
+        final int low = measureTickLabel(gc, major_ticks.get(0).getLabel()).width;
+        final int high = measureTickLabel(gc, major_ticks.get(major_ticks.size()-1).getLabel()).width;
 
         return new int[] { low / 2, high / 2 };
     }
@@ -324,7 +326,7 @@ public class YAxisImpl<XTYPE extends Comparable<XTYPE>> extends NumericAxis impl
             if (show_grid)
             {   // Dashed line
                 gc.setColor(grid_color);
-                gc.setStroke(new BasicStroke(1, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 1, new float[] { 5 }, 0));
+                gc.setStroke(GRID_STROKE);
                 gc.drawLine(plot_bounds.x, y, plot_bounds.x + plot_bounds.width-1, y);
                 gc.setColor(foreground);
             }
@@ -380,9 +382,8 @@ public class YAxisImpl<XTYPE extends Comparable<XTYPE>> extends NumericAxis impl
     {
         final Rectangle region = getBounds();
         gc.setFont(scale_font);
-        final FontMetrics metrics = gc.getFontMetrics();
-        final int mark_height = metrics.stringWidth(mark);
-        final int mark_width = metrics.getHeight();
+        final int mark_height = measureTickLabel(gc, mark).width;
+        final int mark_width = gc.getFontMetrics().getHeight();
         final int x = is_right ? region.x + TICK_LENGTH : region.x + region.width - TICK_LENGTH - mark_width;
         int y = screen_y  - mark_height/2;
         // Correct location of top label to remain within region
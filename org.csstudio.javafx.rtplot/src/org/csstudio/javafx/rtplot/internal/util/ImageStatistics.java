@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal.util;
+
+import java.awt.Rectangle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.csstudio.javafx.rtplot.RegionStatistics;
+import org.diirt.util.array.ArrayByte;
+import org.diirt.util.array.ArrayInt;
+import org.diirt.util.array.ArrayShort;
+import org.diirt.util.array.CollectionNumbers;
+import org.diirt.util.array.ListNumber;
+
+/** Compute statistics for a region of an image
+ *
+ *  <p>Reads the raw image data row by row.
+ *  Larger regions are split into bands of rows
+ *  which are processed in parallel.
+ *
+ *  @author Kay Kasemir
+ */
+public class ImageStatistics
+{
+    /** Regions with fewer pixels are handled in the calling thread */
+    private static final int PARALLEL_THRESHOLD = 64 * 1024;
+
+    /** Copies one row of image data into a buffer */
+    @FunctionalInterface
+    private interface RowReader
+    {
+        /** @param offset Index of first element in image data
+         *  @param row Buffer for the values
+         *  @param count Number of values to read
+         */
+        void read(int offset, double[] row, int count);
+    }
+
+    /** Statistics of one band of rows */
+    private static class Band
+    {
+        final double[] columns;
+        double sum = 0.0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        int[] histogram;
+
+        Band(final int width)
+        {
+            columns = new double[width];
+        }
+    }
+
+    /** @param data Image data
+     *  @param unsigned Treat integer data as unsigned?
+     *  @return {@link RowReader} for the data
+     */
+    private static RowReader createReader(final ListNumber data, final boolean unsigned)
+    {
+        // Direct access to the array, if the data wraps a complete array
+        final Object array = CollectionNumbers.wrappedArray(data);
+        if (array instanceof short[])
+        {
+            final short[] values = (short[]) array;
+            if (unsigned)
+                return (offset, row, count) ->
+                {
+                    for (int i=0; i<count; ++i)
+                        row[i] = values[offset + i] & 0xFFFF;
+                };
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = values[offset + i];
+            };
+        }
+        if (array instanceof byte[])
+        {
+            final byte[] values = (byte[]) array;
+            if (unsigned)
+                return (offset, row, count) ->
+                {
+                    for (int i=0; i<count; ++i)
+                        row[i] = values[offset + i] & 0xFF;
+                };
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = values[offset + i];
+            };
+        }
+        if (array instanceof int[])
+        {
+            final int[] values = (int[]) array;
+            if (unsigned)
+                return (offset, row, count) ->
+                {
+                    for (int i=0; i<count; ++i)
+                        row[i] = Integer.toUnsignedLong(values[offset + i]);
+                };
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = values[offset + i];
+            };
+        }
+        if (array instanceof float[])
+        {
+            final float[] values = (float[]) array;
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = values[offset + i];
+            };
+        }
+        if (array instanceof double[])
+        {
+            final double[] values = (double[]) array;
+            return (offset, row, count) -> System.arraycopy(values, offset, row, 0, count);
+        }
+
+        // Access via ListNumber
+        if (unsigned  &&  data instanceof ArrayByte)
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = Byte.toUnsignedInt(data.getByte(offset + i));
+            };
+        if (unsigned  &&  data instanceof ArrayShort)
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = Short.toUnsignedInt(data.getShort(offset + i));
+            };
+        if (unsigned  &&  data instanceof ArrayInt)
+            return (offset, row, count) ->
+            {
+                for (int i=0; i<count; ++i)
+                    row[i] = Integer.toUnsignedLong(data.getInt(offset + i));
+            };
+        return (offset, row, count) ->
+        {
+            for (int i=0; i<count; ++i)
+                row[i] = data.getDouble(offset + i);
+        };
+    }
+
+    /** Compute statistics
+     *
+     *  <p>Pixel coordinates refer to the center of each pixel,
+     *  i.e. the first pixel is at 0.5.
+     *  They are converted into axis coordinates via
+     *  <code>origin + pixel * scale</code>.
+     *
+     *  @param width Image width
+     *  @param height Image height
+     *  @param data Image data, starting in 'top left' corner
+     *  @param unsigned Treat integer data as unsigned?
+     *  @param region Region within the image, in pixels
+     *  @param bins Number of histogram bins
+     *  @param x_origin Horizontal axis coordinate of left image edge
+     *  @param x_scale Horizontal axis units per pixel
+     *  @param y_origin Vertical axis coordinate of top image edge
+     *  @param y_scale Vertical axis units per pixel
+     *  @return {@link RegionStatistics} or <code>null</code> if region is outside of image
+     */
+    public static RegionStatistics compute(final int width, final int height, final ListNumber data, final boolean unsigned,
+                                           final Rectangle region, final int bins,
+                                           final double x_origin, final double x_scale,
+                                           final double y_origin, final double y_scale)
+    {
+        final Rectangle pixels = region.intersection(new Rectangle(0, 0, width, height));
+        if (pixels.isEmpty()  ||  data.size() < width * height)
+            return null;
+        final int x0 = pixels.x, y0 = pixels.y, w = pixels.width, h = pixels.height;
+        final RowReader reader = createReader(data, unsigned);
+
+        // Split rows into bands, a few per available thread
+        final int band_rows = Math.max(8, h / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        final int band_count = (h + band_rows - 1) / band_rows;
+        final boolean parallel = w * h >= PARALLEL_THRESHOLD;
+
+        // Sum, min, max, column and row sums
+        final double[] rows = new double[h];
+        final Band total = bands(band_count, parallel).mapToObj(band ->
+        {
+            final Band result = new Band(w);
+            final double[] row = new double[w];
+            final double[] columns = result.columns;
+            double min = result.min, max = result.max, sum = 0.0;
+            final int end = Math.min(h, (band+1) * band_rows);
+            for (int y=band*band_rows; y<end; ++y)
+            {
+                reader.read((y0 + y) * width + x0, row, w);
+                double row_sum = 0.0;
+                for (int x=0; x<w; ++x)
+                {
+                    final double value = row[x];
+                    row_sum += value;
+                    columns[x] += value;
+                    if (value < min)
+                        min = value;
+                    if (value > max)
+                        max = value;
+                }
+                rows[y] = row_sum;
+                sum += row_sum;
+            }
+            result.sum = sum;
+            result.min = min;
+            result.max = max;
+            return result;
+        }).reduce((a, b) ->
+        {
+            a.sum += b.sum;
+            a.min = Math.min(a.min, b.min);
+            a.max = Math.max(a.max, b.max);
+            for (int x=0; x<w; ++x)
+                a.columns[x] += b.columns[x];
+            return a;
+        }).get();
+
+        // Histogram between min and max
+        final double min = total.min, max = total.max;
+        final double bin_scale = max > min ? bins / (max - min) : 0.0;
+        final int[] histogram = bands(band_count, parallel).mapToObj(band ->
+        {
+            final int[] counts = new int[bins];
+            final double[] row = new double[w];
+            final int end = Math.min(h, (band+1) * band_rows);
+            for (int y=band*band_rows; y<end; ++y)
+            {
+                reader.read((y0 + y) * width + x0, row, w);
+                for (int x=0; x<w; ++x)
+                {
+                    final int bin = (int) ((row[x] - min) * bin_scale);
+                    ++counts[bin < bins ? bin : bins-1];
+                }
+            }
+            return counts;
+        }).reduce((a, b) ->
+        {
+            for (int i=0; i<bins; ++i)
+                a[i] += b[i];
+            return a;
+        }).get();
+
+        // Profiles, centroid and RMS width from column and row sums
+        final double[] horizontal = new double[w];
+        for (int x=0; x<w; ++x)
+            horizontal[x] = total.columns[x] / h;
+        final double[] vertical = new double[h];
+        for (int y=0; y<h; ++y)
+            vertical[y] = rows[y] / w;
+        final double[] moments_x = getMoments(total.columns, total.sum);
+        final double[] moments_y = getMoments(rows, total.sum);
+
+        return new RegionStatistics(w * h, total.sum, min, max,
+                                    x_origin + (x0 + moments_x[0] + 0.5) * x_scale,
+                                    y_origin + (y0 + moments_y[0] + 0.5) * y_scale,
+                                    moments_x[1] * Math.abs(x_scale),
+                                    moments_y[1] * Math.abs(y_scale),
+                                    horizontal, vertical, histogram);
+    }
+
+    private static IntStream bands(final int band_count, final boolean parallel)
+    {
+        final IntStream bands = IntStream.range(0, band_count);
+        return parallel ? bands.parallel() : bands;
+    }
+
+    /** @param weights Weight for each index
+     *  @param sum Sum of weights
+     *  @return Weighted mean index and standard deviation
+     */
+    private static double[] getMoments(final double[] weights, final double sum)
+    {
+        if (sum == 0.0)
+            return new double[] { Double.NaN, Double.NaN };
+        double mean = 0.0;
+        for (int i=0; i<weights.length; ++i)
+            mean += i * weights[i];
+        mean /= sum;
+        double variance = 0.0;
+        for (int i=0; i<weights.length; ++i)
+            variance += (i - mean) * (i - mean) * weights[i];
+        variance /= sum;
+        return new double[] { mean, Math.sqrt(Math.max(0.0, variance)) };
+    }
+}
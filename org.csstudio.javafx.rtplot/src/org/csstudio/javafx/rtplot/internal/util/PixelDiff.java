@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.internal.util;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/** Locate the changes between two images
+ *
+ *  <p>Used to only transfer the changed region of a plot
+ *  to the on-screen image.
+ *  Comparing the pixels is much faster than
+ *  converting them for the on-screen image.
+ *
+ *  @author Kay Kasemir
+ */
+public class PixelDiff
+{
+    /** @param previous Pixels of previous image
+     *  @param current Pixels of current image
+     *  @param width Width of both images
+     *  @param height Height of both images
+     *  @return Bounds of changed pixels, <code>null</code> if images are identical
+     */
+    public static Rectangle getChangedRegion(final int[] previous, final int[] current, final int width, final int height)
+    {
+        // First changed row
+        int top = 0;
+        while (top < height  &&  sameRow(previous, current, width, top))
+            ++top;
+        if (top >= height)
+            return null;
+
+        // Last changed row
+        int bottom = height-1;
+        while (bottom > top  &&  sameRow(previous, current, width, bottom))
+            --bottom;
+
+        // Leftmost and rightmost changed column
+        int left = width, right = -1;
+        for (int row=top; row<=bottom; ++row)
+        {
+            final int offset = row * width;
+            final int diff = Arrays.mismatch(previous, offset, offset + width,
+                                             current,  offset, offset + width);
+            if (diff < 0)
+                continue;
+            if (diff < left)
+                left = diff;
+            // Only need to check right of the known region
+            for (int col = width-1; col > right; --col)
+                if (previous[offset + col] != current[offset + col])
+                {
+                    right = col;
+                    break;
+                }
+        }
+        return new Rectangle(left, top, right - left + 1, bottom - top + 1);
+    }
+
+    private static boolean sameRow(final int[] previous, final int[] current, final int width, final int row)
+    {
+        final int offset = row * width;
+        return Arrays.mismatch(previous, offset, offset + width,
+                               current,  offset, offset + width) < 0;
+    }
+}
@@ -12,6 +12,7 @@ import static org.csstudio.javafx.rtplot.Activator.logger;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 
 import org.csstudio.javafx.rtplot.Activator;
@@ -23,14 +24,44 @@ import org.csstudio.javafx.rtplot.Activator;
  *  At end, accumulated triggers received while dormant result
  *  in another update.
  *
+ *  <p>The time spent on updates is reported to the {@link UpdateBudget}.
+ *  When the budget is exceeded, the dormant period is extended,
+ *  unless the user recently interacted with the plot.
+ *  Hidden plots use an even longer dormant period.
+ *  A {@link VisibilityTracker} provides the visibility of the plot.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
 public class RTPlotUpdateThrottle
 {
+    /** Recent interaction results in priority for this many nanoseconds */
+    private static final long PRIORITY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /** Factor for the dormant period of hidden plots */
+    private static final double HIDDEN_BACKOFF = 5.0;
+
     /** How long to stay dormant after an update */
     private volatile long dormant_ms;
 
+    /** Budget that determines back-off, <code>null</code> if not subject to a budget */
+    private final UpdateBudget budget;
+
+    /** Is the plot visible? */
+    private volatile boolean visible = true;
+
+    /** Time of last user interaction, System.nanoTime() */
+    private volatile long last_interaction = System.nanoTime() - PRIORITY_NANOS;
+
+    /** Time spent on updates since last statistics, nanoseconds */
+    private final LongAdder cost_nanos = new LongAdder();
+
+    /** Number of updates since last statistics */
+    private final LongAdder update_count = new LongAdder();
+
+    /** Updates per second and time per update in milliseconds from last statistics */
+    private volatile double update_rate = 0.0, update_ms = 0.0;
+
     /** The update to perform */
     private final Runnable update_then_wake;
 
@@ -38,7 +69,7 @@ public class RTPlotUpdateThrottle
     private final AtomicBoolean dormant = new AtomicBoolean();
 
     /** Scheduled wakeUp call when no longer dormant */
-    private ScheduledFuture<?> scheduled_wakeup;
+    private volatile ScheduledFuture<?> scheduled_wakeup;
 
     /** Any pending triggers while dormant */
     private final AtomicBoolean pending_trigger = new AtomicBoolean();
@@ -52,8 +83,36 @@ public class RTPlotUpdateThrottle
      *  @param update {@link Runnable} to invoke for triggers
      */
     public RTPlotUpdateThrottle(final long dormant_time, final TimeUnit unit, final Runnable update)
+    {
+        this(dormant_time, unit, update, UpdateBudget.getInstance());
+    }
+
+    /** Initialize
+     *
+     *  <p>Throttles that only prepare data for a plot,
+     *  where the plot's own throttle accounts for drawing the data,
+     *  should not be subject to the {@link UpdateBudget}.
+     *
+     *  @param dormant_time How long throttle remains dormant after a trigger
+     *  @param unit Units for the dormant period
+     *  @param update {@link Runnable} to invoke for triggers
+     *  @param use_budget Is the throttle subject to the {@link UpdateBudget}?
+     */
+    public RTPlotUpdateThrottle(final long dormant_time, final TimeUnit unit, final Runnable update, final boolean use_budget)
+    {
+        this(dormant_time, unit, update, use_budget ? UpdateBudget.getInstance() : null);
+    }
+
+    /** Initialize
+     *  @param dormant_time How long throttle remains dormant after a trigger
+     *  @param unit Units for the dormant period
+     *  @param update {@link Runnable} to invoke for triggers
+     *  @param budget {@link UpdateBudget} to use, <code>null</code> for none
+     */
+    RTPlotUpdateThrottle(final long dormant_time, final TimeUnit unit, final Runnable update, final UpdateBudget budget)
     {
         setDormantTime(dormant_time, unit);
+        this.budget = budget;
         this.update_then_wake = () ->
         {   // Perform the update
             try
@@ -62,7 +121,12 @@ public class RTPlotUpdateThrottle
                 Thread.sleep(20);
                 pending_trigger.set(false);
                 if (! disposed)
+                {
+                    final long start = System.nanoTime();
                     update.run();
+                    addCost(System.nanoTime() - start);
+                    update_count.increment();
+                }
             }
             catch (InterruptedException ex)
             {
@@ -75,8 +139,10 @@ public class RTPlotUpdateThrottle
             }
             // Schedule wakeup
             if (! disposed)
-                scheduled_wakeup = Activator.thread_pool.schedule(this::wakeUp, dormant_ms, TimeUnit.MILLISECONDS);
+                scheduled_wakeup = Activator.thread_pool.schedule(this::wakeUp, getEffectiveDormantTime(), TimeUnit.MILLISECONDS);
         };
+        if (budget != null)
+            budget.register(this);
     }
 
     /** Update the dormant time
@@ -88,6 +154,85 @@ public class RTPlotUpdateThrottle
         dormant_ms = unit.toMillis(dormant_time);
     }
 
+    /** @return Dormant time in milliseconds, including back-off */
+    public long getEffectiveDormantTime()
+    {
+        double factor = (hasPriority()  ||  budget == null) ? 1.0 : budget.getBackoff();
+        if (! visible)
+            factor *= HIDDEN_BACKOFF;
+        return Math.round(dormant_ms * Math.min(factor, UpdateBudget.MAX_BACKOFF));
+    }
+
+    /** @return Updates per second, measured over the last second */
+    public double getUpdateRate()
+    {
+        return update_rate;
+    }
+
+    /** @return Milliseconds spent per update, measured over the last second */
+    public double getUpdateTime()
+    {
+        return update_ms;
+    }
+
+    /** @param nanos Additional time spent on an update, for example drawing it on the UI thread */
+    public void addCost(final long nanos)
+    {
+        cost_nanos.add(nanos);
+    }
+
+    /** @param visible Is the plot visible? Hidden plots update less often */
+    public void setVisible(final boolean visible)
+    {
+        if (this.visible == visible)
+            return;
+        this.visible = visible;
+        if (visible)
+            expedite();
+    }
+
+    /** Note user interaction with the plot
+     *
+     *  <p>For a while after interaction, the throttle
+     *  does not back off.
+     */
+    public void markInteraction()
+    {
+        last_interaction = System.nanoTime();
+        expedite();
+    }
+
+    /** @return Did the user recently interact with the plot? */
+    boolean hasPriority()
+    {
+        return System.nanoTime() - last_interaction < PRIORITY_NANOS;
+    }
+
+    /** End a backed-off dormant period early */
+    private void expedite()
+    {
+        final ScheduledFuture<?> wakeup = scheduled_wakeup;
+        if (wakeup != null  &&
+            wakeup.getDelay(TimeUnit.MILLISECONDS) > dormant_ms  &&
+            wakeup.cancel(false)  &&
+            ! disposed)
+            scheduled_wakeup = Activator.thread_pool.schedule(this::wakeUp, dormant_ms, TimeUnit.MILLISECONDS);
+    }
+
+    /** Called by {@link UpdateBudget}
+     *  @param seconds Time since last call
+     *  @return Milliseconds per second spent on updates since last call
+     */
+    double collectStatistics(final double seconds)
+    {
+        final double ms = cost_nanos.sumThenReset() / 1e6;
+        final long count = update_count.sumThenReset();
+        update_rate = count / seconds;
+        if (count > 0)
+            update_ms = ms / count;
+        return ms / seconds;
+    }
+
     /** Call to request an update.
      *
      *  <p>First call will cause an update.
@@ -122,7 +267,10 @@ public class RTPlotUpdateThrottle
     {
         disposed = true;
         pending_trigger.set(false);
-        if (scheduled_wakeup != null)
-            scheduled_wakeup.cancel(false);
+        final ScheduledFuture<?> wakeup = scheduled_wakeup;
+        if (wakeup != null)
+            wakeup.cancel(false);
+        if (budget != null)
+            budget.unregister(this);
     }
 }
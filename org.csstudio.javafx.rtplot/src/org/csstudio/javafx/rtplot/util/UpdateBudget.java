@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.util;
+
+import static org.csstudio.javafx.rtplot.Activator.logger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.csstudio.javafx.rtplot.Activator;
+
+/** Update budget shared by all {@link RTPlotUpdateThrottle}s
+ *
+ *  <p>Each throttle reports the time spent on its updates,
+ *  both creating the plot image and transferring it to the screen.
+ *  Once per second, the total is compared to the budget.
+ *
+ *  <p>When the budget is exceeded, throttles back off
+ *  by extending their dormant period.
+ *  Throttles of plots that the user recently interacted with
+ *  do not back off, so the remaining plots need to fit into
+ *  what's left of the budget.
+ *
+ *  @author Kay Kasemir
+ */
+@SuppressWarnings("nls")
+public class UpdateBudget
+{
+    /** Maximum factor by which dormant periods are extended */
+    static final double MAX_BACKOFF = 50.0;
+
+    /** Shared instance */
+    private static final UpdateBudget instance =
+        new UpdateBudget(Double.parseDouble(System.getProperty("org.csstudio.javafx.rtplot.update_budget", "500")), true);
+
+    /** Budget in milliseconds of update time per second, 0 to disable */
+    private volatile double budget_ms;
+
+    /** Periodically check registered throttles? */
+    private final boolean periodic;
+
+    /** Registered throttles */
+    private final Set<RTPlotUpdateThrottle> throttles = ConcurrentHashMap.newKeySet();
+
+    /** Periodic call to check(), <code>null</code> when no throttles */
+    private ScheduledFuture<?> periodic_check = null;
+
+    /** Time of last periodic check */
+    private long last_check = System.nanoTime();
+
+    /** Update time used in last check, ms per second */
+    private volatile double usage_ms = 0.0;
+
+    /** Factor by which throttles that don't have priority extend their dormant period */
+    private volatile double backoff = 1.0;
+
+    /** @return Budget shared by all plots */
+    public static UpdateBudget getInstance()
+    {
+        return instance;
+    }
+
+    /** @param budget_ms Budget in milliseconds of update time per second, 0 to disable
+     *  @param periodic Periodically check registered throttles?
+     */
+    UpdateBudget(final double budget_ms, final boolean periodic)
+    {
+        this.budget_ms = budget_ms;
+        this.periodic = periodic;
+    }
+
+    /** @return Budget in milliseconds of update time per second, 0 if disabled */
+    public double getBudget()
+    {
+        return budget_ms;
+    }
+
+    /** @param budget_ms Budget in milliseconds of update time per second, 0 to disable */
+    public void setBudget(final double budget_ms)
+    {
+        this.budget_ms = budget_ms;
+    }
+
+    /** @return Milliseconds per second spent on updates by all plots */
+    public double getUsage()
+    {
+        return usage_ms;
+    }
+
+    /** @return Factor by which throttles that don't have priority extend their dormant period */
+    public double getBackoff()
+    {
+        return backoff;
+    }
+
+    /** @param throttle Throttle to include in budget */
+    synchronized void register(final RTPlotUpdateThrottle throttle)
+    {
+        throttles.add(throttle);
+        if (periodic  &&  periodic_check == null)
+        {
+            last_check = System.nanoTime();
+            periodic_check = Activator.thread_pool.scheduleWithFixedDelay(this::check, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    /** @param throttle Throttle to remove from budget */
+    synchronized void unregister(final RTPlotUpdateThrottle throttle)
+    {
+        throttles.remove(throttle);
+        if (throttles.isEmpty()  &&  periodic_check != null)
+        {
+            periodic_check.cancel(false);
+            periodic_check = null;
+            usage_ms = 0.0;
+            backoff = 1.0;
+        }
+    }
+
+    private void check()
+    {
+        final long now = System.nanoTime();
+        final double seconds;
+        synchronized (this)
+        {
+            seconds = (now - last_check) / 1e9;
+            last_check = now;
+        }
+        try
+        {
+            check(seconds);
+        }
+        catch (Throwable ex)
+        {
+            logger.log(Level.WARNING, "Update budget check failed", ex);
+        }
+    }
+
+    /** Collect statistics of all throttles, adjust back-off
+     *  @param seconds Time since last check
+     */
+    void check(final double seconds)
+    {
+        // Usage by throttles with and without priority
+        double priority = 0.0, other = 0.0;
+        for (RTPlotUpdateThrottle throttle : throttles)
+        {
+            final double used = throttle.collectStatistics(seconds);
+            if (throttle.hasPriority())
+                priority += used;
+            else
+                other += used;
+        }
+        usage_ms = priority + other;
+
+        // Back off so that plots without priority fit into the rest of the budget.
+        // Their usage would be other * backoff without the current back-off.
+        final double budget = budget_ms;
+        double target = 1.0;
+        if (budget > 0  &&  other > 0)
+        {
+            final double available = Math.max(budget - priority, budget / 10);
+            target = Math.min(MAX_BACKOFF, Math.max(1.0, other * backoff / available));
+        }
+        // Smooth the changes
+        final double previous = backoff;
+        double next = (previous + target) / 2;
+        if (next < 1.05)
+            next = 1.0;
+        backoff = next;
+
+        if (previous == 1.0  &&  next > 1.0)
+            logger.log(Level.INFO, String.format("Plot updates use %.0f ms/s, exceeding budget of %.0f ms/s, backing off", usage_ms, budget));
+        else if (previous > 1.0  &&  next == 1.0)
+            logger.log(Level.INFO, String.format("Plot updates use %.0f ms/s, within budget of %.0f ms/s", usage_ms, budget));
+        else if (logger.isLoggable(Level.FINE))
+            logger.log(Level.FINE, String.format("Plot updates use %.0f of %.0f ms/s, back-off %.1f", usage_ms, budget, next));
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("Update budget: %.0f of %.0f ms/s used by %d throttles, back-off %.1f",
+                             usage_ms, budget_ms, throttles.size(), backoff);
+    }
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.javafx.rtplot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.InputEvent;
+import javafx.stage.Window;
+
+/** Informs an {@link RTPlotUpdateThrottle} about the visibility of a node
+ *
+ *  <p>A node is considered visible when it and all its parents are visible
+ *  and it is in a window that's showing.
+ *  For example, the content of a tab that's not selected is hidden.
+ *
+ *  <p>Since parents, scene and window can change,
+ *  the tracker observes the complete chain and updates
+ *  the observed properties whenever any of them changes.
+ *
+ *  <p>Input events on the node count as user interaction.
+ *
+ *  <p>Must be created and disposed on the UI thread.
+ *
+ *  @author Kay Kasemir
+ */
+public class VisibilityTracker
+{
+    private final Node node;
+
+    private final RTPlotUpdateThrottle throttle;
+
+    /** Properties that determine the visibility of the node */
+    private final List<ObservableValue<?>> properties = new ArrayList<>();
+
+    private final ChangeListener<Object> listener = (prop, old, value) -> update();
+
+    /** Input events mark user interaction */
+    private final EventHandler<InputEvent> input_handler;
+
+    /** @param node Node to track
+     *  @param throttle Throttle to inform about visibility and interaction
+     */
+    public VisibilityTracker(final Node node, final RTPlotUpdateThrottle throttle)
+    {
+        this.node = node;
+        this.throttle = throttle;
+        input_handler = event -> throttle.markInteraction();
+        node.addEventFilter(InputEvent.ANY, input_handler);
+        update();
+    }
+
+    /** @param node Node to check
+     *  @return Is the node and all its parents visible in a showing window?
+     */
+    public static boolean isShowing(final Node node)
+    {
+        final Scene scene = node.getScene();
+        if (scene == null)
+            return false;
+        final Window window = scene.getWindow();
+        if (window == null  ||  ! window.isShowing())
+            return false;
+        for (Node n = node;  n != null;  n = n.getParent())
+            if (! n.isVisible())
+                return false;
+        return true;
+    }
+
+    /** Observe the current chain of parents, scene and window,
+     *  and update the throttle
+     */
+    private void update()
+    {
+        detach();
+        for (Node n = node;  n != null;  n = n.getParent())
+        {
+            properties.add(n.visibleProperty());
+            properties.add(n.parentProperty());
+        }
+        properties.add(node.sceneProperty());
+        final Scene scene = node.getScene();
+        if (scene != null)
+        {
+            properties.add(scene.windowProperty());
+            if (scene.getWindow() != null)
+                properties.add(scene.getWindow().showingProperty());
+        }
+        for (ObservableValue<?> property : properties)
+            property.addListener(listener);
+
+        throttle.setVisible(isShowing(node));
+    }
+
+    private void detach()
+    {
+        for (ObservableValue<?> property : properties)
+            property.removeListener(listener);
+        properties.clear();
+    }
+
+    /** Stop tracking the node */
+    public void dispose()
+    {
+        detach();
+        node.removeEventFilter(InputEvent.ANY, input_handler);
+    }
+}